@@ -0,0 +1,100 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VFSChunkedStorageBenchmark {
+
+	@Param({ "4096", "1048576", "4194304" })
+	public int fileSize;
+
+	/**
+	 * Number of files written per batch, like a world save flushing its region
+	 * files together
+	 */
+	private static final int BATCH_FILES = 8;
+
+	/**
+	 * Length of the ranged read, small enough to land inside one chunk
+	 */
+	private static final int RANGE_LENGTH = 4096;
+
+	private VFSChunkedStorage storage;
+	private byte[][] files;
+	private byte[] rangeBuffer;
+	private int rangeOffset;
+
+	@Setup
+	public void setup() {
+		storage = new VFSChunkedStorage(new MemoryStorageBackend());
+		Random rand = new Random(1234l);
+		files = new byte[BATCH_FILES][fileSize];
+		for(int i = 0; i < BATCH_FILES; ++i) {
+			rand.nextBytes(files[i]);
+		}
+		storage.writeFile("read", files[0]);
+		rangeBuffer = new byte[RANGE_LENGTH];
+		rangeOffset = Math.max(fileSize / 2 - RANGE_LENGTH / 2, 0);
+	}
+
+	/**
+	 * Writes every file in one batch and commits it
+	 */
+	@Benchmark
+	public int batchedWrite() {
+		storage.beginBatch();
+		for(int i = 0; i < BATCH_FILES; ++i) {
+			storage.writeFile("batch" + i, files[i]);
+		}
+		return storage.endBatch() ? 1 : 0;
+	}
+
+	/**
+	 * Reads a small range from the middle of the file
+	 */
+	@Benchmark
+	public int rangedRead() {
+		return storage.readFile("read", rangeOffset, rangeBuffer, 0,
+				Math.min(RANGE_LENGTH, fileSize - rangeOffset));
+	}
+
+	/**
+	 * Reads the whole file into a new array
+	 */
+	@Benchmark
+	public int wholeFileRead() {
+		return storage.readFile("read").length;
+	}
+
+}
@@ -0,0 +1,123 @@
+package net.minecraft.block;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.BenchmarkSections;
+import net.minecraft.client.renderer.RegionRenderCache;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockPropertyTablesBenchmark {
+
+	@Param({ "TERRAIN", "CAVE", "VILLAGE" })
+	public BenchmarkSections.Kind section;
+
+	/**
+	 * The blocks of one section, as the ids stored in ExtendedBlockStorage and as
+	 * the states they stand for. The states are looked up in advance so the
+	 * virtual calls are only measured for the dispatch
+	 */
+	private int[] stateIds;
+	private IBlockState[] states;
+
+	@Setup
+	public void setup() {
+		RegionRenderCache cache = BenchmarkSections.createRegionCache(BenchmarkSections.createWorld(section));
+		int ox = BenchmarkSections.SECTION.x - cache.getOriginX();
+		int oy = BenchmarkSections.SECTION.y - cache.getOriginY();
+		int oz = BenchmarkSections.SECTION.z - cache.getOriginZ();
+		stateIds = new int[4096];
+		states = new IBlockState[4096];
+		for (int i = 0; i < 4096; ++i) {
+			int x = ox + (i & 15), y = oy + (i >> 8), z = oz + (i >> 4 & 15);
+			stateIds[i] = cache.getBlockIdAt(x, y, z);
+			states[i] = cache.getBlockStateAt(x, y, z);
+		}
+		BlockPropertyTables.validate();
+	}
+
+	/**
+	 * The properties used by meshing, lighting and collision read through the
+	 * Block of each state
+	 */
+	@Benchmark
+	public int virtualCalls() {
+		IBlockState[] s = states;
+		int ret = 0;
+		for (int i = 0; i < s.length; ++i) {
+			Block block = s[i].getBlock();
+			if (block.isOpaqueCube()) {
+				ret += 1;
+			}
+			if (block.isFullCube()) {
+				ret += 2;
+			}
+			if (block.hasTileEntity()) {
+				ret += 3;
+			}
+			ret += block.getLightOpacity() + block.getLightValue() + block.getRenderType()
+					+ block.getBlockLayer().ordinal();
+		}
+		return ret;
+	}
+
+	/**
+	 * The same properties read from BlockPropertyTables
+	 */
+	@Benchmark
+	public int tables() {
+		int[] s = stateIds;
+		byte[] flags = BlockPropertyTables.flags;
+		byte[] lightOpacity = BlockPropertyTables.lightOpacity;
+		byte[] lightValue = BlockPropertyTables.lightValue;
+		byte[] renderType = BlockPropertyTables.renderType;
+		byte[] blockLayer = BlockPropertyTables.blockLayer;
+		int ret = 0;
+		for (int i = 0; i < s.length; ++i) {
+			int id = s[i];
+			int f = flags[id];
+			if ((f & BlockPropertyTables.FLAG_OPAQUE_CUBE) != 0) {
+				ret += 1;
+			}
+			if ((f & BlockPropertyTables.FLAG_FULL_CUBE) != 0) {
+				ret += 2;
+			}
+			if ((f & BlockPropertyTables.FLAG_HAS_TILE_ENTITY) != 0) {
+				ret += 3;
+			}
+			ret += lightOpacity[id] + lightValue[id] + renderType[id] + blockLayer[id];
+		}
+		return ret;
+	}
+
+}
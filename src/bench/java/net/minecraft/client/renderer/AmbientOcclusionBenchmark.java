@@ -0,0 +1,128 @@
+package net.minecraft.client.renderer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockPropertyTables;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmbientOcclusionBenchmark {
+
+	@Param({ "TERRAIN", "CAVE", "VILLAGE" })
+	public BenchmarkSections.Kind section;
+
+	private World world;
+	private WorldRenderer worldRenderer;
+	private BlockModelRenderer renderer;
+	private LegacyAmbientOcclusionRenderer legacyRenderer;
+
+	@Setup
+	public void setup() {
+		world = BenchmarkSections.createWorld(section);
+		worldRenderer = new WorldRenderer(2097152);
+		renderer = new BlockModelRenderer();
+		legacyRenderer = new LegacyAmbientOcclusionRenderer();
+	}
+
+	/**
+	 * Smooth lighting off, every model goes through renderModelStandard
+	 */
+	@Benchmark
+	public int flat() {
+		return meshSection(0);
+	}
+
+	/**
+	 * Smooth lighting on, with the path from before NeighborCache
+	 */
+	@Benchmark
+	public int legacyAmbientOcclusion() {
+		return meshSection(1);
+	}
+
+	/**
+	 * Smooth lighting on, with the current NeighborCache path
+	 */
+	@Benchmark
+	public int ambientOcclusion() {
+		return meshSection(2);
+	}
+
+	/**
+	 * Does what RenderChunk.rebuildChunk does for the blocks of one section and
+	 * returns the number of vertices
+	 */
+	private int meshSection(int mode) {
+		RegionRenderCache cache = BenchmarkSections.createRegionCache(world);
+		byte[] flags = BlockPropertyTables.flags;
+		BlockPos origin = BenchmarkSections.SECTION;
+		BlockPos pos = new BlockPos(0, 0, 0);
+		int ox = origin.x - cache.getOriginX();
+		int oy = origin.y - cache.getOriginY();
+		int oz = origin.z - cache.getOriginZ();
+		worldRenderer.begin(7, DefaultVertexFormats.BLOCK);
+		worldRenderer.setTranslation(-origin.x, -origin.y, -origin.z);
+		for (int zz = 0; zz < 16; ++zz) {
+			for (int yy = 0; yy < 16; ++yy) {
+				for (int xx = 0; xx < 16; ++xx) {
+					int stateId = cache.getBlockIdAt(ox + xx, oy + yy, oz + zz);
+					if ((flags[stateId] & BlockPropertyTables.FLAG_RENDERED) == 0) {
+						continue;
+					}
+					pos.x = origin.x + xx;
+					pos.y = origin.y + yy;
+					pos.z = origin.z + zz;
+					IBlockState state = cache.getBlockStateAt(ox + xx, oy + yy, oz + zz);
+					Block block = state.getBlock();
+					IBakedModel model = BenchmarkSections.getModel(state);
+					if (mode == 0 || !model.isAmbientOcclusion() || block.getLightValue() != 0) {
+						renderer.renderModelStandard(cache, model, block, pos, worldRenderer, true);
+					} else if (mode == 1) {
+						legacyRenderer.renderModelAmbientOcclusion(cache, model, block, pos, worldRenderer, true);
+					} else {
+						renderer.renderModelAmbientOcclusion(cache, model, block, pos, worldRenderer, true);
+					}
+				}
+			}
+		}
+		worldRenderer.finishDrawing();
+		return worldRenderer.getVertexCount();
+	}
+
+}
@@ -0,0 +1,354 @@
+package net.minecraft.client.renderer;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.lax1dude.eaglercraft.v1_8.minecraft.EaglerTextureAtlasSprite;
+import net.lax1dude.eaglercraft.v1_8.vector.Vector3f;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockBush;
+import net.minecraft.block.BlockFence;
+import net.minecraft.block.BlockGrass;
+import net.minecraft.block.BlockLeaves;
+import net.minecraft.block.BlockPane;
+import net.minecraft.block.BlockPropertyTables;
+import net.minecraft.block.BlockSlab;
+import net.minecraft.block.BlockStairs;
+import net.minecraft.block.BlockTorch;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.BlockFaceUV;
+import net.minecraft.client.renderer.block.model.BlockPartFace;
+import net.minecraft.client.renderer.block.model.BlockPartRotation;
+import net.minecraft.client.renderer.block.model.FaceBakery;
+import net.minecraft.client.renderer.block.model.ItemCameraTransforms;
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.client.resources.model.ModelRotation;
+import net.minecraft.client.resources.model.SimpleBakedModel;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class BenchmarkSections {
+
+	/**
+	 * The kinds of 16x16x16 sections the meshing benchmarks are run on, each one
+	 * is surrounded by more of the same so the faces on its border are culled and
+	 * lit like they are in game
+	 */
+	public static enum Kind {
+		TERRAIN, CAVE, VILLAGE
+	}
+
+	/**
+	 * The section that is meshed, the world has blocks from MIN_Y to MAX_Y in the
+	 * 3x3 chunks around it
+	 */
+	public static final BlockPos SECTION = new BlockPos(0, 64, 0);
+	private static final int MIN_Y = 48;
+	private static final int MAX_Y = 95;
+
+	private static boolean bootstrapped = false;
+
+	private static final FaceBakery faceBakery = new FaceBakery();
+	private static final Map<IBlockState, IBakedModel> models = new IdentityHashMap();
+	private static EaglerTextureAtlasSprite sprite = null;
+
+	public static World createWorld(Kind kind) {
+		if (!bootstrapped) {
+			Bootstrap.register();
+			bootstrapped = true;
+		}
+		World world = new WorldClient(null,
+				new WorldSettings(0l, WorldSettings.GameType.SURVIVAL, false, false, WorldType.FLAT), 0,
+				EnumDifficulty.PEACEFUL, new Profiler());
+		for (int x = -1; x <= 1; ++x) {
+			for (int z = -1; z <= 1; ++z) {
+				((WorldClient) world).doPreChunk(x, z, true);
+			}
+		}
+		Random random = new Random(35l + kind.ordinal());
+		switch (kind) {
+		case TERRAIN:
+			generateTerrain(world, random);
+			break;
+		case CAVE:
+			generateCave(world, random);
+			break;
+		case VILLAGE:
+			generateVillage(world, random);
+			break;
+		}
+		BlockPropertyTables.validate();
+		return world;
+	}
+
+	/**
+	 * Hills of grass and dirt over stone, with tall grass, flowers and trees
+	 */
+	private static void generateTerrain(World world, Random random) {
+		BlockPos pos = new BlockPos(0, 0, 0);
+		for (int x = -16; x < 32; ++x) {
+			for (int z = -16; z < 32; ++z) {
+				int h = 70 + (int) (4.0 * Math.sin(x * 0.3) * Math.cos(z * 0.25));
+				for (int y = MIN_Y; y <= h; ++y) {
+					IBlockState state = y == h ? Blocks.grass.getDefaultState()
+							: (y > h - 4 ? Blocks.dirt.getDefaultState() : Blocks.stone.getDefaultState());
+					setBlock(world, pos, x, y, z, state);
+				}
+				int r = random.nextInt(100);
+				if (r < 30) {
+					setBlock(world, pos, x, h + 1, z, Blocks.tallgrass.getStateFromMeta(1));
+				} else if (r < 34) {
+					setBlock(world, pos, x, h + 1, z,
+							(r & 1) == 0 ? Blocks.red_flower.getDefaultState() : Blocks.yellow_flower.getDefaultState());
+				} else if (r == 34 && x > -14 && x < 30 && z > -14 && z < 30) {
+					for (int i = 1; i <= 5; ++i) {
+						setBlock(world, pos, x, h + i, z, Blocks.log.getDefaultState());
+					}
+					for (int lx = -2; lx <= 2; ++lx) {
+						for (int lz = -2; lz <= 2; ++lz) {
+							for (int ly = 3; ly <= 6; ++ly) {
+								if ((lx != 0 || lz != 0 || ly > 5) && lx * lx + lz * lz + (ly - 5) * (ly - 5) < 8) {
+									setBlock(world, pos, x + lx, h + ly, z + lz, Blocks.leaves.getDefaultState());
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Solid stone with ores, carved by random tunnels of spheres
+	 */
+	private static void generateCave(World world, Random random) {
+		BlockPos pos = new BlockPos(0, 0, 0);
+		for (int x = -16; x < 32; ++x) {
+			for (int z = -16; z < 32; ++z) {
+				for (int y = MIN_Y; y <= MAX_Y; ++y) {
+					int r = random.nextInt(100);
+					IBlockState state = r < 2 ? Blocks.coal_ore.getDefaultState()
+							: (r < 3 ? Blocks.iron_ore.getDefaultState()
+									: (r < 8 ? Blocks.gravel.getDefaultState() : Blocks.stone.getDefaultState()));
+					setBlock(world, pos, x, y, z, state);
+				}
+			}
+		}
+		for (int i = 0; i < 6; ++i) {
+			double x = random.nextInt(32) - 8, y = 64 + random.nextInt(16), z = random.nextInt(32) - 8;
+			for (int j = 0; j < 40; ++j) {
+				int rad = 2 + random.nextInt(2);
+				for (int cx = -rad; cx <= rad; ++cx) {
+					for (int cy = -rad; cy <= rad; ++cy) {
+						for (int cz = -rad; cz <= rad; ++cz) {
+							int px = (int) x + cx, py = (int) y + cy, pz = (int) z + cz;
+							if (cx * cx + cy * cy + cz * cz <= rad * rad && px >= -16 && px < 32 && pz >= -16
+									&& pz < 32 && py > MIN_Y && py < MAX_Y) {
+								setBlock(world, pos, px, py, pz, Blocks.air.getDefaultState());
+							}
+						}
+					}
+				}
+				x += random.nextDouble() * 3.0 - 1.5;
+				y += random.nextDouble() * 2.0 - 1.0;
+				z += random.nextDouble() * 3.0 - 1.5;
+			}
+		}
+	}
+
+	/**
+	 * Small houses of planks and cobblestone with glass panes, stairs, slabs,
+	 * fences and torches on flat ground
+	 */
+	private static void generateVillage(World world, Random random) {
+		BlockPos pos = new BlockPos(0, 0, 0);
+		for (int x = -16; x < 32; ++x) {
+			for (int z = -16; z < 32; ++z) {
+				for (int y = MIN_Y; y <= 66; ++y) {
+					setBlock(world, pos, x, y, z,
+							y == 66 ? Blocks.grass.getDefaultState() : Blocks.dirt.getDefaultState());
+				}
+			}
+		}
+		for (int hx = -16; hx < 32; hx += 8) {
+			for (int hz = -16; hz < 32; hz += 8) {
+				int height = 3 + random.nextInt(2);
+				for (int x = 0; x < 7; ++x) {
+					for (int z = 0; z < 7; ++z) {
+						boolean wall = x == 0 || z == 0 || x == 6 || z == 6;
+						boolean corner = (x == 0 || x == 6) && (z == 0 || z == 6);
+						setBlock(world, pos, hx + x, 66, hz + z, Blocks.cobblestone.getDefaultState());
+						for (int y = 1; y <= height; ++y) {
+							IBlockState state;
+							if (corner) {
+								state = Blocks.log.getDefaultState();
+							} else if (wall) {
+								state = (y == 2 && (x == 3 || z == 3)) ? Blocks.glass_pane.getDefaultState()
+										: Blocks.planks.getDefaultState();
+							} else {
+								state = (y == 1 && x == 3 && z == 3) ? Blocks.torch.getDefaultState()
+										: Blocks.air.getDefaultState();
+							}
+							setBlock(world, pos, hx + x, 66 + y, hz + z, state);
+						}
+						setBlock(world, pos, hx + x, 67 + height, hz + z,
+								wall ? Blocks.oak_stairs.getDefaultState() : Blocks.stone_slab.getDefaultState());
+					}
+				}
+				setBlock(world, pos, hx + 3, 67, hz, Blocks.air.getDefaultState());
+				setBlock(world, pos, hx + 3, 68, hz, Blocks.air.getDefaultState());
+				setBlock(world, pos, hx + 7, 67, hz + random.nextInt(7), Blocks.oak_fence.getDefaultState());
+				setBlock(world, pos, hx + random.nextInt(7), 67, hz + 7, Blocks.oak_fence.getDefaultState());
+			}
+		}
+	}
+
+	private static void setBlock(World world, BlockPos pos, int x, int y, int z, IBlockState state) {
+		pos.x = x;
+		pos.y = y;
+		pos.z = z;
+		world.setBlockState(pos, state, 2);
+	}
+
+	/**
+	 * The cache the section is meshed from, created the same way as in
+	 * RenderChunk.rebuildChunk
+	 */
+	public static RegionRenderCache createRegionCache(World world) {
+		return new RegionRenderCache(world, SECTION.add(-1, -1, -1), SECTION.add(16, 16, 16), 1);
+	}
+
+	/**
+	 * Returns a model with the shape vanilla uses for the block, baked by the
+	 * real FaceBakery so the quads have the same layout as in game. Every model
+	 * uses the same sprite, only the geometry matters for meshing
+	 */
+	public static IBakedModel getModel(IBlockState state) {
+		IBakedModel model = models.get(state);
+		if (model == null) {
+			models.put(state, model = bakeModel(state));
+		}
+		return model;
+	}
+
+	private static IBakedModel bakeModel(IBlockState state) {
+		Block block = state.getBlock();
+		List<BakedQuad> general = new ArrayList();
+		List<List<BakedQuad>> faces = new ArrayList();
+		for (int i = 0; i < 6; ++i) {
+			faces.add(new ArrayList());
+		}
+		boolean ao = true;
+		if (block instanceof BlockSlab) {
+			boolean top = state.getValue(BlockSlab.HALF) == BlockSlab.EnumBlockHalf.TOP;
+			addBox(general, faces, 0, top ? 8 : 0, 0, 16, top ? 16 : 8, 16, -1);
+		} else if (block instanceof BlockStairs) {
+			addBox(general, faces, 0, 0, 0, 16, 8, 16, -1);
+			addBox(general, faces, 0, 8, 8, 16, 16, 16, -1);
+		} else if (block instanceof BlockFence || block instanceof BlockPane) {
+			addBox(general, faces, 6, 0, 6, 10, 16, 10, -1);
+		} else if (block instanceof BlockTorch) {
+			addBox(general, faces, 7, 0, 7, 9, 10, 9, -1);
+			ao = false;
+		} else if (block instanceof BlockBush) {
+			addCross(general, block == Blocks.tallgrass ? 0 : -1);
+			ao = false;
+		} else {
+			addBox(general, faces, 0, 0, 0, 16, 16, 16,
+					(block instanceof BlockGrass || block instanceof BlockLeaves) ? 0 : -1);
+		}
+		return new SimpleBakedModel(general, faces, ao, true, getSprite(), ItemCameraTransforms.DEFAULT);
+	}
+
+	/**
+	 * Faces on the side of the block are culled against the neighbour like the
+	 * ones with a cullface in the vanilla models, the others are general quads
+	 */
+	private static void addBox(List<BakedQuad> general, List<List<BakedQuad>> faces, float x0, float y0, float z0,
+			float x1, float y1, float z1, int tint) {
+		Vector3f from = new Vector3f(x0, y0, z0);
+		Vector3f to = new Vector3f(x1, y1, z1);
+		for (EnumFacing facing : EnumFacing.values()) {
+			boolean flush;
+			switch (facing) {
+			case DOWN:
+				flush = y0 == 0.0f;
+				break;
+			case UP:
+				flush = y1 == 16.0f;
+				break;
+			case NORTH:
+				flush = z0 == 0.0f;
+				break;
+			case SOUTH:
+				flush = z1 == 16.0f;
+				break;
+			case WEST:
+				flush = x0 == 0.0f;
+				break;
+			default:
+				flush = x1 == 16.0f;
+				break;
+			}
+			BlockPartFace face = new BlockPartFace(flush ? facing : null, tint, "all",
+					new BlockFaceUV(new float[] { 0.0f, 0.0f, 16.0f, 16.0f }, 0));
+			BakedQuad quad = faceBakery.makeBakedQuad(from, to, face, getSprite(), facing, ModelRotation.X0_Y0,
+					null, false, true);
+			(flush ? faces.get(facing.getIndex()) : general).add(quad);
+		}
+	}
+
+	private static void addCross(List<BakedQuad> general, int tint) {
+		BlockPartRotation rotation = new BlockPartRotation(new Vector3f(0.5f, 0.5f, 0.5f), EnumFacing.Axis.Y, 45.0f,
+				true);
+		BlockFaceUV uv = new BlockFaceUV(new float[] { 0.0f, 0.0f, 16.0f, 16.0f }, 0);
+		Vector3f[][] planes = new Vector3f[][] {
+				{ new Vector3f(0.8f, 0.0f, 8.0f), new Vector3f(15.2f, 16.0f, 8.0f) },
+				{ new Vector3f(8.0f, 0.0f, 0.8f), new Vector3f(8.0f, 16.0f, 15.2f) } };
+		EnumFacing[][] sides = new EnumFacing[][] { { EnumFacing.NORTH, EnumFacing.SOUTH },
+				{ EnumFacing.WEST, EnumFacing.EAST } };
+		for (int i = 0; i < 2; ++i) {
+			for (int j = 0; j < 2; ++j) {
+				general.add(faceBakery.makeBakedQuad(planes[i][0], planes[i][1],
+						new BlockPartFace(null, tint, "cross", uv), getSprite(), sides[i][j], ModelRotation.X0_Y0,
+						rotation, false, false));
+			}
+		}
+	}
+
+	private static EaglerTextureAtlasSprite getSprite() {
+		if (sprite == null) {
+			sprite = new EaglerTextureAtlasSprite("bench");
+			sprite.setIconWidth(16);
+			sprite.setIconHeight(16);
+			sprite.initSprite(256, 256, 0, 0, false);
+		}
+		return sprite;
+	}
+
+}
@@ -0,0 +1,571 @@
+package net.minecraft.client.renderer;
+
+import java.util.BitSet;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
+import net.minecraft.block.Block;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.TextureUtil;
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.IBlockAccess;
+
+/**+
+ * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
+ * 
+ * Minecraft 1.8.8 bytecode is (c) 2015 Mojang AB. "Do not distribute!"
+ * Mod Coder Pack v9.18 deobfuscation configs are (c) Copyright by the MCP Team
+ * 
+ * EaglercraftX 1.8 patch files are (c) 2022-2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+/**
+ * The smooth lighting path as it was before NeighborCache, kept only so the
+ * benchmarks can compare against it. It allocates its scratch arrays for every
+ * block, looks up every neighbour through the IBlockAccess once per quad and
+ * writes each quad with addVertexData followed by putBrightness4,
+ * putColorMultiplier and putPosition
+ */
+public class LegacyAmbientOcclusionRenderer {
+
+	public boolean renderModelAmbientOcclusion(IBlockAccess blockAccessIn, IBakedModel modelIn, Block blockIn,
+			BlockPos blockPosIn, WorldRenderer worldRendererIn, boolean checkSides) {
+		boolean flag = false;
+		float[] afloat = new float[EnumFacing.values().length * 2];
+		BitSet bitset = new BitSet(3);
+		LegacyAmbientOcclusionRenderer.AmbientOcclusionFace blockmodelrenderer$ambientocclusionface = new LegacyAmbientOcclusionRenderer.AmbientOcclusionFace();
+
+		for (EnumFacing enumfacing : EnumFacing.values()) {
+			List list = modelIn.getFaceQuads(enumfacing);
+			if (!list.isEmpty()) {
+				BlockPos blockpos = blockPosIn.offset(enumfacing);
+				if (!checkSides || blockIn.shouldSideBeRendered(blockAccessIn, blockpos, enumfacing)) {
+					this.renderModelAmbientOcclusionQuads(blockAccessIn, blockIn, blockPosIn, worldRendererIn, list,
+							afloat, bitset, blockmodelrenderer$ambientocclusionface);
+					flag = true;
+				}
+			}
+		}
+
+		List list1 = modelIn.getGeneralQuads();
+		if (list1.size() > 0) {
+			this.renderModelAmbientOcclusionQuads(blockAccessIn, blockIn, blockPosIn, worldRendererIn, list1, afloat,
+					bitset, blockmodelrenderer$ambientocclusionface);
+			flag = true;
+		}
+
+		return flag;
+	}
+
+	private void renderModelAmbientOcclusionQuads(IBlockAccess blockAccessIn, Block blockIn, BlockPos blockPosIn,
+			WorldRenderer worldRendererIn, List<BakedQuad> listQuadsIn, float[] quadBounds, BitSet boundsFlags,
+			LegacyAmbientOcclusionRenderer.AmbientOcclusionFace aoFaceIn) {
+		boolean isDeferred = DeferredStateManager.isDeferredRenderer();
+		double d0 = (double) blockPosIn.getX();
+		double d1 = (double) blockPosIn.getY();
+		double d2 = (double) blockPosIn.getZ();
+		Block.EnumOffsetType block$enumoffsettype = blockIn.getOffsetType();
+		if (block$enumoffsettype != Block.EnumOffsetType.NONE) {
+			long i = MathHelper.getPositionRandom(blockPosIn);
+			d0 += ((double) ((float) (i >> 16 & 15L) / 15.0F) - 0.5D) * 0.5D;
+			d2 += ((double) ((float) (i >> 24 & 15L) / 15.0F) - 0.5D) * 0.5D;
+			if (!isDeferred && block$enumoffsettype == Block.EnumOffsetType.XYZ) {
+				d1 += ((double) ((float) (i >> 20 & 15L) / 15.0F) - 1.0D) * 0.2D;
+			}
+		}
+
+		for (BakedQuad bakedquad : listQuadsIn) {
+			int[] vertData = isDeferred ? bakedquad.getVertexDataWithNormals() : bakedquad.getVertexData();
+			int vertOffset = isDeferred ? bakedquad.getVertexDataWithNormalsOffset() : bakedquad.getVertexDataOffset();
+			this.fillQuadBounds(blockIn, vertData, vertOffset, bakedquad.getFace(), quadBounds, boundsFlags,
+					isDeferred ? 8 : 7);
+			aoFaceIn.updateVertexBrightness(blockAccessIn, blockIn, blockPosIn, bakedquad.getFace(), quadBounds,
+					boundsFlags);
+			worldRendererIn.addVertexData(vertData, vertOffset,
+					isDeferred ? BakedQuad.VERTEX_DATA_WITH_NORMALS_LENGTH : BakedQuad.VERTEX_DATA_LENGTH);
+			worldRendererIn.putBrightness4(aoFaceIn.vertexBrightness[0], aoFaceIn.vertexBrightness[1],
+					aoFaceIn.vertexBrightness[2], aoFaceIn.vertexBrightness[3]);
+			if (bakedquad.hasTintIndex()) {
+				int j = blockIn.colorMultiplier(blockAccessIn, blockPosIn, bakedquad.getTintIndex());
+				if (EntityRenderer.anaglyphEnable) {
+					j = TextureUtil.anaglyphColor(j);
+				}
+
+				float f = (float) (j >> 16 & 255) / 255.0F;
+				float f1 = (float) (j >> 8 & 255) / 255.0F;
+				float f2 = (float) (j & 255) / 255.0F;
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[0] * f,
+						aoFaceIn.vertexColorMultiplier[0] * f1, aoFaceIn.vertexColorMultiplier[0] * f2, 4);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[1] * f,
+						aoFaceIn.vertexColorMultiplier[1] * f1, aoFaceIn.vertexColorMultiplier[1] * f2, 3);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[2] * f,
+						aoFaceIn.vertexColorMultiplier[2] * f1, aoFaceIn.vertexColorMultiplier[2] * f2, 2);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[3] * f,
+						aoFaceIn.vertexColorMultiplier[3] * f1, aoFaceIn.vertexColorMultiplier[3] * f2, 1);
+			} else {
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[0], aoFaceIn.vertexColorMultiplier[0],
+						aoFaceIn.vertexColorMultiplier[0], 4);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[1], aoFaceIn.vertexColorMultiplier[1],
+						aoFaceIn.vertexColorMultiplier[1], 3);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[2], aoFaceIn.vertexColorMultiplier[2],
+						aoFaceIn.vertexColorMultiplier[2], 2);
+				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[3], aoFaceIn.vertexColorMultiplier[3],
+						aoFaceIn.vertexColorMultiplier[3], 1);
+			}
+
+			worldRendererIn.putPosition(d0, d1, d2);
+		}
+
+	}
+
+	private void fillQuadBounds(Block blockIn, int[] vertexData, int offset, EnumFacing facingIn,
+			float[] quadBounds, BitSet boundsFlags, int deferredStrideOverride) {
+		float f = 32.0F;
+		float f1 = 32.0F;
+		float f2 = 32.0F;
+		float f3 = -32.0F;
+		float f4 = -32.0F;
+		float f5 = -32.0F;
+
+		for (int i = 0; i < 4; ++i) {
+			int j = offset + i * deferredStrideOverride;
+			float f6 = Float.intBitsToFloat(vertexData[j]);
+			float f7 = Float.intBitsToFloat(vertexData[j + 1]);
+			float f8 = Float.intBitsToFloat(vertexData[j + 2]);
+			f = Math.min(f, f6);
+			f1 = Math.min(f1, f7);
+			f2 = Math.min(f2, f8);
+			f3 = Math.max(f3, f6);
+			f4 = Math.max(f4, f7);
+			f5 = Math.max(f5, f8);
+		}
+
+		if (quadBounds != null) {
+			quadBounds[EnumFacing.WEST.getIndex()] = f;
+			quadBounds[EnumFacing.EAST.getIndex()] = f3;
+			quadBounds[EnumFacing.DOWN.getIndex()] = f1;
+			quadBounds[EnumFacing.UP.getIndex()] = f4;
+			quadBounds[EnumFacing.NORTH.getIndex()] = f2;
+			quadBounds[EnumFacing.SOUTH.getIndex()] = f5;
+			quadBounds[EnumFacing.WEST.getIndex() + EnumFacing.values().length] = 1.0F - f;
+			quadBounds[EnumFacing.EAST.getIndex() + EnumFacing.values().length] = 1.0F - f3;
+			quadBounds[EnumFacing.DOWN.getIndex() + EnumFacing.values().length] = 1.0F - f1;
+			quadBounds[EnumFacing.UP.getIndex() + EnumFacing.values().length] = 1.0F - f4;
+			quadBounds[EnumFacing.NORTH.getIndex() + EnumFacing.values().length] = 1.0F - f2;
+			quadBounds[EnumFacing.SOUTH.getIndex() + EnumFacing.values().length] = 1.0F - f5;
+		}
+
+		float f9 = 1.0E-4F;
+		float f10 = 0.9999F;
+		switch (facingIn) {
+		case DOWN:
+			boundsFlags.set(1, f >= 1.0E-4F || f2 >= 1.0E-4F || f3 <= 0.9999F || f5 <= 0.9999F);
+			boundsFlags.set(0, (f1 < 1.0E-4F || blockIn.isFullCube()) && f1 == f4);
+			break;
+		case UP:
+			boundsFlags.set(1, f >= 1.0E-4F || f2 >= 1.0E-4F || f3 <= 0.9999F || f5 <= 0.9999F);
+			boundsFlags.set(0, (f4 > 0.9999F || blockIn.isFullCube()) && f1 == f4);
+			break;
+		case NORTH:
+			boundsFlags.set(1, f >= 1.0E-4F || f1 >= 1.0E-4F || f3 <= 0.9999F || f4 <= 0.9999F);
+			boundsFlags.set(0, (f2 < 1.0E-4F || blockIn.isFullCube()) && f2 == f5);
+			break;
+		case SOUTH:
+			boundsFlags.set(1, f >= 1.0E-4F || f1 >= 1.0E-4F || f3 <= 0.9999F || f4 <= 0.9999F);
+			boundsFlags.set(0, (f5 > 0.9999F || blockIn.isFullCube()) && f2 == f5);
+			break;
+		case WEST:
+			boundsFlags.set(1, f1 >= 1.0E-4F || f2 >= 1.0E-4F || f4 <= 0.9999F || f5 <= 0.9999F);
+			boundsFlags.set(0, (f < 1.0E-4F || blockIn.isFullCube()) && f == f3);
+			break;
+		case EAST:
+			boundsFlags.set(1, f1 >= 1.0E-4F || f2 >= 1.0E-4F || f4 <= 0.9999F || f5 <= 0.9999F);
+			boundsFlags.set(0, (f3 > 0.9999F || blockIn.isFullCube()) && f == f3);
+		}
+
+	}
+
+	private static int getAoBrightness(int parInt1, int parInt2, int parInt3, int parInt4) {
+		if (parInt1 == 0) {
+			parInt1 = parInt4;
+		}
+
+		if (parInt2 == 0) {
+			parInt2 = parInt4;
+		}
+
+		if (parInt3 == 0) {
+			parInt3 = parInt4;
+		}
+
+		return parInt1 + parInt2 + parInt3 + parInt4 >> 2 & 16711935;
+	}
+
+	class AmbientOcclusionFace {
+		private final float[] vertexColorMultiplier = new float[4];
+		private final int[] vertexBrightness = new int[4];
+
+		private final BlockPos blockpos0 = new BlockPos(0, 0, 0);
+		private final BlockPos blockpos1 = new BlockPos(0, 0, 0);
+		private final BlockPos blockpos2 = new BlockPos(0, 0, 0);
+		private final BlockPos blockpos3 = new BlockPos(0, 0, 0);
+		private final BlockPos blockpos4 = new BlockPos(0, 0, 0);
+		private final BlockPos blockpos5 = new BlockPos(0, 0, 0);
+
+		public void updateVertexBrightness(IBlockAccess blockAccessIn, Block blockIn, BlockPos blockPosIn,
+				EnumFacing facingIn, float[] quadBounds, BitSet boundsFlags) {
+			BlockPos blockpos = boundsFlags.get(0) ? blockPosIn.offsetEvenFaster(facingIn, blockpos0) : blockPosIn;
+			LegacyAmbientOcclusionRenderer.EnumNeighborInfo blockmodelrenderer$enumneighborinfo = LegacyAmbientOcclusionRenderer.EnumNeighborInfo
+					.getNeighbourInfo(facingIn);
+			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[0], blockpos1);
+			int i = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos1);
+			float f = blockAccessIn.getBlockState(blockpos1).getBlock().getAmbientOcclusionLightValue();
+			blockpos1.offsetEvenFaster(facingIn, blockpos5);
+			boolean flag = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
+
+			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[1], blockpos2);
+			int j = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos2);
+			float f1 = blockAccessIn.getBlockState(blockpos2).getBlock().getAmbientOcclusionLightValue();
+			blockpos2.offsetEvenFaster(facingIn, blockpos5);
+			boolean flag1 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
+
+			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos3);
+			int k = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos3);
+			float f2 = blockAccessIn.getBlockState(blockpos3).getBlock().getAmbientOcclusionLightValue();
+			blockpos3.offsetEvenFaster(facingIn, blockpos5);
+			boolean flag2 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
+
+			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos4);
+			int l = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos4);
+			float f3 = blockAccessIn.getBlockState(blockpos4).getBlock().getAmbientOcclusionLightValue();
+			blockpos4.offsetEvenFaster(facingIn, blockpos5);
+			boolean flag3 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
+
+			float f4;
+			int i1;
+			if (!flag2 && !flag) {
+				f4 = f;
+				i1 = i;
+			} else {
+				blockpos1.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos5);
+				f4 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
+				i1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			}
+
+			float f5;
+			int j1;
+			if (!flag3 && !flag) {
+				f5 = f;
+				j1 = i;
+			} else {
+				blockpos1.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos5);
+				f5 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
+				j1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			}
+
+			float f6;
+			int k1;
+			if (!flag2 && !flag1) {
+				f6 = f1;
+				k1 = j;
+			} else {
+				blockpos2.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos5);
+				f6 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
+				k1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			}
+
+			float f7;
+			int l1;
+			if (!flag3 && !flag1) {
+				f7 = f1;
+				l1 = j;
+			} else {
+				blockpos2.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos5);
+				f7 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
+				l1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			}
+
+			blockPosIn.offsetEvenFaster(facingIn, blockpos5);
+			int i3 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockPosIn);
+			if (boundsFlags.get(0) || !blockAccessIn.getBlockState(blockpos5).getBlock().isOpaqueCube()) {
+				i3 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			}
+
+			float f8 = boundsFlags.get(0)
+					? blockAccessIn.getBlockState(blockpos).getBlock().getAmbientOcclusionLightValue()
+					: blockAccessIn.getBlockState(blockPosIn).getBlock().getAmbientOcclusionLightValue();
+			LegacyAmbientOcclusionRenderer.VertexTranslations blockmodelrenderer$vertextranslations = LegacyAmbientOcclusionRenderer.VertexTranslations
+					.getVertexTranslations(facingIn);
+			if (boundsFlags.get(1) && blockmodelrenderer$enumneighborinfo.field_178289_i) {
+				float f29 = (f3 + f + f5 + f8) * 0.25F;
+				float f30 = (f2 + f + f4 + f8) * 0.25F;
+				float f31 = (f2 + f1 + f6 + f8) * 0.25F;
+				float f32 = (f3 + f1 + f7 + f8) * 0.25F;
+				float f13 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[0].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[1].field_178229_m];
+				float f14 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[2].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[3].field_178229_m];
+				float f15 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[4].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[5].field_178229_m];
+				float f16 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[6].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178286_j[7].field_178229_m];
+				float f17 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[0].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[1].field_178229_m];
+				float f18 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[2].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[3].field_178229_m];
+				float f19 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[4].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[5].field_178229_m];
+				float f20 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[6].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178287_k[7].field_178229_m];
+				float f21 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[0].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[1].field_178229_m];
+				float f22 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[2].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[3].field_178229_m];
+				float f23 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[4].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[5].field_178229_m];
+				float f24 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[6].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178284_l[7].field_178229_m];
+				float f25 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[0].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[1].field_178229_m];
+				float f26 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[2].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[3].field_178229_m];
+				float f27 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[4].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[5].field_178229_m];
+				float f28 = quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[6].field_178229_m]
+						* quadBounds[blockmodelrenderer$enumneighborinfo.field_178285_m[7].field_178229_m];
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178191_g] = f29 * f13 + f30 * f14
+						+ f31 * f15 + f32 * f16;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178200_h] = f29 * f17 + f30 * f18
+						+ f31 * f19 + f32 * f20;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178201_i] = f29 * f21 + f30 * f22
+						+ f31 * f23 + f32 * f24;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178198_j] = f29 * f25 + f30 * f26
+						+ f31 * f27 + f32 * f28;
+				int i2 = getAoBrightness(l, i, j1, i3);
+				int j2 = getAoBrightness(k, i, i1, i3);
+				int k2 = getAoBrightness(k, j, k1, i3);
+				int l2 = getAoBrightness(l, j, l1, i3);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178191_g] = getVertexBrightness(i2,
+						j2, k2, l2, f13, f14, f15, f16);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178200_h] = getVertexBrightness(i2,
+						j2, k2, l2, f17, f18, f19, f20);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178201_i] = getVertexBrightness(i2,
+						j2, k2, l2, f21, f22, f23, f24);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178198_j] = getVertexBrightness(i2,
+						j2, k2, l2, f25, f26, f27, f28);
+			} else {
+				float f9 = (f3 + f + f5 + f8) * 0.25F;
+				float f10 = (f2 + f + f4 + f8) * 0.25F;
+				float f11 = (f2 + f1 + f6 + f8) * 0.25F;
+				float f12 = (f3 + f1 + f7 + f8) * 0.25F;
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178191_g] = getAoBrightness(l, i, j1,
+						i3);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178200_h] = getAoBrightness(k, i, i1,
+						i3);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178201_i] = getAoBrightness(k, j, k1,
+						i3);
+				this.vertexBrightness[blockmodelrenderer$vertextranslations.field_178198_j] = getAoBrightness(l, j, l1,
+						i3);
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178191_g] = f9;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178200_h] = f10;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178201_i] = f11;
+				this.vertexColorMultiplier[blockmodelrenderer$vertextranslations.field_178198_j] = f12;
+			}
+
+		}
+	}
+
+	private static int getVertexBrightness(int parInt1, int parInt2, int parInt3, int parInt4, float parFloat1,
+			float parFloat2, float parFloat3, float parFloat4) {
+		int i = (int) ((float) (parInt1 >> 16 & 255) * parFloat1 + (float) (parInt2 >> 16 & 255) * parFloat2
+				+ (float) (parInt3 >> 16 & 255) * parFloat3 + (float) (parInt4 >> 16 & 255) * parFloat4) & 255;
+		int j = (int) ((float) (parInt1 & 255) * parFloat1 + (float) (parInt2 & 255) * parFloat2
+				+ (float) (parInt3 & 255) * parFloat3 + (float) (parInt4 & 255) * parFloat4) & 255;
+		return i << 16 | j;
+	}
+
+	public static enum EnumNeighborInfo {
+		DOWN(new EnumFacing[] { EnumFacing.WEST, EnumFacing.EAST, EnumFacing.NORTH, EnumFacing.SOUTH }, 0.5F, false,
+				new LegacyAmbientOcclusionRenderer.Orientation[0], new LegacyAmbientOcclusionRenderer.Orientation[0],
+				new LegacyAmbientOcclusionRenderer.Orientation[0], new LegacyAmbientOcclusionRenderer.Orientation[0]),
+		UP(new EnumFacing[] { EnumFacing.EAST, EnumFacing.WEST, EnumFacing.NORTH, EnumFacing.SOUTH }, 1.0F, false,
+				new LegacyAmbientOcclusionRenderer.Orientation[0], new LegacyAmbientOcclusionRenderer.Orientation[0],
+				new LegacyAmbientOcclusionRenderer.Orientation[0], new LegacyAmbientOcclusionRenderer.Orientation[0]),
+		NORTH(new EnumFacing[] { EnumFacing.UP, EnumFacing.DOWN, EnumFacing.EAST, EnumFacing.WEST }, 0.8F, true,
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST }),
+		SOUTH(new EnumFacing[] { EnumFacing.WEST, EnumFacing.EAST, EnumFacing.DOWN, EnumFacing.UP }, 0.8F, true,
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_WEST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.WEST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_EAST, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.EAST }),
+		WEST(new EnumFacing[] { EnumFacing.UP, EnumFacing.DOWN, EnumFacing.NORTH, EnumFacing.SOUTH }, 0.6F, true,
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH }),
+		EAST(new EnumFacing[] { EnumFacing.DOWN, EnumFacing.UP, EnumFacing.NORTH, EnumFacing.SOUTH }, 0.6F, true,
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.DOWN,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_NORTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.NORTH },
+				new LegacyAmbientOcclusionRenderer.Orientation[] { LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH, LegacyAmbientOcclusionRenderer.Orientation.FLIP_UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.FLIP_SOUTH, LegacyAmbientOcclusionRenderer.Orientation.UP,
+						LegacyAmbientOcclusionRenderer.Orientation.SOUTH });
+
+		protected final EnumFacing[] field_178276_g;
+		protected final float field_178288_h;
+		protected final boolean field_178289_i;
+		protected final LegacyAmbientOcclusionRenderer.Orientation[] field_178286_j;
+		protected final LegacyAmbientOcclusionRenderer.Orientation[] field_178287_k;
+		protected final LegacyAmbientOcclusionRenderer.Orientation[] field_178284_l;
+		protected final LegacyAmbientOcclusionRenderer.Orientation[] field_178285_m;
+		private static final LegacyAmbientOcclusionRenderer.EnumNeighborInfo[] field_178282_n = new LegacyAmbientOcclusionRenderer.EnumNeighborInfo[6];
+
+		private EnumNeighborInfo(EnumFacing[] parArrayOfEnumFacing, float parFloat1, boolean parFlag,
+				LegacyAmbientOcclusionRenderer.Orientation[] parArrayOfOrientation,
+				LegacyAmbientOcclusionRenderer.Orientation[] parArrayOfOrientation_2,
+				LegacyAmbientOcclusionRenderer.Orientation[] parArrayOfOrientation_3,
+				LegacyAmbientOcclusionRenderer.Orientation[] parArrayOfOrientation_4) {
+			this.field_178276_g = parArrayOfEnumFacing;
+			this.field_178288_h = parFloat1;
+			this.field_178289_i = parFlag;
+			this.field_178286_j = parArrayOfOrientation;
+			this.field_178287_k = parArrayOfOrientation_2;
+			this.field_178284_l = parArrayOfOrientation_3;
+			this.field_178285_m = parArrayOfOrientation_4;
+		}
+
+		public static LegacyAmbientOcclusionRenderer.EnumNeighborInfo getNeighbourInfo(EnumFacing parEnumFacing) {
+			return field_178282_n[parEnumFacing.getIndex()];
+		}
+
+		static {
+			field_178282_n[EnumFacing.DOWN.getIndex()] = DOWN;
+			field_178282_n[EnumFacing.UP.getIndex()] = UP;
+			field_178282_n[EnumFacing.NORTH.getIndex()] = NORTH;
+			field_178282_n[EnumFacing.SOUTH.getIndex()] = SOUTH;
+			field_178282_n[EnumFacing.WEST.getIndex()] = WEST;
+			field_178282_n[EnumFacing.EAST.getIndex()] = EAST;
+		}
+	}
+
+	public static enum Orientation {
+		DOWN(EnumFacing.DOWN, false), UP(EnumFacing.UP, false), NORTH(EnumFacing.NORTH, false),
+		SOUTH(EnumFacing.SOUTH, false), WEST(EnumFacing.WEST, false), EAST(EnumFacing.EAST, false),
+		FLIP_DOWN(EnumFacing.DOWN, true), FLIP_UP(EnumFacing.UP, true), FLIP_NORTH(EnumFacing.NORTH, true),
+		FLIP_SOUTH(EnumFacing.SOUTH, true), FLIP_WEST(EnumFacing.WEST, true), FLIP_EAST(EnumFacing.EAST, true);
+
+		protected final int field_178229_m;
+
+		private Orientation(EnumFacing parEnumFacing, boolean parFlag) {
+			this.field_178229_m = parEnumFacing.getIndex() + (parFlag ? EnumFacing.values().length : 0);
+		}
+	}
+
+	static enum VertexTranslations {
+		DOWN(0, 1, 2, 3), UP(2, 3, 0, 1), NORTH(3, 0, 1, 2), SOUTH(0, 1, 2, 3), WEST(3, 0, 1, 2), EAST(1, 2, 3, 0);
+
+		private final int field_178191_g;
+		private final int field_178200_h;
+		private final int field_178201_i;
+		private final int field_178198_j;
+		private static final LegacyAmbientOcclusionRenderer.VertexTranslations[] field_178199_k = new LegacyAmbientOcclusionRenderer.VertexTranslations[6];
+
+		private VertexTranslations(int parInt2, int parInt3, int parInt4, int parInt5) {
+			this.field_178191_g = parInt2;
+			this.field_178200_h = parInt3;
+			this.field_178201_i = parInt4;
+			this.field_178198_j = parInt5;
+		}
+
+		public static LegacyAmbientOcclusionRenderer.VertexTranslations getVertexTranslations(EnumFacing parEnumFacing) {
+			return field_178199_k[parEnumFacing.getIndex()];
+		}
+
+		static {
+			field_178199_k[EnumFacing.DOWN.getIndex()] = DOWN;
+			field_178199_k[EnumFacing.UP.getIndex()] = UP;
+			field_178199_k[EnumFacing.NORTH.getIndex()] = NORTH;
+			field_178199_k[EnumFacing.SOUTH.getIndex()] = SOUTH;
+			field_178199_k[EnumFacing.WEST.getIndex()] = WEST;
+			field_178199_k[EnumFacing.EAST.getIndex()] = EAST;
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package net.minecraft.client.renderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockPropertyTables;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.block.model.BakedQuadPool;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuadEmitBenchmark {
+
+	@Param({ "TERRAIN", "CAVE", "VILLAGE" })
+	public BenchmarkSections.Kind section;
+
+	/**
+	 * The quads the mesher writes for the section in order, with the position,
+	 * lightmap coords, tint and smooth lighting shade of each one
+	 */
+	private BakedQuad[] pooledQuads;
+	private BakedQuad[] separateQuads;
+	private double[] positions;
+	private int[] brightness;
+	private float[] tints;
+	private float[][] shades;
+
+	private WorldRenderer worldRenderer;
+
+	@Setup
+	public void setup() {
+		World world = BenchmarkSections.createWorld(section);
+		RegionRenderCache cache = BenchmarkSections.createRegionCache(world);
+		List<IBakedModel> models = new ArrayList();
+		List<BakedQuad> quads = new ArrayList();
+		List<BlockPos> quadPositions = new ArrayList();
+		BlockPos origin = BenchmarkSections.SECTION;
+		for (int zz = 0; zz < 16; ++zz) {
+			for (int yy = 0; yy < 16; ++yy) {
+				for (int xx = 0; xx < 16; ++xx) {
+					BlockPos pos = origin.add(xx, yy, zz);
+					IBlockState state = cache.getBlockState(pos);
+					if (!BlockPropertyTables.isRendered(Block.BLOCK_STATE_IDS.get(state))) {
+						continue;
+					}
+					IBakedModel model = BenchmarkSections.getModel(state);
+					models.add(model);
+					for (EnumFacing facing : EnumFacing.values()) {
+						if (state.getBlock().shouldSideBeRendered(cache, pos.offset(facing), facing)) {
+							for (BakedQuad quad : model.getFaceQuads(facing)) {
+								quads.add(quad);
+								quadPositions.add(pos);
+							}
+						}
+					}
+					for (BakedQuad quad : model.getGeneralQuads()) {
+						quads.add(quad);
+						quadPositions.add(pos);
+					}
+				}
+			}
+		}
+
+		int cnt = quads.size();
+		separateQuads = new BakedQuad[cnt];
+		positions = new double[cnt * 3];
+		brightness = new int[cnt * 4];
+		tints = new float[cnt * 3];
+		shades = new float[cnt][];
+		float[][] shadeTable = new float[][] { { 1.0f, 1.0f, 1.0f, 1.0f }, { 1.0f, 0.8f, 0.6f, 0.8f },
+				{ 0.6f, 0.6f, 1.0f, 1.0f } };
+		for (int i = 0; i < cnt; ++i) {
+			// the quads as they were before BakedQuadPool, each one with its own array
+			BakedQuad quad = quads.get(i);
+			int off = quad.getVertexDataOffset();
+			separateQuads[i] = new BakedQuad(
+					Arrays.copyOfRange(quad.getVertexData(), off, off + BakedQuad.VERTEX_DATA_LENGTH),
+					quad.getTintIndex(), quad.getFace());
+			BlockPos pos = quadPositions.get(i);
+			positions[i * 3] = pos.x;
+			positions[i * 3 + 1] = pos.y;
+			positions[i * 3 + 2] = pos.z;
+			int light = cache.getCombinedLight(pos, 0);
+			for (int j = 0; j < 4; ++j) {
+				brightness[i * 4 + j] = light;
+			}
+			int color = quad.hasTintIndex() ? 0x7FB238 : 0xFFFFFF;
+			tints[i * 3] = (float) (color >> 16 & 255) / 255.0F;
+			tints[i * 3 + 1] = (float) (color >> 8 & 255) / 255.0F;
+			tints[i * 3 + 2] = (float) (color & 255) / 255.0F;
+			shades[i] = shadeTable[i % shadeTable.length];
+		}
+		BakedQuadPool.compact(models);
+		pooledQuads = quads.toArray(new BakedQuad[cnt]);
+		worldRenderer = new WorldRenderer(2097152);
+	}
+
+	/**
+	 * Every quad in its own array, written with addVertexData followed by
+	 * putBrightness4, putColorMultiplier and putPosition like before the pool
+	 */
+	@Benchmark
+	public int separateArraysPerCall() {
+		return emitPerCall(separateQuads);
+	}
+
+	/**
+	 * The pooled quads, written the old way
+	 */
+	@Benchmark
+	public int pooledPerCall() {
+		return emitPerCall(pooledQuads);
+	}
+
+	/**
+	 * The pooled quads, written with addQuad
+	 */
+	@Benchmark
+	public int pooledAddQuad() {
+		BakedQuad[] quads = pooledQuads;
+		WorldRenderer wr = worldRenderer;
+		wr.begin(7, DefaultVertexFormats.BLOCK);
+		for (int i = 0; i < quads.length; ++i) {
+			BakedQuad quad = quads[i];
+			int b = i * 4, p = i * 3;
+			wr.addQuad(quad.getVertexData(), quad.getVertexDataOffset(), positions[p], positions[p + 1],
+					positions[p + 2], true, tints[p], tints[p + 1], tints[p + 2], shades[i], brightness[b],
+					brightness[b + 1], brightness[b + 2], brightness[b + 3]);
+		}
+		wr.finishDrawing();
+		return wr.getVertexCount();
+	}
+
+	private int emitPerCall(BakedQuad[] quads) {
+		WorldRenderer wr = worldRenderer;
+		wr.begin(7, DefaultVertexFormats.BLOCK);
+		for (int i = 0; i < quads.length; ++i) {
+			BakedQuad quad = quads[i];
+			int b = i * 4, p = i * 3;
+			float[] shade = shades[i];
+			float r = tints[p], g = tints[p + 1], bl = tints[p + 2];
+			wr.addVertexData(quad.getVertexData(), quad.getVertexDataOffset(), BakedQuad.VERTEX_DATA_LENGTH);
+			wr.putBrightness4(brightness[b], brightness[b + 1], brightness[b + 2], brightness[b + 3]);
+			wr.putColorMultiplier(shade[0] * r, shade[0] * g, shade[0] * bl, 4);
+			wr.putColorMultiplier(shade[1] * r, shade[1] * g, shade[1] * bl, 3);
+			wr.putColorMultiplier(shade[2] * r, shade[2] * g, shade[2] * bl, 2);
+			wr.putColorMultiplier(shade[3] * r, shade[3] * g, shade[3] * bl, 1);
+			wr.putPosition(positions[p], positions[p + 1], positions[p + 2]);
+		}
+		wr.finishDrawing();
+		return wr.getVertexCount();
+	}
+
+}
@@ -0,0 +1,222 @@
+package net.minecraft.client.renderer.culling;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.BetterFrustum;
+import net.lax1dude.eaglercraft.v1_8.vector.Matrix4f;
+import net.lax1dude.eaglercraft.v1_8.vector.Vector3f;
+import net.lax1dude.eaglercraft.v1_8.vector.Vector4f;
+import net.minecraft.util.AxisAlignedBB;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkFrustumCullerBenchmark {
+
+	@Param({ "8", "16", "24" })
+	public int renderDistance;
+
+	/**
+	 * The camera is far from 0,0 and looking diagonally down so the planes cut
+	 * through every row of chunks, the chunks are laid out the same way
+	 * ViewFrustum lays them out around the camera
+	 */
+	private static final double CAM_X = 123456.7;
+	private static final double CAM_Y = 81.6;
+	private static final double CAM_Z = -654321.2;
+
+	private AxisAlignedBB[] boundingBoxes;
+	private ChunkFrustumCuller culler;
+	private Frustum frustum;
+
+	private BetterFrustum shadowFrustum;
+	private AxisAlignedBB shadowBounds;
+	private final float[][] shadowPlanes = new float[6][4];
+	private ChunkFrustumCuller.CullResult shadowResult;
+
+	@Setup
+	public void setup() {
+		int size = renderDistance * 2 + 1;
+		int count = size * size * 16;
+		boundingBoxes = new AxisAlignedBB[count];
+		culler = new ChunkFrustumCuller(count);
+		int originX = (((int) Math.floor(CAM_X) - 8) & -16) - renderDistance * 16;
+		int originZ = (((int) Math.floor(CAM_Z) - 8) & -16) - renderDistance * 16;
+		culler.setOrigin(originX, 0, originZ);
+		for (int x = 0; x < size; ++x) {
+			for (int y = 0; y < 16; ++y) {
+				for (int z = 0; z < size; ++z) {
+					int i = (z * 16 + y) * size + x;
+					int bx = originX + x * 16, by = y * 16, bz = originZ + z * 16;
+					boundingBoxes[i] = new AxisAlignedBB(bx, by, bz, bx + 16, by + 16, bz + 16);
+					culler.setChunkPosition(i, bx, by, bz);
+				}
+			}
+		}
+
+		Matrix4f view = new Matrix4f();
+		view.rotate(0.35f, new Vector3f(1.0f, 0.0f, 0.0f));
+		view.rotate(0.8f, new Vector3f(0.0f, 1.0f, 0.0f));
+		ClippingHelper clippingHelper = new ClippingHelper();
+		new BetterFrustum(Matrix4f.mul(perspective(70.0f, 16.0f / 9.0f, 0.05f, renderDistance * 16 * 1.4142f),
+				view, new Matrix4f())).getPlanes(clippingHelper.frustum, 0);
+		frustum = new Frustum(clippingHelper);
+		frustum.setPosition(CAM_X, CAM_Y, CAM_Z);
+
+		Matrix4f sun = new Matrix4f();
+		sun.rotate(1.1f, new Vector3f(1.0f, 0.0f, 0.0f));
+		sun.rotate(-0.4f, new Vector3f(0.0f, 1.0f, 0.0f));
+		Matrix4f shadowMatrix = Matrix4f.mul(ortho(renderDistance * 8.0f, 64.0f), sun, new Matrix4f());
+		shadowFrustum = new BetterFrustum(shadowMatrix);
+		shadowBounds = bounds(shadowMatrix);
+		shadowFrustum.getPlanes(shadowPlanes, 0);
+		shadowResult = culler.createResult(true);
+	}
+
+	private static Matrix4f perspective(float fovy, float aspect, float near, float far) {
+		float f = 1.0f / (float) Math.tan(Math.toRadians(fovy) * 0.5);
+		Matrix4f ret = new Matrix4f();
+		ret.m00 = f / aspect;
+		ret.m11 = f;
+		ret.m22 = (far + near) / (near - far);
+		ret.m23 = -1.0f;
+		ret.m32 = 2.0f * far * near / (near - far);
+		ret.m33 = 0.0f;
+		return ret;
+	}
+
+	private static Matrix4f ortho(float dist, float depth) {
+		Matrix4f ret = new Matrix4f();
+		ret.m00 = 1.0f / dist;
+		ret.m11 = 1.0f / dist;
+		ret.m22 = -1.0f / depth;
+		return ret;
+	}
+
+	/**
+	 * The world space box around the shadow map
+	 */
+	private static AxisAlignedBB bounds(Matrix4f m) {
+		Matrix4f inv = Matrix4f.invert(m, new Matrix4f());
+		double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
+		Vector4f v = new Vector4f();
+		for (int i = 0; i < 8; ++i) {
+			v.set((i & 1) != 0 ? 1.0f : -1.0f, (i & 2) != 0 ? 1.0f : -1.0f, (i & 4) != 0 ? 1.0f : -1.0f, 1.0f);
+			Matrix4f.transform(inv, v, v);
+			minX = Math.min(minX, v.x);
+			minY = Math.min(minY, v.y);
+			minZ = Math.min(minZ, v.z);
+			maxX = Math.max(maxX, v.x);
+			maxY = Math.max(maxY, v.y);
+			maxZ = Math.max(maxZ, v.z);
+		}
+		return new AxisAlignedBB(minX + CAM_X, minY + CAM_Y, minZ + CAM_Z, maxX + CAM_X, maxY + CAM_Y,
+				maxZ + CAM_Z);
+	}
+
+	/**
+	 * Every chunk's bounding box tested by Frustum in double precision, which is
+	 * what RenderGlobal.setupTerrain did for each render chunk
+	 */
+	@Benchmark
+	public int boundingBoxInFrustum() {
+		AxisAlignedBB[] boxes = boundingBoxes;
+		Frustum f = frustum;
+		int ret = 0;
+		for (int i = 0; i < boxes.length; ++i) {
+			if (f.isBoundingBoxInFrustum(boxes[i])) {
+				++ret;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * All of the chunks culled at once into the bitset, and then read back one
+	 * at a time
+	 */
+	@Benchmark
+	public int chunkFrustumCuller() {
+		ChunkFrustumCuller c = culler;
+		c.cull(frustum);
+		int ret = 0;
+		for (int i = 0, l = c.getCount(); i < l; ++i) {
+			if (c.isVisible(i)) {
+				++ret;
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * A shadow cascade tested one chunk at a time against the shadow map's bounds
+	 * and then BetterFrustum, like the ChunkCullAdapter of each cascade did
+	 */
+	@Benchmark
+	public int shadowIntersectAab() {
+		AxisAlignedBB[] boxes = boundingBoxes;
+		AxisAlignedBB bb = shadowBounds;
+		BetterFrustum f = shadowFrustum;
+		int ret = 0;
+		for (int i = 0; i < boxes.length; ++i) {
+			AxisAlignedBB box = boxes[i];
+			if (bb.intersectsWith(box)) {
+				int j = f.intersectAab((float) (box.minX - CAM_X), (float) (box.minY - CAM_Y),
+						(float) (box.minZ - CAM_Z), (float) (box.maxX - CAM_X), (float) (box.maxY - CAM_Y),
+						(float) (box.maxZ - CAM_Z));
+				if (j == BetterFrustum.INSIDE) {
+					ret += 2;
+				} else if (j == BetterFrustum.INTERSECT) {
+					++ret;
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * The same cascade culled with the shadow map's planes and bounds into a
+	 * result that keeps the inside bits, and then walked with nextVisible like
+	 * RenderGlobal.renderBlockLayerShadow
+	 */
+	@Benchmark
+	public int shadowCullResult() {
+		ChunkFrustumCuller.CullResult r = shadowResult;
+		culler.cull(shadowPlanes, 6, shadowBounds, CAM_X, CAM_Y, CAM_Z, r);
+		int ret = 0;
+		for (int i = r.nextVisible(0); i != -1; i = r.nextVisible(i + 1)) {
+			ret += r.isInside(i) ? 2 : 1;
+		}
+		return ret;
+	}
+
+}
@@ -0,0 +1,300 @@
+package net.minecraft.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.lax1dude.eaglercraft.v1_8.DecoderException;
+import net.lax1dude.eaglercraft.v1_8.netty.ByteBuf;
+import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketStringBenchmark {
+
+	/**
+	 * The packets the payloads are laid out like: S02PacketChat,
+	 * S3EPacketTeams creating a team, S3CPacketUpdateScore, S38PacketPlayerListItem
+	 * adding players and S45PacketTitle
+	 */
+	public static enum Payload {
+		CHAT, TEAMS, SCORES, PLAYER_LIST, TITLE
+	}
+
+	@Param({ "CHAT", "TEAMS", "SCORES", "PLAYER_LIST", "TITLE" })
+	public Payload payload;
+
+	private static final int PACKETS = 1000;
+
+	private static final String[] WORDS = new String[] { "hello", "anyone", "want", "to", "trade", "diamonds", "for",
+			"iron", "gg", "lol", "where", "is", "the", "spawn", "über", "schön", "привет", "日本語", "ok", "😀" };
+
+	private byte[][] packets;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(43l + payload.ordinal());
+		String[] names = new String[40];
+		for (int i = 0; i < names.length; ++i) {
+			names[i] = "Player" + Integer.toString(random.nextInt(1000000), 36);
+		}
+		packets = new byte[PACKETS][];
+		for (int i = 0; i < PACKETS; ++i) {
+			PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+			String name = names[random.nextInt(names.length)];
+			switch (payload) {
+			case CHAT:
+				buf.writeString("{\"text\":\"<" + name + "> " + sentence(random) + "\"}");
+				buf.writeByte(0);
+				break;
+			case TEAMS:
+				buf.writeString("team_" + random.nextInt(16));
+				buf.writeByte(0);
+				buf.writeString("Team " + random.nextInt(16));
+				buf.writeString("§" + Integer.toHexString(random.nextInt(16)));
+				buf.writeString("§r");
+				buf.writeByte(3);
+				buf.writeString("always");
+				buf.writeByte(random.nextInt(16));
+				int players = 1 + random.nextInt(8);
+				buf.writeVarIntToBuffer(players);
+				for (int j = 0; j < players; ++j) {
+					buf.writeString(names[random.nextInt(names.length)]);
+				}
+				break;
+			case SCORES:
+				buf.writeString(name);
+				buf.writeByte(0);
+				buf.writeString(random.nextBoolean() ? "kills" : "sidebar");
+				buf.writeVarIntToBuffer(random.nextInt(100000));
+				break;
+			case PLAYER_LIST:
+				buf.writeVarIntToBuffer(0);
+				int entries = 1 + random.nextInt(10);
+				buf.writeVarIntToBuffer(entries);
+				for (int j = 0; j < entries; ++j) {
+					buf.writeLong(random.nextLong());
+					buf.writeLong(random.nextLong());
+					buf.writeString(names[random.nextInt(names.length)]);
+					buf.writeVarIntToBuffer(1);
+					buf.writeString("textures");
+					char[] texture = new char[300];
+					for (int k = 0; k < texture.length; ++k) {
+						texture[k] = (char) ('A' + random.nextInt(26));
+					}
+					buf.writeString(new String(texture));
+					buf.writeBoolean(false);
+					buf.writeVarIntToBuffer(random.nextInt(4));
+					buf.writeVarIntToBuffer(random.nextInt(300));
+					buf.writeBoolean(false);
+				}
+				break;
+			case TITLE:
+				buf.writeVarIntToBuffer(random.nextInt(2));
+				buf.writeString("{\"text\":\"" + sentence(random) + "\",\"color\":\"gold\"}");
+				break;
+			}
+			packets[i] = new byte[buf.writerIndex()];
+			buf.getBytes(0, packets[i]);
+		}
+	}
+
+	private static String sentence(Random random) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0, l = 3 + random.nextInt(12); i < l; ++i) {
+			if (i > 0) {
+				sb.append(' ');
+			}
+			sb.append(WORDS[random.nextInt(random.nextInt(8) == 0 ? WORDS.length : WORDS.length - 6)]);
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Reads the payloads with PacketBuffer.readStringFromBuffer and
+	 * readVarIntFromBuffer
+	 */
+	@Benchmark
+	public void packetBuffer(Blackhole bh) {
+		for (int i = 0; i < PACKETS; ++i) {
+			byte[] data = packets[i];
+			ByteBuf nettyBuffer = Unpooled.buffer(data, data.length);
+			nettyBuffer.writerIndex(data.length);
+			PacketBuffer buf = new PacketBuffer(nettyBuffer);
+			switch (payload) {
+			case CHAT:
+				bh.consume(buf.readStringFromBuffer(32767));
+				bh.consume(buf.readByte());
+				break;
+			case TEAMS:
+				bh.consume(buf.readStringFromBuffer(16));
+				bh.consume(buf.readByte());
+				bh.consume(buf.readStringFromBuffer(32));
+				bh.consume(buf.readStringFromBuffer(16));
+				bh.consume(buf.readStringFromBuffer(16));
+				bh.consume(buf.readByte());
+				bh.consume(buf.readStringFromBuffer(32));
+				bh.consume(buf.readByte());
+				for (int j = 0, l = buf.readVarIntFromBuffer(); j < l; ++j) {
+					bh.consume(buf.readStringFromBuffer(40));
+				}
+				break;
+			case SCORES:
+				bh.consume(buf.readStringFromBuffer(40));
+				bh.consume(buf.readByte());
+				bh.consume(buf.readStringFromBuffer(16));
+				bh.consume(buf.readVarIntFromBuffer());
+				break;
+			case PLAYER_LIST:
+				bh.consume(buf.readVarIntFromBuffer());
+				for (int j = 0, l = buf.readVarIntFromBuffer(); j < l; ++j) {
+					bh.consume(buf.readLong());
+					bh.consume(buf.readLong());
+					bh.consume(buf.readStringFromBuffer(16));
+					for (int k = 0, m = buf.readVarIntFromBuffer(); k < m; ++k) {
+						bh.consume(buf.readStringFromBuffer(32767));
+						bh.consume(buf.readStringFromBuffer(32767));
+						bh.consume(buf.readBoolean());
+					}
+					bh.consume(buf.readVarIntFromBuffer());
+					bh.consume(buf.readVarIntFromBuffer());
+					bh.consume(buf.readBoolean());
+				}
+				break;
+			case TITLE:
+				bh.consume(buf.readVarIntFromBuffer());
+				bh.consume(buf.readStringFromBuffer(32767));
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Reads the payloads the way PacketBuffer did before it decoded from the
+	 * backing array
+	 */
+	@Benchmark
+	public void legacyPacketBuffer(Blackhole bh) {
+		for (int i = 0; i < PACKETS; ++i) {
+			byte[] data = packets[i];
+			ByteBuf nettyBuffer = Unpooled.buffer(data, data.length);
+			nettyBuffer.writerIndex(data.length);
+			PacketBuffer buf = new PacketBuffer(nettyBuffer);
+			switch (payload) {
+			case CHAT:
+				bh.consume(legacyReadString(buf, 32767));
+				bh.consume(buf.readByte());
+				break;
+			case TEAMS:
+				bh.consume(legacyReadString(buf, 16));
+				bh.consume(buf.readByte());
+				bh.consume(legacyReadString(buf, 32));
+				bh.consume(legacyReadString(buf, 16));
+				bh.consume(legacyReadString(buf, 16));
+				bh.consume(buf.readByte());
+				bh.consume(legacyReadString(buf, 32));
+				bh.consume(buf.readByte());
+				for (int j = 0, l = legacyReadVarInt(buf); j < l; ++j) {
+					bh.consume(legacyReadString(buf, 40));
+				}
+				break;
+			case SCORES:
+				bh.consume(legacyReadString(buf, 40));
+				bh.consume(buf.readByte());
+				bh.consume(legacyReadString(buf, 16));
+				bh.consume(legacyReadVarInt(buf));
+				break;
+			case PLAYER_LIST:
+				bh.consume(legacyReadVarInt(buf));
+				for (int j = 0, l = legacyReadVarInt(buf); j < l; ++j) {
+					bh.consume(buf.readLong());
+					bh.consume(buf.readLong());
+					bh.consume(legacyReadString(buf, 16));
+					for (int k = 0, m = legacyReadVarInt(buf); k < m; ++k) {
+						bh.consume(legacyReadString(buf, 32767));
+						bh.consume(legacyReadString(buf, 32767));
+						bh.consume(buf.readBoolean());
+					}
+					bh.consume(legacyReadVarInt(buf));
+					bh.consume(legacyReadVarInt(buf));
+					bh.consume(buf.readBoolean());
+				}
+				break;
+			case TITLE:
+				bh.consume(legacyReadVarInt(buf));
+				bh.consume(legacyReadString(buf, 32767));
+				break;
+			}
+		}
+	}
+
+	private static int legacyReadVarInt(ByteBuf buf) {
+		int i = 0;
+		int j = 0;
+
+		while (true) {
+			byte b0 = buf.readByte();
+			i |= (b0 & 127) << j++ * 7;
+			if (j > 5) {
+				throw new RuntimeException("VarInt too big");
+			}
+
+			if ((b0 & 128) != 128) {
+				break;
+			}
+		}
+
+		return i;
+	}
+
+	private static String legacyReadString(ByteBuf buf, int maxLength) {
+		int i = legacyReadVarInt(buf);
+		if (i > maxLength * 4) {
+			throw new DecoderException("The received encoded string buffer length is longer than maximum allowed (" + i
+					+ " > " + maxLength * 4 + ")");
+		} else if (i < 0) {
+			throw new DecoderException("The received encoded string buffer length is less than zero! Weird string!");
+		} else {
+			String s = new String(buf.readBytes(i).array(), StandardCharsets.UTF_8);
+			if (s.length() > maxLength) {
+				throw new DecoderException(
+						"The received string length is longer than maximum allowed (" + i + " > " + maxLength + ")");
+			} else {
+				return s;
+			}
+		}
+	}
+
+}
@@ -80,6 +80,17 @@ public class PlatformApplication {
 		}
 	}
 	
+	public static void downloadFileWithName(String str, byte[] dat) {
+		File f = new File(str);
+		try(FileOutputStream s = new FileOutputStream(f)) {
+			s.write(dat);
+			PlatformRuntime.logger.info("Saved file: {}", f.getAbsolutePath());
+		} catch (IOException e) {
+			PlatformRuntime.logger.error("Failed to save file: {}", f.getAbsolutePath());
+			PlatformRuntime.logger.error(e);
+		}
+	}
+
 	public static String saveScreenshot() {
 		return "nothing";
 	}
@@ -58,6 +58,10 @@ public class PlatformOpenGL {
 		glViewport(x, y, w, h);
 	}
 
+	public static final void _wglScissor(int x, int y, int w, int h) {
+		glScissor(x, y, w, h);
+	}
+
 	public static final void _wglBlendFunc(int src, int dst) {
 		glBlendFunc(src, dst);
 	}
@@ -356,19 +360,29 @@ public class PlatformOpenGL {
 		return glGetAttribLocation(((OpenGLObjects.ProgramGL) obj).ptr, name);
 	}
 
+	private static int drawCallCounter = 0;
+
+	public static final int _wglGetDrawCallCounter() {
+		return drawCallCounter;
+	}
+
 	public static final void _wglDrawArrays(int mode, int first, int count) {
+		++drawCallCounter;
 		glDrawArrays(mode, first, count);
 	}
 
 	public static final void _wglDrawArraysInstanced(int mode, int first, int count, int instanced) {
+		++drawCallCounter;
 		glDrawArraysInstanced(mode, first, count, instanced);
 	}
 
 	public static final void _wglDrawElements(int mode, int count, int type, int offset) {
+		++drawCallCounter;
 		glDrawElements(mode, count, type, offset);
 	}
 
 	public static final void _wglDrawElementsInstanced(int mode, int count, int type, int offset, int instanced) {
+		++drawCallCounter;
 		glDrawElementsInstanced(mode, count, type, offset, instanced);
 	}
 
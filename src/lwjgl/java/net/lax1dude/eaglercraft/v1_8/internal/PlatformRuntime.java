@@ -403,6 +403,15 @@ public class PlatformRuntime {
 	public static long freeMemory() {
 		return Runtime.getRuntime().freeMemory();
 	}
+
+	public static long heapUsed() {
+		Runtime rt = Runtime.getRuntime();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	public static long heapTotal() {
+		return Runtime.getRuntime().totalMemory();
+	}
 	
 	public static String getCallingClass(int backTrace) {
 		StackTraceElement[] astacktraceelement = Thread.currentThread().getStackTrace();
@@ -0,0 +1,127 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class MemoryStorageBackend implements IVFSStorageBackend {
+
+	/**
+	 * Plain JVM implementation of the rows that the IndexedDB VirtualFilesystem
+	 * stores, so VFSChunkedStorage can be run and measured outside of a browser
+	 */
+	private final TreeMap<String, byte[]> rows = new TreeMap();
+
+	private int transactionCount = 0;
+	private long bytesRead = 0l;
+	private long bytesWritten = 0l;
+
+	@Override
+	public synchronized int readRow(String key, int rowOffset, byte[] dst, int dstOffset, int len) {
+		++transactionCount;
+		byte[] row = rows.get(key);
+		if(row == null) {
+			return -1;
+		}
+		if(rowOffset < row.length) {
+			int cnt = Math.min(len, row.length - rowOffset);
+			System.arraycopy(row, rowOffset, dst, dstOffset, cnt);
+			bytesRead += cnt;
+		}
+		return row.length;
+	}
+
+	@Override
+	public synchronized byte[] readRow(String key) {
+		++transactionCount;
+		byte[] row = rows.get(key);
+		if(row == null) {
+			return null;
+		}
+		bytesRead += row.length;
+		byte[] ret = new byte[row.length];
+		System.arraycopy(row, 0, ret, 0, row.length);
+		return ret;
+	}
+
+	@Override
+	public synchronized boolean rowExists(String key) {
+		++transactionCount;
+		return rows.containsKey(key);
+	}
+
+	@Override
+	public synchronized boolean commit(List<String> writeKeys, List<byte[]> writeData, List<String> deleteKeys,
+			List<String> deletePrefixes) {
+		++transactionCount;
+		for(int i = 0, l = deletePrefixes.size(); i < l; ++i) {
+			prefixMap(deletePrefixes.get(i)).clear();
+		}
+		for(int i = 0, l = deleteKeys.size(); i < l; ++i) {
+			rows.remove(deleteKeys.get(i));
+		}
+		for(int i = 0, l = writeKeys.size(); i < l; ++i) {
+			byte[] data = writeData.get(i);
+			byte[] copy = new byte[data.length];
+			System.arraycopy(data, 0, copy, 0, data.length);
+			rows.put(writeKeys.get(i), copy);
+			bytesWritten += data.length;
+		}
+		return true;
+	}
+
+	@Override
+	public synchronized List<String> listRows(String prefix) {
+		++transactionCount;
+		return new ArrayList(prefixMap(prefix).keySet());
+	}
+
+	@Override
+	public synchronized int deleteRows(String prefix) {
+		++transactionCount;
+		Iterator<String> itr = prefixMap(prefix).keySet().iterator();
+		int i = 0;
+		while(itr.hasNext()) {
+			itr.next();
+			itr.remove();
+			++i;
+		}
+		return i;
+	}
+
+	private SortedMap<String, byte[]> prefixMap(String prefix) {
+		return rows.subMap(prefix, prefix + '\uffff');
+	}
+
+	public synchronized int getRowCount() {
+		return rows.size();
+	}
+
+	public synchronized int getTransactionCount() {
+		return transactionCount;
+	}
+
+	public synchronized long getBytesRead() {
+		return bytesRead;
+	}
+
+	public synchronized long getBytesWritten() {
+		return bytesWritten;
+	}
+
+}
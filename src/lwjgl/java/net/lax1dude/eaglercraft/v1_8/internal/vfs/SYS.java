@@ -1,5 +1,9 @@
 package net.lax1dude.eaglercraft.v1_8.internal.vfs;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,4 +42,50 @@ public class SYS {
 	public static final void deleteResourcePack(String packName) {
 		//
 	}
+
+	/**
+	 * There is no IndexedDB on desktop, the files are kept in a folder in the
+	 * working directory instead
+	 */
+	private static final File FILES_DIR = new File("_eagstorage_vfs");
+
+	public static final byte[] readFile(String path) {
+		File f = new File(FILES_DIR, path);
+		if(!f.isFile()) {
+			return null;
+		}
+		byte[] b = new byte[(int)f.length()];
+		try(FileInputStream s = new FileInputStream(f)) {
+			int i = 0, j;
+			while(i < b.length && (j = s.read(b, i, b.length - i)) != -1) {
+				i += j;
+			}
+			return b;
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public static final boolean writeFile(String path, byte[] data) {
+		File f = new File(FILES_DIR, path);
+		f.getParentFile().mkdirs();
+		try(FileOutputStream s = new FileOutputStream(f)) {
+			s.write(data);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	public static final boolean deleteFile(String path) {
+		return new File(FILES_DIR, path).delete();
+	}
+
+	public static final void beginBatch() {
+		//
+	}
+
+	public static final boolean endBatch() {
+		return true;
+	}
 }
@@ -211,6 +211,21 @@ public class EagRuntime {
 	public static long freeMemory() {
 		return PlatformRuntime.freeMemory();
 	}
+
+	/**
+	 * The heap the game is actually using, or -1 if the platform can't tell
+	 */
+	public static long heapUsed() {
+		return PlatformRuntime.heapUsed();
+	}
+
+	/**
+	 * The heap currently allocated by the runtime, or -1 if the platform can't
+	 * tell
+	 */
+	public static long heapTotal() {
+		return PlatformRuntime.heapTotal();
+	}
 	
 	public static boolean requireSSL() {
 		return ssl;
@@ -252,6 +267,10 @@ public class EagRuntime {
 		return PlatformApplication.getLocalStorage(data);
 	}
 
+	public static void downloadFileWithName(String str, byte[] dat) {
+		PlatformApplication.downloadFileWithName(str, dat);
+	}
+
 	public static IClientConfigAdapter getConfiguration() {
 		return PlatformRuntime.getClientConfigAdapter();
 	}
@@ -0,0 +1,40 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.util.List;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public interface IVFSStorageBackend {
+
+	/**
+	 * Copies up to len bytes of the row starting at rowOffset into dst, returns
+	 * the total length of the row or -1 if the row does not exist
+	 */
+	int readRow(String key, int rowOffset, byte[] dst, int dstOffset, int len);
+
+	byte[] readRow(String key);
+
+	boolean rowExists(String key);
+
+	/**
+	 * Performs all of the deletes and then all of the writes in a single
+	 * transaction, a prefix delete removes every row whose key starts with it
+	 */
+	boolean commit(List<String> writeKeys, List<byte[]> writeData, List<String> deleteKeys, List<String> deletePrefixes);
+
+	List<String> listRows(String prefix);
+
+	int deleteRows(String prefix);
+
+}
@@ -0,0 +1,339 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class VFSChunkedStorage {
+
+	/**
+	 * Files larger than this are split into rows of this size, the row of the file
+	 * itself then only holds a small header, so a ranged read only has to load the
+	 * chunks that it overlaps. Smaller files are stored in a single row exactly
+	 * like they were before chunking was added.
+	 */
+	public static final int CHUNK_SIZE = 262144;
+
+	public static final char CHUNK_SEPARATOR = '\u0000';
+
+	/**
+	 * A batch is committed early once this many bytes are waiting to be written
+	 */
+	public static final int MAX_BATCH_BYTES = 16777216;
+
+	public static final int HEADER_LENGTH = 16;
+	private static final byte[] HEADER_MAGIC = new byte[] { 0, 'E', 'A', 'G', 'C', 'H', 'N', 'K' };
+
+	private final IVFSStorageBackend backend;
+
+	private int batchDepth = 0;
+	private final Map<String, byte[]> pendingFiles = new LinkedHashMap();
+	private int pendingBytes = 0;
+
+	public VFSChunkedStorage(IVFSStorageBackend backend) {
+		this.backend = backend;
+	}
+
+	public IVFSStorageBackend getBackend() {
+		return backend;
+	}
+
+	public static boolean isChunkKey(String key) {
+		return key.indexOf(CHUNK_SEPARATOR) != -1;
+	}
+
+	private static String chunkKey(String path, int chunk) {
+		return path + CHUNK_SEPARATOR + chunk;
+	}
+
+	private static String chunkPrefix(String path) {
+		return path + CHUNK_SEPARATOR;
+	}
+
+	/**
+	 * Writes and deletes are held in memory until the matching call to endBatch
+	 * and are then committed in a single transaction, reads of a file that was
+	 * written during the batch are served from memory
+	 */
+	public void beginBatch() {
+		++batchDepth;
+	}
+
+	public boolean endBatch() {
+		if(batchDepth > 0 && --batchDepth == 0) {
+			return flushBatch();
+		}
+		return true;
+	}
+
+	public boolean isBatching() {
+		return batchDepth > 0;
+	}
+
+	public boolean flushBatch() {
+		if(pendingFiles.isEmpty()) {
+			return true;
+		}
+		List<String> writeKeys = new ArrayList();
+		List<byte[]> writeData = new ArrayList();
+		List<String> deleteKeys = new ArrayList();
+		List<String> deletePrefixes = new ArrayList();
+		for(Map.Entry<String, byte[]> etr : pendingFiles.entrySet()) {
+			String path = etr.getKey();
+			byte[] data = etr.getValue();
+			deletePrefixes.add(chunkPrefix(path));
+			if(data == null) {
+				deleteKeys.add(path);
+			}else {
+				appendRows(path, data, writeKeys, writeData);
+			}
+		}
+		pendingFiles.clear();
+		pendingBytes = 0;
+		return backend.commit(writeKeys, writeData, deleteKeys, deletePrefixes);
+	}
+
+	private static void appendRows(String path, byte[] data, List<String> writeKeys, List<byte[]> writeData) {
+		if(data.length <= CHUNK_SIZE) {
+			writeKeys.add(path);
+			writeData.add(data);
+			return;
+		}
+		byte[] header = new byte[HEADER_LENGTH];
+		System.arraycopy(HEADER_MAGIC, 0, header, 0, HEADER_MAGIC.length);
+		writeInt(header, 8, data.length);
+		writeInt(header, 12, CHUNK_SIZE);
+		writeKeys.add(path);
+		writeData.add(header);
+		for(int i = 0, j = 0; j < data.length; ++i, j += CHUNK_SIZE) {
+			writeKeys.add(chunkKey(path, i));
+			writeData.add(Arrays.copyOfRange(data, j, Math.min(j + CHUNK_SIZE, data.length)));
+		}
+	}
+
+	/**
+	 * Returns the size of the file if the row is a chunked file header, or -1 if
+	 * it is a normal file
+	 */
+	private static int parseHeader(byte[] header, int[] chunkSizeOut) {
+		return parseHeader(header, 0, chunkSizeOut);
+	}
+
+	private static int parseHeader(byte[] header, int off, int[] chunkSizeOut) {
+		for(int i = 0; i < HEADER_MAGIC.length; ++i) {
+			if(header[off + i] != HEADER_MAGIC[i]) {
+				return -1;
+			}
+		}
+		int chunkSize = readInt(header, off + 12);
+		if(chunkSize <= 0) {
+			return -1;
+		}
+		if(chunkSizeOut != null) {
+			chunkSizeOut[0] = chunkSize;
+		}
+		return readInt(header, off + 8);
+	}
+
+	private static void writeInt(byte[] arr, int off, int i) {
+		arr[off] = (byte)(i >>> 24);
+		arr[off + 1] = (byte)(i >>> 16);
+		arr[off + 2] = (byte)(i >>> 8);
+		arr[off + 3] = (byte)i;
+	}
+
+	private static int readInt(byte[] arr, int off) {
+		return ((arr[off] & 0xFF) << 24) | ((arr[off + 1] & 0xFF) << 16) | ((arr[off + 2] & 0xFF) << 8) | (arr[off + 3] & 0xFF);
+	}
+
+	/**
+	 * Copies up to len bytes of the file starting at fileOffset into dst, returns
+	 * the size of the file or -1 if the file does not exist
+	 */
+	public int readFile(String path, int fileOffset, byte[] dst, int dstOffset, int len) {
+		if(pendingFiles.containsKey(path)) {
+			byte[] data = pendingFiles.get(path);
+			if(data == null) {
+				return -1;
+			}
+			if(fileOffset < data.length) {
+				System.arraycopy(data, fileOffset, dst, dstOffset, Math.min(len, data.length - fileOffset));
+			}
+			return data.length;
+		}
+		int rowLength = backend.readRow(path, fileOffset, dst, dstOffset, len);
+		if(rowLength == HEADER_LENGTH) {
+			// the header is already in dst if the range started at the beginning of the row
+			int[] chunkSize = new int[1];
+			int size;
+			if(fileOffset == 0 && len >= HEADER_LENGTH) {
+				size = parseHeader(dst, dstOffset, chunkSize);
+			}else {
+				byte[] header = new byte[HEADER_LENGTH];
+				backend.readRow(path, 0, header, 0, HEADER_LENGTH);
+				size = parseHeader(header, chunkSize);
+			}
+			if(size != -1) {
+				int end = Math.min(fileOffset + len, size);
+				for(int i = fileOffset / chunkSize[0], j; (j = i * chunkSize[0]) < end; ++i) {
+					int start = Math.max(j, fileOffset);
+					int cnt = Math.min(j + chunkSize[0], end) - start;
+					backend.readRow(chunkKey(path, i), start - j, dst, dstOffset + start - fileOffset, cnt);
+				}
+				return size;
+			}
+		}
+		return rowLength;
+	}
+
+	/**
+	 * Returns null if the file does not exist, the array that is returned must not
+	 * be modified if a batch is in progress
+	 */
+	public byte[] readFile(String path) {
+		if(pendingFiles.containsKey(path)) {
+			return pendingFiles.get(path);
+		}
+		byte[] row = backend.readRow(path);
+		if(row != null && row.length == HEADER_LENGTH) {
+			int[] chunkSize = new int[1];
+			int size = parseHeader(row, chunkSize);
+			if(size != -1) {
+				byte[] ret = new byte[size];
+				for(int i = 0, j = 0; j < size; ++i, j += chunkSize[0]) {
+					backend.readRow(chunkKey(path, i), 0, ret, j, Math.min(chunkSize[0], size - j));
+				}
+				return ret;
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Returns -1 if the file does not exist
+	 */
+	public int getFileSize(String path) {
+		if(pendingFiles.containsKey(path)) {
+			byte[] data = pendingFiles.get(path);
+			return data != null ? data.length : -1;
+		}
+		byte[] header = new byte[HEADER_LENGTH];
+		int rowLength = backend.readRow(path, 0, header, 0, HEADER_LENGTH);
+		if(rowLength == HEADER_LENGTH) {
+			int size = parseHeader(header, null);
+			if(size != -1) {
+				return size;
+			}
+		}
+		return rowLength;
+	}
+
+	public boolean fileExists(String path) {
+		if(pendingFiles.containsKey(path)) {
+			return pendingFiles.get(path) != null;
+		}
+		return backend.rowExists(path);
+	}
+
+	/**
+	 * The array is not copied, it must not be modified until the batch has been
+	 * committed if a batch is in progress
+	 */
+	public boolean writeFile(String path, byte[] data) {
+		if(batchDepth > 0) {
+			byte[] old = pendingFiles.put(path, data);
+			if(old != null) {
+				pendingBytes -= old.length;
+			}
+			pendingBytes += data.length;
+			if(pendingBytes > MAX_BATCH_BYTES) {
+				return flushBatch();
+			}
+			return true;
+		}
+		List<String> writeKeys = new ArrayList();
+		List<byte[]> writeData = new ArrayList();
+		appendRows(path, data, writeKeys, writeData);
+		return backend.commit(writeKeys, writeData, new ArrayList(0), Arrays.asList(chunkPrefix(path)));
+	}
+
+	public boolean deleteFile(String path) {
+		if(batchDepth > 0) {
+			byte[] old = pendingFiles.put(path, null);
+			if(old != null) {
+				pendingBytes -= old.length;
+			}
+			return true;
+		}
+		return backend.commit(new ArrayList(0), new ArrayList(0), Arrays.asList(path), Arrays.asList(chunkPrefix(path)));
+	}
+
+	/**
+	 * Returns false if the old file does not exist
+	 */
+	public boolean renameFile(String oldPath, String newPath, boolean copy) {
+		byte[] data = readFile(oldPath);
+		if(data == null) {
+			return false;
+		}
+		if(batchDepth > 0) {
+			writeFile(newPath, data);
+			if(!copy) {
+				deleteFile(oldPath);
+			}
+			return true;
+		}
+		List<String> writeKeys = new ArrayList();
+		List<byte[]> writeData = new ArrayList();
+		List<String> deleteKeys = new ArrayList();
+		List<String> deletePrefixes = new ArrayList();
+		deletePrefixes.add(chunkPrefix(newPath));
+		if(!copy) {
+			deleteKeys.add(oldPath);
+			deletePrefixes.add(chunkPrefix(oldPath));
+		}
+		appendRows(newPath, data, writeKeys, writeData);
+		return backend.commit(writeKeys, writeData, deleteKeys, deletePrefixes);
+	}
+
+	public List<String> listFiles(String prefix) {
+		flushBatch();
+		List<String> rows = backend.listRows(prefix);
+		List<String> ret = new ArrayList(rows.size());
+		for(int i = 0, l = rows.size(); i < l; ++i) {
+			String s = rows.get(i);
+			if(!isChunkKey(s)) {
+				ret.add(s);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of files that were deleted, the chunk rows of the files
+	 * are not counted
+	 */
+	public int deleteFiles(String prefix) {
+		List<String> files = listFiles(prefix);
+		if(files.isEmpty()) {
+			return 0;
+		}
+		return backend.deleteRows(prefix) != -1 ? files.size() : -1;
+	}
+
+}
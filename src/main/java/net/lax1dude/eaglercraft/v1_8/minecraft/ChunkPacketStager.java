@@ -0,0 +1,228 @@
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.LongHashMap;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info)
+ * 
+ */
+public class ChunkPacketStager {
+
+	/**
+	 * chunks this close to the player are never staged, so the player can't fall
+	 * through an empty chunk while the rest of the burst is still being decoded
+	 */
+	public static final int IMMEDIATE_RADIUS = 1;
+
+	public static final long DECODE_BUDGET_NANOS = 3000000l;
+	public static final int MAX_COMMITS_PER_FRAME = 12;
+
+	private static class PendingChunk {
+
+		private final int chunkX;
+		private final int chunkZ;
+		private final byte[] data;
+		private final int mask;
+		private final boolean full;
+		private final boolean hasSky;
+
+		private ExtendedBlockStorage[] sections = null;
+		private byte[] biomes = null;
+
+		private PendingChunk(int chunkX, int chunkZ, byte[] data, int mask, boolean full, boolean hasSky) {
+			this.chunkX = chunkX;
+			this.chunkZ = chunkZ;
+			this.data = data;
+			this.mask = mask;
+			this.full = full;
+			this.hasSky = hasSky;
+		}
+
+		private void decode() {
+			sections = new ExtendedBlockStorage[16];
+			biomes = Chunk.decodeChunkSections(data, mask, full, hasSky, sections);
+		}
+
+	}
+
+	private LongHashMap<PendingChunk> pendingMap = new LongHashMap();
+	private final List<PendingChunk> pendingDecode = new ArrayList();
+	private final List<PendingChunk> pendingCommit = new ArrayList();
+
+	private WorldClient world = null;
+
+	public void setWorld(WorldClient world) {
+		if(this.world != world) {
+			clear();
+			this.world = world;
+		}
+	}
+
+	public void clear() {
+		pendingMap = new LongHashMap();
+		pendingDecode.clear();
+		pendingCommit.clear();
+	}
+
+	public int getPendingCount() {
+		return pendingDecode.size() + pendingCommit.size();
+	}
+
+	/**
+	 * Called instead of Chunk.fillChunk when a chunk packet is received, the data
+	 * is applied right away if the chunk is next to the player or if it is only a
+	 * partial update of a chunk that is already loaded
+	 */
+	public void stageChunk(int chunkX, int chunkZ, byte[] data, int mask, boolean full) {
+		long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+		PendingChunk existing = pendingMap.getValueByKey(key);
+		if(existing != null) {
+			if(full) {
+				removePending(key, existing);
+			}else {
+				commitChunkNow(chunkX, chunkZ);
+			}
+		}
+		if(!full || isNearPlayer(chunkX, chunkZ)) {
+			Chunk chunk = world.getChunkFromChunkCoords(chunkX, chunkZ);
+			chunk.fillChunk(data, mask, full);
+			finishChunk(chunk, chunkX, chunkZ, full);
+			return;
+		}
+		PendingChunk pending = new PendingChunk(chunkX, chunkZ, data, mask, full, !world.provider.getHasNoSky());
+		pendingMap.add(key, pending);
+		pendingDecode.add(pending);
+	}
+
+	/**
+	 * Drops the staged data of a chunk that was unloaded before it was committed
+	 */
+	public void cancelChunk(int chunkX, int chunkZ) {
+		long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+		PendingChunk existing = pendingMap.getValueByKey(key);
+		if(existing != null) {
+			removePending(key, existing);
+		}
+	}
+
+	/**
+	 * Must be called before handling any other packet that modifies blocks or tile
+	 * entities in a chunk, so that the order of the updates is preserved
+	 */
+	public void commitChunkNow(int chunkX, int chunkZ) {
+		long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+		PendingChunk existing = pendingMap.getValueByKey(key);
+		if(existing != null) {
+			removePending(key, existing);
+			if(existing.sections == null) {
+				existing.decode();
+			}
+			commit(existing);
+		}
+	}
+
+	public void commitAllNow() {
+		while(!pendingDecode.isEmpty()) {
+			PendingChunk pending = pendingDecode.remove(pendingDecode.size() - 1);
+			pending.decode();
+			pendingCommit.add(pending);
+		}
+		while(!pendingCommit.isEmpty()) {
+			PendingChunk pending = pendingCommit.remove(pendingCommit.size() - 1);
+			pendingMap.remove(ChunkCoordIntPair.chunkXZ2Int(pending.chunkX, pending.chunkZ));
+			commit(pending);
+		}
+	}
+
+	/**
+	 * Decodes staged chunks until the time budget is used up and then commits a
+	 * bounded number of the decoded ones, nearest to the player first
+	 */
+	public void update() {
+		if(world == null || (pendingDecode.isEmpty() && pendingCommit.isEmpty())) {
+			return;
+		}
+		Entity player = Minecraft.getMinecraft().getRenderViewEntity();
+		int px = player != null ? ((int) Math.floor(player.posX) >> 4) : 0;
+		int pz = player != null ? ((int) Math.floor(player.posZ) >> 4) : 0;
+		long deadline = System.nanoTime() + DECODE_BUDGET_NANOS;
+		while(!pendingDecode.isEmpty()) {
+			PendingChunk pending = pendingDecode.remove(nearestIndex(pendingDecode, px, pz));
+			pending.decode();
+			pendingCommit.add(pending);
+			if(System.nanoTime() > deadline) {
+				break;
+			}
+		}
+		for(int i = 0; i < MAX_COMMITS_PER_FRAME && !pendingCommit.isEmpty(); ++i) {
+			PendingChunk pending = pendingCommit.remove(nearestIndex(pendingCommit, px, pz));
+			pendingMap.remove(ChunkCoordIntPair.chunkXZ2Int(pending.chunkX, pending.chunkZ));
+			commit(pending);
+		}
+	}
+
+	private void commit(PendingChunk pending) {
+		Chunk chunk = world.getChunkFromChunkCoords(pending.chunkX, pending.chunkZ);
+		chunk.fillChunk(pending.sections, pending.biomes, pending.mask, pending.full);
+		finishChunk(chunk, pending.chunkX, pending.chunkZ, pending.full);
+	}
+
+	private void finishChunk(Chunk chunk, int chunkX, int chunkZ, boolean full) {
+		world.markBlockRangeForRenderUpdate(chunkX << 4, 0, chunkZ << 4, (chunkX << 4) + 15, 256, (chunkZ << 4) + 15);
+		if(!full || !(world.provider instanceof WorldProviderSurface)) {
+			chunk.resetRelightChecks();
+		}
+	}
+
+	private void removePending(long key, PendingChunk pending) {
+		pendingMap.remove(key);
+		if(!pendingDecode.remove(pending)) {
+			pendingCommit.remove(pending);
+		}
+	}
+
+	private boolean isNearPlayer(int chunkX, int chunkZ) {
+		Entity player = Minecraft.getMinecraft().getRenderViewEntity();
+		if(player == null) {
+			return false;
+		}
+		return Math.abs(((int) Math.floor(player.posX) >> 4) - chunkX) <= IMMEDIATE_RADIUS
+				&& Math.abs(((int) Math.floor(player.posZ) >> 4) - chunkZ) <= IMMEDIATE_RADIUS;
+	}
+
+	private static int nearestIndex(List<PendingChunk> list, int px, int pz) {
+		int ret = 0;
+		int min = Integer.MAX_VALUE;
+		for(int i = 0, l = list.size(); i < l; ++i) {
+			PendingChunk pending = list.get(i);
+			int dx = pending.chunkX - px;
+			int dz = pending.chunkZ - pz;
+			int d = dx * dx + dz * dz;
+			if(d < min) {
+				min = d;
+				ret = i;
+			}
+		}
+		return ret;
+	}
+
+}
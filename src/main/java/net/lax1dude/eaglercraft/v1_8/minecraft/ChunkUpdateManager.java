@@ -11,6 +11,7 @@ import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldVertexBufferUploader;
+import net.lax1dude.eaglercraft.v1_8.telemetry.EaglerTelemetry;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.RegionRenderCacheBuilder;
 import net.minecraft.client.renderer.chunk.ChunkCompileTaskGenerator;
@@ -128,6 +129,7 @@ public class ChunkUpdateManager {
 				}
 			}
 			queue.addAll(droppedUpdates);
+			EaglerTelemetry.setChunkQueueDepth(queue.size());
 			return flag;
 		}
 	}
@@ -0,0 +1,127 @@
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class DynamicResolutionController {
+
+	public static final float MIN_SCALE = 0.5f;
+	public static final float MAX_SCALE = 1.0f;
+	public static final float SCALE_STEP = 0.05f;
+
+	/**
+	 * The resolution is lowered once the average frame time has been more than
+	 * 15% over the target for a few frames in a row, it is only raised again
+	 * after a much longer run of frames that meet the target, the band in between
+	 * keeps the scale from flickering back and forth every frame
+	 */
+	public static final float DOWNSCALE_THRESHOLD = 1.15f;
+	public static final float UPSCALE_THRESHOLD = 1.05f;
+	public static final int DOWNSCALE_FRAMES = 8;
+	public static final int UPSCALE_FRAMES_MIN = 90;
+	public static final int UPSCALE_FRAMES_MAX = 1440;
+
+	/**
+	 * Frames that take longer than this are caused by things like a world load or
+	 * the tab being in the background and are not counted
+	 */
+	public static final long MAX_FRAME_NANOS = 250000000l;
+
+	private float scale = MAX_SCALE;
+	private float averageFrameNanos = 0.0f;
+	private int slowFrames = 0;
+	private int fastFrames = 0;
+	private int upscaleFrames = UPSCALE_FRAMES_MIN;
+	private int framesSinceUpscale = Integer.MAX_VALUE;
+	private int framesSinceDownscale = Integer.MAX_VALUE;
+
+	/**
+	 * frameNanos is the time the last frame took without the time spent waiting
+	 * for the frame rate limiter
+	 */
+	public void update(long frameNanos, int targetFPS) {
+		if (frameNanos <= 0l || frameNanos > MAX_FRAME_NANOS || targetFPS <= 0) {
+			return;
+		}
+		if (averageFrameNanos == 0.0f) {
+			averageFrameNanos = frameNanos;
+		} else {
+			averageFrameNanos += (frameNanos - averageFrameNanos) * 0.2f;
+		}
+		if (framesSinceUpscale != Integer.MAX_VALUE) {
+			++framesSinceUpscale;
+		}
+		if (framesSinceDownscale != Integer.MAX_VALUE) {
+			++framesSinceDownscale;
+		}
+		float targetNanos = 1000000000.0f / targetFPS;
+		if (averageFrameNanos > targetNanos * DOWNSCALE_THRESHOLD) {
+			fastFrames = 0;
+			if (scale > MIN_SCALE && ++slowFrames >= DOWNSCALE_FRAMES) {
+				slowFrames = 0;
+				if (framesSinceUpscale < upscaleFrames) {
+					// the last step up could not be sustained, wait twice as long before trying again
+					upscaleFrames = Math.min(upscaleFrames * 2, UPSCALE_FRAMES_MAX);
+				}
+				setScale(scale - (averageFrameNanos > targetNanos * 1.5f ? SCALE_STEP * 2.0f : SCALE_STEP));
+				framesSinceDownscale = 0;
+			}
+		} else if (averageFrameNanos < targetNanos * UPSCALE_THRESHOLD) {
+			slowFrames = 0;
+			if (scale < MAX_SCALE && ++fastFrames >= upscaleFrames) {
+				fastFrames = 0;
+				if (framesSinceUpscale < framesSinceDownscale) {
+					// the last step up was held until now, go back to the short wait
+					upscaleFrames = UPSCALE_FRAMES_MIN;
+				}
+				setScale(scale + SCALE_STEP);
+				framesSinceUpscale = 0;
+			}
+		} else {
+			slowFrames = 0;
+			fastFrames = 0;
+		}
+	}
+
+	private void setScale(float f) {
+		f = Math.round(f / SCALE_STEP) * SCALE_STEP;
+		scale = f < MIN_SCALE ? MIN_SCALE : (f > MAX_SCALE ? MAX_SCALE : f);
+	}
+
+	public float getScale() {
+		return scale;
+	}
+
+	public float getAverageFrameMillis() {
+		return averageFrameNanos * 0.000001f;
+	}
+
+	public int getRenderWidth(int displayWidth) {
+		return scale == MAX_SCALE ? displayWidth : Math.max((int) (displayWidth * scale), 1);
+	}
+
+	public int getRenderHeight(int displayHeight) {
+		return scale == MAX_SCALE ? displayHeight : Math.max((int) (displayHeight * scale), 1);
+	}
+
+	public void reset() {
+		scale = MAX_SCALE;
+		averageFrameNanos = 0.0f;
+		slowFrames = 0;
+		fastFrames = 0;
+		upscaleFrames = UPSCALE_FRAMES_MIN;
+		framesSinceUpscale = Integer.MAX_VALUE;
+		framesSinceDownscale = Integer.MAX_VALUE;
+	}
+
+}
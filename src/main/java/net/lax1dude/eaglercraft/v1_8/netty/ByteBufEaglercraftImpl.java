@@ -215,7 +215,7 @@ public class ByteBufEaglercraftImpl extends AbstractByteBuf {
 
 	@Override
 	public boolean hasArray() {
-		return true;
+		return internal.hasArray();
 	}
 
 	@Override
@@ -225,7 +225,7 @@ public class ByteBufEaglercraftImpl extends AbstractByteBuf {
 
 	@Override
 	public int arrayOffset() {
-		return 0;
+		return internal.arrayOffset();
 	}
 
 	@Override
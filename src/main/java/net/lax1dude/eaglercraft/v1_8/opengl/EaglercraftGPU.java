@@ -590,6 +590,7 @@ public class EaglercraftGPU {
 		SpriteLevelMixer.initialize();
 		InstancedFontRenderer.initialize();
 		InstancedParticleRenderer.initialize();
+		InstancedRainRenderer.initialize();
 		EffectPipelineFXAA.initialize();
 		TextureCopyUtil.initialize();
 		DrawUtils.vshLocal.free();
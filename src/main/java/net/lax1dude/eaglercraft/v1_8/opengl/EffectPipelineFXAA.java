@@ -49,6 +49,7 @@ public class EffectPipelineFXAA {
 
 	private static int currentWidth = -1;
 	private static int currentHeight = -1;
+	private static boolean currentLinear = false;
 
 	static void initialize() {
 		String fragmentSource = EagRuntime.getResourceString(fragmentShaderPath);
@@ -142,15 +143,35 @@ public class EffectPipelineFXAA {
 	}
 
 	public static void end() {
+		end(true, currentWidth, currentHeight);
+	}
+
+	/**
+	 * Draws the framebuffer to the screen, if the screen is larger than the size
+	 * passed to begin the image is upscaled with bilinear filtering, either
+	 * through the FXAA shader or through a plain blit if fxaa is false
+	 */
+	public static void end(boolean fxaa, int screenWidth, int screenHeight) {
 		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
 
-		EaglercraftGPU.bindGLShaderProgram(shaderProgram);
+		GlStateManager.viewport(0, 0, screenWidth, screenHeight);
 
 		GlStateManager.bindTexture(framebufferColor);
 
-		_wglUniform2f(u_screenSize2f, 1.0f / currentWidth, 1.0f / currentHeight);
+		boolean linear = screenWidth != currentWidth || screenHeight != currentHeight;
+		if(linear != currentLinear) {
+			currentLinear = linear;
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, linear ? GL_LINEAR : GL_NEAREST);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, linear ? GL_LINEAR : GL_NEAREST);
+		}
 
-		DrawUtils.drawStandardQuad2D();
+		if(fxaa) {
+			EaglercraftGPU.bindGLShaderProgram(shaderProgram);
+			_wglUniform2f(u_screenSize2f, 1.0f / currentWidth, 1.0f / currentHeight);
+			DrawUtils.drawStandardQuad2D();
+		}else {
+			TextureCopyUtil.blitTexture();
+		}
 	}
 
 }
@@ -230,6 +230,10 @@ public class GlStateManager {
 		stateAlphaTest = true;
 	}
 
+	public static final boolean isAlphaEnabled() {
+		return stateAlphaTest;
+	}
+
 	public static final void alphaFunc(int func, float ref) {
 		if(func != GL_GREATER) {
 			throw new UnsupportedOperationException("Only GL_GREATER alphaFunc is supported");
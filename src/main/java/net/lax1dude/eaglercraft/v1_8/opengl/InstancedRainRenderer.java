@@ -0,0 +1,320 @@
+package net.lax1dude.eaglercraft.v1_8.opengl;
+
+import static net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL.*;
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+import net.lax1dude.eaglercraft.v1_8.internal.IBufferArrayGL;
+import net.lax1dude.eaglercraft.v1_8.internal.IBufferGL;
+import net.lax1dude.eaglercraft.v1_8.internal.IProgramGL;
+import net.lax1dude.eaglercraft.v1_8.internal.IShaderGL;
+import net.lax1dude.eaglercraft.v1_8.internal.IUniformGL;
+import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
+import net.lax1dude.eaglercraft.v1_8.internal.buffer.FloatBuffer;
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.opengl.FixedFunctionShader.FixedFunctionConstants;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class InstancedRainRenderer {
+
+	private static final Logger logger = LogManager.getLogger("InstancedRainRenderer");
+
+	public static final String vertexShaderPath = "/assets/eagler/glsl/accel_rain.vsh";
+	public static final String fragmentShaderPath = "/assets/eagler/glsl/accel_rain.fsh";
+
+	/**
+	 * One instance is one column of rain or snow, the strip is a single quad that
+	 * the vertex shader stretches between the bottom and top of the column and
+	 * scrolls, so the instances only change when the camera moves to another
+	 * block or the column data changes
+	 */
+	private static final int BYTES_PER_COLUMN = 44;
+	private static final int COLUMN_LIMIT = 1024;
+
+	public static final int TYPE_RAIN = 0;
+	public static final int TYPE_SNOW = 1;
+
+	private static IProgramGL shaderProgram = null;
+	private static IUniformGL u_modelViewMatrix = null;
+	private static IUniformGL u_projectionMatrix = null;
+	private static FloatBuffer matrixCopyBuffer = null;
+	private static IUniformGL u_offset3f = null;
+	private static IUniformGL u_entityPos2f = null;
+	private static IUniformGL u_alphaParams4f = null;
+	private static IUniformGL u_time4f = null;
+	private static IUniformGL u_color4f = null;
+	private static IUniformGL u_alphaTestRef1f = null;
+	private static IUniformGL u_fogParameters4f = null;
+	private static IUniformGL u_fogColor4f = null;
+
+	private static IBufferGL vertexBuffer = null;
+	private static final IBufferArrayGL[] vertexArrays = new IBufferArrayGL[2];
+	private static final IBufferGL[] instancesBuffers = new IBufferGL[2];
+	private static final int[] columnCounts = new int[2];
+	private static final ByteBuffer[] columnBuffers = new ByteBuffer[2];
+
+	private static int stateModelMatrixSerial = -1;
+	private static int stateProjectionMatrixSerial = -1;
+
+	static void initialize() {
+		String vertexSource = EagRuntime.getResourceString(vertexShaderPath);
+		if(vertexSource == null) {
+			throw new RuntimeException("InstancedRainRenderer shader \"" + vertexShaderPath + "\" is missing!");
+		}
+
+		String fragmentSource = EagRuntime.getResourceString(fragmentShaderPath);
+		if(fragmentSource == null) {
+			throw new RuntimeException("InstancedRainRenderer shader \"" + fragmentShaderPath + "\" is missing!");
+		}
+
+		IShaderGL vert = _wglCreateShader(GL_VERTEX_SHADER);
+		IShaderGL frag = _wglCreateShader(GL_FRAGMENT_SHADER);
+
+		_wglShaderSource(vert, FixedFunctionConstants.VERSION + "\n" + vertexSource);
+		_wglCompileShader(vert);
+
+		if(_wglGetShaderi(vert, GL_COMPILE_STATUS) != GL_TRUE) {
+			logger.error("Failed to compile GL_VERTEX_SHADER \"" + vertexShaderPath + "\" for InstancedRainRenderer!");
+			String log = _wglGetShaderInfoLog(vert);
+			if(log != null) {
+				String[] lines = log.split("(\\r\\n|\\r|\\n)");
+				for(int i = 0; i < lines.length; ++i) {
+					logger.error("[VERT] {}", lines[i]);
+				}
+			}
+			throw new IllegalStateException("Vertex shader \"" + vertexShaderPath + "\" could not be compiled!");
+		}
+
+		_wglShaderSource(frag, FixedFunctionConstants.VERSION + "\n" + fragmentSource);
+		_wglCompileShader(frag);
+
+		if(_wglGetShaderi(frag, GL_COMPILE_STATUS) != GL_TRUE) {
+			logger.error("Failed to compile GL_FRAGMENT_SHADER \"" + fragmentShaderPath + "\" for InstancedRainRenderer!");
+			String log = _wglGetShaderInfoLog(frag);
+			if(log != null) {
+				String[] lines = log.split("(\\r\\n|\\r|\\n)");
+				for(int i = 0; i < lines.length; ++i) {
+					logger.error("[FRAG] {}", lines[i]);
+				}
+			}
+			throw new IllegalStateException("Fragment shader \"" + fragmentShaderPath + "\" could not be compiled!");
+		}
+
+		shaderProgram = _wglCreateProgram();
+
+		_wglAttachShader(shaderProgram, vert);
+		_wglAttachShader(shaderProgram, frag);
+
+		_wglLinkProgram(shaderProgram);
+
+		_wglDetachShader(shaderProgram, vert);
+		_wglDetachShader(shaderProgram, frag);
+
+		_wglDeleteShader(vert);
+		_wglDeleteShader(frag);
+
+		if(_wglGetProgrami(shaderProgram, GL_LINK_STATUS) != GL_TRUE) {
+			logger.error("Failed to link shader program for InstancedRainRenderer!");
+			String log = _wglGetProgramInfoLog(shaderProgram);
+			if(log != null) {
+				String[] lines = log.split("(\\r\\n|\\r|\\n)");
+				for(int i = 0; i < lines.length; ++i) {
+					logger.error("[LINK] {}", lines[i]);
+				}
+			}
+			throw new IllegalStateException("Shader program for InstancedRainRenderer could not be linked!");
+		}
+
+		matrixCopyBuffer = EagRuntime.allocateFloatBuffer(16);
+
+		EaglercraftGPU.bindGLShaderProgram(shaderProgram);
+
+		u_modelViewMatrix = _wglGetUniformLocation(shaderProgram, "u_modelViewMatrix");
+		u_projectionMatrix = _wglGetUniformLocation(shaderProgram, "u_projectionMatrix");
+		u_offset3f = _wglGetUniformLocation(shaderProgram, "u_offset3f");
+		u_entityPos2f = _wglGetUniformLocation(shaderProgram, "u_entityPos2f");
+		u_alphaParams4f = _wglGetUniformLocation(shaderProgram, "u_alphaParams4f");
+		u_time4f = _wglGetUniformLocation(shaderProgram, "u_time4f");
+		u_color4f = _wglGetUniformLocation(shaderProgram, "u_color4f");
+		u_alphaTestRef1f = _wglGetUniformLocation(shaderProgram, "u_alphaTestRef1f");
+		u_fogParameters4f = _wglGetUniformLocation(shaderProgram, "u_fogParameters4f");
+		u_fogColor4f = _wglGetUniformLocation(shaderProgram, "u_fogColor4f");
+
+		_wglUniform1i(_wglGetUniformLocation(shaderProgram, "u_inputTexture"), 0);
+		_wglUniform1i(_wglGetUniformLocation(shaderProgram, "u_lightmapTexture"), 1);
+
+		vertexBuffer = _wglGenBuffers();
+
+		FloatBuffer verts = EagRuntime.allocateFloatBuffer(12);
+		verts.put(new float[] {
+				-1.0f, 0.0f,   1.0f, 0.0f,   1.0f, 1.0f,
+				-1.0f, 0.0f,   1.0f, 1.0f,  -1.0f, 1.0f
+		});
+		verts.flip();
+
+		EaglercraftGPU.bindGLArrayBuffer(vertexBuffer);
+		_wglBufferData(GL_ARRAY_BUFFER, verts, GL_STATIC_DRAW);
+
+		EagRuntime.freeFloatBuffer(verts);
+
+		for(int i = 0; i < 2; ++i) {
+			columnBuffers[i] = EagRuntime.allocateByteBuffer(COLUMN_LIMIT * BYTES_PER_COLUMN);
+			vertexArrays[i] = _wglGenVertexArrays();
+			instancesBuffers[i] = _wglGenBuffers();
+
+			EaglercraftGPU.bindGLBufferArray(vertexArrays[i]);
+
+			EaglercraftGPU.bindGLArrayBuffer(vertexBuffer);
+			_wglEnableVertexAttribArray(0);
+			_wglVertexAttribPointer(0, 2, GL_FLOAT, false, 8, 0);
+			_wglVertexAttribDivisor(0, 0);
+
+			EaglercraftGPU.bindGLArrayBuffer(instancesBuffers[i]);
+			_wglBufferData(GL_ARRAY_BUFFER, COLUMN_LIMIT * BYTES_PER_COLUMN, GL_STATIC_DRAW);
+
+			_wglEnableVertexAttribArray(1);
+			_wglVertexAttribPointer(1, 2, GL_FLOAT, false, BYTES_PER_COLUMN, 0);
+			_wglVertexAttribDivisor(1, 1);
+
+			_wglEnableVertexAttribArray(2);
+			_wglVertexAttribPointer(2, 2, GL_FLOAT, false, BYTES_PER_COLUMN, 8);
+			_wglVertexAttribDivisor(2, 1);
+
+			_wglEnableVertexAttribArray(3);
+			_wglVertexAttribPointer(3, 2, GL_FLOAT, false, BYTES_PER_COLUMN, 16);
+			_wglVertexAttribDivisor(3, 1);
+
+			_wglEnableVertexAttribArray(4);
+			_wglVertexAttribPointer(4, 2, GL_UNSIGNED_SHORT, false, BYTES_PER_COLUMN, 24);
+			_wglVertexAttribDivisor(4, 1);
+
+			_wglEnableVertexAttribArray(5);
+			_wglVertexAttribPointer(5, 4, GL_FLOAT, false, BYTES_PER_COLUMN, 28);
+			_wglVertexAttribDivisor(5, 1);
+		}
+
+	}
+
+	/**
+	 * Starts building a new set of columns, the columns that were uploaded last
+	 * are drawn by render until upload is called again
+	 */
+	public static void begin() {
+		for(int i = 0; i < 2; ++i) {
+			columnBuffers[i].clear();
+		}
+	}
+
+	/**
+	 * x and z are the center of the column and offsetX and offsetZ the half
+	 * width of the strip, relative to the block the camera is in. For rain anim0
+	 * is the column's offset into the 32 tick scroll cycle and anim1 its speed,
+	 * for snow they are the random and gaussian values of its drift in u and
+	 * anim2 and anim3 the ones of its drift in v
+	 */
+	public static void appendColumn(int type, float x, float z, float offsetX, float offsetZ, int minY, int maxY,
+			int lightMapX, int lightMapY, float anim0, float anim1, float anim2, float anim3) {
+		ByteBuffer buf = columnBuffers[type];
+		if(buf.remaining() < BYTES_PER_COLUMN) {
+			return;
+		}
+		buf.putFloat(x);
+		buf.putFloat(z);
+		buf.putFloat(offsetX);
+		buf.putFloat(offsetZ);
+		buf.putFloat((float)minY);
+		buf.putFloat((float)maxY);
+		buf.putShort((short)lightMapX);
+		buf.putShort((short)lightMapY);
+		buf.putFloat(anim0);
+		buf.putFloat(anim1);
+		buf.putFloat(anim2);
+		buf.putFloat(anim3);
+	}
+
+	public static void upload() {
+		for(int i = 0; i < 2; ++i) {
+			ByteBuffer buf = columnBuffers[i];
+			columnCounts[i] = buf.position() / BYTES_PER_COLUMN;
+			if(columnCounts[i] > 0) {
+				buf.flip();
+				EaglercraftGPU.bindGLArrayBuffer(instancesBuffers[i]);
+				_wglBufferSubData(GL_ARRAY_BUFFER, 0, buf);
+				buf.clear();
+			}
+		}
+	}
+
+	public static int getColumnCount(int type) {
+		return columnCounts[type];
+	}
+
+	/**
+	 * offsetX, offsetY and offsetZ move the columns from the block the camera is
+	 * in to the camera, entityX and entityZ are the position the alpha falls off
+	 * from relative to the block. The texture, color, alpha test, fog and blend
+	 * state are taken from GlStateManager like the fixed function pipeline
+	 */
+	public static void render(int type, float offsetX, float offsetY, float offsetZ, float entityX, float entityZ,
+			float radius, float alphaFalloff, float strength, int tickCounter, float partialTicks) {
+		int cnt = columnCounts[type];
+		if(cnt == 0) {
+			return;
+		}
+		EaglercraftGPU.bindGLShaderProgram(shaderProgram);
+
+		_wglUniform3f(u_offset3f, offsetX, offsetY, offsetZ);
+		_wglUniform2f(u_entityPos2f, entityX, entityZ);
+		_wglUniform4f(u_alphaParams4f, radius, alphaFalloff, strength, (float)type);
+		_wglUniform4f(u_time4f, (float)(tickCounter & 31), partialTicks,
+				((float)(tickCounter & 511) + partialTicks) / 512.0f, (float)tickCounter + partialTicks);
+		_wglUniform4f(u_color4f, GlStateManager.stateColorR, GlStateManager.stateColorG, GlStateManager.stateColorB,
+				GlStateManager.stateColorA);
+		_wglUniform1f(u_alphaTestRef1f, GlStateManager.stateAlphaTest ? GlStateManager.stateAlphaTestRef : 0.0f);
+		if(GlStateManager.stateFog && GlStateManager.stateFogDensity > 0.0f) {
+			_wglUniform4f(u_fogParameters4f, GlStateManager.stateFogEXP ? 1.0f : 0.0f, GlStateManager.stateFogDensity,
+					GlStateManager.stateFogStart, GlStateManager.stateFogEnd);
+			_wglUniform4f(u_fogColor4f, GlStateManager.stateFogColorR, GlStateManager.stateFogColorG,
+					GlStateManager.stateFogColorB, GlStateManager.stateFogColorA);
+		}else {
+			_wglUniform4f(u_fogColor4f, 0.0f, 0.0f, 0.0f, 0.0f);
+		}
+
+		int ptr1 = GlStateManager.modelMatrixStackPointer;
+		int serial1 = GlStateManager.modelMatrixStackAccessSerial[ptr1];
+		if(stateModelMatrixSerial != serial1) {
+			stateModelMatrixSerial = serial1;
+			matrixCopyBuffer.clear();
+			GlStateManager.modelMatrixStack[ptr1].store(matrixCopyBuffer);
+			matrixCopyBuffer.flip();
+			_wglUniformMatrix4fv(u_modelViewMatrix, false, matrixCopyBuffer);
+		}
+		int ptr2 = GlStateManager.projectionMatrixStackPointer;
+		int serial2 = GlStateManager.projectionMatrixStackAccessSerial[ptr2];
+		if(stateProjectionMatrixSerial != serial2) {
+			stateProjectionMatrixSerial = serial2;
+			matrixCopyBuffer.clear();
+			GlStateManager.projectionMatrixStack[ptr2].store(matrixCopyBuffer);
+			matrixCopyBuffer.flip();
+			_wglUniformMatrix4fv(u_projectionMatrix, false, matrixCopyBuffer);
+		}
+
+		EaglercraftGPU.bindGLBufferArray(vertexArrays[type]);
+
+		_wglDrawArraysInstanced(GL_TRIANGLES, 0, 6, cnt);
+	}
+
+}
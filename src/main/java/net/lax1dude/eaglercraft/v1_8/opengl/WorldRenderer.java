@@ -45,6 +45,8 @@ public class WorldRenderer {
 	
 	private boolean hasBeenFreed = false;
 
+	private int[] quadScratch = new int[32];
+
 	public WorldRenderer(int bufferSizeIn) {
 		this.byteBuffer = GLAllocation.createDirectByteBuffer(bufferSizeIn << 2);
 		this.intBuffer = this.byteBuffer.asIntBuffer();
@@ -341,6 +343,74 @@ public class WorldRenderer {
 		this.vertexCount += vertexData.length / (this.vertexFormat.attribStride >> 2); 
 	}
 
+	/**
+	 * adds len ints of cached vertex data starting at offset to the buffer
+	 */
+	public void addVertexData(int[] vertexData, int offset, int len) {
+		this.grow(len);
+		PlatformBufferFunctions.put(this.intBuffer, (this.vertexCount * this.vertexFormat.attribStride) >> 2,
+				vertexData, offset, len);
+		this.vertexCount += len / (this.vertexFormat.attribStride >> 2);
+	}
+
+	/**
+	 * Adds a cached quad translated to x, y, z plus the current offset with the
+	 * lightmap coords of its 4 vertices set, does the same as addVertexData
+	 * followed by putBrightness4, putColorMultiplier and putPosition but writes
+	 * the buffer only once. If multiplyColor is true the color of each vertex is
+	 * multiplied by red, green and blue and by its entry in vertexMultipliers if
+	 * vertexMultipliers is not null.
+	 */
+	public void addQuad(int[] vertexData, int offset, double x, double y, double z, boolean multiplyColor,
+			float red, float green, float blue, float[] vertexMultipliers, int brightness0, int brightness1,
+			int brightness2, int brightness3) {
+		VertexFormat fmt = this.vertexFormat;
+		int stride = fmt.attribStride >> 2;
+		int len = stride << 2;
+		int[] quad = this.quadScratch;
+		if (quad.length != len) {
+			this.quadScratch = quad = new int[len];
+		}
+		System.arraycopy(vertexData, offset, quad, 0, len);
+		float fx = (float) (x + this.xOffset);
+		float fy = (float) (y + this.yOffset);
+		float fz = (float) (z + this.zOffset);
+		int colorOffset = fmt.attribColorOffset >> 2;
+		int lightmapOffset = fmt.attribLightmapOffset >> 2;
+		for (int k = 0; k < 4; ++k) {
+			int i = k * stride;
+			quad[i] = Float.floatToRawIntBits(fx + Float.intBitsToFloat(quad[i]));
+			quad[i + 1] = Float.floatToRawIntBits(fy + Float.intBitsToFloat(quad[i + 1]));
+			quad[i + 2] = Float.floatToRawIntBits(fz + Float.intBitsToFloat(quad[i + 2]));
+			if (multiplyColor) {
+				int j = -1;
+				if (!this.needsUpdate) {
+					float r = red, g = green, b = blue;
+					if (vertexMultipliers != null) {
+						float m = vertexMultipliers[k];
+						r = m * red;
+						g = m * green;
+						b = m * blue;
+					}
+					j = quad[i + colorOffset];
+					int k1 = (int) ((float) (j & 255) * r);
+					int l = (int) ((float) (j >> 8 & 255) * g);
+					int i1 = (int) ((float) (j >> 16 & 255) * b);
+					j = j & -16777216;
+					j = j | i1 << 16 | l << 8 | k1;
+				}
+				quad[i + colorOffset] = j;
+			}
+		}
+		quad[lightmapOffset] = brightness0;
+		quad[stride + lightmapOffset] = brightness1;
+		quad[stride * 2 + lightmapOffset] = brightness2;
+		quad[stride * 3 + lightmapOffset] = brightness3;
+		this.grow(len);
+		PlatformBufferFunctions.put(this.intBuffer, (this.vertexCount * this.vertexFormat.attribStride) >> 2, quad);
+		this.vertexCount += 4;
+	}
+
 	/**
 	 * increases the index of the current vertex by 1
 	 */
@@ -325,6 +325,26 @@ public class BetterFrustum {
 		return this;
 	}
 
+	/**
+	 * Copies the 6 planes into <code>dest</code> starting at
+	 * <code>offset</code> as <code>{x, y, z, w}</code> arrays, a point is on the
+	 * inside of a plane when <code>x * px + y * py + z * pz + w</code> is not
+	 * negative
+	 * 
+	 * @param dest   the arrays to copy the planes into
+	 * @param offset the index of the first plane in <code>dest</code>
+	 */
+	public void getPlanes(float[][] dest, int offset) {
+		for (int i = 0; i < 6; i++) {
+			Vector4f plane = planes[i];
+			float[] f = dest[offset + i];
+			f[0] = plane.x;
+			f[1] = plane.y;
+			f[2] = plane.z;
+			f[3] = plane.w;
+		}
+	}
+
 	/**
 	 * Test whether the given point is within the frustum defined by
 	 * <code>this</code> frustum culler.
@@ -79,6 +79,11 @@ public class CloudRenderWorker {
 	static int cloudRenderPeriod = 500;
 	static int cloudRenderPhase = 0;
 
+	/**
+	 * Changes every time the paraboloid that the sky is drawn with is updated
+	 */
+	static int cloudParaboloidSerial = 0;
+
 	static float cloudColorR = 0.0f;
 	static float cloudColorG = 0.0f;
 	static float cloudColorB = 0.0f;
@@ -424,6 +429,7 @@ public class CloudRenderWorker {
 		GlStateManager.bindTexture(cloudNoiseSampleParaboloidTexture[(cloudRenderPhase + 2) % 3]);
 		TextureCopyUtil.blitTexture();
 		GlStateManager.disableBlend();
+		++cloudParaboloidSerial;
 		
 		_wglBindFramebuffer(_GL_FRAMEBUFFER, cloudOcclusionFramebuffer);
 		GlStateManager.viewport(0, 0, 1, 1);
@@ -11,6 +11,7 @@ import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.FloatBuffer;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.minecraft.DynamicResolutionController;
 import net.lax1dude.eaglercraft.v1_8.opengl.DrawUtils;
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.FixedFunctionPipeline;
@@ -67,6 +68,7 @@ import static net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.ExtGLEnums.*;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -108,6 +110,14 @@ public class EaglerDeferredPipeline {
 	public int currentWidth = -1;
 	public int currentHeight = -1;
 
+	/**
+	 * Size of the default framebuffer the final pass is drawn to, the pipeline's
+	 * own targets are smaller than this when dynamic resolution has lowered the
+	 * render scale and the final pass stretches them over the whole display
+	 */
+	public int displayWidth = -1;
+	public int displayHeight = -1;
+
 	public double currentRenderX = 0.0;
 	public double currentRenderY = 0.0;
 	public double currentRenderZ = 0.0;
@@ -142,6 +152,10 @@ public class EaglerDeferredPipeline {
 	public int sunShadowDepthBufferRes = -1;
 	public int sunShadowColorBuffer = -1;
 
+	public IFramebufferGL sunShadowStaticFramebuffer = null;
+	public int sunShadowStaticDepthBuffer = -1;
+	public final SunShadowCache sunShadowCache = new SunShadowCache();
+
 	public IFramebufferGL sunLightingShadowFramebuffer = null;
 	public int sunLightingShadowTexture = -1;
 
@@ -358,6 +372,19 @@ public class EaglerDeferredPipeline {
 
 	private long recalcAtmosphereTimer = 0l;
 
+	/**
+	 * The inputs of the atmosphere LUT followed by the lightning color, every
+	 * face of the sky and atmosphere reflection maps remembers the serial they
+	 * had when it was last drawn and is skipped if they have not changed since
+	 */
+	private final float[] skyParams = new float[12];
+	private int skyParamsSerial = 0;
+	private int skyMapTopSerial = -1;
+	private int skyMapTopCloudSerial = -1;
+	private int skyMapBottomSerial = -1;
+	private int atmosphereMapSerial = -1;
+	private boolean skyIrradianceDirty = true;
+
 	private long lastExposureUpdate = 0l;
 
 	private float partialTicks = 0.0f;
@@ -443,6 +470,14 @@ public class EaglerDeferredPipeline {
 				_wglTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, sunShadowDepthBufferRes, sunShadowDepthBufferRes * lods, 0, GL_RGBA, GL_UNSIGNED_BYTE, (ByteBuffer)null);
 				_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, EaglercraftGPU.getNativeTexture(sunShadowColorBuffer), 0);
 			}
+			sunShadowStaticFramebuffer = _wglCreateFramebuffer();
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, sunShadowStaticFramebuffer);
+			sunShadowStaticDepthBuffer = GlStateManager.generateTexture();
+			GlStateManager.bindTexture(sunShadowStaticDepthBuffer);
+			setNearest();
+			_wglTexImage2D(GL_TEXTURE_2D, 0, _GL_DEPTH_COMPONENT24, sunShadowDepthBufferRes, sunShadowDepthBufferRes * lods, 0, _GL_DEPTH_COMPONENT, GL_UNSIGNED_INT, (ByteBuffer)null);
+			_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_DEPTH_ATTACHMENT, GL_TEXTURE_2D, EaglercraftGPU.getNativeTexture(sunShadowStaticDepthBuffer), 0);
+			sunShadowCache.invalidate();
 
 			DeferredStateManager.checkGLError("Post: rebuild pipeline: shadowsSun");
 		}
@@ -916,6 +951,11 @@ public class EaglerDeferredPipeline {
 		}
 
 		recalcAtmosphereTimer = 0l;
+		Arrays.fill(skyParams, Float.NaN);
+		++skyParamsSerial;
+		skyMapTopSerial = -1;
+		skyMapBottomSerial = -1;
+		atmosphereMapSerial = -1;
 
 		shader_skybox_atmosphere = PipelineShaderSkyboxAtmosphere.compile();
 		shader_skybox_atmosphere.loadUniforms();
@@ -1315,7 +1355,14 @@ public class EaglerDeferredPipeline {
 
 	public void beginDrawMainGBuffer() {
 		DeferredStateManager.checkGLError("Pre: beginDrawMainGBuffer()");
-		resize(mc.displayWidth, mc.displayHeight);
+		displayWidth = mc.displayWidth;
+		displayHeight = mc.displayHeight;
+		if(mc.gameSettings.dynamicResolution) {
+			DynamicResolutionController dynamicResolution = mc.entityRenderer.getDynamicResolution();
+			resize(dynamicResolution.getRenderWidth(displayWidth), dynamicResolution.getRenderHeight(displayHeight));
+		}else {
+			resize(displayWidth, displayHeight);
+		}
 		_wglBindFramebuffer(_GL_FRAMEBUFFER, gBufferFramebuffer);
 		_wglDrawBuffers(gBufferDrawBuffers);
 		_wglClearColor(0.0f, 0.0f, 0.0f, 0.0f);
@@ -1393,6 +1440,40 @@ public class EaglerDeferredPipeline {
 		GlStateManager.viewport(0, sunShadowDepthBufferRes * lod, sunShadowDepthBufferRes, sunShadowDepthBufferRes);
 	}
 
+	/**
+	 * Binds the cached terrain depth of a shadow LOD, only the pixels inside the
+	 * given rectangle of the LOD are cleared and redrawn
+	 */
+	public void beginUpdateStaticShadowMapLOD(int lod, int x, int y, int w, int h) {
+		DeferredStateManager.checkGLError("Pre: beginUpdateStaticShadowMapLOD(" + lod + ")");
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, sunShadowStaticFramebuffer);
+		_wglScissor(x, sunShadowDepthBufferRes * lod + y, w, h);
+		_wglEnable(GL_SCISSOR_TEST);
+		GlStateManager.clearDepth(1.0f);
+		GlStateManager.clear(GL_DEPTH_BUFFER_BIT);
+	}
+
+	public void endUpdateStaticShadowMapLOD(int lod) {
+		_wglDisable(GL_SCISSOR_TEST);
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, sunShadowFramebuffer);
+		DeferredStateManager.checkGLError("Post: endUpdateStaticShadowMapLOD(" + lod + ")");
+	}
+
+	/**
+	 * Copies the cached terrain depth of a shadow LOD into the shadow map, the
+	 * entities are drawn on top of it afterwards
+	 */
+	public void copyStaticShadowMapLOD(int lod) {
+		DeferredStateManager.checkGLError("Pre: copyStaticShadowMapLOD(" + lod + ")");
+		int y = sunShadowDepthBufferRes * lod;
+		_wglBindFramebuffer(_GL_READ_FRAMEBUFFER, sunShadowStaticFramebuffer);
+		_wglBindFramebuffer(_GL_DRAW_FRAMEBUFFER, sunShadowFramebuffer);
+		_wglBlitFramebuffer(0, y, sunShadowDepthBufferRes, y + sunShadowDepthBufferRes, 0, y, sunShadowDepthBufferRes,
+				y + sunShadowDepthBufferRes, GL_DEPTH_BUFFER_BIT, GL_NEAREST);
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, sunShadowFramebuffer);
+		DeferredStateManager.checkGLError("Post: copyStaticShadowMapLOD(" + lod + ")");
+	}
+
 	public void beginDrawColoredShadows() {
 		DeferredStateManager.checkGLError("Pre: beginDrawColoredShadows()");
 		_wglBindFramebuffer(_GL_FRAMEBUFFER, sunShadowColorFramebuffer);
@@ -1483,13 +1564,6 @@ public class EaglerDeferredPipeline {
 				// =============== CALCULATE ATMOSPHERE COLORS ================ //
 
 				recalcAtmosphereTimer = millis;
-				_wglBindFramebuffer(_GL_FRAMEBUFFER, atmosphereHDRFramebuffer);
-				shader_skybox_atmosphere.useProgram();
-				GlStateManager.setActiveTexture(GL_TEXTURE0);
-				GlStateManager.bindTexture(skybox.getNormalsLUT());
-				GlStateManager.viewport(0, 0, skybox.getAtmosLUTWidth(), skybox.getAtmosLUTHeight());
-				_wglUniform4f(shader_skybox_atmosphere.uniforms.u_sunDirectionIntensity4f, -currentSunAngle.x, -currentSunAngle.y, -currentSunAngle.z, 5.0f);
-				_wglUniform1f(shader_skybox_atmosphere.uniforms.u_altitude1f, Math.max((float)(entityPosY - 85.0), -20.0f));
 				Vector3f sunColorTmp = tmpVector3;
 				sunColorTmp.set(DeferredStateManager.currentSunLightColor);
 				float luma = sunColorTmp.x * 0.299f + sunColorTmp.y * 0.587f + sunColorTmp.z * 0.114f;
@@ -1498,88 +1572,123 @@ public class EaglerDeferredPipeline {
 				sunColorTmp.y = (sunColorTmp.y - luma) * sat + luma;
 				sunColorTmp.z = (sunColorTmp.z - luma) * sat + luma;
 				sunColorTmp.scale(0.3f - ff2 * 0.175f);
-				_wglUniform4f(shader_skybox_atmosphere.uniforms.u_blendColor4f, sunColorTmp.x * 0.05f, sunColorTmp.y * 0.05f, sunColorTmp.z * 0.05f, fff);
-
-				DrawUtils.drawStandardQuad2D();
+				boolean atmosphereChanged = setSkyParams(0, -currentSunAngle.x, -currentSunAngle.y, -currentSunAngle.z,
+						Math.max((float)(entityPosY - 85.0), -20.0f));
+				atmosphereChanged |= setSkyParams(4, sunColorTmp.x * 0.05f, sunColorTmp.y * 0.05f, sunColorTmp.z * 0.05f, fff);
+				if(atmosphereChanged) {
+					_wglBindFramebuffer(_GL_FRAMEBUFFER, atmosphereHDRFramebuffer);
+					shader_skybox_atmosphere.useProgram();
+					GlStateManager.setActiveTexture(GL_TEXTURE0);
+					GlStateManager.bindTexture(skybox.getNormalsLUT());
+					GlStateManager.viewport(0, 0, skybox.getAtmosLUTWidth(), skybox.getAtmosLUTHeight());
+					_wglUniform4f(shader_skybox_atmosphere.uniforms.u_sunDirectionIntensity4f, skyParams[0], skyParams[1], skyParams[2], 5.0f);
+					_wglUniform1f(shader_skybox_atmosphere.uniforms.u_altitude1f, skyParams[3]);
+					_wglUniform4f(shader_skybox_atmosphere.uniforms.u_blendColor4f, skyParams[4], skyParams[5], skyParams[6], skyParams[7]);
 
-				DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): CALCULATE ATMOSPHERE COLORS");
+					DrawUtils.drawStandardQuad2D();
 
-				// =============== GENERATE SKY REFLECTION MAP ================ //
+					DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): CALCULATE ATMOSPHERE COLORS");
+				}
 
-				_wglBindFramebuffer(_GL_FRAMEBUFFER, envMapSkyFramebuffer);
-				GlStateManager.viewport(0, 0, 128, 128);
-				GlStateManager.setActiveTexture(GL_TEXTURE1);
-				CloudRenderWorker.bindParaboloid();
-				GlStateManager.setActiveTexture(GL_TEXTURE0);
-				GlStateManager.bindTexture(atmosphereHDRFramebufferColorTexture);
-				shader_skybox_render_paraboloid.useProgram();
-				uniformMatrixHelper(shader_skybox_render_paraboloid.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidTopViewMatrix);
-				_wglUniform1f(shader_skybox_render_paraboloid.uniforms.u_farPlane1f, 2.0f);
 				if (mc.theWorld.getLastLightningBolt() > 0) {
 					float f = 0.3f + fff;
-					_wglUniform4f(shader_skybox_render_paraboloid.uniforms.u_lightningColor4f, 0.02f * f, 0.02f * f, 0.02f * f, 1.0f - f * 0.25f);
+					atmosphereChanged |= setSkyParams(8, 0.02f * f, 0.02f * f, 0.02f * f, 1.0f - f * 0.25f);
 				}else {
-					_wglUniform4f(shader_skybox_render_paraboloid.uniforms.u_lightningColor4f, 0.0f, 0.0f, 0.0f, 1.0f);
+					atmosphereChanged |= setSkyParams(8, 0.0f, 0.0f, 0.0f, 1.0f);
+				}
+				if(atmosphereChanged) {
+					++skyParamsSerial;
 				}
-				skybox.drawTop();
 
-				GlStateManager.viewport(0, 128, 128, 128);
-				uniformMatrixHelper(shader_skybox_render_paraboloid.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidBottomViewMatrix);
-				skybox.drawBottom();
+				// =============== GENERATE SKY REFLECTION MAP ================ //
+
+				// only the top face shows the clouds, the bottom face is below the horizon
+				boolean drawSkyTop = skyMapTopSerial != skyParamsSerial || skyMapTopCloudSerial != CloudRenderWorker.cloudParaboloidSerial;
+				boolean drawSkyBottom = skyMapBottomSerial != skyParamsSerial;
+				if(drawSkyTop || drawSkyBottom) {
+					_wglBindFramebuffer(_GL_FRAMEBUFFER, envMapSkyFramebuffer);
+					GlStateManager.setActiveTexture(GL_TEXTURE1);
+					CloudRenderWorker.bindParaboloid();
+					GlStateManager.setActiveTexture(GL_TEXTURE0);
+					GlStateManager.bindTexture(atmosphereHDRFramebufferColorTexture);
+					shader_skybox_render_paraboloid.useProgram();
+					_wglUniform1f(shader_skybox_render_paraboloid.uniforms.u_farPlane1f, 2.0f);
+					_wglUniform4f(shader_skybox_render_paraboloid.uniforms.u_lightningColor4f, skyParams[8], skyParams[9], skyParams[10], skyParams[11]);
+
+					if(drawSkyTop) {
+						GlStateManager.viewport(0, 0, 128, 128);
+						uniformMatrixHelper(shader_skybox_render_paraboloid.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidTopViewMatrix);
+						skybox.drawTop();
+						skyMapTopSerial = skyParamsSerial;
+						skyMapTopCloudSerial = CloudRenderWorker.cloudParaboloidSerial;
+					}
+
+					if(drawSkyBottom) {
+						GlStateManager.viewport(0, 128, 128, 128);
+						uniformMatrixHelper(shader_skybox_render_paraboloid.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidBottomViewMatrix);
+						skybox.drawBottom();
+						skyMapBottomSerial = skyParamsSerial;
+					}
+
+					skyIrradianceDirty = true;
 
-				DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE SKY REFLECTION MAP");
+					DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE SKY REFLECTION MAP");
+				}
 
 
 				if(irradiancePhase++ % 10 == 0) {
 
-					// =============== GENERATE ATMOSPHERE REFLECTION MAP ================ //
+					if(atmosphereMapSerial != skyParamsSerial) {
+						atmosphereMapSerial = skyParamsSerial;
 
-					_wglBindFramebuffer(_GL_FRAMEBUFFER, envMapAtmosphereFramebuffer);
-					GlStateManager.viewport(0, 0, 128, 128);
-					shader_skybox_render_paraboloid_noclouds.useProgram();
-					uniformMatrixHelper(shader_skybox_render_paraboloid_noclouds.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidTopViewMatrix);
-					_wglUniform1f(shader_skybox_render_paraboloid_noclouds.uniforms.u_farPlane1f, 2.0f);
-					if (mc.theWorld.getLastLightningBolt() > 0) {
-						float f = 0.3f + fff;
-						_wglUniform4f(shader_skybox_render_paraboloid_noclouds.uniforms.u_lightningColor4f, 0.02f * f, 0.02f * f, 0.02f * f, 1.0f - f * 0.25f);
-					}else {
-						_wglUniform4f(shader_skybox_render_paraboloid_noclouds.uniforms.u_lightningColor4f, 0.0f, 0.0f, 0.0f, 1.0f);
-					}
-					skybox.drawTop();
+						// =============== GENERATE ATMOSPHERE REFLECTION MAP ================ //
 
-					GlStateManager.viewport(0, 128, 128, 128);
-					uniformMatrixHelper(shader_skybox_render_paraboloid_noclouds.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidBottomViewMatrix);
-					skybox.drawBottom();
+						_wglBindFramebuffer(_GL_FRAMEBUFFER, envMapAtmosphereFramebuffer);
+						GlStateManager.setActiveTexture(GL_TEXTURE0);
+						GlStateManager.bindTexture(atmosphereHDRFramebufferColorTexture);
+						GlStateManager.viewport(0, 0, 128, 128);
+						shader_skybox_render_paraboloid_noclouds.useProgram();
+						uniformMatrixHelper(shader_skybox_render_paraboloid_noclouds.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidTopViewMatrix);
+						_wglUniform1f(shader_skybox_render_paraboloid_noclouds.uniforms.u_farPlane1f, 2.0f);
+						_wglUniform4f(shader_skybox_render_paraboloid_noclouds.uniforms.u_lightningColor4f, skyParams[8], skyParams[9], skyParams[10], skyParams[11]);
+						skybox.drawTop();
 
-					DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE ATMOSPHERE REFLECTION MAP");
+						GlStateManager.viewport(0, 128, 128, 128);
+						uniformMatrixHelper(shader_skybox_render_paraboloid_noclouds.uniforms.u_viewMatrix4f, DeferredStateManager.paraboloidBottomViewMatrix);
+						skybox.drawBottom();
 
-					// =============== GENERATE ATMOSPHERE IRRADIANCE MAP ================ //
+						DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE ATMOSPHERE REFLECTION MAP");
 
-					_wglBindFramebuffer(_GL_FRAMEBUFFER, atmosphereIrradianceFramebuffer);
-					GlStateManager.bindTexture(envMapAtmosphereTexture);
-					GlStateManager.viewport(0, 0, 32, 64);
+						// =============== GENERATE ATMOSPHERE IRRADIANCE MAP ================ //
 
-					shader_skybox_irradiance[0].useProgram();
-					DrawUtils.drawStandardQuad2D();
+						_wglBindFramebuffer(_GL_FRAMEBUFFER, atmosphereIrradianceFramebuffer);
+						GlStateManager.bindTexture(envMapAtmosphereTexture);
+						GlStateManager.viewport(0, 0, 32, 64);
 
-					GlStateManager.enableBlend();
-					GlStateManager.blendFunc(GL_ONE, GL_ONE);
+						shader_skybox_irradiance[0].useProgram();
+						DrawUtils.drawStandardQuad2D();
 
-					shader_skybox_irradiance[1].useProgram();
-					DrawUtils.drawStandardQuad2D();
+						GlStateManager.enableBlend();
+						GlStateManager.blendFunc(GL_ONE, GL_ONE);
 
-					shader_skybox_irradiance[2].useProgram();
-					DrawUtils.drawStandardQuad2D();
+						shader_skybox_irradiance[1].useProgram();
+						DrawUtils.drawStandardQuad2D();
 
-					GlStateManager.disableBlend();
+						shader_skybox_irradiance[2].useProgram();
+						DrawUtils.drawStandardQuad2D();
 
-					DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE ATMOSPHERE IRRADIANCE MAP");
+						GlStateManager.disableBlend();
 
-				}else {
+						DeferredStateManager.checkGLError("combineGBuffersAndIlluminate(): GENERATE ATMOSPHERE IRRADIANCE MAP");
+					}
+
+				}else if(skyIrradianceDirty) {
+					skyIrradianceDirty = false;
 
 					// =============== GENERATE SKY IRRADIANCE MAP ================ //
 
 					_wglBindFramebuffer(_GL_FRAMEBUFFER, skyIrradianceFramebuffer);
+					GlStateManager.setActiveTexture(GL_TEXTURE0);
 					GlStateManager.bindTexture(envMapSkyTexture);
 					GlStateManager.viewport(0, 0, 32, 64);
 
@@ -1603,6 +1712,9 @@ public class EaglerDeferredPipeline {
 
 				// =============== NETHER SKY REFLECTION MAP ================ //
 
+				skyMapTopSerial = -1;
+				skyMapBottomSerial = -1;
+
 				_wglBindFramebuffer(_GL_FRAMEBUFFER, envMapSkyFramebuffer);
 				GlStateManager.clearColor(0.55f, 0.25f, 0.05f, 1.0f);
 				GlStateManager.clear(GL_COLOR_BUFFER_BIT);
@@ -2150,6 +2262,21 @@ public class EaglerDeferredPipeline {
 		GlStateManager.disableBlend();
 	}
 
+	/**
+	 * Stores four of the sky parameters and returns true if any of them changed
+	 */
+	private boolean setSkyParams(int offset, float x, float y, float z, float w) {
+		float[] p = skyParams;
+		if(p[offset] == x && p[offset + 1] == y && p[offset + 2] == z && p[offset + 3] == w) {
+			return false;
+		}
+		p[offset] = x;
+		p[offset + 1] = y;
+		p[offset + 2] = z;
+		p[offset + 3] = w;
+		return true;
+	}
+
 	public void loadLightSourceBucket(int relativeBlockX, int relativeBlockY, int relativeBlockZ) {
 		int hw = lightSourceBucketsWidth / 2;
 		int hh = lightSourceBucketsHeight / 2;
@@ -3291,6 +3418,7 @@ public class EaglerDeferredPipeline {
 		// ==================== APPLY TONEMAPPING ==================== //
 
 		float exposure = 1.0f;
+		boolean scaled = currentWidth != displayWidth || currentHeight != displayHeight;
 
 		if(config.is_rendering_fxaa) {
 			_wglBindFramebuffer(_GL_FRAMEBUFFER, tonemapOutputFramebuffer);
@@ -3301,7 +3429,12 @@ public class EaglerDeferredPipeline {
 				_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
 			}
 		}
-		GlStateManager.viewport(0, 0, currentWidth, currentHeight);
+		boolean tonemapToDisplay = !config.is_rendering_fxaa && !config.is_rendering_lensDistortion;
+		if(tonemapToDisplay) {
+			GlStateManager.viewport(0, 0, displayWidth, displayHeight);
+		}else {
+			GlStateManager.viewport(0, 0, currentWidth, currentHeight);
+		}
 		shader_post_tonemap.useProgram();
 		GlStateManager.disableBlend();
 		GlStateManager.setActiveTexture(GL_TEXTURE2);
@@ -3310,9 +3443,19 @@ public class EaglerDeferredPipeline {
 		GlStateManager.bindTexture(exposureBlendTexture);
 		GlStateManager.setActiveTexture(GL_TEXTURE0);
 		GlStateManager.bindTexture(lightingHDRFramebufferColorTexture);
+		if(scaled && tonemapToDisplay) {
+			setCompositeFilter(true);
+		}
 		_wglUniform3f(shader_post_tonemap.uniforms.u_exposure3f, exposure, exposure, exposure);
-		_wglUniform2f(shader_post_tonemap.uniforms.u_ditherScale2f, currentWidth / 8.0f, currentHeight / 8.0f);
+		if(tonemapToDisplay) {
+			_wglUniform2f(shader_post_tonemap.uniforms.u_ditherScale2f, displayWidth / 8.0f, displayHeight / 8.0f);
+		}else {
+			_wglUniform2f(shader_post_tonemap.uniforms.u_ditherScale2f, currentWidth / 8.0f, currentHeight / 8.0f);
+		}
 		DrawUtils.drawStandardQuad2D();
+		if(scaled && tonemapToDisplay) {
+			setCompositeFilter(false);
+		}
 		GlStateManager.setActiveTexture(GL_TEXTURE2);
 		GlStateManager.bindTexture(-1);
 		GlStateManager.setActiveTexture(GL_TEXTURE0);
@@ -3323,15 +3466,23 @@ public class EaglerDeferredPipeline {
 			
 			// ======================= APPLY FXAA ======================== //
 
-			if(config.is_rendering_lensDistortion) {
-				_wglBindFramebuffer(_GL_FRAMEBUFFER, lensDistortFramebuffer);
-			}else {
+			boolean fxaaToDisplay = !config.is_rendering_lensDistortion;
+			if(fxaaToDisplay) {
 				_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+				GlStateManager.viewport(0, 0, displayWidth, displayHeight);
+			}else {
+				_wglBindFramebuffer(_GL_FRAMEBUFFER, lensDistortFramebuffer);
 			}
 			shader_post_fxaa.useProgram();
 			GlStateManager.bindTexture(tonemapOutputTexture);
+			if(scaled && fxaaToDisplay) {
+				setCompositeFilter(true);
+			}
 			_wglUniform2f(shader_post_fxaa.uniforms.u_screenSize2f, 1.0f / currentWidth, 1.0f / currentHeight);
 			DrawUtils.drawStandardQuad2D();
+			if(scaled && fxaaToDisplay) {
+				setCompositeFilter(false);
+			}
 
 			DeferredStateManager.checkGLError("endDrawDeferred(): APPLY FXAA");
 		}
@@ -3341,6 +3492,7 @@ public class EaglerDeferredPipeline {
 			// ================= APPLY LENS DISTORTION ================== //
 
 			_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+			GlStateManager.viewport(0, 0, displayWidth, displayHeight);
 			GlStateManager.setActiveTexture(GL_TEXTURE0);
 			GlStateManager.bindTexture(lensDistortTexture);
 			shader_post_lens_distort.useProgram();
@@ -3364,7 +3516,7 @@ public class EaglerDeferredPipeline {
 		}else {
 			_wglBindFramebuffer(_GL_READ_FRAMEBUFFER, lightingHDRFramebuffer);
 			_wglBindFramebuffer(_GL_DRAW_FRAMEBUFFER, null);
-			_wglBlitFramebuffer(0, 0, currentWidth, currentHeight, 0, 0, currentWidth, currentHeight, GL_DEPTH_BUFFER_BIT, GL_NEAREST);
+			_wglBlitFramebuffer(0, 0, currentWidth, currentHeight, 0, 0, displayWidth, displayHeight, GL_DEPTH_BUFFER_BIT, GL_NEAREST);
 		}
 
 		DeferredStateManager.checkGLError("endDrawDeferred(): BLIT WORLD DEPTH BUFFER TO OUTPUT");
@@ -3402,6 +3554,17 @@ public class EaglerDeferredPipeline {
 		_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
 	}
 
+	/**
+	 * The final pass samples its input with bilinear filtering while the render
+	 * scale is below 1, everywhere else the pipeline reads its targets texel for
+	 * texel so they are switched back to nearest afterwards
+	 */
+	private static void setCompositeFilter(boolean linear) {
+		int filter = linear ? GL_LINEAR : GL_NEAREST;
+		_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, filter);
+		_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, filter);
+	}
+
 	public static void setLinear() {
 		_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
 		_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
@@ -3455,6 +3618,15 @@ public class EaglerDeferredPipeline {
 			GlStateManager.deleteTexture(sunShadowDepthBuffer);
 			sunShadowDepthBuffer = -1;
 		}
+		if(sunShadowStaticFramebuffer != null) {
+			_wglDeleteFramebuffer(sunShadowStaticFramebuffer);
+			sunShadowStaticFramebuffer = null;
+		}
+		if(sunShadowStaticDepthBuffer != -1) {
+			GlStateManager.deleteTexture(sunShadowStaticDepthBuffer);
+			sunShadowStaticDepthBuffer = -1;
+		}
+		sunShadowCache.invalidate();
 		if(sunLightingShadowFramebuffer != null) {
 			_wglDeleteFramebuffer(sunLightingShadowFramebuffer);
 			sunLightingShadowFramebuffer = null;
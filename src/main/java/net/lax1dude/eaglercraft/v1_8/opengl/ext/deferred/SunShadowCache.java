@@ -0,0 +1,258 @@
+package net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred;
+
+import net.lax1dude.eaglercraft.v1_8.vector.Matrix4f;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.world.World;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class SunShadowCache {
+
+	/**
+	 * the terrain in a cascade is redrawn once the sun has moved this many degrees
+	 */
+	public static final float SUN_ANGLE_THRESHOLD = 0.25f;
+
+	/**
+	 * the origin of a cascade only moves in steps of this many shadow map texels
+	 */
+	public static final int ORIGIN_SNAP_TEXELS = 128;
+
+	public static class Cascade {
+
+		private boolean valid = false;
+		private World world = null;
+		private float celestialAngle = 0.0f;
+		private float sunAngle = 0.0f;
+		private int shadowMapDist = 0;
+		private int serial = 0;
+		private boolean fullUpdate = true;
+
+		private long originX = 0l;
+		private long originY = 0l;
+		private long originZ = 0l;
+		private double originWorldX = 0.0;
+		private double originWorldY = 0.0;
+		private double originWorldZ = 0.0;
+
+		private float offsetX = 0.0f;
+		private float offsetY = 0.0f;
+		private float offsetZ = 0.0f;
+
+		private float dirtyMinX;
+		private float dirtyMinY;
+		private float dirtyMaxX;
+		private float dirtyMaxY;
+
+		private float boxMinX;
+		private float boxMinY;
+		private float boxMaxX;
+		private float boxMaxY;
+
+		private long tmpOriginX;
+		private long tmpOriginY;
+		private long tmpOriginZ;
+
+		/**
+		 * Decides if the cached terrain of this cascade can still be used this frame
+		 * and calculates the offset from the camera to the cached origin
+		 */
+		public void update(World world, float celestialAngle, float sunAngle, int shadowMapDist, int resolution,
+				double x, double y, double z) {
+			fullUpdate = !valid || this.world != world || this.shadowMapDist != shadowMapDist
+					|| this.sunAngle != sunAngle
+					|| Math.abs(celestialAngle - this.celestialAngle) > SUN_ANGLE_THRESHOLD;
+			double step = (shadowMapDist * 2.0 * ORIGIN_SNAP_TEXELS) / resolution;
+			if(!fullUpdate) {
+				snapOrigin(this.celestialAngle, sunAngle, step, x, y, z);
+				fullUpdate = tmpOriginX != originX || tmpOriginY != originY || tmpOriginZ != originZ;
+			}
+			if(fullUpdate) {
+				this.valid = true;
+				this.world = world;
+				this.celestialAngle = celestialAngle;
+				this.sunAngle = sunAngle;
+				this.shadowMapDist = shadowMapDist;
+				snapOrigin(celestialAngle, sunAngle, step, x, y, z);
+				originX = tmpOriginX;
+				originY = tmpOriginY;
+				originZ = tmpOriginZ;
+
+				// rotate the snapped origin back out of light space
+
+				double a = Math.toRadians(celestialAngle + 90.0f);
+				double b = Math.toRadians(-sunAngle - 90.0f);
+				double sa = Math.sin(a), ca = Math.cos(a);
+				double sb = Math.sin(b), cb = Math.cos(b);
+				double lx = originX * step;
+				double ly = originY * step;
+				double lz = originZ * step;
+				double y1 = ly * ca + lz * sa;
+				double z1 = -ly * sa + lz * ca;
+				originWorldX = lx * cb - z1 * sb;
+				originWorldY = y1;
+				originWorldZ = lx * sb + z1 * cb;
+			}
+			offsetX = (float) (x - originWorldX);
+			offsetY = (float) (y - originWorldY);
+			offsetZ = (float) (z - originWorldZ);
+		}
+
+		private void snapOrigin(float celestialAngle, float sunAngle, double step, double x, double y, double z) {
+			// same rotation as EntityRenderer.setupSunCameraTransform
+
+			double a = Math.toRadians(celestialAngle + 90.0f);
+			double b = Math.toRadians(-sunAngle - 90.0f);
+			double sa = Math.sin(a), ca = Math.cos(a);
+			double sb = Math.sin(b), cb = Math.cos(b);
+			double x1 = x * cb + z * sb;
+			double z1 = -x * sb + z * cb;
+			double ly = y * ca - z1 * sa;
+			double lz = y * sa + z1 * ca;
+			tmpOriginX = (long) Math.floor(x1 / step + 0.5);
+			tmpOriginY = (long) Math.floor(ly / step + 0.5);
+			tmpOriginZ = (long) Math.floor(lz / step + 0.5);
+		}
+
+		public boolean needsFullUpdate() {
+			return fullUpdate;
+		}
+
+		/**
+		 * the sun angle that the cached terrain was drawn with, must be used for all
+		 * of the matrices of this cascade instead of the current one
+		 */
+		public float getCelestialAngle() {
+			return celestialAngle;
+		}
+
+		public float getOffsetX() {
+			return offsetX;
+		}
+
+		public float getOffsetY() {
+			return offsetY;
+		}
+
+		public float getOffsetZ() {
+			return offsetZ;
+		}
+
+		public int getSerial() {
+			return serial;
+		}
+
+		public void markUpdated(int serial) {
+			this.serial = serial;
+		}
+
+		public void resetDirtyRegion() {
+			dirtyMinX = Float.MAX_VALUE;
+			dirtyMinY = Float.MAX_VALUE;
+			dirtyMaxX = -Float.MAX_VALUE;
+			dirtyMaxY = -Float.MAX_VALUE;
+		}
+
+		public void expandDirtyRegion(AxisAlignedBB bb, double x, double y, double z, Matrix4f shadowMatrix) {
+			projectBox(bb, x, y, z, shadowMatrix);
+			if(boxMinX < dirtyMinX) dirtyMinX = boxMinX;
+			if(boxMinY < dirtyMinY) dirtyMinY = boxMinY;
+			if(boxMaxX > dirtyMaxX) dirtyMaxX = boxMaxX;
+			if(boxMaxY > dirtyMaxY) dirtyMaxY = boxMaxY;
+		}
+
+		/**
+		 * Sets 4 planes at offset that only keep the boxes that intersect the dirty
+		 * region once projected, the projection is orthographic so the corner of a
+		 * box furthest along each plane is also the furthest after projecting it
+		 */
+		public void getDirtyRegionPlanes(Matrix4f m, float[][] dest, int offset) {
+			setPlane(dest[offset], m.m00, m.m10, m.m20, m.m30 - dirtyMinX);
+			setPlane(dest[offset + 1], -m.m00, -m.m10, -m.m20, dirtyMaxX - m.m30);
+			setPlane(dest[offset + 2], m.m01, m.m11, m.m21, m.m31 - dirtyMinY);
+			setPlane(dest[offset + 3], -m.m01, -m.m11, -m.m21, dirtyMaxY - m.m31);
+		}
+
+		private static void setPlane(float[] plane, float x, float y, float z, float w) {
+			plane[0] = x;
+			plane[1] = y;
+			plane[2] = z;
+			plane[3] = w;
+		}
+
+		public boolean isDirtyRegionVisible() {
+			return dirtyMaxX >= -1.0f && dirtyMinX <= 1.0f && dirtyMaxY >= -1.0f && dirtyMinY <= 1.0f;
+		}
+
+		public int getDirtyRegionMinX(int resolution) {
+			return clipToTexel(dirtyMinX, resolution, -1);
+		}
+
+		public int getDirtyRegionMinY(int resolution) {
+			return clipToTexel(dirtyMinY, resolution, -1);
+		}
+
+		public int getDirtyRegionMaxX(int resolution) {
+			return clipToTexel(dirtyMaxX, resolution, 2);
+		}
+
+		public int getDirtyRegionMaxY(int resolution) {
+			return clipToTexel(dirtyMaxY, resolution, 2);
+		}
+
+		private static int clipToTexel(float f, int resolution, int margin) {
+			int i = (int) Math.floor((f * 0.5f + 0.5f) * resolution) + margin;
+			return i < 0 ? 0 : (i > resolution ? resolution : i);
+		}
+
+		private void projectBox(AxisAlignedBB bb, double x, double y, double z, Matrix4f m) {
+			float minX = (float) (bb.minX - x);
+			float minY = (float) (bb.minY - y);
+			float minZ = (float) (bb.minZ - z);
+			float maxX = (float) (bb.maxX - x);
+			float maxY = (float) (bb.maxY - y);
+			float maxZ = (float) (bb.maxZ - z);
+			boxMinX = Float.MAX_VALUE;
+			boxMinY = Float.MAX_VALUE;
+			boxMaxX = -Float.MAX_VALUE;
+			boxMaxY = -Float.MAX_VALUE;
+			for(int i = 0; i < 8; ++i) {
+				float cx = (i & 1) != 0 ? maxX : minX;
+				float cy = (i & 2) != 0 ? maxY : minY;
+				float cz = (i & 4) != 0 ? maxZ : minZ;
+				float px = m.m00 * cx + m.m10 * cy + m.m20 * cz + m.m30;
+				float py = m.m01 * cx + m.m11 * cy + m.m21 * cz + m.m31;
+				if(px < boxMinX) boxMinX = px;
+				if(py < boxMinY) boxMinY = py;
+				if(px > boxMaxX) boxMaxX = px;
+				if(py > boxMaxY) boxMaxY = py;
+			}
+		}
+
+	}
+
+	private final Cascade[] cascades = new Cascade[] { new Cascade(), new Cascade(), new Cascade() };
+
+	public Cascade getCascade(int lod) {
+		return cascades[lod];
+	}
+
+	public void invalidate() {
+		for(int i = 0; i < cascades.length; ++i) {
+			cascades[i].valid = false;
+			cascades[i].world = null;
+		}
+	}
+
+}
@@ -0,0 +1,315 @@
+package net.lax1dude.eaglercraft.v1_8.profile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
+import net.lax1dude.eaglercraft.v1_8.crypto.SHA1Digest;
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.vfs.SYS;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class PersistentSkinCache {
+
+	private static final Logger logger = LogManager.getLogger("PersistentSkinCache");
+
+	/**
+	 * Skins are stored in the VFS as one file per distinct skin, named after the
+	 * SHA-1 of the model and pixels, so players with the same skin share a file
+	 * and a player changing their skin does not overwrite the old one. The least
+	 * recently used skins are removed once the files add up to more than
+	 * MAX_BYTES or more than MAX_PLAYERS players point at them.
+	 */
+	public static final int MAX_BYTES = 4194304;
+	public static final int MAX_PLAYERS = 1024;
+
+	private static final String CACHE_DIR = "skincache/";
+	private static final String INDEX_FILE = CACHE_DIR + "index.dat";
+
+	public static class CachedSkin {
+
+		public final SkinModel model;
+		public final byte[] pixels;
+
+		protected CachedSkin(SkinModel model, byte[] pixels) {
+			this.model = model;
+			this.pixels = pixels;
+		}
+
+	}
+
+	protected static class ContentEntry {
+
+		protected final String hash;
+		protected final int size;
+		protected long lastUse;
+		protected int refCount = 0;
+
+		protected ContentEntry(String hash, int size, long lastUse) {
+			this.hash = hash;
+			this.size = size;
+			this.lastUse = lastUse;
+		}
+
+	}
+
+	private static Map<EaglercraftUUID, ContentEntry> players = null;
+	private static final Map<String, ContentEntry> contents = new HashMap();
+	private static int totalBytes = 0;
+
+	/**
+	 * Files are only written by flush so receiving a skin never waits on storage,
+	 * a null value is a file that has to be deleted
+	 */
+	private static final Map<String, byte[]> pendingFiles = new LinkedHashMap();
+	private static boolean indexDirty = false;
+	private static long lastFlush = 0l;
+
+	private static void loadIndex() {
+		if(players != null) {
+			return;
+		}
+		players = new HashMap();
+		clearLegacyStorage();
+		byte[] indexStorage = SYS.readFile(INDEX_FILE);
+		if(indexStorage == null) {
+			return;
+		}
+		NBTTagCompound indexTag;
+		try {
+			indexTag = CompressedStreamTools.readCompressed(new EaglerInputStream(indexStorage));
+		}catch(IOException ex) {
+			logger.error("Could not read the skin cache index, it will be reset");
+			logger.error(ex);
+			return;
+		}
+		NBTTagList contentsList = indexTag.getTagList("contents", 10);
+		for(int i = 0, l = contentsList.tagCount(); i < l; ++i) {
+			NBTTagCompound content = contentsList.getCompoundTagAt(i);
+			String hash = content.getString("hash");
+			if(hash.length() != 40 || contents.containsKey(hash)) continue;
+			ContentEntry etr = new ContentEntry(hash, content.getInteger("size"), content.getLong("lastUse"));
+			contents.put(hash, etr);
+			totalBytes += etr.size;
+		}
+		NBTTagList playersList = indexTag.getTagList("players", 10);
+		for(int i = 0, l = playersList.tagCount(); i < l; ++i) {
+			NBTTagCompound player = playersList.getCompoundTagAt(i);
+			ContentEntry etr = contents.get(player.getString("hash"));
+			if(etr == null) continue;
+			++etr.refCount;
+			players.put(new EaglercraftUUID(player.getLong("uuidMost"), player.getLong("uuidLeast")), etr);
+		}
+	}
+
+	/**
+	 * Frees the localStorage keys of the old cache that kept a fixed number of
+	 * skins per player UUID
+	 */
+	private static void clearLegacyStorage() {
+		byte[] legacyIndex = EagRuntime.getStorage("skins");
+		if(legacyIndex != null && legacyIndex.length > 0) {
+			for(int i = 0; i < 64; ++i) {
+				if(EagRuntime.getStorage("skins_" + i) != null) {
+					EagRuntime.setStorage("skins_" + i, new byte[0]);
+				}
+			}
+			EagRuntime.setStorage("skins", new byte[0]);
+		}
+	}
+
+	private static byte[] writeIndex() {
+		NBTTagList contentsList = new NBTTagList();
+		for(ContentEntry etr : contents.values()) {
+			NBTTagCompound content = new NBTTagCompound();
+			content.setString("hash", etr.hash);
+			content.setInteger("size", etr.size);
+			content.setLong("lastUse", etr.lastUse);
+			contentsList.appendTag(content);
+		}
+		NBTTagList playersList = new NBTTagList();
+		for(Map.Entry<EaglercraftUUID, ContentEntry> etr : players.entrySet()) {
+			NBTTagCompound player = new NBTTagCompound();
+			player.setLong("uuidMost", etr.getKey().msb);
+			player.setLong("uuidLeast", etr.getKey().lsb);
+			player.setString("hash", etr.getValue().hash);
+			playersList.appendTag(player);
+		}
+		NBTTagCompound indexTag = new NBTTagCompound();
+		indexTag.setTag("contents", contentsList);
+		indexTag.setTag("players", playersList);
+		ByteArrayOutputStream bao = new ByteArrayOutputStream();
+		try {
+			CompressedStreamTools.writeCompressed(indexTag, bao);
+		} catch (IOException e) {
+			return null;
+		}
+		return bao.toByteArray();
+	}
+
+	public static String hashSkin(byte[] pixels, SkinModel model) {
+		SHA1Digest digest = new SHA1Digest();
+		digest.update((byte)model.id);
+		digest.update(pixels, 0, pixels.length);
+		byte[] sha1sum = new byte[20];
+		digest.doFinal(sha1sum, 0);
+		char[] hex = new char[40];
+		for(int i = 0; i < 20; ++i) {
+			hex[i << 1] = Character.forDigit((sha1sum[i] >> 4) & 0xF, 16);
+			hex[(i << 1) + 1] = Character.forDigit(sha1sum[i] & 0xF, 16);
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Returns null if the skin is not in the cache
+	 */
+	public static CachedSkin getSkin(EaglercraftUUID uuid) {
+		loadIndex();
+		ContentEntry etr = players.get(uuid);
+		if(etr == null) {
+			return null;
+		}
+		String path = CACHE_DIR + etr.hash;
+		byte[] data = pendingFiles.containsKey(path) ? pendingFiles.get(path) : SYS.readFile(path);
+		SkinModel model = data != null && data.length > 1 ? SkinModel.getModelFromId(data[0]) : null;
+		if(model == null || data.length - 1 != model.width * model.height * 4) {
+			// the file was deleted or never written because the page was closed before a flush
+			removeContent(etr);
+			return null;
+		}
+		byte[] pixels = new byte[data.length - 1];
+		System.arraycopy(data, 1, pixels, 0, pixels.length);
+		etr.lastUse = System.currentTimeMillis();
+		indexDirty = true;
+		return new CachedSkin(model, pixels);
+	}
+
+	public static void putSkin(EaglercraftUUID uuid, byte[] pixels, SkinModel model) {
+		loadIndex();
+		String hash = hashSkin(pixels, model);
+		ContentEntry etr = contents.get(hash);
+		if(etr == null) {
+			byte[] data = new byte[pixels.length + 1];
+			data[0] = (byte)model.id;
+			System.arraycopy(pixels, 0, data, 1, pixels.length);
+			etr = new ContentEntry(hash, data.length, System.currentTimeMillis());
+			contents.put(hash, etr);
+			totalBytes += etr.size;
+			pendingFiles.put(CACHE_DIR + hash, data);
+		}else {
+			etr.lastUse = System.currentTimeMillis();
+		}
+		ContentEntry old = players.put(uuid, etr);
+		if(old != etr) {
+			++etr.refCount;
+			if(old != null) {
+				--old.refCount;
+			}
+		}
+		indexDirty = true;
+		evict(etr);
+	}
+
+	public static void removeSkin(EaglercraftUUID uuid) {
+		loadIndex();
+		ContentEntry etr = players.remove(uuid);
+		if(etr != null) {
+			if(--etr.refCount <= 0) {
+				removeContent(etr);
+			}
+			indexDirty = true;
+		}
+	}
+
+	private static void evict(ContentEntry keep) {
+		while(totalBytes > MAX_BYTES || players.size() > MAX_PLAYERS) {
+			ContentEntry oldest = null;
+			for(ContentEntry etr : contents.values()) {
+				if(etr != keep && (oldest == null || etr.lastUse < oldest.lastUse)) {
+					oldest = etr;
+				}
+			}
+			if(oldest == null) {
+				break;
+			}
+			removeContent(oldest);
+		}
+	}
+
+	private static void removeContent(ContentEntry etr) {
+		if(contents.remove(etr.hash) == null) {
+			return;
+		}
+		totalBytes -= etr.size;
+		Iterator<ContentEntry> itr = players.values().iterator();
+		while(itr.hasNext()) {
+			if(itr.next() == etr) {
+				itr.remove();
+			}
+		}
+		pendingFiles.put(CACHE_DIR + etr.hash, null);
+		indexDirty = true;
+	}
+
+	/**
+	 * New skins and the index are written together in one batch every few
+	 * seconds instead of every time a skin is received or used
+	 */
+	public static void flush(boolean force) {
+		if(players == null || (!indexDirty && pendingFiles.isEmpty())) {
+			return;
+		}
+		long millis = System.currentTimeMillis();
+		if(force || millis - lastFlush > 5000l) {
+			lastFlush = millis;
+			indexDirty = false;
+			List<Map.Entry<String, byte[]>> files = new ArrayList(pendingFiles.entrySet());
+			pendingFiles.clear();
+			byte[] index = writeIndex();
+			SYS.beginBatch();
+			try {
+				for(int i = 0, l = files.size(); i < l; ++i) {
+					Map.Entry<String, byte[]> etr = files.get(i);
+					if(etr.getValue() != null) {
+						SYS.writeFile(etr.getKey(), etr.getValue());
+					}else {
+						SYS.deleteFile(etr.getKey());
+					}
+				}
+				if(index != null) {
+					SYS.writeFile(INDEX_FILE, index);
+				}
+			}finally {
+				if(!SYS.endBatch()) {
+					logger.error("Could not save the skin cache!");
+				}
+			}
+		}
+	}
+
+}
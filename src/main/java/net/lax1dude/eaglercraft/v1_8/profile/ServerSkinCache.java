@@ -1,8 +1,11 @@
 package net.lax1dude.eaglercraft.v1_8.profile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
@@ -44,17 +47,24 @@ public class ServerSkinCache {
 		protected SkinCacheEntry(EaglerSkinTexture textureInstance, ResourceLocation resourceLocation, SkinModel model) {
 			this.isPresetSkin = false;
 			this.presetSkinId = -1;
-			this.customSkin = new CacheCustomSkin(textureInstance, resourceLocation, model);
+			this.customSkin = new CacheCustomSkin(textureInstance, null, resourceLocation, model);
 			ServerSkinCache.this.textureManager.loadTexture(resourceLocation, textureInstance);
 		}
 		
+		protected SkinCacheEntry(SkinTextureAtlas.Slot atlasSlot, ResourceLocation resourceLocation, SkinModel model) {
+			this.isPresetSkin = false;
+			this.presetSkinId = -1;
+			this.customSkin = new CacheCustomSkin(null, atlasSlot, resourceLocation, model);
+			ServerSkinCache.this.textureManager.loadTexture(resourceLocation, atlasSlot);
+		}
+		
 		/**
 		 * Use only for the constant for the client player
 		 */
 		protected SkinCacheEntry(ResourceLocation resourceLocation, SkinModel model) {
 			this.isPresetSkin = false;
 			this.presetSkinId = -1;
-			this.customSkin = new CacheCustomSkin(null, resourceLocation, model);
+			this.customSkin = new CacheCustomSkin(null, null, resourceLocation, model);
 		}
 		
 		protected SkinCacheEntry(int presetSkinId) {
@@ -89,7 +99,12 @@ public class ServerSkinCache {
 		
 		protected void free() {
 			if(!isPresetSkin) {
-				ServerSkinCache.this.textureManager.deleteTexture(customSkin.resourceLocation);
+				if(customSkin.atlasSlot != null) {
+					ServerSkinCache.this.textureManager.unregisterTexture(customSkin.resourceLocation);
+					customSkin.atlasSlot.free();
+				}else {
+					ServerSkinCache.this.textureManager.deleteTexture(customSkin.resourceLocation);
+				}
 			}
 		}
 
@@ -98,11 +113,14 @@ public class ServerSkinCache {
 	protected static class CacheCustomSkin {
 		
 		protected final EaglerSkinTexture textureInstance;
+		protected final SkinTextureAtlas.Slot atlasSlot;
 		protected final ResourceLocation resourceLocation;
 		protected final SkinModel model;
 		
-		protected CacheCustomSkin(EaglerSkinTexture textureInstance, ResourceLocation resourceLocation, SkinModel model) {
+		protected CacheCustomSkin(EaglerSkinTexture textureInstance, SkinTextureAtlas.Slot atlasSlot,
+				ResourceLocation resourceLocation, SkinModel model) {
 			this.textureInstance = textureInstance;
+			this.atlasSlot = atlasSlot;
 			this.resourceLocation = resourceLocation;
 			this.model = model;
 		}
@@ -126,6 +144,8 @@ public class ServerSkinCache {
 	private final Map<EaglercraftUUID, SkinCacheEntry> skinsCache = new HashMap();
 	private final Map<EaglercraftUUID, WaitingSkin> waitingSkins = new HashMap();
 	private final Map<EaglercraftUUID, Long> evictedSkins = new HashMap();
+	private final List<EaglercraftUUID> pendingSkinRequests = new ArrayList();
+	private final SkinTextureAtlas skinAtlas = new SkinTextureAtlas();
 
 	private final EaglercraftNetworkManager networkManager;
 	protected final TextureManager textureManager;
@@ -183,15 +203,30 @@ public class ServerSkinCache {
 		if(etr == null) {
 			if(!waitingSkins.containsKey(player) && !evictedSkins.containsKey(player)) {
 				waitingSkins.put(player, new WaitingSkin(System.currentTimeMillis(), null));
-				PacketBuffer buffer;
-				try {
-					buffer = SkinPackets.writeGetOtherSkin(player);
-				}catch(IOException ex) {
-					logger.error("Could not write skin request packet!");
-					logger.error(ex);
-					return defaultCacheEntry;
+				
+				// show the skin from the last session until the server has responded
+				
+				PersistentSkinCache.CachedSkin cachedSkin = PersistentSkinCache.getSkin(player);
+				if(cachedSkin != null) {
+					etr = createCustomSkinEntry(player, cachedSkin.pixels, cachedSkin.model);
+					skinsCache.put(player, etr);
+				}
+				if(networkManager.isSkinBatchingEnabled()) {
+					pendingSkinRequests.add(player);
+				}else {
+					PacketBuffer buffer;
+					try {
+						buffer = SkinPackets.writeGetOtherSkin(player);
+					}catch(IOException ex) {
+						logger.error("Could not write skin request packet!");
+						logger.error(ex);
+						return etr != null ? etr : defaultCacheEntry;
+					}
+					networkManager.sendPacket(new C17PacketCustomPayload("EAG|Skins-1.8", buffer));
+				}
+				if(etr != null) {
+					return etr;
 				}
-				networkManager.sendPacket(new C17PacketCustomPayload("EAG|Skins-1.8", buffer));
 			}
 			return defaultCacheEntry;
 		}else {
@@ -210,6 +245,18 @@ public class ServerSkinCache {
 			etr.lastCacheHit = System.currentTimeMillis();
 			return etr;
 		}else {
+			if(!waitingSkins.containsKey(generatedUUID)) {
+				
+				// the UUID is a hash of the URL, so a skin from a previous session can be used without asking the server
+				
+				PersistentSkinCache.CachedSkin cachedSkin = PersistentSkinCache.getSkin(generatedUUID);
+				if(cachedSkin != null) {
+					etr = createCustomSkinEntry(generatedUUID, cachedSkin.pixels,
+							skinModelResponse != null ? skinModelResponse : cachedSkin.model);
+					skinsCache.put(generatedUUID, etr);
+					return etr;
+				}
+			}
 			if(!waitingSkins.containsKey(generatedUUID) && !evictedSkins.containsKey(generatedUUID)) {
 				waitingSkins.put(generatedUUID, new WaitingSkin(System.currentTimeMillis(), skinModelResponse));
 				PacketBuffer buffer;
@@ -233,6 +280,7 @@ public class ServerSkinCache {
 				etr.free();
 			}
 			skinsCache.put(player, new SkinCacheEntry(presetId));
+			PersistentSkinCache.removeSkin(player);
 		}else {
 			logger.error("Unsolicited skin response recieved for \"{}\"! (preset {})", player, presetId);
 		}
@@ -241,18 +289,24 @@ public class ServerSkinCache {
 	public void cacheSkinCustom(EaglercraftUUID player, byte[] pixels, SkinModel model) {
 		WaitingSkin waitingSkin;
 		if((waitingSkin = waitingSkins.remove(player)) != null) {
-			SkinCacheEntry etr = skinsCache.remove(player);
-			if(etr != null) {
-				etr.free();
-			}
 			if(waitingSkin.model != null) {
 				model = waitingSkin.model;
 			}else if(model == null) {
 				model = (player.hashCode() & 1) != 0 ? SkinModel.ALEX : SkinModel.STEVE;
 			}
+			SkinCacheEntry etr = skinsCache.get(player);
+			if(etr != null && etr.customSkin != null && etr.customSkin.atlasSlot != null && etr.customSkin.model == model
+					&& Arrays.equals(etr.customSkin.atlasSlot.pixels, EaglerSkinTexture.convertPixels(pixels))) {
+				// same as the skin that was loaded from the persistent cache
+				return;
+			}
+			skinsCache.remove(player);
+			if(etr != null) {
+				etr.free();
+			}
 			try {
-				etr = new SkinCacheEntry(new EaglerSkinTexture(pixels, model.width, model.height),
-						new ResourceLocation("eagler:skins/multiplayer/tex_" + texId++), model);
+				etr = createCustomSkinEntry(player, pixels, model);
+				PersistentSkinCache.putSkin(player, pixels, model);
 			}catch(Throwable t) {
 				etr = new SkinCacheEntry(0);
 				logger.error("Could not process custom skin packet for \"{}\"!", player);
@@ -264,6 +318,39 @@ public class ServerSkinCache {
 		}
 	}
 	
+	/**
+	 * Skins are packed into the shared atlas when there is space left in it,
+	 * otherwise they get a texture of their own like before
+	 */
+	private SkinCacheEntry createCustomSkinEntry(EaglercraftUUID player, byte[] pixels, SkinModel model) {
+		if(pixels.length != model.width * model.height * 4) {
+			throw new IllegalArgumentException("Wrong data length " + pixels.length + "  for " + model.width + "x" + model.height + " texture");
+		}
+		int[] convertedPixels = EaglerSkinTexture.convertPixels(pixels);
+		ResourceLocation resourceLocation = new ResourceLocation("eagler:skins/multiplayer/tex_" + texId++);
+		SkinTextureAtlas.Slot atlasSlot = skinAtlas.allocate(convertedPixels);
+		if(atlasSlot != null) {
+			return new SkinCacheEntry(atlasSlot, resourceLocation, model);
+		}else {
+			return new SkinCacheEntry(new EaglerSkinTexture(convertedPixels, model.width, model.height), resourceLocation, model);
+		}
+	}
+	
+	private void sendPendingSkinRequests() {
+		for(int i = 0, l = pendingSkinRequests.size(); i < l; i += SkinPackets.MAX_SKINS_PER_BATCH) {
+			PacketBuffer buffer;
+			try {
+				buffer = SkinPackets.writeGetOtherSkinsBatch(pendingSkinRequests, i, Math.min(l - i, SkinPackets.MAX_SKINS_PER_BATCH));
+			}catch(IOException ex) {
+				logger.error("Could not write skin request packet!");
+				logger.error(ex);
+				break;
+			}
+			networkManager.sendPacket(new C17PacketCustomPayload("EAG|Skins-1.8", buffer));
+		}
+		pendingSkinRequests.clear();
+	}
+	
 	public SkinModel getRequestedSkinType(EaglercraftUUID waiting) {
 		WaitingSkin waitingSkin;
 		if((waitingSkin = waitingSkins.get(waiting)) != null) {
@@ -274,6 +361,10 @@ public class ServerSkinCache {
 	}
 	
 	public void flush() {
+		if(!pendingSkinRequests.isEmpty()) {
+			sendPendingSkinRequests();
+		}
+		PersistentSkinCache.flush(false);
 		long millis = System.currentTimeMillis();
 		if(millis - lastFlushReq > 5000l) {
 			lastFlushReq = millis;
@@ -319,6 +410,9 @@ public class ServerSkinCache {
 		}
 		skinsCache.clear();
 		waitingSkins.clear();
+		pendingSkinRequests.clear();
+		skinAtlas.destroy();
+		PersistentSkinCache.flush(true);
 	}
 	
 	public void evictSkin(EaglercraftUUID uuid) {
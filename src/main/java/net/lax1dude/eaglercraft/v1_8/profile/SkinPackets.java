@@ -1,6 +1,7 @@
 package net.lax1dude.eaglercraft.v1_8.profile;
 
 import java.io.IOException;
+import java.util.List;
 
 import net.lax1dude.eaglercraft.v1_8.ArrayUtils;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
@@ -29,6 +30,9 @@ public class SkinPackets {
 	public static final int PACKET_OTHER_SKIN_PRESET = 0x04;
 	public static final int PACKET_OTHER_SKIN_CUSTOM = 0x05;
 	public static final int PACKET_GET_SKIN_BY_URL = 0x06;
+	public static final int PACKET_GET_OTHER_SKINS_BATCH = 0x07;
+
+	public static final int MAX_SKINS_PER_BATCH = 64;
 
 	public static void readPluginMessage(PacketBuffer buffer, ServerSkinCache skinCache) throws IOException {
 		try {
@@ -94,6 +98,24 @@ public class SkinPackets {
 		return ret;
 	}
 
+	/**
+	 * Only understood by servers that advertised CAPABILITY_SKIN_BATCHING, the
+	 * server answers each UUID with the usual preset or custom skin packet
+	 */
+	public static PacketBuffer writeGetOtherSkinsBatch(List<EaglercraftUUID> skinIds, int off, int cnt) throws IOException {
+		if(cnt > MAX_SKINS_PER_BATCH) {
+			throw new IOException("Skin request batch is too long: " + cnt);
+		}
+		int len = 2 + cnt * 16;
+		PacketBuffer ret = new PacketBuffer(Unpooled.buffer(len, len));
+		ret.writeByte(PACKET_GET_OTHER_SKINS_BATCH);
+		ret.writeByte(cnt);
+		for(int i = 0; i < cnt; ++i) {
+			ret.writeUuid(skinIds.get(off + i));
+		}
+		return ret;
+	}
+
 	public static PacketBuffer writeGetSkinByURL(EaglercraftUUID skinId, String skinUrl) throws IOException {
 		int len = 19 + skinUrl.length();
 		PacketBuffer ret = new PacketBuffer(Unpooled.buffer(len, len));
@@ -0,0 +1,150 @@
+package net.lax1dude.eaglercraft.v1_8.profile;
+
+import java.io.IOException;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.ImageData;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.ITextureObject;
+import net.minecraft.client.renderer.texture.TextureUtil;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.util.ResourceLocation;
+
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class SkinTextureAtlas {
+
+	public static final int SLOT_SIZE = 64;
+	public static final int ATLAS_SIZE = 1024;
+	public static final int SLOTS_PER_ROW = ATLAS_SIZE / SLOT_SIZE;
+	public static final int SLOT_COUNT = SLOTS_PER_ROW * SLOTS_PER_ROW;
+	public static final float SLOT_SCALE = (float) SLOT_SIZE / (float) ATLAS_SIZE;
+
+	/**
+	 * Registered in the TextureManager in place of an EaglerSkinTexture, binding it
+	 * binds the shared atlas so the texture matrix must be set up with
+	 * pushTextureMatrix before drawing anything that uses the skin's UVs
+	 */
+	public class Slot implements ITextureObject {
+
+		protected final int index;
+		protected final int[] pixels;
+		protected final float offsetU;
+		protected final float offsetV;
+
+		protected Slot(int index, int[] pixels) {
+			this.index = index;
+			this.pixels = pixels;
+			this.offsetU = (index % SLOTS_PER_ROW) * SLOT_SCALE;
+			this.offsetV = (index / SLOTS_PER_ROW) * SLOT_SCALE;
+		}
+
+		@Override
+		public void loadTexture(IResourceManager var1) throws IOException {
+			if(glTexture == -1) {
+				glTexture = GlStateManager.generateTexture();
+				TextureUtil.allocateTexture(glTexture, ATLAS_SIZE, ATLAS_SIZE);
+			}
+			TextureUtil.uploadTextureImageSub(glTexture, new ImageData(SLOT_SIZE, SLOT_SIZE, pixels, true),
+					(index % SLOTS_PER_ROW) * SLOT_SIZE, (index / SLOTS_PER_ROW) * SLOT_SIZE, false, false);
+		}
+
+		@Override
+		public int getGlTextureId() {
+			return glTexture;
+		}
+
+		@Override
+		public void setBlurMipmap(boolean var1, boolean var2) {
+			// no
+		}
+
+		@Override
+		public void restoreLastBlurMipmap() {
+			// no
+		}
+
+		public void free() {
+			if(slotsUsed[index]) {
+				slotsUsed[index] = false;
+				--slotsUsedCount;
+			}
+		}
+
+	}
+
+	private int glTexture = -1;
+	private final boolean[] slotsUsed = new boolean[SLOT_COUNT];
+	private int slotsUsedCount = 0;
+
+	/**
+	 * Returns null if the skin is not 64x64 or if the atlas is full
+	 */
+	public Slot allocate(int[] pixels) {
+		if(pixels.length != SLOT_SIZE * SLOT_SIZE || slotsUsedCount >= SLOT_COUNT) {
+			return null;
+		}
+		for(int i = 0; i < SLOT_COUNT; ++i) {
+			if(!slotsUsed[i]) {
+				slotsUsed[i] = true;
+				++slotsUsedCount;
+				return new Slot(i, pixels);
+			}
+		}
+		return null;
+	}
+
+	public int getSlotsUsed() {
+		return slotsUsedCount;
+	}
+
+	public void destroy() {
+		if(glTexture != -1) {
+			GlStateManager.deleteTexture(glTexture);
+			glTexture = -1;
+		}
+		for(int i = 0; i < SLOT_COUNT; ++i) {
+			slotsUsed[i] = false;
+		}
+		slotsUsedCount = 0;
+	}
+
+	/**
+	 * Maps the 0-1 texture coordinates of a skin into its slot if the texture is an
+	 * atlas slot, returns false and does nothing if it isn't
+	 */
+	public static boolean pushTextureMatrix(ResourceLocation skin) {
+		ITextureObject tex = Minecraft.getMinecraft().getTextureManager().getTexture(skin);
+		if(tex instanceof Slot) {
+			Slot slot = (Slot) tex;
+			GlStateManager.matrixMode(GL_TEXTURE);
+			GlStateManager.pushMatrix();
+			GlStateManager.translate(slot.offsetU, slot.offsetV, 0.0f);
+			GlStateManager.scale(SLOT_SCALE, SLOT_SCALE, 1.0f);
+			GlStateManager.matrixMode(GL_MODELVIEW);
+			return true;
+		}else {
+			return false;
+		}
+	}
+
+	public static void popTextureMatrix() {
+		GlStateManager.matrixMode(GL_TEXTURE);
+		GlStateManager.popMatrix();
+		GlStateManager.matrixMode(GL_MODELVIEW);
+	}
+
+}
@@ -46,7 +46,8 @@ public class ConnectionHandshake {
 	
 	private static final Logger logger = LogManager.getLogger();
 	
-	public static boolean attemptHandshake(Minecraft mc, GuiConnecting connecting, GuiScreen ret, String password, boolean allowPlaintext) {
+	public static boolean attemptHandshake(Minecraft mc, EaglercraftNetworkManager networkManager, GuiConnecting connecting,
+			GuiScreen ret, String password, boolean allowPlaintext) {
 		try {
 			ByteArrayOutputStream bao = new ByteArrayOutputStream();
 			DataOutputStream d = new DataOutputStream(bao);
@@ -293,6 +294,15 @@ public class ConnectionHandshake {
 					d.write(packetSkin);
 					PlatformNetworking.writePlayPacket(bao.toByteArray());
 					
+					bao.reset();
+					d.writeByte(HandshakePacketTypes.PROTOCOL_CLIENT_PROFILE_DATA);
+					profileDataType = HandshakePacketTypes.PROFILE_DATA_CLIENT_CAPABILITIES;
+					d.writeByte(profileDataType.length());
+					d.writeBytes(profileDataType);
+					d.writeShort(4);
+					d.writeInt(HandshakePacketTypes.CLIENT_CAPABILITIES);
+					PlatformNetworking.writePlayPacket(bao.toByteArray());
+					
 					bao.reset();
 					d.writeByte(HandshakePacketTypes.PROTOCOL_CLIENT_FINISH_LOGIN);
 					PlatformNetworking.writePlayPacket(bao.toByteArray());
@@ -306,6 +316,21 @@ public class ConnectionHandshake {
 					di = new DataInputStream(new EaglerInputStream(read));
 					type = di.read();
 					if(type == HandshakePacketTypes.PROTOCOL_SERVER_FINISH_LOGIN) {
+						int serverCaps = 0;
+						if(di.available() >= 4) {
+							serverCaps = di.readInt() & HandshakePacketTypes.CLIENT_CAPABILITIES;
+						}
+						if((serverCaps & HandshakePacketTypes.CAPABILITY_PACKET_COMPRESSION) != 0) {
+							if(di.available() >= 4) {
+								networkManager.setCompressionTreshold(di.readInt());
+							}else {
+								logger.warn("Server enabled packet compression without sending a threshold, leaving it off");
+								serverCaps &= ~HandshakePacketTypes.CAPABILITY_PACKET_COMPRESSION;
+							}
+						}
+						logger.info("Server capabilities: {}", serverCaps);
+						networkManager.setPacketBatchingEnabled((serverCaps & HandshakePacketTypes.CAPABILITY_PACKET_BATCHING) != 0);
+						networkManager.setSkinBatchingEnabled((serverCaps & HandshakePacketTypes.CAPABILITY_SKIN_BATCHING) != 0);
 						return true;
 					}else if(type == HandshakePacketTypes.PROTOCOL_SERVER_ERROR) {
 						showError(mc, connecting, ret, di, serverVers == protocolV2);
@@ -1,6 +1,8 @@
 package net.lax1dude.eaglercraft.v1_8.socket;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import net.lax1dude.eaglercraft.v1_8.internal.EnumEaglerConnectionState;
 import net.lax1dude.eaglercraft.v1_8.internal.PlatformNetworking;
@@ -8,11 +10,13 @@ import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.lax1dude.eaglercraft.v1_8.netty.ByteBuf;
 import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
+import net.lax1dude.eaglercraft.v1_8.telemetry.EaglerTelemetry;
 import net.minecraft.network.EnumConnectionState;
 import net.minecraft.network.EnumPacketDirection;
 import net.minecraft.network.INetHandler;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.client.C03PacketPlayer;
 import net.minecraft.util.ChatComponentTranslation;
 import net.minecraft.util.IChatComponent;
 
@@ -36,6 +40,23 @@ public class EaglercraftNetworkManager {
 	private EnumConnectionState packetState = EnumConnectionState.HANDSHAKING;
 	private final PacketBuffer temporaryBuffer;
 	private int debugPacketCounter = 0;
+	private PacketCompressor compressor = null;
+	private boolean packetBatchingEnabled = false;
+	private boolean skinBatchingEnabled = false;
+
+	/**
+	 * Packets are queued as serialized frames and sent once per tick
+	 */
+	public static final int MAX_BATCH_FRAME_LENGTH = 0x7FFF;
+	private final List<Packet> sendQueuePackets = new ArrayList();
+	private final List<byte[]> sendQueueData = new ArrayList();
+	private int sendQueueBytes = 0;
+
+	private int framesSent = 0;
+	private int bytesSent = 0;
+	private int framesSentLast = 0;
+	private int bytesSentLast = 0;
+	private long statsLastUpdate = 0l;
 	
 	public static final Logger logger = LogManager.getLogger("NetworkManager");
 
@@ -53,6 +74,7 @@ public class EaglercraftNetworkManager {
 	}
 	
 	public void closeChannel(IChatComponent reason) {
+		flushSendQueue();
 		PlatformNetworking.playDisconnect();
 		if(nethandler != null) {
 			nethandler.onDisconnect(reason);
@@ -61,6 +83,7 @@ public class EaglercraftNetworkManager {
 	}
 	
 	public void setConnectionState(EnumConnectionState state) {
+		flushSendQueue();
 		packetState = state;
 	}
 	
@@ -70,10 +93,16 @@ public class EaglercraftNetworkManager {
 
 		while((next = PlatformNetworking.readPlayPacket()) != null) {
 			++debugPacketCounter;
+			EaglerTelemetry.countPacketIn(next.length);
 			try {
-				ByteBuf nettyBuffer = Unpooled.buffer(next, next.length);
-				nettyBuffer.writerIndex(next.length);
-				PacketBuffer input = new PacketBuffer(nettyBuffer);
+				PacketBuffer input;
+				if(compressor != null) {
+					input = compressor.decompress(next, 0, next.length);
+				}else {
+					ByteBuf nettyBuffer = Unpooled.buffer(next, next.length);
+					nettyBuffer.writerIndex(next.length);
+					input = new PacketBuffer(nettyBuffer);
+				}
 				int pktId = input.readVarIntFromBuffer();
 				
 				Packet pkt;
@@ -126,11 +155,151 @@ public class EaglercraftNetworkManager {
 			return;
 		}
 		
-		int len = temporaryBuffer.writerIndex();
-		byte[] bytes = new byte[len];
-		temporaryBuffer.getBytes(0, bytes);
+		byte[] bytes;
+		if(compressor != null) {
+			try {
+				bytes = compressor.compress(temporaryBuffer);
+			}catch(IOException ex) {
+				logger.error("Failed to compress packet {}!", pkt.getClass().getSimpleName());
+				return;
+			}
+		}else {
+			int len = temporaryBuffer.writerIndex();
+			bytes = new byte[len];
+			temporaryBuffer.getBytes(0, bytes);
+		}
 		
-		PlatformNetworking.writePlayPacket(bytes);
+		EaglerTelemetry.countPacketOut(bytes.length);
+		if(packetState == EnumConnectionState.PLAY) {
+			queuePacket(pkt, bytes);
+		}else {
+			writeFrame(bytes);
+		}
+	}
+
+	private void queuePacket(Packet pkt, byte[] bytes) {
+		int tail = sendQueuePackets.size() - 1;
+		if(tail >= 0 && supersedesMovement(sendQueuePackets.get(tail), pkt)) {
+			sendQueueBytes -= sendQueueData.get(tail).length;
+			sendQueuePackets.set(tail, pkt);
+			sendQueueData.set(tail, bytes);
+		}else {
+			sendQueuePackets.add(pkt);
+			sendQueueData.add(bytes);
+		}
+		sendQueueBytes += bytes.length;
+		if(sendQueueBytes > MAX_BATCH_FRAME_LENGTH) {
+			flushSendQueue();
+		}
+	}
+
+	/**
+	 * A movement packet can only be dropped if the next packet in the queue is
+	 * also a movement packet that carries at least the same fields, C06 is never
+	 * dropped because the server expects it as the reply to a teleport
+	 */
+	private static boolean supersedesMovement(Packet queued, Packet pkt) {
+		if(!(queued instanceof C03PacketPlayer) || !(pkt instanceof C03PacketPlayer)
+				|| queued instanceof C03PacketPlayer.C06PacketPlayerPosLook) {
+			return false;
+		}
+		C03PacketPlayer a = (C03PacketPlayer) queued;
+		C03PacketPlayer b = (C03PacketPlayer) pkt;
+		if(b.isMoving() && b.getPositionY() == -999.0D) {
+			return false; // vehicle movement
+		}
+		return (b.isMoving() || !a.isMoving()) && (b.getRotating() || !a.getRotating());
+	}
+
+	/**
+	 * Sends everything queued by sendPacket, called once at the end of every tick
+	 */
+	public void flushSendQueue() {
+		int cnt = sendQueueData.size();
+		if(cnt == 0) {
+			return;
+		}
+		if(!isChannelOpen()) {
+			clearSendQueue();
+			return;
+		}
+		if(!packetBatchingEnabled) {
+			for(int i = 0; i < cnt; ++i) {
+				writeFrame(sendQueueData.get(i));
+			}
+		}else {
+			int i = 0;
+			while(i < cnt) {
+				int len = 0;
+				int j = i;
+				do {
+					int l = sendQueueData.get(j).length;
+					len += PacketBuffer.getVarIntSize(l) + l;
+					++j;
+				}while(j < cnt && len + sendQueueData.get(j).length + 5 <= MAX_BATCH_FRAME_LENGTH);
+				temporaryBuffer.clear();
+				temporaryBuffer.ensureWritable(len);
+				for(; i < j; ++i) {
+					byte[] dat = sendQueueData.get(i);
+					temporaryBuffer.writeVarIntToBuffer(dat.length);
+					temporaryBuffer.writeBytes(dat);
+				}
+				byte[] frame = new byte[len];
+				temporaryBuffer.getBytes(0, frame);
+				writeFrame(frame);
+			}
+		}
+		clearSendQueue();
+	}
+
+	private void clearSendQueue() {
+		sendQueuePackets.clear();
+		sendQueueData.clear();
+		sendQueueBytes = 0;
+	}
+
+	private void writeFrame(byte[] frame) {
+		++framesSent;
+		bytesSent += frame.length;
+		EaglerTelemetry.countFrameOut();
+		PlatformNetworking.writePlayPacket(frame);
+	}
+
+	/**
+	 * Only enabled if the proxy advertised support during the handshake, every
+	 * frame then holds one or more packets that are each prefixed with a VarInt
+	 */
+	public void setPacketBatchingEnabled(boolean enable) {
+		packetBatchingEnabled = enable;
+	}
+
+	public boolean isPacketBatchingEnabled() {
+		return packetBatchingEnabled;
+	}
+
+	/**
+	 * Only enabled if the proxy advertised support during the handshake, skins of
+	 * other players can then be requested in batches of multiple UUIDs
+	 */
+	public void setSkinBatchingEnabled(boolean enable) {
+		skinBatchingEnabled = enable;
+	}
+
+	public boolean isSkinBatchingEnabled() {
+		return skinBatchingEnabled;
+	}
+
+	public String getDebugInfo() {
+		long millis = System.currentTimeMillis();
+		if(millis - statsLastUpdate >= 1000l) {
+			statsLastUpdate = millis;
+			framesSentLast = framesSent;
+			bytesSentLast = bytesSent;
+			framesSent = 0;
+			bytesSent = 0;
+		}
+		return "Net: " + framesSentLast + " frames/s, " + (bytesSentLast / 1024) + " KB/s out"
+				+ (compressor != null ? ", zlib" : "") + (packetBatchingEnabled ? ", batched" : "");
 	}
 	
 	public void setNetHandler(INetHandler nethandler) {
@@ -149,8 +318,26 @@ public class EaglercraftNetworkManager {
 		return false;
 	}
 
+	/**
+	 * Only proxies that were told during the handshake that this client
+	 * supports compression will send this, a negative threshold disables it
+	 */
 	public void setCompressionTreshold(int compressionTreshold) {
-		throw new CompressionNotSupportedException();
+		// queued packets were already framed with the old threshold
+		flushSendQueue();
+		if(compressionTreshold >= 0) {
+			if(compressor == null || compressor.getThreshold() != compressionTreshold) {
+				logger.info("Enabled packet compression with threshold: {}", compressionTreshold);
+				compressor = new PacketCompressor(compressionTreshold);
+			}
+		}else if(compressor != null) {
+			logger.info("Disabled packet compression");
+			compressor = null;
+		}
+	}
+
+	public int getCompressionTreshold() {
+		return compressor != null ? compressor.getThreshold() : -1;
 	}
 
 	public boolean checkDisconnected() {
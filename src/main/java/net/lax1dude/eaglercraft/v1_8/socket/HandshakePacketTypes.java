@@ -43,6 +43,15 @@ public class HandshakePacketTypes {
 	public static final int SERVER_ERROR_CUSTOM_MESSAGE = 0x08;
 	public static final int SERVER_ERROR_AUTHENTICATION_REQUIRED = 0x09;
 
+	public static final String PROFILE_DATA_CLIENT_CAPABILITIES = "client_caps_v1";
+
+	public static final int CAPABILITY_PACKET_COMPRESSION = 0x01;
+	public static final int CAPABILITY_PACKET_BATCHING = 0x02;
+	public static final int CAPABILITY_SKIN_BATCHING = 0x04;
+
+	public static final int CLIENT_CAPABILITIES = CAPABILITY_PACKET_COMPRESSION | CAPABILITY_PACKET_BATCHING
+			| CAPABILITY_SKIN_BATCHING;
+
 	public static final int AUTH_METHOD_NONE = 0x0;
 	public static final int AUTH_METHOD_EAGLER_SHA256 = 0x01;
 	public static final int AUTH_METHOD_AUTHME_SHA256 = 0x02;
@@ -0,0 +1,110 @@
+package net.lax1dude.eaglercraft.v1_8.socket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+import net.lax1dude.eaglercraft.v1_8.EaglerZLIB;
+import net.lax1dude.eaglercraft.v1_8.netty.ByteBuf;
+import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info)
+ * 
+ */
+public class PacketCompressor {
+
+	/**
+	 * same limit as vanilla's NettyCompressionDecoder
+	 */
+	public static final int MAX_UNCOMPRESSED_LENGTH = 2097152;
+
+	private final int threshold;
+
+	private byte[] inflateBuffer = new byte[0x10000];
+	private PacketBuffer inflateBufferWrapper = new PacketBuffer(Unpooled.buffer(inflateBuffer, inflateBuffer.length));
+	private final ByteArrayOutputStream deflateBuffer = new ByteArrayOutputStream(0x2000);
+
+	public PacketCompressor(int threshold) {
+		this.threshold = threshold;
+	}
+
+	public int getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Decodes the vanilla compressed packet framing, the returned buffer is only
+	 * valid until the next call because the inflated data is written into a buffer
+	 * that is shared between packets
+	 */
+	public PacketBuffer decompress(byte[] frame, int off, int len) throws IOException {
+		ByteBuf nettyBuffer = Unpooled.buffer(frame, frame.length);
+		nettyBuffer.setIndex(off, off + len);
+		PacketBuffer input = new PacketBuffer(nettyBuffer);
+		int dataLength = input.readVarIntFromBuffer();
+		if(dataLength == 0) {
+			return input;
+		}
+		if(dataLength < threshold) {
+			throw new IOException("Badly compressed packet - size of " + dataLength + " is below server threshold of " + threshold);
+		}
+		if(dataLength > MAX_UNCOMPRESSED_LENGTH) {
+			throw new IOException("Badly compressed packet - size of " + dataLength + " is larger than protocol maximum of " + MAX_UNCOMPRESSED_LENGTH);
+		}
+		if(inflateBuffer.length < dataLength) {
+			inflateBuffer = new byte[Math.max(dataLength, inflateBuffer.length << 1)];
+			inflateBufferWrapper = new PacketBuffer(Unpooled.buffer(inflateBuffer, inflateBuffer.length));
+		}
+		int pos = input.readerIndex();
+		int j = 0;
+		try(InputStream is = EaglerZLIB.newInflaterInputStream(new EaglerInputStream(frame, pos, off + len - pos))) {
+			int i;
+			while(j < dataLength && (i = is.read(inflateBuffer, j, dataLength - j)) != -1) {
+				j += i;
+			}
+		}
+		if(j != dataLength) {
+			throw new IOException("Badly compressed packet - inflated " + j + " bytes, expected " + dataLength);
+		}
+		inflateBufferWrapper.setIndex(0, dataLength);
+		return inflateBufferWrapper;
+	}
+
+	/**
+	 * Encodes a serialized packet in the vanilla compressed packet framing,
+	 * packets smaller than the threshold are only prefixed with a zero length
+	 */
+	public byte[] compress(ByteBuf packet) throws IOException {
+		int len = packet.writerIndex();
+		if(len < threshold) {
+			byte[] ret = new byte[len + 1];
+			packet.getBytes(0, ret, 1, len);
+			return ret;
+		}
+		deflateBuffer.reset();
+		int i = len;
+		while ((i & -128) != 0) {
+			deflateBuffer.write(i & 127 | 128);
+			i >>>= 7;
+		}
+		deflateBuffer.write(i);
+		try(OutputStream os = EaglerZLIB.newDeflaterOutputStream(deflateBuffer)) {
+			packet.getBytes(0, os, len);
+		}
+		return deflateBuffer.toByteArray();
+	}
+
+}
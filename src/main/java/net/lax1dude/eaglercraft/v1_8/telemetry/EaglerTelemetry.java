@@ -0,0 +1,344 @@
+package net.lax1dude.eaglercraft.v1_8.telemetry;
+
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.lax1dude.eaglercraft.v1_8.EagRuntime;
+import net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL;
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+
+/**
+ * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info)
+ * 
+ */
+public class EaglerTelemetry {
+
+	private static final Logger logger = LogManager.getLogger("EaglerTelemetry");
+
+	/**
+	 * sizes must be powers of two, the buffers are only allocated while recording
+	 */
+	public static final int SECTION_BUFFER_SIZE = 0x20000;
+	public static final int FRAME_BUFFER_SIZE = 0x2000;
+
+	private static final Map<String, Integer> sectionIds = new HashMap();
+	private static String[] sectionNames = new String[256];
+	private static int sectionCount = 0;
+
+	private static boolean recording = false;
+	private static boolean toggleRequested = false;
+
+	private static int[] sectionRingId = null;
+	private static long[] sectionRingStart = null;
+	private static long[] sectionRingEnd = null;
+	private static int sectionRingPos = 0;
+	private static int sectionRingCount = 0;
+
+	private static long[] frameRingStart = null;
+	private static long[] frameRingEnd = null;
+	/**
+	 * -1 on frames where the platform could not tell how big the heap was, the
+	 * heap counter and the gc events are left out of the trace for them
+	 */
+	private static long[] frameRingHeapUsed = null;
+	private static long[] frameRingHeapTotal = null;
+	private static long[] frameRingHeapFreed = null;
+	private static int[] frameRingChunkQueue = null;
+	private static int[] frameRingPacketsIn = null;
+	private static int[] frameRingPacketsOut = null;
+	private static int[] frameRingFramesOut = null;
+	private static int[] frameRingBytesIn = null;
+	private static int[] frameRingBytesOut = null;
+	private static int[] frameRingDrawCalls = null;
+	private static int frameRingPos = 0;
+	private static int frameRingCount = 0;
+
+	private static long currentFrameStart = 0l;
+	private static long lastHeapUsed = 0l;
+	private static int lastDrawCallCounter = 0;
+
+	private static int chunkQueueDepth = 0;
+	private static int packetsIn = 0;
+	private static int packetsOut = 0;
+	private static int framesOut = 0;
+	private static int bytesIn = 0;
+	private static int bytesOut = 0;
+
+	public static int internSection(String name) {
+		Integer i = sectionIds.get(name);
+		if(i != null) {
+			return i.intValue();
+		}
+		int id = sectionCount++;
+		if(id == sectionNames.length) {
+			sectionNames = Arrays.copyOf(sectionNames, id << 1);
+		}
+		sectionNames[id] = name;
+		sectionIds.put(name, id);
+		return id;
+	}
+
+	public static String getSectionName(int id) {
+		return id >= 0 && id < sectionCount ? sectionNames[id] : "[UNKNOWN]";
+	}
+
+	public static boolean isRecording() {
+		return recording;
+	}
+
+	/**
+	 * Recording only starts or stops at the next frame boundary, so that
+	 * profiler sections that are already open are never recorded half-way
+	 */
+	public static void toggleRecording() {
+		toggleRequested = true;
+	}
+
+	public static void recordSection(int id, long start, long end) {
+		if(recording) {
+			int i = sectionRingPos;
+			sectionRingId[i] = id;
+			sectionRingStart[i] = start;
+			sectionRingEnd[i] = end;
+			sectionRingPos = (i + 1) & (SECTION_BUFFER_SIZE - 1);
+			if(sectionRingCount < SECTION_BUFFER_SIZE) {
+				++sectionRingCount;
+			}
+		}
+	}
+
+	public static void setChunkQueueDepth(int depth) {
+		chunkQueueDepth = depth;
+	}
+
+	public static void countPacketIn(int len) {
+		++packetsIn;
+		bytesIn += len;
+	}
+
+	public static void countPacketOut(int len) {
+		++packetsOut;
+		bytesOut += len;
+	}
+
+	public static void countFrameOut() {
+		++framesOut;
+	}
+
+	public static void beginFrame() {
+		if(toggleRequested && !recording) {
+			toggleRequested = false;
+			startRecording();
+		}
+		currentFrameStart = System.nanoTime();
+	}
+
+	/**
+	 * @return the name of the trace file if one was saved on this frame
+	 */
+	public static String endFrame() {
+		if(recording) {
+			long end = System.nanoTime();
+			long heapTotal = EagRuntime.heapTotal();
+			long heapUsed = EagRuntime.heapUsed();
+			int drawCalls = PlatformOpenGL._wglGetDrawCallCounter();
+			int i = frameRingPos;
+			frameRingStart[i] = currentFrameStart;
+			frameRingEnd[i] = end;
+			frameRingHeapUsed[i] = heapUsed;
+			frameRingHeapTotal[i] = heapTotal;
+			frameRingHeapFreed[i] = heapUsed >= 0l && heapUsed < lastHeapUsed ? lastHeapUsed - heapUsed : 0l;
+			frameRingChunkQueue[i] = chunkQueueDepth;
+			frameRingPacketsIn[i] = packetsIn;
+			frameRingPacketsOut[i] = packetsOut;
+			frameRingFramesOut[i] = framesOut;
+			frameRingBytesIn[i] = bytesIn;
+			frameRingBytesOut[i] = bytesOut;
+			frameRingDrawCalls[i] = drawCalls - lastDrawCallCounter;
+			frameRingPos = (i + 1) & (FRAME_BUFFER_SIZE - 1);
+			if(frameRingCount < FRAME_BUFFER_SIZE) {
+				++frameRingCount;
+			}
+			lastHeapUsed = heapUsed;
+			lastDrawCallCounter = drawCalls;
+		}
+		packetsIn = 0;
+		packetsOut = 0;
+		framesOut = 0;
+		bytesIn = 0;
+		bytesOut = 0;
+		if(toggleRequested && recording) {
+			toggleRequested = false;
+			return stopRecording();
+		}
+		return null;
+	}
+
+	private static void startRecording() {
+		logger.info("Started recording telemetry trace");
+		sectionRingId = new int[SECTION_BUFFER_SIZE];
+		sectionRingStart = new long[SECTION_BUFFER_SIZE];
+		sectionRingEnd = new long[SECTION_BUFFER_SIZE];
+		sectionRingPos = 0;
+		sectionRingCount = 0;
+		frameRingStart = new long[FRAME_BUFFER_SIZE];
+		frameRingEnd = new long[FRAME_BUFFER_SIZE];
+		frameRingHeapUsed = new long[FRAME_BUFFER_SIZE];
+		frameRingHeapTotal = new long[FRAME_BUFFER_SIZE];
+		frameRingHeapFreed = new long[FRAME_BUFFER_SIZE];
+		frameRingChunkQueue = new int[FRAME_BUFFER_SIZE];
+		frameRingPacketsIn = new int[FRAME_BUFFER_SIZE];
+		frameRingPacketsOut = new int[FRAME_BUFFER_SIZE];
+		frameRingFramesOut = new int[FRAME_BUFFER_SIZE];
+		frameRingBytesIn = new int[FRAME_BUFFER_SIZE];
+		frameRingBytesOut = new int[FRAME_BUFFER_SIZE];
+		frameRingDrawCalls = new int[FRAME_BUFFER_SIZE];
+		frameRingPos = 0;
+		frameRingCount = 0;
+		lastHeapUsed = EagRuntime.heapUsed();
+		lastDrawCallCounter = PlatformOpenGL._wglGetDrawCallCounter();
+		recording = true;
+	}
+
+	private static String stopRecording() {
+		recording = false;
+		String name = "eaglercraft_trace_" + (new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss")).format(new Date()) + ".json";
+		try {
+			EagRuntime.downloadFileWithName(name, exportChromeTrace());
+			logger.info("Saved telemetry trace ({} frames, {} sections) as \"{}\"", frameRingCount, sectionRingCount, name);
+		}catch(Throwable t) {
+			logger.error("Failed to export telemetry trace!");
+			logger.error(t);
+			name = null;
+		}
+		sectionRingId = null;
+		sectionRingStart = null;
+		sectionRingEnd = null;
+		frameRingStart = null;
+		frameRingEnd = null;
+		frameRingHeapUsed = null;
+		frameRingHeapTotal = null;
+		frameRingHeapFreed = null;
+		frameRingChunkQueue = null;
+		frameRingPacketsIn = null;
+		frameRingPacketsOut = null;
+		frameRingFramesOut = null;
+		frameRingBytesIn = null;
+		frameRingBytesOut = null;
+		frameRingDrawCalls = null;
+		return name;
+	}
+
+	/**
+	 * Serializes the contents of the ring buffers in the Chrome trace event
+	 * format, the result can be opened in chrome://tracing or Perfetto
+	 */
+	public static byte[] exportChromeTrace() {
+		int sectionFirst = (sectionRingPos - sectionRingCount) & (SECTION_BUFFER_SIZE - 1);
+		int frameFirst = (frameRingPos - frameRingCount) & (FRAME_BUFFER_SIZE - 1);
+		long base = Long.MAX_VALUE;
+		if(sectionRingCount > 0) {
+			base = sectionRingStart[sectionFirst];
+		}
+		if(frameRingCount > 0) {
+			base = Math.min(base, frameRingStart[frameFirst]);
+		}
+		if(base == Long.MAX_VALUE) {
+			base = 0l;
+		}
+		StringBuilder sb = new StringBuilder(sectionRingCount * 96 + frameRingCount * 640 + 256);
+		sb.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+		sb.append("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"EaglercraftX\"}},");
+		sb.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":1,\"args\":{\"name\":\"Client thread\"}}");
+		for(int j = 0; j < sectionRingCount; ++j) {
+			int i = (sectionFirst + j) & (SECTION_BUFFER_SIZE - 1);
+			sb.append(",{\"name\":\"");
+			appendEscaped(sb, getSectionName(sectionRingId[i]));
+			sb.append("\",\"cat\":\"profiler\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":");
+			appendMicros(sb, sectionRingStart[i] - base);
+			sb.append(",\"dur\":");
+			appendMicros(sb, sectionRingEnd[i] - sectionRingStart[i]);
+			sb.append('}');
+		}
+		for(int j = 0; j < frameRingCount; ++j) {
+			int i = (frameFirst + j) & (FRAME_BUFFER_SIZE - 1);
+			long ts = frameRingEnd[i] - base;
+			sb.append(",{\"name\":\"frame\",\"cat\":\"frame\",\"ph\":\"X\",\"pid\":1,\"tid\":2,\"ts\":");
+			appendMicros(sb, frameRingStart[i] - base);
+			sb.append(",\"dur\":");
+			appendMicros(sb, frameRingEnd[i] - frameRingStart[i]);
+			sb.append('}');
+			if(frameRingHeapUsed[i] >= 0l && frameRingHeapTotal[i] >= 0l) {
+				sb.append(",{\"name\":\"heap\",\"ph\":\"C\",\"pid\":1,\"ts\":");
+				appendMicros(sb, ts);
+				sb.append(",\"args\":{\"usedMB\":").append(frameRingHeapUsed[i] / 1024l / 1024l);
+				sb.append(",\"totalMB\":").append(frameRingHeapTotal[i] / 1024l / 1024l);
+				sb.append("}}");
+			}
+			sb.append(",{\"name\":\"chunkQueue\",\"ph\":\"C\",\"pid\":1,\"ts\":");
+			appendMicros(sb, ts);
+			sb.append(",\"args\":{\"depth\":").append(frameRingChunkQueue[i]);
+			sb.append("}},{\"name\":\"packets\",\"ph\":\"C\",\"pid\":1,\"ts\":");
+			appendMicros(sb, ts);
+			sb.append(",\"args\":{\"in\":").append(frameRingPacketsIn[i]);
+			sb.append(",\"out\":").append(frameRingPacketsOut[i]);
+			sb.append(",\"framesOut\":").append(frameRingFramesOut[i]);
+			sb.append("}},{\"name\":\"bytes\",\"ph\":\"C\",\"pid\":1,\"ts\":");
+			appendMicros(sb, ts);
+			sb.append(",\"args\":{\"in\":").append(frameRingBytesIn[i]);
+			sb.append(",\"out\":").append(frameRingBytesOut[i]);
+			sb.append("}},{\"name\":\"drawCalls\",\"ph\":\"C\",\"pid\":1,\"ts\":");
+			appendMicros(sb, ts);
+			sb.append(",\"args\":{\"count\":").append(frameRingDrawCalls[i]);
+			sb.append("}}");
+			if(frameRingHeapFreed[i] > 0l) {
+				sb.append(",{\"name\":\"gc\",\"cat\":\"gc\",\"ph\":\"i\",\"s\":\"g\",\"pid\":1,\"tid\":2,\"ts\":");
+				appendMicros(sb, ts);
+				sb.append(",\"args\":{\"freedKB\":").append(frameRingHeapFreed[i] / 1024l);
+				sb.append("}}");
+			}
+		}
+		sb.append("]}");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void appendMicros(StringBuilder sb, long nanos) {
+		sb.append(nanos / 1000l).append('.');
+		int frac = (int)((nanos % 1000l) + 1000l) % 1000;
+		if(frac < 100) {
+			sb.append('0');
+			if(frac < 10) {
+				sb.append('0');
+			}
+		}
+		sb.append(frac);
+	}
+
+	private static void appendEscaped(StringBuilder sb, String str) {
+		for(int i = 0, l = str.length(); i < l; ++i) {
+			char c = str.charAt(i);
+			if(c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			}else if(c < 0x20) {
+				sb.append(' ');
+			}else {
+				sb.append(c);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,186 @@
+package net.minecraft.block;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
+import net.minecraft.block.material.Material;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumWorldBlockLayer;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class BlockPropertyTables {
+
+	public static final int FLAG_OPAQUE_CUBE = 1;
+	public static final int FLAG_FULL_CUBE = 2;
+	public static final int FLAG_HAS_TILE_ENTITY = 4;
+	public static final int FLAG_RENDERED = 8;
+	public static final int FLAG_GLASS_HIGHLIGHTS = 16;
+	public static final int FLAG_AIR = 32;
+	public static final int FLAG_TRANSLUCENT = 64;
+
+	/**
+	 * Opaque full cubes whose collision box is exactly the block, World adds the
+	 * box for these without asking the block
+	 */
+	public static final int FLAG_SOLID_CUBE = 128;
+
+	/**
+	 * All of the tables are indexed by the id from Block.BLOCK_STATE_IDS, which is
+	 * the same as the char stored in ExtendedBlockStorage, ids that are not mapped
+	 * to a state have the properties of air like ExtendedBlockStorage.get
+	 */
+	public static final int TABLE_SIZE = 65536;
+
+	public static final byte[] flags = new byte[TABLE_SIZE];
+	public static final byte[] lightOpacity = new byte[TABLE_SIZE];
+	public static final byte[] lightValue = new byte[TABLE_SIZE];
+	public static final byte[] renderType = new byte[TABLE_SIZE];
+	public static final byte[] blockLayer = new byte[TABLE_SIZE];
+
+	private static final EnumWorldBlockLayer[] layers = EnumWorldBlockLayer.values();
+
+	private static int settingsKey = -1;
+
+	/**
+	 * The render layer and opacity of some blocks depend on the graphics and
+	 * shader settings, this refreshes the tables if any of them changed since
+	 * they were built and should be called before the tables are used for meshing
+	 */
+	public static void validate() {
+		if (getSettingsKey() != settingsKey) {
+			refresh();
+		}
+	}
+
+	private static int getSettingsKey() {
+		int k = 0;
+		if (DeferredStateManager.isRenderingRealisticWater()) {
+			k |= 1;
+		}
+		if (DeferredStateManager.isRenderingGlassHighlights()) {
+			k |= 2;
+		}
+		if (Blocks.leaves.isOpaqueCube()) {
+			k |= 4;
+		}
+		if (Blocks.leaves2.isOpaqueCube()) {
+			k |= 8;
+		}
+		return k;
+	}
+
+	/**
+	 * Must be called after the blocks are registered
+	 */
+	public static void refresh() {
+		settingsKey = getSettingsKey();
+		IBlockState air = Block.getBlockById(0).getDefaultState();
+		for (int i = 0; i < TABLE_SIZE; ++i) {
+			IBlockState state = (IBlockState) Block.BLOCK_STATE_IDS.getByValue(i);
+			Block block = (state != null ? state : air).getBlock();
+			int f = 0;
+			if (block.isOpaqueCube()) {
+				f |= FLAG_OPAQUE_CUBE;
+			}
+			if (block.isFullCube()) {
+				f |= FLAG_FULL_CUBE;
+			}
+			if (block.hasTileEntity()) {
+				f |= FLAG_HAS_TILE_ENTITY;
+			}
+			int t = block.getRenderType();
+			if (t != -1) {
+				f |= FLAG_RENDERED;
+			}
+			if (block.eaglerShadersShouldRenderGlassHighlights()) {
+				f |= FLAG_GLASS_HIGHLIGHTS;
+			}
+			if (block.getMaterial() == Material.air) {
+				f |= FLAG_AIR;
+			}
+			if (block.isTranslucent()) {
+				f |= FLAG_TRANSLUCENT;
+			}
+			if ((f & (FLAG_OPAQUE_CUBE | FLAG_FULL_CUBE)) == (FLAG_OPAQUE_CUBE | FLAG_FULL_CUBE)
+					&& hasUnitCollisionBox(block, state != null ? state : air)) {
+				f |= FLAG_SOLID_CUBE;
+			}
+			flags[i] = (byte) f;
+			lightOpacity[i] = (byte) block.getLightOpacity();
+			lightValue[i] = (byte) block.getLightValue();
+			renderType[i] = (byte) t;
+			blockLayer[i] = (byte) block.getBlockLayer().ordinal();
+		}
+	}
+
+	private static final BlockPos origin = new BlockPos(0, 0, 0);
+
+	/**
+	 * Blocks whose collision box depends on the world will fail because no world
+	 * is passed, they are then treated like any other block
+	 */
+	private static boolean hasUnitCollisionBox(Block block, IBlockState state) {
+		AxisAlignedBB bb;
+		try {
+			bb = block.getCollisionBoundingBox(null, origin, state);
+		} catch (Throwable t) {
+			return false;
+		}
+		return bb != null && bb.minX == 0.0D && bb.minY == 0.0D && bb.minZ == 0.0D && bb.maxX == 1.0D
+				&& bb.maxY == 1.0D && bb.maxZ == 1.0D;
+	}
+
+	public static boolean isSolidCube(int stateId) {
+		return (flags[stateId] & FLAG_SOLID_CUBE) != 0;
+	}
+
+	public static boolean isOpaqueCube(int stateId) {
+		return (flags[stateId] & FLAG_OPAQUE_CUBE) != 0;
+	}
+
+	public static boolean isFullCube(int stateId) {
+		return (flags[stateId] & FLAG_FULL_CUBE) != 0;
+	}
+
+	public static boolean hasTileEntity(int stateId) {
+		return (flags[stateId] & FLAG_HAS_TILE_ENTITY) != 0;
+	}
+
+	public static boolean isRendered(int stateId) {
+		return (flags[stateId] & FLAG_RENDERED) != 0;
+	}
+
+	public static boolean isAir(int stateId) {
+		return (flags[stateId] & FLAG_AIR) != 0;
+	}
+
+	public static int getLightOpacity(int stateId) {
+		return lightOpacity[stateId] & 255;
+	}
+
+	public static int getLightValue(int stateId) {
+		return lightValue[stateId];
+	}
+
+	public static int getRenderType(int stateId) {
+		return renderType[stateId];
+	}
+
+	public static EnumWorldBlockLayer getBlockLayer(int stateId) {
+		return layers[blockLayer[stateId]];
+	}
+
+}
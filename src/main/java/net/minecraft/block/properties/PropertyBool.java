@@ -33,6 +33,10 @@ public class PropertyBool extends PropertyHelper<Boolean> {
 		return this.allowedValues;
 	}
 
+	public int getValueIndex(Object value) {
+		return value instanceof Boolean ? (((Boolean) value).booleanValue() ? 1 : 0) : -1;
+	}
+
 	public static PropertyBool create(String name) {
 		return new PropertyBool(name);
 	}
@@ -1,5 +1,6 @@
 package net.minecraft.block.properties;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 
@@ -33,10 +34,17 @@ import net.minecraft.util.IStringSerializable;
 public class PropertyEnum<T extends Enum<T> & IStringSerializable> extends PropertyHelper<T> {
 	private final ImmutableSet<T> allowedValues;
 	private final Map<String, T> nameToValue = Maps.newHashMap();
+	private final int[] ordinalToIndex;
 
 	protected PropertyEnum(String name, Class<T> valueClass, Collection<T> allowedValues) {
 		super(name, valueClass);
 		this.allowedValues = ImmutableSet.copyOf(allowedValues);
+		this.ordinalToIndex = new int[valueClass.getEnumConstants().length];
+		Arrays.fill(this.ordinalToIndex, -1);
+		int i = 0;
+		for (T oenum : this.allowedValues) {
+			this.ordinalToIndex[oenum.ordinal()] = i++;
+		}
 
 		for (T oenum : allowedValues) {
 			String s = ((IStringSerializable) oenum).getName();
@@ -53,6 +61,10 @@ public class PropertyEnum<T extends Enum<T> & IStringSerializable> extends Prope
 		return this.allowedValues;
 	}
 
+	public int getValueIndex(Object value) {
+		return this.getValueClass().isInstance(value) ? this.ordinalToIndex[((Enum) value).ordinal()] : -1;
+	}
+
 	/**+
 	 * Get the name for the given value.
 	 */
@@ -3,12 +3,39 @@ package net.minecraft.block.properties;
 import com.google.common.base.Objects;
 
 public abstract class PropertyHelper<T extends Comparable<T>> implements IProperty<T> {
+	private static int propertyIdCounter = 0;
+
 	private final Class<T> valueClass;
 	private final String name;
+	private final int propertyId;
 
 	protected PropertyHelper(String name, Class<T> valueClass) {
 		this.valueClass = valueClass;
 		this.name = name;
+		this.propertyId = propertyIdCounter++;
+	}
+
+	/**
+	 * Unique for every property object, even if they are equal, BlockState uses it
+	 * to find the property's bits in the packed value of a state
+	 */
+	public int getPropertyId() {
+		return this.propertyId;
+	}
+
+	/**
+	 * Returns a number from 0 to the number of allowed values - 1 that is unique
+	 * for each allowed value, or -1 if the value is not allowed
+	 */
+	public int getValueIndex(Object value) {
+		int i = 0;
+		for (T t : this.getAllowedValues()) {
+			if (t.equals(value)) {
+				return i;
+			}
+			++i;
+		}
+		return -1;
 	}
 
 	public String getName() {
@@ -26,9 +26,13 @@ import com.google.common.collect.Sets;
  */
 public class PropertyInteger extends PropertyHelper<Integer> {
 	private final ImmutableSet<Integer> allowedValues;
+	private final int min;
+	private final int max;
 
 	protected PropertyInteger(String name, int min, int max) {
 		super(name, Integer.class);
+		this.min = min;
+		this.max = max;
 		if (min < 0) {
 			throw new IllegalArgumentException("Min value of " + name + " must be 0 or greater");
 		} else if (max <= min) {
@@ -48,6 +52,16 @@ public class PropertyInteger extends PropertyHelper<Integer> {
 		return this.allowedValues;
 	}
 
+	public int getValueIndex(Object value) {
+		if (value instanceof Integer) {
+			int i = ((Integer) value).intValue();
+			if (i >= this.min && i <= this.max) {
+				return i - this.min;
+			}
+		}
+		return -1;
+	}
+
 	public boolean equals(Object object) {
 		if (this == object) {
 			return true;
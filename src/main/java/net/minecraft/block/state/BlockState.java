@@ -23,6 +23,7 @@ import com.google.common.collect.Maps;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.properties.IProperty;
+import net.minecraft.block.properties.PropertyHelper;
 import net.minecraft.util.Cartesian;
 import net.minecraft.util.MapPopulator;
 
@@ -55,6 +56,23 @@ public class BlockState {
 	private final ImmutableList<IProperty> properties;
 	private final ImmutableList<IBlockState> validStates;
 
+	/**
+	 * Each property has a range of bits in the packed value of a state that holds
+	 * the index of its value, so getValue and withProperty are a shift and a mask
+	 * instead of hash map lookups. The tables are null if one of the properties is
+	 * not a PropertyHelper, then only the maps are used
+	 */
+	private int[] propertyIndexById = null;
+	private int[] propertyShifts = null;
+	private int[] propertyMasks = null;
+	private Comparable[][] propertyValues = null;
+	private IBlockState[] statesByPackedValue = null;
+
+	/**
+	 * Packed values are only used if they fit in this many bits
+	 */
+	private static final int MAX_PACKED_BITS = 16;
+
 	public BlockState(Block blockIn, IProperty... properties) {
 		this.block = blockIn;
 		Arrays.sort(properties, new Comparator<IProperty>() {
@@ -63,15 +81,26 @@ public class BlockState {
 			}
 		});
 		this.properties = ImmutableList.copyOf(properties);
+		boolean packed = this.buildPackedTables();
 		LinkedHashMap linkedhashmap = Maps.newLinkedHashMap();
 		ArrayList<BlockState.StateImplementation> arraylist = Lists.newArrayList();
 
 		for (List list : Cartesian.cartesianProduct(this.getAllowedValues())) {
 			Map map = MapPopulator.createMap(this.properties, list);
+			int packedValue = 0;
+			if (packed) {
+				for (int i = 0, l = list.size(); i < l; ++i) {
+					packedValue |= ((PropertyHelper) this.properties.get(i)).getValueIndex(list.get(i))
+							<< this.propertyShifts[i];
+				}
+			}
 			BlockState.StateImplementation blockstate$stateimplementation = new BlockState.StateImplementation(blockIn,
-					ImmutableMap.copyOf(map));
+					ImmutableMap.copyOf(map), this, packedValue);
 			linkedhashmap.put(map, blockstate$stateimplementation);
 			arraylist.add(blockstate$stateimplementation);
+			if (packed) {
+				this.statesByPackedValue[packedValue] = blockstate$stateimplementation;
+			}
 		}
 
 		for (BlockState.StateImplementation blockstate$stateimplementation1 : arraylist) {
@@ -81,6 +110,65 @@ public class BlockState {
 		this.validStates = ImmutableList.copyOf(arraylist);
 	}
 
+	private boolean buildPackedTables() {
+		int l = this.properties.size();
+		int[] shifts = new int[l];
+		int[] masks = new int[l];
+		Comparable[][] values = new Comparable[l][];
+		int maxId = -1;
+		int shift = 0;
+		for (int i = 0; i < l; ++i) {
+			IProperty iproperty = this.properties.get(i);
+			if (!(iproperty instanceof PropertyHelper)) {
+				return false;
+			}
+			PropertyHelper helper = (PropertyHelper) iproperty;
+			Collection<Comparable> allowed = helper.getAllowedValues();
+			int cnt = allowed.size();
+			int bits = 32 - Integer.numberOfLeadingZeros(Math.max(cnt - 1, 0));
+			values[i] = new Comparable[cnt];
+			for (Comparable comparable : allowed) {
+				int j = helper.getValueIndex(comparable);
+				if (j < 0 || j >= cnt || values[i][j] != null) {
+					return false;
+				}
+				values[i][j] = comparable;
+			}
+			shifts[i] = shift;
+			masks[i] = (1 << bits) - 1;
+			shift += bits;
+			if (shift > MAX_PACKED_BITS) {
+				return false;
+			}
+			maxId = Math.max(maxId, helper.getPropertyId());
+		}
+		int[] indexById = new int[maxId + 1];
+		Arrays.fill(indexById, -1);
+		for (int i = 0; i < l; ++i) {
+			indexById[((PropertyHelper) this.properties.get(i)).getPropertyId()] = i;
+		}
+		this.propertyIndexById = indexById;
+		this.propertyShifts = shifts;
+		this.propertyMasks = masks;
+		this.propertyValues = values;
+		this.statesByPackedValue = new IBlockState[1 << shift];
+		return true;
+	}
+
+	/**
+	 * Returns -1 if the packed tables can't be used for the property, the
+	 * property is only found if it is the same object the block was created with
+	 */
+	private int getPackedPropertyIndex(IProperty iproperty) {
+		if (this.propertyIndexById != null && iproperty instanceof PropertyHelper) {
+			int id = ((PropertyHelper) iproperty).getPropertyId();
+			if (id < this.propertyIndexById.length) {
+				return this.propertyIndexById[id];
+			}
+		}
+		return -1;
+	}
+
 	public ImmutableList<IBlockState> getValidStates() {
 		return this.validStates;
 	}
@@ -116,10 +204,23 @@ public class BlockState {
 		private final Block block;
 		private final ImmutableMap<IProperty, Comparable> properties;
 		private ImmutableTable<IProperty, Comparable, IBlockState> propertyValueTable;
+		private final BlockState owner;
+		private final int packedValue;
 
-		private StateImplementation(Block blockIn, ImmutableMap<IProperty, Comparable> propertiesIn) {
+		private StateImplementation(Block blockIn, ImmutableMap<IProperty, Comparable> propertiesIn,
+				BlockState ownerIn, int packedValueIn) {
 			this.block = blockIn;
 			this.properties = propertiesIn;
+			this.owner = ownerIn;
+			this.packedValue = packedValueIn;
+		}
+
+		/**
+		 * The index of each property's value packed into one int, it is only valid if
+		 * the owning BlockState has packed tables
+		 */
+		public int getPackedValue() {
+			return this.packedValue;
 		}
 
 		public Collection<IProperty> getPropertyNames() {
@@ -127,6 +228,11 @@ public class BlockState {
 		}
 
 		public <T extends Comparable<T>> T getValue(IProperty<T> iproperty) {
+			int i = this.owner.getPackedPropertyIndex(iproperty);
+			if (i != -1) {
+				return (T) this.owner.propertyValues[i][(this.packedValue >>> this.owner.propertyShifts[i])
+						& this.owner.propertyMasks[i]];
+			}
 			if (!this.properties.containsKey(iproperty)) {
 				throw new IllegalArgumentException(
 						"Cannot get property " + iproperty + " as it does not exist in " + this.block.getBlockState());
@@ -136,6 +242,15 @@ public class BlockState {
 		}
 
 		public <T extends Comparable<T>, V extends T> IBlockState withProperty(IProperty<T> iproperty, V comparable) {
+			int i = this.owner.getPackedPropertyIndex(iproperty);
+			if (i != -1) {
+				int j = ((PropertyHelper) iproperty).getValueIndex(comparable);
+				if (j != -1) {
+					int shift = this.owner.propertyShifts[i];
+					int k = (this.packedValue & ~(this.owner.propertyMasks[i] << shift)) | (j << shift);
+					return k == this.packedValue ? this : this.owner.statesByPackedValue[k];
+				}
+			}
 			if (!this.properties.containsKey(iproperty)) {
 				throw new IllegalArgumentException(
 						"Cannot set property " + iproperty + " as it does not exist in " + this.block.getBlockState());
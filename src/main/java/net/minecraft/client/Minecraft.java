@@ -52,6 +52,7 @@ import net.lax1dude.eaglercraft.v1_8.profile.SkinPreviewRenderer;
 import net.lax1dude.eaglercraft.v1_8.socket.AddressResolver;
 import net.lax1dude.eaglercraft.v1_8.socket.EaglercraftNetworkManager;
 import net.lax1dude.eaglercraft.v1_8.socket.RateLimitTracker;
+import net.lax1dude.eaglercraft.v1_8.telemetry.EaglerTelemetry;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.client.audio.MusicTicker;
@@ -726,6 +727,7 @@ public class Minecraft implements IThreadListener {
 	 */
 	private void runGameLoop() throws IOException {
 		long i = System.nanoTime();
+		EaglerTelemetry.beginFrame();
 		this.mcProfiler.startSection("root");
 		if (Display.isCloseRequested()) {
 			this.shutdown();
@@ -757,6 +759,12 @@ public class Minecraft implements IThreadListener {
 		this.mcProfiler.endStartSection("preRenderErrors");
 		long i1 = System.nanoTime() - l;
 		this.checkGLError("Pre render");
+		NetHandlerPlayClient nethandler = this.getNetHandler();
+		if (nethandler != null) {
+			this.mcProfiler.endStartSection("chunkStaging");
+			nethandler.getChunkStager().update();
+		}
+
 		this.mcProfiler.endStartSection("sound");
 		this.mcSoundHandler.setListener(this.thePlayer, this.timer.renderPartialTicks);
 		this.mcProfiler.endSection();
@@ -827,6 +835,11 @@ public class Minecraft implements IThreadListener {
 			this.fpsCounter = 0;
 		}
 
+		if (this.gameSettings.dynamicResolution && this.theWorld != null) {
+			this.entityRenderer.getDynamicResolution().update(System.nanoTime() - i,
+					this.isFramerateLimitBelowMax() ? this.getLimitFramerate() : 60);
+		}
+
 		if (this.isFramerateLimitBelowMax()) {
 			this.mcProfiler.startSection("fpslimit_wait");
 			Display.sync(this.getLimitFramerate());
@@ -834,6 +847,12 @@ public class Minecraft implements IThreadListener {
 		}
 
 		this.mcProfiler.endSection();
+
+		String traceFile = EaglerTelemetry.endFrame();
+		if (traceFile != null && this.ingameGUI != null) {
+			this.ingameGUI.getChatGUI()
+					.printChatMessage(new ChatComponentText("Saved telemetry trace as: " + traceFile));
+		}
 	}
 
 	public void updateDisplay() {
@@ -1408,8 +1427,12 @@ public class Minecraft implements IThreadListener {
 							;
 						}
 
-						if (k == 38 && Keyboard.isKeyDown(61)) {
-							;
+						if (k == 38 && Keyboard.isKeyDown(61)) { // F3+L
+							if (!EaglerTelemetry.isRecording() && this.ingameGUI != null) {
+								this.ingameGUI.getChatGUI().printChatMessage(new ChatComponentText(
+										"Recording telemetry trace, press F3+L again to save it"));
+							}
+							EaglerTelemetry.toggleRecording();
 						}
 
 						if (k == 22 && Keyboard.isKeyDown(61)) {
@@ -1664,6 +1687,12 @@ public class Minecraft implements IThreadListener {
 			joinWorldTickCounter = 0;
 		}
 
+		NetHandlerPlayClient nethandler = this.getNetHandler();
+		if (nethandler != null) {
+			this.mcProfiler.endStartSection("sendQueue");
+			nethandler.getNetworkManager().flushSendQueue();
+		}
+
 		this.mcProfiler.endSection();
 		this.systemTime = getSystemTime();
 	}
@@ -73,6 +73,7 @@ public class FontRenderer implements IResourceManagerReloadListener {
 	protected float alpha;
 	protected int textColor;
 	protected boolean randomStyle;
+	protected int layoutSerial = 0;
 	protected boolean boldStyle;
 	protected boolean italicStyle;
 	protected boolean underlineStyle;
@@ -117,6 +118,15 @@ public class FontRenderer implements IResourceManagerReloadListener {
 
 	public void onResourceManagerReload(IResourceManager resourceManager) {
 		this.readFontTexture();
+		++this.layoutSerial;
+	}
+
+	/**
+	 * Changes whenever the width of the characters may have changed, text that
+	 * was measured with an older serial has to be measured again
+	 */
+	public int getLayoutSerial() {
+		return this.layoutSerial;
 	}
 
 	private void readFontTexture() {
@@ -698,7 +708,10 @@ public class FontRenderer implements IResourceManagerReloadListener {
 	 * rendered with Unicode fonts instead of the default.png font.
 	 */
 	public void setUnicodeFlag(boolean unicodeFlagIn) {
-		this.unicodeFlag = unicodeFlagIn;
+		if (this.unicodeFlag != unicodeFlagIn) {
+			this.unicodeFlag = unicodeFlagIn;
+			++this.layoutSerial;
+		}
 	}
 
 	/**+
@@ -714,7 +727,10 @@ public class FontRenderer implements IResourceManagerReloadListener {
 	 * Algorithm should be run before rendering any string.
 	 */
 	public void setBidiFlag(boolean bidiFlagIn) {
-		this.bidiFlag = bidiFlagIn;
+		if (this.bidiFlag != bidiFlagIn) {
+			this.bidiFlag = bidiFlagIn;
+			++this.layoutSerial;
+		}
 	}
 
 	/**+
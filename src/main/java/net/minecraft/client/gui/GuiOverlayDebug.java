@@ -26,6 +26,7 @@ import net.minecraft.block.properties.IProperty;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.ClientBrandRetriever;
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.client.renderer.RenderHelper;
 import net.minecraft.client.renderer.entity.RenderManager;
 import net.minecraft.client.resources.I18n;
@@ -411,6 +412,11 @@ public class GuiOverlayDebug extends Gui {
 											Integer.valueOf(Display.getHeight()), EaglercraftGPU.glGetString(7936) }),
 							EaglercraftGPU.glGetString(7937), EaglercraftGPU.glGetString(7938) });
 		}
+		NetHandlerPlayClient nethandler = this.mc.getNetHandler();
+		if (nethandler != null) {
+			arraylist.add("");
+			arraylist.add(nethandler.getNetworkManager().getDebugInfo());
+		}
 		if (this.isReducedDebug()) {
 			return arraylist;
 		} else {
@@ -10,6 +10,7 @@ import com.google.common.collect.Ordering;
 
 import net.lax1dude.eaglercraft.v1_8.mojang.authlib.GameProfile;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.network.NetHandlerPlayClient;
 import net.minecraft.client.network.NetworkPlayerInfo;
@@ -22,6 +23,7 @@ import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.util.EnumChatFormatting;
 import net.minecraft.util.IChatComponent;
 import net.minecraft.util.MathHelper;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.WorldSettings;
 
 /**+
@@ -176,7 +178,9 @@ public class GuiPlayerTabOverlay extends Gui {
 					EntityPlayer entityplayer = this.mc.theWorld.getPlayerEntityByUUID(gameprofile.getId());
 					boolean flag1 = entityplayer != null && entityplayer.isWearing(EnumPlayerModelParts.CAPE)
 							&& (gameprofile.getName().equals("Dinnerbone") || gameprofile.getName().equals("Grumm"));
-					this.mc.getTextureManager().bindTexture(networkplayerinfo1.getLocationSkin());
+					ResourceLocation skin = networkplayerinfo1.getLocationSkin();
+					this.mc.getTextureManager().bindTexture(skin);
+					boolean flag2 = SkinTextureAtlas.pushTextureMatrix(skin);
 					int l2 = 8 + (flag1 ? 8 : 0);
 					int i3 = 8 * (flag1 ? -1 : 1);
 					Gui.drawScaledCustomSizeModalRect(j2, k2, 8.0F, (float) l2, 8, i3, 8, 8, 64.0F, 64.0F);
@@ -186,6 +190,10 @@ public class GuiPlayerTabOverlay extends Gui {
 						Gui.drawScaledCustomSizeModalRect(j2, k2, 40.0F, (float) j3, 8, k3, 8, 8, 64.0F, 64.0F);
 					}
 
+					if (flag2) {
+						SkinTextureAtlas.popTextureMatrix();
+					}
+
 					j2 += 9;
 				}
 
@@ -2,8 +2,10 @@ package net.minecraft.client.gui;
 
 import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
 
+import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
@@ -12,6 +14,7 @@ import net.minecraft.block.material.MapColor;
 import net.minecraft.client.renderer.Tessellator;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.client.renderer.texture.TextureUtil;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.Vec4b;
@@ -40,6 +43,20 @@ public class MapItemRenderer {
 	private final TextureManager textureManager;
 	private final Map<String, MapItemRenderer.Instance> loadedMaps = Maps.newHashMap();
 
+	/**
+	 * Maps are packed into shared 1024x1024 textures so drawing a wall of maps does
+	 * not switch textures for every map
+	 */
+	public static final int ATLAS_SIZE = 1024;
+	public static final int ATLAS_MAPS_PER_ROW = ATLAS_SIZE / 128;
+	public static final int ATLAS_MAPS = ATLAS_MAPS_PER_ROW * ATLAS_MAPS_PER_ROW;
+
+	private final List<DynamicTexture> atlasTextures = Lists.newArrayList();
+	private final List<ResourceLocation> atlasLocations = Lists.newArrayList();
+	private int atlasMapsUsed = 0;
+
+	private static int[] colorPalette = null;
+
 	public MapItemRenderer(TextureManager textureManagerIn) {
 		this.textureManager = textureManagerIn;
 	}
@@ -76,51 +93,116 @@ public class MapItemRenderer {
 	 * corresponding textures
 	 */
 	public void clearLoadedMaps() {
-		for (MapItemRenderer.Instance mapitemrenderer$instance : this.loadedMaps.values()) {
-			this.textureManager.deleteTexture(mapitemrenderer$instance.location);
+		for (int i = 0, l = this.atlasLocations.size(); i < l; ++i) {
+			this.textureManager.deleteTexture(this.atlasLocations.get(i));
 		}
 
+		this.atlasTextures.clear();
+		this.atlasLocations.clear();
+		this.atlasMapsUsed = 0;
 		this.loadedMaps.clear();
 	}
 
+	/**
+	 * The texture colors of the 256 map color bytes, already in the byte order of
+	 * the texture, the first 4 are the transparent checkerboard and are not used
+	 */
+	private static int[] getColorPalette() {
+		if (colorPalette == null) {
+			int[] palette = new int[256];
+			for (int j = 4; j < 256; ++j) {
+				MapColor mapColor = MapColor.mapColorArray[j / 4];
+				if (mapColor != null) {
+					int c = mapColor.func_151643_b(j & 3);
+					palette[j] = (c & 0xFF00FF00) | ((c & 0x00FF0000) >> 16) | ((c & 0x000000FF) << 16);
+				}
+			}
+			colorPalette = palette;
+		}
+		return colorPalette;
+	}
+
 	class Instance {
 		private final MapData mapData;
 		private final DynamicTexture mapTexture;
 		private final ResourceLocation location;
 		private final int[] mapTextureData;
+		private final int offsetX;
+		private final int offsetY;
+		private final float minU;
+		private final float minV;
+		private final float maxU;
+		private final float maxV;
+		private boolean fullUpdate = true;
 
 		private Instance(MapData mapdataIn) {
 			this.mapData = mapdataIn;
-			this.mapTexture = new DynamicTexture(128, 128);
-			this.mapTextureData = this.mapTexture.getTextureData();
-			this.location = MapItemRenderer.this.textureManager.getDynamicTextureLocation("map/" + mapdataIn.mapName,
-					this.mapTexture);
-
-			for (int i = 0; i < this.mapTextureData.length; ++i) {
-				this.mapTextureData[i] = 0;
+			int slot = MapItemRenderer.this.atlasMapsUsed++;
+			int page = slot / ATLAS_MAPS;
+			slot %= ATLAS_MAPS;
+			if (page == MapItemRenderer.this.atlasTextures.size()) {
+				DynamicTexture tex = new DynamicTexture(ATLAS_SIZE, ATLAS_SIZE);
+				tex.updateDynamicTexture();
+				MapItemRenderer.this.atlasTextures.add(tex);
+				MapItemRenderer.this.atlasLocations
+						.add(MapItemRenderer.this.textureManager.getDynamicTextureLocation("map_atlas", tex));
 			}
-
+			this.mapTexture = MapItemRenderer.this.atlasTextures.get(page);
+			this.location = MapItemRenderer.this.atlasLocations.get(page);
+			this.mapTextureData = this.mapTexture.getTextureData();
+			this.offsetX = (slot % ATLAS_MAPS_PER_ROW) * 128;
+			this.offsetY = (slot / ATLAS_MAPS_PER_ROW) * 128;
+			this.minU = (float) this.offsetX / (float) ATLAS_SIZE;
+			this.minV = (float) this.offsetY / (float) ATLAS_SIZE;
+			this.maxU = (float) (this.offsetX + 128) / (float) ATLAS_SIZE;
+			this.maxV = (float) (this.offsetY + 128) / (float) ATLAS_SIZE;
 		}
 
 		/**+
 		 * Updates a map texture
 		 */
 		private void updateMapTexture() {
-			for (int i = 0; i < 16384; ++i) {
-				int j = this.mapData.colors[i] & 255;
-				int c;
-				if (j / 4 == 0) {
-					c = (i + i / 128 & 1) * 8 + 16 << 24;
-				} else {
-					c = MapColor.mapColorArray[j / 4].func_151643_b(j & 3);
+			int minX, minY, maxX, maxY;
+			if (this.fullUpdate) {
+				this.fullUpdate = false;
+				minX = 0;
+				minY = 0;
+				maxX = 127;
+				maxY = 127;
+			} else if (this.mapData.hasDirtyColors()) {
+				minX = Math.max(this.mapData.getColorsDirtyMinX(), 0);
+				minY = Math.max(this.mapData.getColorsDirtyMinY(), 0);
+				maxX = Math.min(this.mapData.getColorsDirtyMaxX(), 127);
+				maxY = Math.min(this.mapData.getColorsDirtyMaxY(), 127);
+			} else {
+				return;
+			}
+
+			this.mapData.clearDirtyColors();
+			if (minX > maxX || minY > maxY) {
+				return;
+			}
+
+			int[] palette = getColorPalette();
+			byte[] colors = this.mapData.colors;
+			for (int y = minY; y <= maxY; ++y) {
+				int k = this.offsetX + (this.offsetY + y) * ATLAS_SIZE;
+				for (int x = minX; x <= maxX; ++x) {
+					int i = x + y * 128;
+					int j = colors[i] & 255;
+					this.mapTextureData[k + x] = j < 4 ? (i + i / 128 & 1) * 8 + 16 << 24 : palette[j];
 				}
-				this.mapTextureData[i] = (c & 0xFF00FF00) | ((c & 0x00FF0000) >> 16) | ((c & 0x000000FF) << 16);
 			}
 
-			this.mapTexture.updateDynamicTexture();
+			TextureUtil.uploadTextureSubRegion(this.mapTexture.getGlTextureId(), this.mapTextureData, ATLAS_SIZE,
+					this.offsetX + minX, this.offsetY + minY, maxX - minX + 1, maxY - minY + 1);
 		}
 
 		private void render(boolean noOverlayRendering) {
+			if (this.fullUpdate) {
+				this.updateMapTexture();
+			}
+
 			byte b0 = 0;
 			byte b1 = 0;
 			Tessellator tessellator = Tessellator.getInstance();
@@ -133,15 +215,15 @@ public class MapItemRenderer {
 			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
 			worldrenderer
 					.pos((double) ((float) (b0 + 0) + f), (double) ((float) (b1 + 128) - f), -0.009999999776482582D)
-					.tex(0.0D, 1.0D).endVertex();
+					.tex((double) this.minU, (double) this.maxV).endVertex();
 			worldrenderer
 					.pos((double) ((float) (b0 + 128) - f), (double) ((float) (b1 + 128) - f), -0.009999999776482582D)
-					.tex(1.0D, 1.0D).endVertex();
+					.tex((double) this.maxU, (double) this.maxV).endVertex();
 			worldrenderer
 					.pos((double) ((float) (b0 + 128) - f), (double) ((float) (b1 + 0) + f), -0.009999999776482582D)
-					.tex(1.0D, 0.0D).endVertex();
+					.tex((double) this.maxU, (double) this.minV).endVertex();
 			worldrenderer.pos((double) ((float) (b0 + 0) + f), (double) ((float) (b1 + 0) + f), -0.009999999776482582D)
-					.tex(0.0D, 0.0D).endVertex();
+					.tex((double) this.minU, (double) this.minV).endVertex();
 			tessellator.draw();
 			GlStateManager.enableAlpha();
 			GlStateManager.disableBlend();
@@ -2,6 +2,7 @@ package net.minecraft.client.gui.spectator;
 
 import net.lax1dude.eaglercraft.v1_8.mojang.authlib.GameProfile;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.AbstractClientPlayer;
 import net.minecraft.client.gui.Gui;
@@ -44,11 +45,16 @@ public class PlayerMenuObject implements ISpectatorMenuObject {
 	}
 
 	public void func_178663_a(float alpha, int parInt1) {
-		Minecraft.getMinecraft().getTextureManager().bindTexture(
-				Minecraft.getMinecraft().getNetHandler().getSkinCache().getSkin(profile).getResourceLocation());
+		ResourceLocation skin = Minecraft.getMinecraft().getNetHandler().getSkinCache().getSkin(profile)
+				.getResourceLocation();
+		Minecraft.getMinecraft().getTextureManager().bindTexture(skin);
+		boolean flag = SkinTextureAtlas.pushTextureMatrix(skin);
 		GlStateManager.color(1.0F, 1.0F, 1.0F, (float) parInt1 / 255.0F);
 		Gui.drawScaledCustomSizeModalRect(2, 2, 8.0F, 8.0F, 8, 8, 12, 12, 64.0F, 64.0F);
 		Gui.drawScaledCustomSizeModalRect(2, 2, 40.0F, 8.0F, 8, 8, 12, 12, 64.0F, 64.0F);
+		if (flag) {
+			SkinTextureAtlas.popTextureMatrix();
+		}
 	}
 
 	public boolean func_178662_A_() {
@@ -1,5 +1,7 @@
 package net.minecraft.client.model;
 
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
+
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
  * 
@@ -43,4 +45,18 @@ public class ModelBanner extends ModelBase {
 		this.bannerStand.render(0.0625F);
 		this.bannerTop.render(0.0625F);
 	}
+
+	/**
+	 * Renders the cloth of the banner, which sways in the wind, without the
+	 * stand and the top bar that are baked by bakeStand
+	 */
+	public void renderSlate() {
+		this.bannerSlate.rotationPointY = -32.0F;
+		this.bannerSlate.render(0.0625F);
+	}
+
+	public void bakeStand(TileEntityBaker baker) {
+		this.bannerStand.bake(baker, 0.0625F);
+		this.bannerTop.bake(baker, 0.0625F);
+	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package net.minecraft.client.model;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -125,6 +126,13 @@ public class ModelBox {
 
 	}
 
+	public void bake(TileEntityBaker baker, float scale) {
+		for (int i = 0; i < this.quadList.length; ++i) {
+			this.quadList[i].bake(baker, scale);
+		}
+
+	}
+
 	public ModelBox setBoxName(String name) {
 		this.boxName = name;
 		return this;
@@ -1,5 +1,7 @@
 package net.minecraft.client.model;
 
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
+
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
  * 
@@ -52,4 +54,15 @@ public class ModelChest extends ModelBase {
 		this.chestKnob.render(0.0625F);
 		this.chestBelow.render(0.0625F);
 	}
+
+	/**
+	 * Bakes the chest with the lid closed
+	 */
+	public void bakeClosed(TileEntityBaker baker) {
+		this.chestLid.rotateAngleX = 0.0F;
+		this.chestKnob.rotateAngleX = 0.0F;
+		this.chestLid.bake(baker, 0.0625F);
+		this.chestKnob.bake(baker, 0.0625F);
+		this.chestBelow.bake(baker, 0.0625F);
+	}
 }
\ No newline at end of file
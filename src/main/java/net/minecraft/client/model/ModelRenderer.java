@@ -11,6 +11,7 @@ import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -265,6 +266,41 @@ public class ModelRenderer {
 		}
 	}
 
+	/**
+	 * Adds the boxes of this part and its children to the baker with the same
+	 * transforms render applies to them
+	 */
+	public void bake(TileEntityBaker baker, float scale) {
+		if (!this.isHidden && this.showModel) {
+			baker.pushMatrix();
+			baker.translate(this.offsetX + this.rotationPointX * scale, this.offsetY + this.rotationPointY * scale,
+					this.offsetZ + this.rotationPointZ * scale);
+			if (this.rotateAngleZ != 0.0F) {
+				baker.rotate(this.rotateAngleZ * 57.295776F, 0.0F, 0.0F, 1.0F);
+			}
+
+			if (this.rotateAngleY != 0.0F) {
+				baker.rotate(this.rotateAngleY * 57.295776F, 0.0F, 1.0F, 0.0F);
+			}
+
+			if (this.rotateAngleX != 0.0F) {
+				baker.rotate(this.rotateAngleX * 57.295776F, 1.0F, 0.0F, 0.0F);
+			}
+
+			for (int i = 0; i < this.cubeList.size(); ++i) {
+				((ModelBox) this.cubeList.get(i)).bake(baker, scale);
+			}
+
+			if (this.childModels != null) {
+				for (int i = 0; i < this.childModels.size(); ++i) {
+					((ModelRenderer) this.childModels.get(i)).bake(baker, scale);
+				}
+			}
+
+			baker.popMatrix();
+		}
+	}
+
 	/**+
 	 * Compiles a GL display list for this model
 	 */
@@ -1,5 +1,7 @@
 package net.minecraft.client.model;
 
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
+
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
  * 
@@ -38,4 +40,9 @@ public class ModelSign extends ModelBase {
 		this.signBoard.render(0.0625F);
 		this.signStick.render(0.0625F);
 	}
+
+	public void bakeSign(TileEntityBaker baker) {
+		this.signBoard.bake(baker, 0.0625F);
+		this.signStick.bake(baker, 0.0625F);
+	}
 }
\ No newline at end of file
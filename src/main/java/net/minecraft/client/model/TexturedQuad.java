@@ -2,6 +2,7 @@ package net.minecraft.client.model;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.tileentity.TileEntityBaker;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.util.Vec3;
 
@@ -90,4 +91,24 @@ public class TexturedQuad {
 
 		Tessellator.getInstance().draw();
 	}
+
+	/**
+	 * Adds this quad to the baker with the same normal draw gives it
+	 */
+	public void bake(TileEntityBaker baker, float scale) {
+		Vec3 vec3 = this.vertexPositions[1].vector3D.subtractReverse(this.vertexPositions[0].vector3D);
+		Vec3 vec31 = this.vertexPositions[1].vector3D.subtractReverse(this.vertexPositions[2].vector3D);
+		Vec3 vec32 = vec31.crossProduct(vec3).normalize();
+		float f = this.invertNormal ? -1.0F : 1.0F;
+
+		for (int i = 0; i < 4; ++i) {
+			PositionTextureVertex positiontexturevertex = this.vertexPositions[i];
+			baker.addVertex((float) positiontexturevertex.vector3D.xCoord * scale,
+					(float) positiontexturevertex.vector3D.yCoord * scale,
+					(float) positiontexturevertex.vector3D.zCoord * scale, positiontexturevertex.texturePositionX,
+					positiontexturevertex.texturePositionY);
+		}
+
+		baker.endQuad((float) vec32.xCoord * f, (float) vec32.yCoord * f, (float) vec32.zCoord * f);
+	}
 }
\ No newline at end of file
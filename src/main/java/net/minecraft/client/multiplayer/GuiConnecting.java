@@ -128,8 +128,8 @@ public class GuiConnecting extends GuiScreen {
 					if (!hasOpened) {
 						hasOpened = true;
 						logger.info("Logging in: {}", currentAddress);
-						if (ConnectionHandshake.attemptHandshake(this.mc, this, previousGuiScreen, currentPassword,
-								allowPlaintext)) {
+						if (ConnectionHandshake.attemptHandshake(this.mc, this.networkManager, this, previousGuiScreen,
+								currentPassword, allowPlaintext)) {
 							logger.info("Handshake Success");
 							this.networkManager.setConnectionState(EnumConnectionState.PLAY);
 							this.networkManager.setNetHandler(new NetHandlerPlayClient(this.mc, previousGuiScreen,
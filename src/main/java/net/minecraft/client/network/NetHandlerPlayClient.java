@@ -10,6 +10,7 @@ import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
 
 import com.google.common.collect.Maps;
 
+import net.lax1dude.eaglercraft.v1_8.minecraft.ChunkPacketStager;
 import net.lax1dude.eaglercraft.v1_8.netty.Unpooled;
 import net.lax1dude.eaglercraft.v1_8.profile.ServerSkinCache;
 import net.lax1dude.eaglercraft.v1_8.profile.SkinPackets;
@@ -200,9 +201,7 @@ import net.minecraft.util.MathHelper;
 import net.minecraft.util.StringUtils;
 import net.minecraft.village.MerchantRecipeList;
 import net.minecraft.world.Explosion;
-import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.WorldSettings;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.storage.MapData;
 
 /**+
@@ -241,6 +240,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 */
 	private final EaglercraftRandom avRandomizer = new EaglercraftRandom();
 	private final ServerSkinCache skinCache;
+	private final ChunkPacketStager chunkStager = new ChunkPacketStager();
 
 	public NetHandlerPlayClient(Minecraft mcIn, GuiScreen parGuiScreen, EaglercraftNetworkManager parNetworkManager,
 			GameProfile parGameProfile) {
@@ -257,6 +257,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 */
 	public void cleanup() {
 		this.clientWorldController = null;
+		this.chunkStager.setWorld(null);
 		this.skinCache.destroy();
 	}
 
@@ -264,6 +265,10 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 		return this.skinCache;
 	}
 
+	public ChunkPacketStager getChunkStager() {
+		return this.chunkStager;
+	}
+
 	/**+
 	 * Registers some server properties
 	 * (gametype,hardcore-mode,terraintype,difficulty,player limit),
@@ -276,6 +281,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 				new WorldSettings(0L, packetIn.getGameType(), false, packetIn.isHardcoreMode(),
 						packetIn.getWorldType()),
 				packetIn.getDimension(), packetIn.getDifficulty(), this.gameController.mcProfiler);
+		this.chunkStager.setWorld(this.clientWorldController);
 		this.gameController.gameSettings.difficulty = packetIn.getDifficulty();
 		this.gameController.loadWorld(this.clientWorldController);
 		this.gameController.thePlayer.dimension = packetIn.getDimension();
@@ -656,6 +662,8 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	public void handleMultiBlockChange(S22PacketMultiBlockChange packetIn) {
 		for (S22PacketMultiBlockChange.BlockUpdateData s22packetmultiblockchange$blockupdatedata : packetIn
 				.getChangedBlocks()) {
+			BlockPos blockpos = s22packetmultiblockchange$blockupdatedata.getPos();
+			this.chunkStager.commitChunkNow(blockpos.getX() >> 4, blockpos.getZ() >> 4);
 			this.clientWorldController.invalidateRegionAndSetBlock(s22packetmultiblockchange$blockupdatedata.getPos(),
 					s22packetmultiblockchange$blockupdatedata.getBlockState());
 		}
@@ -669,6 +677,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	public void handleChunkData(S21PacketChunkData packetIn) {
 		if (packetIn.func_149274_i()) {
 			if (packetIn.getExtractedSize() == 0) {
+				this.chunkStager.cancelChunk(packetIn.getChunkX(), packetIn.getChunkZ());
 				this.clientWorldController.doPreChunk(packetIn.getChunkX(), packetIn.getChunkZ(), false);
 				return;
 			}
@@ -678,14 +687,8 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 
 		this.clientWorldController.invalidateBlockReceiveRegion(packetIn.getChunkX() << 4, 0, packetIn.getChunkZ() << 4,
 				(packetIn.getChunkX() << 4) + 15, 256, (packetIn.getChunkZ() << 4) + 15);
-		Chunk chunk = this.clientWorldController.getChunkFromChunkCoords(packetIn.getChunkX(), packetIn.getChunkZ());
-		chunk.fillChunk(packetIn.func_149272_d(), packetIn.getExtractedSize(), packetIn.func_149274_i());
-		this.clientWorldController.markBlockRangeForRenderUpdate(packetIn.getChunkX() << 4, 0,
-				packetIn.getChunkZ() << 4, (packetIn.getChunkX() << 4) + 15, 256, (packetIn.getChunkZ() << 4) + 15);
-		if (!packetIn.func_149274_i() || !(this.clientWorldController.provider instanceof WorldProviderSurface)) {
-			chunk.resetRelightChecks();
-		}
-
+		this.chunkStager.stageChunk(packetIn.getChunkX(), packetIn.getChunkZ(), packetIn.func_149272_d(),
+				packetIn.getExtractedSize(), packetIn.func_149274_i());
 	}
 
 	/**+
@@ -693,7 +696,9 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * (and notify the clients)
 	 */
 	public void handleBlockChange(S23PacketBlockChange packetIn) {
-		this.clientWorldController.invalidateRegionAndSetBlock(packetIn.getBlockPosition(), packetIn.getBlockState());
+		BlockPos blockpos = packetIn.getBlockPosition();
+		this.chunkStager.commitChunkNow(blockpos.getX() >> 4, blockpos.getZ() >> 4);
+		this.clientWorldController.invalidateRegionAndSetBlock(blockpos, packetIn.getBlockState());
 	}
 
 	/**+
@@ -922,6 +927,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 					this.gameController.theWorld.getWorldInfo().isHardcoreModeEnabled(), packetIn.getWorldType()),
 					packetIn.getDimensionID(), packetIn.getDifficulty(), this.gameController.mcProfiler);
 			this.clientWorldController.setWorldScoreboard(scoreboard);
+			this.chunkStager.setWorld(this.clientWorldController);
 			this.gameController.loadWorld(this.clientWorldController);
 			this.gameController.thePlayer.dimension = packetIn.getDimensionID();
 			this.gameController.displayGuiScreen(new GuiDownloadTerrain(this));
@@ -936,6 +942,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * the affected blocks indicated by the packet.
 	 */
 	public void handleExplosion(S27PacketExplosion packetIn) {
+		this.chunkStager.commitAllNow();
 		Explosion explosion = new Explosion(this.gameController.theWorld, (Entity) null, packetIn.getX(),
 				packetIn.getY(), packetIn.getZ(), packetIn.getStrength(), packetIn.getAffectedBlockPositions());
 		explosion.doExplosionB(true);
@@ -1048,6 +1055,8 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * and opens the GUI to edit its text
 	 */
 	public void handleSignEditorOpen(S36PacketSignEditorOpen packetIn) {
+		this.chunkStager.commitChunkNow(packetIn.getSignPosition().getX() >> 4,
+				packetIn.getSignPosition().getZ() >> 4);
 		Object object = this.clientWorldController.getTileEntity(packetIn.getSignPosition());
 		if (!(object instanceof TileEntitySign)) {
 			object = new TileEntitySign();
@@ -1062,6 +1071,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * Updates a specified sign with the specified text lines
 	 */
 	public void handleUpdateSign(S33PacketUpdateSign packetIn) {
+		this.chunkStager.commitChunkNow(packetIn.getPos().getX() >> 4, packetIn.getPos().getZ() >> 4);
 		boolean flag = false;
 		if (this.gameController.theWorld.isBlockLoaded(packetIn.getPos())) {
 			TileEntity tileentity = this.gameController.theWorld.getTileEntity(packetIn.getPos());
@@ -1069,6 +1079,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 				TileEntitySign tileentitysign = (TileEntitySign) tileentity;
 				if (tileentitysign.getIsEditable()) {
 					System.arraycopy(packetIn.getLines(), 0, tileentitysign.signText, 0, 4);
+					tileentitysign.markTextChanged();
 					tileentitysign.markDirty();
 				}
 
@@ -1089,6 +1100,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * skulls, flowerpot
 	 */
 	public void handleUpdateTileEntity(S35PacketUpdateTileEntity packetIn) {
+		this.chunkStager.commitChunkNow(packetIn.getPos().getX() >> 4, packetIn.getPos().getZ() >> 4);
 		if (this.gameController.theWorld.isBlockLoaded(packetIn.getPos())) {
 			TileEntity tileentity = this.gameController.theWorld.getTileEntity(packetIn.getPos());
 			int i = packetIn.getTileEntityType();
@@ -1140,6 +1152,8 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 	 * (Ender)Chest
 	 */
 	public void handleBlockAction(S24PacketBlockAction packetIn) {
+		this.chunkStager.commitChunkNow(packetIn.getBlockPosition().getX() >> 4,
+				packetIn.getBlockPosition().getZ() >> 4);
 		this.gameController.theWorld.addBlockEvent(packetIn.getBlockPosition(), packetIn.getBlockType(),
 				packetIn.getData1(), packetIn.getData2());
 	}
@@ -1160,13 +1174,7 @@ public class NetHandlerPlayClient implements INetHandlerPlayClient {
 			this.clientWorldController.doPreChunk(j, k, true);
 			this.clientWorldController.invalidateBlockReceiveRegion(j << 4, 0, k << 4, (j << 4) + 15, 256,
 					(k << 4) + 15);
-			Chunk chunk = this.clientWorldController.getChunkFromChunkCoords(j, k);
-			chunk.fillChunk(packetIn.getChunkBytes(i), packetIn.getChunkSize(i), true);
-			this.clientWorldController.markBlockRangeForRenderUpdate(j << 4, 0, k << 4, (j << 4) + 15, 256,
-					(k << 4) + 15);
-			if (!(this.clientWorldController.provider instanceof WorldProviderSurface)) {
-				chunk.resetRelightChecks();
-			}
+			this.chunkStager.stageChunk(j, k, packetIn.getChunkBytes(i), packetIn.getChunkSize(i), true);
 		}
 
 	}
@@ -1,5 +1,6 @@
 package net.minecraft.client.renderer;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
@@ -69,17 +70,27 @@ public class BlockModelRenderer {
 		}
 	}
 
+	private static final EnumFacing[] facings = EnumFacing.values();
+
+	private final float[] aoQuadBounds = new float[EnumFacing.values().length * 2];
+	private final BitSet aoBoundsFlags = new BitSet(3);
+	private final BlockModelRenderer.AmbientOcclusionFace aoFace = new BlockModelRenderer.AmbientOcclusionFace();
+	private final BlockModelRenderer.NeighborCache aoNeighbors = new BlockModelRenderer.NeighborCache();
+	private final BlockPos sidePos = new BlockPos(0, 0, 0);
+	private final int[] standardBrightness = new int[4];
+
 	public boolean renderModelAmbientOcclusion(IBlockAccess blockAccessIn, IBakedModel modelIn, Block blockIn,
 			BlockPos blockPosIn, WorldRenderer worldRendererIn, boolean checkSides) {
 		boolean flag = false;
-		float[] afloat = new float[EnumFacing.values().length * 2];
-		BitSet bitset = new BitSet(3);
-		BlockModelRenderer.AmbientOcclusionFace blockmodelrenderer$ambientocclusionface = new BlockModelRenderer.AmbientOcclusionFace();
+		float[] afloat = this.aoQuadBounds;
+		BitSet bitset = this.aoBoundsFlags;
+		BlockModelRenderer.AmbientOcclusionFace blockmodelrenderer$ambientocclusionface = this.aoFace;
+		this.aoNeighbors.begin(blockAccessIn, blockIn, blockPosIn);
 
-		for (EnumFacing enumfacing : EnumFacing.values()) {
+		for (EnumFacing enumfacing : facings) {
 			List list = modelIn.getFaceQuads(enumfacing);
 			if (!list.isEmpty()) {
-				BlockPos blockpos = blockPosIn.offset(enumfacing);
+				BlockPos blockpos = blockPosIn.offsetEvenFaster(enumfacing, this.sidePos);
 				if (!checkSides || blockIn.shouldSideBeRendered(blockAccessIn, blockpos, enumfacing)) {
 					this.renderModelAmbientOcclusionQuads(blockAccessIn, blockIn, blockPosIn, worldRendererIn, list,
 							afloat, bitset, blockmodelrenderer$ambientocclusionface);
@@ -102,14 +113,13 @@ public class BlockModelRenderer {
 			BlockPos blockPosIn, WorldRenderer worldRendererIn, boolean checkSides) {
 		boolean isDeferred = DeferredStateManager.isDeferredRenderer();
 		boolean flag = false;
-		float[] afloat = isDeferred ? new float[EnumFacing.values().length * 2] : null;
-		BitSet bitset = new BitSet(3);
+		float[] afloat = isDeferred ? this.aoQuadBounds : null;
+		BitSet bitset = this.aoBoundsFlags;
 
-		BlockPos.MutableBlockPos pointer = new BlockPos.MutableBlockPos();
-		for (EnumFacing enumfacing : EnumFacing.values()) {
+		for (EnumFacing enumfacing : facings) {
 			List list = modelIn.getFaceQuads(enumfacing);
 			if (!list.isEmpty()) {
-				BlockPos blockpos = blockPosIn.offsetEvenFaster(enumfacing, pointer);
+				BlockPos blockpos = blockPosIn.offsetEvenFaster(enumfacing, this.sidePos);
 				if (!checkSides || blockIn.shouldSideBeRendered(blockAccessIn, blockpos, enumfacing)) {
 					int i = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos);
 					this.renderModelStandardQuads(blockAccessIn, blockIn, blockPosIn, enumfacing, i, false,
@@ -148,47 +158,33 @@ public class BlockModelRenderer {
 
 		for (BakedQuad bakedquad : listQuadsIn) {
 			int[] vertData = isDeferred ? bakedquad.getVertexDataWithNormals() : bakedquad.getVertexData();
-			this.fillQuadBounds(blockIn, vertData, bakedquad.getFace(), quadBounds, boundsFlags, isDeferred ? 8 : 7);
-			aoFaceIn.updateVertexBrightness(blockAccessIn, blockIn, blockPosIn, bakedquad.getFace(), quadBounds,
-					boundsFlags);
-			worldRendererIn.addVertexData(vertData);
-			worldRendererIn.putBrightness4(aoFaceIn.vertexBrightness[0], aoFaceIn.vertexBrightness[1],
-					aoFaceIn.vertexBrightness[2], aoFaceIn.vertexBrightness[3]);
+			int vertOffset = isDeferred ? bakedquad.getVertexDataWithNormalsOffset() : bakedquad.getVertexDataOffset();
+			this.fillQuadBounds(blockIn, vertData, vertOffset, bakedquad.getFace(), quadBounds, boundsFlags,
+					isDeferred ? 8 : 7);
+			aoFaceIn.updateVertexBrightness(this.aoNeighbors, bakedquad.getFace(), quadBounds, boundsFlags);
+			float f = 1.0F;
+			float f1 = 1.0F;
+			float f2 = 1.0F;
 			if (bakedquad.hasTintIndex()) {
 				int j = blockIn.colorMultiplier(blockAccessIn, blockPosIn, bakedquad.getTintIndex());
 				if (EntityRenderer.anaglyphEnable) {
 					j = TextureUtil.anaglyphColor(j);
 				}
 
-				float f = (float) (j >> 16 & 255) / 255.0F;
-				float f1 = (float) (j >> 8 & 255) / 255.0F;
-				float f2 = (float) (j & 255) / 255.0F;
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[0] * f,
-						aoFaceIn.vertexColorMultiplier[0] * f1, aoFaceIn.vertexColorMultiplier[0] * f2, 4);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[1] * f,
-						aoFaceIn.vertexColorMultiplier[1] * f1, aoFaceIn.vertexColorMultiplier[1] * f2, 3);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[2] * f,
-						aoFaceIn.vertexColorMultiplier[2] * f1, aoFaceIn.vertexColorMultiplier[2] * f2, 2);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[3] * f,
-						aoFaceIn.vertexColorMultiplier[3] * f1, aoFaceIn.vertexColorMultiplier[3] * f2, 1);
-			} else {
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[0], aoFaceIn.vertexColorMultiplier[0],
-						aoFaceIn.vertexColorMultiplier[0], 4);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[1], aoFaceIn.vertexColorMultiplier[1],
-						aoFaceIn.vertexColorMultiplier[1], 3);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[2], aoFaceIn.vertexColorMultiplier[2],
-						aoFaceIn.vertexColorMultiplier[2], 2);
-				worldRendererIn.putColorMultiplier(aoFaceIn.vertexColorMultiplier[3], aoFaceIn.vertexColorMultiplier[3],
-						aoFaceIn.vertexColorMultiplier[3], 1);
+				f = (float) (j >> 16 & 255) / 255.0F;
+				f1 = (float) (j >> 8 & 255) / 255.0F;
+				f2 = (float) (j & 255) / 255.0F;
 			}
 
-			worldRendererIn.putPosition(d0, d1, d2);
+			worldRendererIn.addQuad(vertData, vertOffset, d0, d1, d2, true, f, f1, f2, aoFaceIn.vertexColorMultiplier,
+					aoFaceIn.vertexBrightness[0], aoFaceIn.vertexBrightness[1], aoFaceIn.vertexBrightness[2],
+					aoFaceIn.vertexBrightness[3]);
 		}
 
 	}
 
-	private void fillQuadBounds(Block blockIn, int[] vertexData, EnumFacing facingIn, float[] quadBounds,
-			BitSet boundsFlags, int deferredStrideOverride) {
+	private void fillQuadBounds(Block blockIn, int[] vertexData, int vertexDataOffset, EnumFacing facingIn,
+			float[] quadBounds, BitSet boundsFlags, int deferredStrideOverride) {
 		float f = 32.0F;
 		float f1 = 32.0F;
 		float f2 = 32.0F;
@@ -197,7 +193,7 @@ public class BlockModelRenderer {
 		float f5 = -32.0F;
 
 		for (int i = 0; i < 4; ++i) {
-			int j = i * deferredStrideOverride;
+			int j = vertexDataOffset + i * deferredStrideOverride;
 			float f6 = Float.intBitsToFloat(vertexData[j]);
 			float f7 = Float.intBitsToFloat(vertexData[j + 1]);
 			float f8 = Float.intBitsToFloat(vertexData[j + 2]);
@@ -284,16 +280,16 @@ public class BlockModelRenderer {
 		for (BakedQuad bakedquad : listQuadsIn) {
 			EnumFacing facingIn = bakedquad.getFace();
 			int[] vertData = isDeferred ? bakedquad.getVertexDataWithNormals() : bakedquad.getVertexData();
+			int vertOffset = isDeferred ? bakedquad.getVertexDataWithNormalsOffset() : bakedquad.getVertexDataOffset();
 			blockPosIn.offsetEvenFaster(facingIn, blockpos0);
-			this.fillQuadBounds(blockIn, vertData, facingIn, quadBounds, boundsFlags, isDeferred ? 8 : 7);
+			this.fillQuadBounds(blockIn, vertData, vertOffset, facingIn, quadBounds, boundsFlags, isDeferred ? 8 : 7);
 			boolean boundsFlags0 = boundsFlags.get(0);
 			if (ownBrightness) {
 				brightnessIn = boundsFlags0 ? blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos0)
 						: blockIn.getMixedBrightnessForBlock(blockAccessIn, blockPosIn);
 			}
 
-			worldRendererIn.addVertexData(vertData);
-
+			int[] b = this.standardBrightness;
 			if (isDeferred) {
 				BlockModelRenderer.EnumNeighborInfo blockmodelrenderer$enumneighborinfo = BlockModelRenderer.EnumNeighborInfo
 						.getNeighbourInfo(facingIn);
@@ -319,8 +315,6 @@ public class BlockModelRenderer {
 				blockpos2.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos5);
 				int l1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
 
-				int[] b = new int[4];
-
 				boolean upIsOpaque = !blockAccessIn.getBlockState(blockpos0).getBlock().isOpaqueCube();
 				int i3;
 				if (boundsFlags0 || upIsOpaque) {
@@ -384,27 +378,26 @@ public class BlockModelRenderer {
 					b[blockmodelrenderer$vertextranslations.field_178201_i] = getAoBrightness(k, j, k1, i3);
 					b[blockmodelrenderer$vertextranslations.field_178198_j] = getAoBrightness(l, j, l1, i3);
 				}
-				worldRendererIn.putBrightness4(b[0], b[1], b[2], b[3]);
 			} else {
-				worldRendererIn.putBrightness4(brightnessIn, brightnessIn, brightnessIn, brightnessIn);
+				b[0] = b[1] = b[2] = b[3] = brightnessIn;
 			}
 
-			if (bakedquad.hasTintIndex()) {
+			float f = 1.0F;
+			float f1 = 1.0F;
+			float f2 = 1.0F;
+			boolean tint = bakedquad.hasTintIndex();
+			if (tint) {
 				int l = blockIn.colorMultiplier(blockAccessIn, blockPosIn, bakedquad.getTintIndex());
 				if (EntityRenderer.anaglyphEnable) {
 					l = TextureUtil.anaglyphColor(l);
 				}
 
-				float f = (float) (l >> 16 & 255) / 255.0F;
-				float f1 = (float) (l >> 8 & 255) / 255.0F;
-				float f2 = (float) (l & 255) / 255.0F;
-				worldRendererIn.putColorMultiplier(f, f1, f2, 4);
-				worldRendererIn.putColorMultiplier(f, f1, f2, 3);
-				worldRendererIn.putColorMultiplier(f, f1, f2, 2);
-				worldRendererIn.putColorMultiplier(f, f1, f2, 1);
+				f = (float) (l >> 16 & 255) / 255.0F;
+				f1 = (float) (l >> 8 & 255) / 255.0F;
+				f2 = (float) (l & 255) / 255.0F;
 			}
 
-			worldRendererIn.putPosition(d0, d1, d2);
+			worldRendererIn.addQuad(vertData, vertOffset, d0, d1, d2, tint, f, f1, f2, null, b[0], b[1], b[2], b[3]);
 		}
 
 	}
@@ -462,7 +455,8 @@ public class BlockModelRenderer {
 
 		for (BakedQuad bakedquad : parList) {
 			worldrenderer.begin(7, DefaultVertexFormats.ITEM);
-			worldrenderer.addVertexData(bakedquad.getVertexData());
+			worldrenderer.addVertexData(bakedquad.getVertexData(), bakedquad.getVertexDataOffset(),
+					BakedQuad.VERTEX_DATA_LENGTH);
 			if (bakedquad.hasTintIndex()) {
 				worldrenderer.putColorRGB_F4(parFloat2 * parFloat1, parFloat3 * parFloat1, parFloat4 * parFloat1);
 			} else {
@@ -477,45 +471,121 @@ public class BlockModelRenderer {
 
 	}
 
+	/**
+	 * Light and occlusion of the blocks around the block being rendered, every
+	 * position is only looked up once per block and the result is shared by all
+	 * of its faces. Faces that are flush with the side of the block sample up to
+	 * two blocks away along their normal, so the cache covers 5x5x5 blocks
+	 */
+	static class NeighborCache {
+		private final int[] brightness = new int[125];
+		private final int[] brightnessSerial = new int[125];
+		private final Block[] blocks = new Block[125];
+		private final int[] blockSerial = new int[125];
+		private int serial = 0;
+
+		private IBlockAccess blockAccess;
+		private RegionRenderCache regionCache;
+		private Block block;
+		private int posX;
+		private int posY;
+		private int posZ;
+		private final BlockPos tmpPos = new BlockPos(0, 0, 0);
+
+		public void begin(IBlockAccess blockAccessIn, Block blockIn, BlockPos blockPosIn) {
+			if (++serial == 0) {
+				Arrays.fill(brightnessSerial, 0);
+				Arrays.fill(blockSerial, 0);
+				serial = 1;
+			}
+			this.blockAccess = blockAccessIn;
+			this.regionCache = (blockAccessIn instanceof RegionRenderCache) ? (RegionRenderCache) blockAccessIn : null;
+			this.block = blockIn;
+			this.posX = blockPosIn.x;
+			this.posY = blockPosIn.y;
+			this.posZ = blockPosIn.z;
+		}
+
+		public int getBrightness(int x, int y, int z) {
+			int idx = (x + 2) * 25 + (y + 2) * 5 + z + 2;
+			if (brightnessSerial[idx] != serial) {
+				brightnessSerial[idx] = serial;
+				tmpPos.x = posX + x;
+				tmpPos.y = posY + y;
+				tmpPos.z = posZ + z;
+				brightness[idx] = block.getMixedBrightnessForBlock(blockAccess, tmpPos);
+			}
+			return brightness[idx];
+		}
+
+		private Block getBlock(int x, int y, int z) {
+			int idx = (x + 2) * 25 + (y + 2) * 5 + z + 2;
+			if (blockSerial[idx] != serial) {
+				blockSerial[idx] = serial;
+				if (regionCache != null) {
+					blocks[idx] = regionCache.getBlockStateAt(posX + x - regionCache.getOriginX(),
+							posY + y - regionCache.getOriginY(), posZ + z - regionCache.getOriginZ()).getBlock();
+				} else {
+					tmpPos.x = posX + x;
+					tmpPos.y = posY + y;
+					tmpPos.z = posZ + z;
+					blocks[idx] = blockAccess.getBlockState(tmpPos).getBlock();
+				}
+			}
+			return blocks[idx];
+		}
+
+		public float getAoLight(int x, int y, int z) {
+			return getBlock(x, y, z).getAmbientOcclusionLightValue();
+		}
+
+		public boolean isTranslucent(int x, int y, int z) {
+			return getBlock(x, y, z).isTranslucent();
+		}
+
+		public boolean isOpaqueCube(int x, int y, int z) {
+			return getBlock(x, y, z).isOpaqueCube();
+		}
+	}
+
 	class AmbientOcclusionFace {
 		private final float[] vertexColorMultiplier = new float[4];
 		private final int[] vertexBrightness = new int[4];
 
-		private final BlockPos blockpos0 = new BlockPos(0, 0, 0);
-		private final BlockPos blockpos1 = new BlockPos(0, 0, 0);
-		private final BlockPos blockpos2 = new BlockPos(0, 0, 0);
-		private final BlockPos blockpos3 = new BlockPos(0, 0, 0);
-		private final BlockPos blockpos4 = new BlockPos(0, 0, 0);
-		private final BlockPos blockpos5 = new BlockPos(0, 0, 0);
-
-		public void updateVertexBrightness(IBlockAccess blockAccessIn, Block blockIn, BlockPos blockPosIn,
-				EnumFacing facingIn, float[] quadBounds, BitSet boundsFlags) {
-			BlockPos blockpos = boundsFlags.get(0) ? blockPosIn.offsetEvenFaster(facingIn, blockpos0) : blockPosIn;
+		public void updateVertexBrightness(BlockModelRenderer.NeighborCache neighbors, EnumFacing facingIn,
+				float[] quadBounds, BitSet boundsFlags) {
+			boolean flush = boundsFlags.get(0);
+			int fx = facingIn.getFrontOffsetX();
+			int fy = facingIn.getFrontOffsetY();
+			int fz = facingIn.getFrontOffsetZ();
+			int bx = flush ? fx : 0;
+			int by = flush ? fy : 0;
+			int bz = flush ? fz : 0;
 			BlockModelRenderer.EnumNeighborInfo blockmodelrenderer$enumneighborinfo = BlockModelRenderer.EnumNeighborInfo
 					.getNeighbourInfo(facingIn);
-			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[0], blockpos1);
-			int i = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos1);
-			float f = blockAccessIn.getBlockState(blockpos1).getBlock().getAmbientOcclusionLightValue();
-			blockpos1.offsetEvenFaster(facingIn, blockpos5);
-			boolean flag = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
-
-			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[1], blockpos2);
-			int j = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos2);
-			float f1 = blockAccessIn.getBlockState(blockpos2).getBlock().getAmbientOcclusionLightValue();
-			blockpos2.offsetEvenFaster(facingIn, blockpos5);
-			boolean flag1 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
-
-			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos3);
-			int k = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos3);
-			float f2 = blockAccessIn.getBlockState(blockpos3).getBlock().getAmbientOcclusionLightValue();
-			blockpos3.offsetEvenFaster(facingIn, blockpos5);
-			boolean flag2 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
-
-			blockpos.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos4);
-			int l = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos4);
-			float f3 = blockAccessIn.getBlockState(blockpos4).getBlock().getAmbientOcclusionLightValue();
-			blockpos4.offsetEvenFaster(facingIn, blockpos5);
-			boolean flag3 = blockAccessIn.getBlockState(blockpos5).getBlock().isTranslucent();
+			EnumFacing[] sides = blockmodelrenderer$enumneighborinfo.field_178276_g;
+			int x0 = bx + sides[0].getFrontOffsetX(), y0 = by + sides[0].getFrontOffsetY(),
+					z0 = bz + sides[0].getFrontOffsetZ();
+			int x1 = bx + sides[1].getFrontOffsetX(), y1 = by + sides[1].getFrontOffsetY(),
+					z1 = bz + sides[1].getFrontOffsetZ();
+			int x2 = sides[2].getFrontOffsetX(), y2 = sides[2].getFrontOffsetY(), z2 = sides[2].getFrontOffsetZ();
+			int x3 = sides[3].getFrontOffsetX(), y3 = sides[3].getFrontOffsetY(), z3 = sides[3].getFrontOffsetZ();
+
+			int i = neighbors.getBrightness(x0, y0, z0);
+			float f = neighbors.getAoLight(x0, y0, z0);
+			boolean flag = neighbors.isTranslucent(x0 + fx, y0 + fy, z0 + fz);
+
+			int j = neighbors.getBrightness(x1, y1, z1);
+			float f1 = neighbors.getAoLight(x1, y1, z1);
+			boolean flag1 = neighbors.isTranslucent(x1 + fx, y1 + fy, z1 + fz);
+
+			int k = neighbors.getBrightness(bx + x2, by + y2, bz + z2);
+			float f2 = neighbors.getAoLight(bx + x2, by + y2, bz + z2);
+			boolean flag2 = neighbors.isTranslucent(bx + x2 + fx, by + y2 + fy, bz + z2 + fz);
+
+			int l = neighbors.getBrightness(bx + x3, by + y3, bz + z3);
+			float f3 = neighbors.getAoLight(bx + x3, by + y3, bz + z3);
+			boolean flag3 = neighbors.isTranslucent(bx + x3 + fx, by + y3 + fy, bz + z3 + fz);
 
 			float f4;
 			int i1;
@@ -523,9 +593,8 @@ public class BlockModelRenderer {
 				f4 = f;
 				i1 = i;
 			} else {
-				blockpos1.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos5);
-				f4 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
-				i1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+				f4 = neighbors.getAoLight(x0 + x2, y0 + y2, z0 + z2);
+				i1 = neighbors.getBrightness(x0 + x2, y0 + y2, z0 + z2);
 			}
 
 			float f5;
@@ -534,9 +603,8 @@ public class BlockModelRenderer {
 				f5 = f;
 				j1 = i;
 			} else {
-				blockpos1.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos5);
-				f5 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
-				j1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+				f5 = neighbors.getAoLight(x0 + x3, y0 + y3, z0 + z3);
+				j1 = neighbors.getBrightness(x0 + x3, y0 + y3, z0 + z3);
 			}
 
 			float f6;
@@ -545,9 +613,8 @@ public class BlockModelRenderer {
 				f6 = f1;
 				k1 = j;
 			} else {
-				blockpos2.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[2], blockpos5);
-				f6 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
-				k1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+				f6 = neighbors.getAoLight(x1 + x2, y1 + y2, z1 + z2);
+				k1 = neighbors.getBrightness(x1 + x2, y1 + y2, z1 + z2);
 			}
 
 			float f7;
@@ -556,20 +623,18 @@ public class BlockModelRenderer {
 				f7 = f1;
 				l1 = j;
 			} else {
-				blockpos2.offsetEvenFaster(blockmodelrenderer$enumneighborinfo.field_178276_g[3], blockpos5);
-				f7 = blockAccessIn.getBlockState(blockpos5).getBlock().getAmbientOcclusionLightValue();
-				l1 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+				f7 = neighbors.getAoLight(x1 + x3, y1 + y3, z1 + z3);
+				l1 = neighbors.getBrightness(x1 + x3, y1 + y3, z1 + z3);
 			}
 
-			blockPosIn.offsetEvenFaster(facingIn, blockpos5);
-			int i3 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockPosIn);
-			if (boundsFlags.get(0) || !blockAccessIn.getBlockState(blockpos5).getBlock().isOpaqueCube()) {
-				i3 = blockIn.getMixedBrightnessForBlock(blockAccessIn, blockpos5);
+			int i3;
+			if (flush || !neighbors.isOpaqueCube(fx, fy, fz)) {
+				i3 = neighbors.getBrightness(fx, fy, fz);
+			} else {
+				i3 = neighbors.getBrightness(0, 0, 0);
 			}
 
-			float f8 = boundsFlags.get(0)
-					? blockAccessIn.getBlockState(blockpos).getBlock().getAmbientOcclusionLightValue()
-					: blockAccessIn.getBlockState(blockPosIn).getBlock().getAmbientOcclusionLightValue();
+			float f8 = flush ? neighbors.getAoLight(fx, fy, fz) : neighbors.getAoLight(0, 0, 0);
 			BlockModelRenderer.VertexTranslations blockmodelrenderer$vertextranslations = BlockModelRenderer.VertexTranslations
 					.getVertexTranslations(facingIn);
 			if (boundsFlags.get(1) && blockmodelrenderer$enumneighborinfo.field_178289_i) {
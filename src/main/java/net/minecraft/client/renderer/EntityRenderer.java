@@ -4,6 +4,7 @@ import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
 
 import net.lax1dude.eaglercraft.v1_8.internal.buffer.FloatBuffer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import net.lax1dude.eaglercraft.v1_8.EaglercraftRandom;
@@ -17,10 +18,12 @@ import net.lax1dude.eaglercraft.v1_8.Display;
 import net.lax1dude.eaglercraft.v1_8.Mouse;
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.minecraft.DynamicResolutionController;
 import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.EffectPipelineFXAA;
 import net.lax1dude.eaglercraft.v1_8.opengl.GameOverlayFramebuffer;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.InstancedRainRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.OpenGlHelper;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.BetterFrustum;
@@ -31,6 +34,7 @@ import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.EaglerDeferredConfig;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.EaglerDeferredPipeline;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.NameTagRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.ShadersRenderPassFuture;
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.SunShadowCache;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.gui.GuiShaderConfig;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.texture.EmissiveItems;
 import net.lax1dude.eaglercraft.v1_8.vector.Vector4f;
@@ -46,8 +50,8 @@ import net.minecraft.client.gui.ScaledResolution;
 import net.minecraft.client.multiplayer.WorldClient;
 import net.minecraft.client.particle.EffectRenderer;
 import net.minecraft.client.particle.EntityFX;
-import net.minecraft.client.renderer.RenderGlobal.ChunkCullAdapter;
 import net.minecraft.client.renderer.chunk.RenderChunk;
+import net.minecraft.client.renderer.culling.ChunkFrustumCuller;
 import net.minecraft.client.renderer.culling.Frustum;
 import net.minecraft.client.renderer.entity.Render;
 import net.minecraft.client.renderer.texture.DynamicTexture;
@@ -151,6 +155,14 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 	private int rainSoundCounter;
 	private float[] rainXCoords = new float[1024];
 	private float[] rainYCoords = new float[1024];
+	private final PrecipitationColumnCache precipitationCache = new PrecipitationColumnCache();
+	private int rainInstancesX = Integer.MIN_VALUE;
+	private int rainInstancesY = 0;
+	private int rainInstancesZ = 0;
+	private int rainInstancesCameraY = 0;
+	private int rainInstancesRadius = 0;
+	private int rainInstancesSerial = 0;
+	private WorldClient rainInstancesWorld = null;
 	/**+
 	 * Fog color buffer
 	 */
@@ -170,6 +182,9 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 	private int frameCount;
 	private GameOverlayFramebuffer overlayFramebuffer;
 	private float eagPartialTicks = 0.0f;
+	private final DynamicResolutionController dynamicResolution = new DynamicResolutionController();
+	private int worldRenderWidth;
+	private int worldRenderHeight;
 
 	public EntityRenderer(Minecraft mcIn, IResourceManager resourceManagerIn) {
 		this.useShader = false;
@@ -911,6 +926,11 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 		if (!this.mc.skipRenderWorld) {
 			anaglyphEnable = this.mc.gameSettings.anaglyph;
 			final ScaledResolution scaledresolution = new ScaledResolution(this.mc);
+			this.mc.mcProfiler.startSection("guiIcons");
+			this.mc.getRenderItem().getGuiIconAtlas().bakePending(scaledresolution.getScaleFactor());
+			this.mc.mcProfiler.endStartSection("signText");
+			TileEntityRendererDispatcher.instance.signTextAtlas.bakePending(this.mc.fontRendererObj);
+			this.mc.mcProfiler.endSection();
 			int l = scaledresolution.getScaledWidth();
 			int i1 = scaledresolution.getScaledHeight();
 			final int j1 = Mouse.getX() * l / this.mc.displayWidth;
@@ -1080,8 +1100,16 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 		boolean fxaa = !this.mc.gameSettings.shaders
 				&& ((this.mc.gameSettings.fxaa == 0 && this.mc.gameSettings.fancyGraphics)
 						|| this.mc.gameSettings.fxaa == 1);
-		if (fxaa) {
-			EffectPipelineFXAA.begin(this.mc.displayWidth, this.mc.displayHeight);
+		this.worldRenderWidth = this.mc.displayWidth;
+		this.worldRenderHeight = this.mc.displayHeight;
+		if (this.mc.gameSettings.dynamicResolution && !this.mc.gameSettings.shaders) {
+			this.worldRenderWidth = this.dynamicResolution.getRenderWidth(this.mc.displayWidth);
+			this.worldRenderHeight = this.dynamicResolution.getRenderHeight(this.mc.displayHeight);
+		}
+		boolean scaled = this.worldRenderWidth != this.mc.displayWidth
+				|| this.worldRenderHeight != this.mc.displayHeight;
+		if (fxaa || scaled) {
+			EffectPipelineFXAA.begin(this.worldRenderWidth, this.worldRenderHeight);
 		}
 
 		GlStateManager.enableDepth();
@@ -1115,8 +1143,8 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			}
 		}
 
-		if (fxaa) {
-			EffectPipelineFXAA.end();
+		if (fxaa || scaled) {
+			EffectPipelineFXAA.end(fxaa, this.mc.displayWidth, this.mc.displayHeight);
 		}
 
 		this.mc.mcProfiler.endSection();
@@ -1128,7 +1156,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 		boolean flag = this.isDrawBlockOutline();
 		GlStateManager.enableCull();
 		this.mc.mcProfiler.endStartSection("clear");
-		GlStateManager.viewport(0, 0, this.mc.displayWidth, this.mc.displayHeight);
+		GlStateManager.viewport(0, 0, this.worldRenderWidth, this.worldRenderHeight);
 		this.updateFogColor(partialTicks);
 		GlStateManager.clear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
 		this.mc.mcProfiler.endStartSection("camera");
@@ -1298,6 +1326,19 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 	}
 
+	public PrecipitationColumnCache getPrecipitationCache() {
+		return this.precipitationCache;
+	}
+
+	/**
+	 * The world is drawn at the scale chosen by the controller and upscaled to
+	 * the size of the display before the GUI is drawn on top of it at the native
+	 * resolution, the shaders pipeline reads it in beginDrawMainGBuffer
+	 */
+	public DynamicResolutionController getDynamicResolution() {
+		return this.dynamicResolution;
+	}
+
 	private void addRainParticles() {
 		if (DeferredStateManager.isDeferredRenderer())
 			return;
@@ -1324,21 +1365,22 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			}
 
 			for (int k = 0; k < j; ++k) {
-				BlockPos blockpos1 = worldclient
-						.getPrecipitationHeight(blockpos.add(this.random.nextInt(b0) - this.random.nextInt(b0), 0,
-								this.random.nextInt(b0) - this.random.nextInt(b0)));
-				BiomeGenBase biomegenbase = worldclient.getBiomeGenForCoords(blockpos1);
-				BlockPos blockpos2 = blockpos1.down();
-				Block block = worldclient.getBlockState(blockpos2).getBlock();
-				if (blockpos1.getY() <= blockpos.getY() + b0 && blockpos1.getY() >= blockpos.getY() - b0
-						&& biomegenbase.canSpawnLightningBolt()
-						&& biomegenbase.getFloatTemperature(blockpos1) >= 0.15F) {
+				int slot = this.precipitationCache.getSlot(worldclient,
+						blockpos.getX() + this.random.nextInt(b0) - this.random.nextInt(b0),
+						blockpos.getZ() + this.random.nextInt(b0) - this.random.nextInt(b0));
+				int l = this.precipitationCache.getPrecipitationHeight(slot);
+				BiomeGenBase biomegenbase = this.precipitationCache.getBiome(slot);
+				if (l <= blockpos.getY() + b0 && l >= blockpos.getY() - b0 && biomegenbase.canSpawnLightningBolt()
+						&& this.precipitationCache.getTemperature(slot, l) >= 0.15F) {
+					BlockPos blockpos2 = new BlockPos(this.precipitationCache.getColumnX(slot), l - 1,
+							this.precipitationCache.getColumnZ(slot));
+					Block block = worldclient.getBlockState(blockpos2).getBlock();
 					double d3 = this.random.nextDouble();
 					double d4 = this.random.nextDouble();
 					if (block.getMaterial() == Material.lava) {
-						this.mc.theWorld.spawnParticle(EnumParticleTypes.SMOKE_NORMAL, (double) blockpos1.getX() + d3,
-								(double) ((float) blockpos1.getY() + 0.1F) - block.getBlockBoundsMinY(),
-								(double) blockpos1.getZ() + d4, 0.0D, 0.0D, 0.0D, new int[0]);
+						this.mc.theWorld.spawnParticle(EnumParticleTypes.SMOKE_NORMAL, (double) blockpos2.getX() + d3,
+								(double) ((float) l + 0.1F) - block.getBlockBoundsMinY(), (double) blockpos2.getZ() + d4,
+								0.0D, 0.0D, 0.0D, new int[0]);
 					} else if (block.getMaterial() != Material.air) {
 						block.setBlockBoundsBasedOnState(worldclient, blockpos2);
 						++i;
@@ -1357,8 +1399,9 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 			if (i > 0 && this.random.nextInt(3) < this.rainSoundCounter++) {
 				this.rainSoundCounter = 0;
-				if (d1 > (double) (blockpos.getY() + 1) && worldclient.getPrecipitationHeight(blockpos)
-						.getY() > MathHelper.floor_float((float) blockpos.getY())) {
+				if (d1 > (double) (blockpos.getY() + 1) && this.precipitationCache.getPrecipitationHeight(
+						this.precipitationCache.getSlot(worldclient, blockpos.getX(), blockpos.getZ())) > MathHelper
+								.floor_float((float) blockpos.getY())) {
 					this.mc.theWorld.playSound(d0, d1, d2, "ambient.weather.rain", 0.1F, 0.5F, false);
 				} else {
 					this.mc.theWorld.playSound(d0, d1, d2, "ambient.weather.rain", 0.2F, 1.0F, false);
@@ -1374,7 +1417,10 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 	protected void renderRainSnow(float partialTicks) {
 		float f = this.mc.theWorld.getRainStrength(partialTicks);
 		if (f > 0.0F) {
-			boolean df = DeferredStateManager.isInDeferredPass();
+			if (!DeferredStateManager.isInDeferredPass()) {
+				this.renderRainSnowInstanced(partialTicks, f);
+				return;
+			}
 			this.enableLightmap();
 			Entity entity = this.mc.getRenderViewEntity();
 			WorldClient worldclient = this.mc.theWorld;
@@ -1384,47 +1430,36 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			Tessellator tessellator = Tessellator.getInstance();
 			WorldRenderer worldrenderer = tessellator.getWorldRenderer();
 			GlStateManager.disableCull();
-			if (!df) {
-				GlStateManager.enableBlend();
-				GlStateManager.tryBlendFuncSeparate(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, 1, 0);
-				GlStateManager.alphaFunc(GL_GREATER, 0.1F);
-			} else {
-				GlStateManager.enableAlpha();
-				DeferredStateManager.setHDRTranslucentPassBlendFunc();
-				DeferredStateManager.reportForwardRenderObjectPosition2(0.0f, 0.0f, 0.0f);
-				GlStateManager.alphaFunc(GL_GREATER, 0.01F);
-				GlStateManager.depthMask(false);
-				EaglerDeferredPipeline.instance.setForwardRenderLightFactors(0.65f,
-						4.75f - MathHelper.clamp_float(DeferredStateManager.getSunHeight() * 8.0f - 3.0f, 0.0f, 4.0f),
-						1.0f, 0.03f);
-			}
+			GlStateManager.enableAlpha();
+			DeferredStateManager.setHDRTranslucentPassBlendFunc();
+			DeferredStateManager.reportForwardRenderObjectPosition2(0.0f, 0.0f, 0.0f);
+			GlStateManager.alphaFunc(GL_GREATER, 0.01F);
+			GlStateManager.depthMask(false);
+			EaglerDeferredPipeline.instance.setForwardRenderLightFactors(0.65f,
+					4.75f - MathHelper.clamp_float(DeferredStateManager.getSunHeight() * 8.0f - 3.0f, 0.0f, 4.0f),
+					1.0f, 0.03f);
 			EaglercraftGPU.glNormal3f(0.0F, 1.0F, 0.0F);
 			double d0 = entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * (double) partialTicks;
 			double d1 = entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * (double) partialTicks;
 			double d2 = entity.lastTickPosZ + (entity.posZ - entity.lastTickPosZ) * (double) partialTicks;
 			int l = MathHelper.floor_double(d1);
-			byte b0 = 5;
-			if (df) {
-				b0 = 8;
-			} else if (this.mc.gameSettings.fancyGraphics) {
-				b0 = 10;
-			}
+			byte b0 = 8;
 
 			byte b1 = -1;
 			float f1 = (float) this.rendererUpdateCount + partialTicks;
 			worldrenderer.setTranslation(-d0, -d1, -d2);
 			GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-			BlockPos.MutableBlockPos blockpos$mutableblockpos = new BlockPos.MutableBlockPos();
+			PrecipitationColumnCache cache = this.precipitationCache;
 
 			for (int i1 = k - b0; i1 <= k + b0; ++i1) {
 				for (int j1 = i - b0; j1 <= i + b0; ++j1) {
 					int k1 = (i1 - k + 16) * 32 + j1 - i + 16;
 					double d3 = (double) this.rainXCoords[k1] * 0.5D;
 					double d4 = (double) this.rainYCoords[k1] * 0.5D;
-					blockpos$mutableblockpos.func_181079_c(j1, 0, i1);
-					BiomeGenBase biomegenbase = worldclient.getBiomeGenForCoords(blockpos$mutableblockpos);
+					int slot = cache.getSlot(worldclient, j1, i1);
+					BiomeGenBase biomegenbase = cache.getBiome(slot);
 					if (biomegenbase.canSpawnLightningBolt() || biomegenbase.getEnableSnow()) {
-						int l1 = worldclient.getPrecipitationHeight(blockpos$mutableblockpos).getY();
+						int l1 = cache.getPrecipitationHeight(slot);
 						int i2 = j - b0;
 						int j2 = j + b0;
 						if (i2 < l1) {
@@ -1443,8 +1478,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 						if (i2 != j2) {
 							this.random
 									.setSeed((long) (j1 * j1 * 3121 + j1 * 45238971 ^ i1 * i1 * 418711 + i1 * 13761));
-							blockpos$mutableblockpos.func_181079_c(j1, i2, i1);
-							float f2 = biomegenbase.getFloatTemperature(blockpos$mutableblockpos);
+							float f2 = cache.getTemperature(slot, i2);
 							if (f2 >= 0.15F) {
 								if (b1 != 0) {
 									if (b1 >= 0) {
@@ -1453,14 +1487,11 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 									b1 = 0;
 									this.mc.getTextureManager()
-											.bindTexture(df ? new ResourceLocation("eagler:glsl/deferred/rain.png")
-													: locationRainPng);
-									if (df) {
-										DeferredStateManager.setRoughnessConstant(0.5f);
-										DeferredStateManager.setMetalnessConstant(0.05f);
-										DeferredStateManager.setEmissionConstant(1.0f);
-										GlStateManager.color(0.8F, 0.8F, 1.0F, 0.25F);
-									}
+											.bindTexture(new ResourceLocation("eagler:glsl/deferred/rain.png"));
+									DeferredStateManager.setRoughnessConstant(0.5f);
+									DeferredStateManager.setMetalnessConstant(0.05f);
+									DeferredStateManager.setEmissionConstant(1.0f);
+									GlStateManager.color(0.8F, 0.8F, 1.0F, 0.25F);
 									worldrenderer.begin(7, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
 								}
 
@@ -1471,8 +1502,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 								double d7 = (double) ((float) i1 + 0.5F) - entity.posZ;
 								float f3 = MathHelper.sqrt_double(d6 * d6 + d7 * d7) / (float) b0;
 								float f4 = ((1.0F - f3 * f3) * 0.5F + 0.5F) * f;
-								blockpos$mutableblockpos.func_181079_c(j1, k2, i1);
-								int l2 = worldclient.getCombinedLight(blockpos$mutableblockpos, 0);
+								int l2 = cache.getCombinedLight(slot, k2);
 								int i3 = l2 >> 16 & '\uffff';
 								int j3 = l2 & '\uffff';
 								worldrenderer.pos((double) j1 - d3 + 0.5D, (double) i2, (double) i1 - d4 + 0.5D)
@@ -1495,12 +1525,10 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 									b1 = 1;
 									this.mc.getTextureManager().bindTexture(locationSnowPng);
-									if (df) {
-										DeferredStateManager.setRoughnessConstant(0.7f);
-										DeferredStateManager.setMetalnessConstant(0.05f);
-										DeferredStateManager.setEmissionConstant(1.0f);
-										GlStateManager.color(1.3F, 1.3F, 1.3F, 0.5F);
-									}
+									DeferredStateManager.setRoughnessConstant(0.7f);
+									DeferredStateManager.setMetalnessConstant(0.05f);
+									DeferredStateManager.setEmissionConstant(1.0f);
+									GlStateManager.color(1.3F, 1.3F, 1.3F, 0.5F);
 									worldrenderer.begin(7, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
 								}
 
@@ -1514,8 +1542,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 								double d12 = (double) ((float) i1 + 0.5F) - entity.posZ;
 								float f6 = MathHelper.sqrt_double(d11 * d11 + d12 * d12) / (float) b0;
 								float f5 = ((1.0F - f6 * f6) * 0.3F + 0.5F) * f;
-								blockpos$mutableblockpos.func_181079_c(j1, k2, i1);
-								int k3 = (worldclient.getCombinedLight(blockpos$mutableblockpos, 0) * 3 + 15728880) / 4;
+								int k3 = (cache.getCombinedLight(slot, k2) * 3 + 15728880) / 4;
 								int l3 = k3 >> 16 & '\uffff';
 								int i4 = k3 & '\uffff';
 								worldrenderer.pos((double) j1 - d3 + 0.5D, (double) i2, (double) i1 - d4 + 0.5D)
@@ -1542,20 +1569,113 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 			worldrenderer.setTranslation(0.0D, 0.0D, 0.0D);
 			GlStateManager.enableCull();
-			if (!df) {
-				GlStateManager.disableBlend();
-			} else {
-				GlStateManager.disableAlpha();
-				GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
-				DeferredStateManager.setDefaultMaterialConstants();
-				GlStateManager.depthMask(true);
-				EaglerDeferredPipeline.instance.setForwardRenderLightFactors(1.0f, 1.0f, 1.0f, 1.0f);
-			}
+			GlStateManager.disableAlpha();
+			GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
+			DeferredStateManager.setDefaultMaterialConstants();
+			GlStateManager.depthMask(true);
+			EaglerDeferredPipeline.instance.setForwardRenderLightFactors(1.0f, 1.0f, 1.0f, 1.0f);
 			GlStateManager.alphaFunc(GL_GREATER, 0.1F);
 			this.disableLightmap();
 		}
 	}
 
+	/**
+	 * The forward path draws every column as an instance of the same strip with
+	 * InstancedRainRenderer. The instances only depend on the block the camera is
+	 * in and the precipitation cache, so they are built again only when one of
+	 * those changes, the scrolling, the snow drift and the alpha falloff around
+	 * the camera are done in the vertex shader
+	 */
+	private void renderRainSnowInstanced(float partialTicks, float f) {
+		this.enableLightmap();
+		Entity entity = this.mc.getRenderViewEntity();
+		WorldClient worldclient = this.mc.theWorld;
+		int i = MathHelper.floor_double(entity.posX);
+		int j = MathHelper.floor_double(entity.posY);
+		int k = MathHelper.floor_double(entity.posZ);
+		double d0 = entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * (double) partialTicks;
+		double d1 = entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * (double) partialTicks;
+		double d2 = entity.lastTickPosZ + (entity.posZ - entity.lastTickPosZ) * (double) partialTicks;
+		int l = MathHelper.floor_double(d1);
+		byte b0 = (byte) (this.mc.gameSettings.fancyGraphics ? 10 : 5);
+		PrecipitationColumnCache cache = this.precipitationCache;
+
+		if (i != this.rainInstancesX || j != this.rainInstancesY || k != this.rainInstancesZ
+				|| l != this.rainInstancesCameraY || b0 != this.rainInstancesRadius
+				|| worldclient != this.rainInstancesWorld || cache.getSerial() != this.rainInstancesSerial) {
+			InstancedRainRenderer.begin();
+			for (int i1 = k - b0; i1 <= k + b0; ++i1) {
+				for (int j1 = i - b0; j1 <= i + b0; ++j1) {
+					int k1 = (i1 - k + 16) * 32 + j1 - i + 16;
+					float d3 = this.rainXCoords[k1] * 0.5F;
+					float d4 = this.rainYCoords[k1] * 0.5F;
+					int slot = cache.getSlot(worldclient, j1, i1);
+					BiomeGenBase biomegenbase = cache.getBiome(slot);
+					if (biomegenbase.canSpawnLightningBolt() || biomegenbase.getEnableSnow()) {
+						int l1 = cache.getPrecipitationHeight(slot);
+						int i2 = Math.max(j - b0, l1);
+						int j2 = Math.max(j + b0, l1);
+						int k2 = Math.max(l1, l);
+						if (i2 != j2) {
+							this.random
+									.setSeed((long) (j1 * j1 * 3121 + j1 * 45238971 ^ i1 * i1 * 418711 + i1 * 13761));
+							float x = (float) (j1 - i) + 0.5F;
+							float z = (float) (i1 - k) + 0.5F;
+							int l2 = cache.getCombinedLight(slot, k2);
+							if (cache.getTemperature(slot, i2) >= 0.15F) {
+								int hash = j1 * j1 * 3121 + j1 * 45238971 + i1 * i1 * 418711 + i1 * 13761;
+								float speed = (float) (3.0D + this.random.nextDouble());
+								InstancedRainRenderer.appendColumn(InstancedRainRenderer.TYPE_RAIN, x, z, d3, d4, i2,
+										j2, l2 & '\uffff', l2 >> 16 & '\uffff', (float) (hash & 31), speed, 0.0F, 0.0F);
+							} else {
+								float a0 = (float) this.random.nextDouble();
+								float a1 = (float) this.random.nextGaussian();
+								float a2 = (float) this.random.nextDouble();
+								float a3 = (float) this.random.nextGaussian();
+								int k3 = (l2 * 3 + 15728880) / 4;
+								InstancedRainRenderer.appendColumn(InstancedRainRenderer.TYPE_SNOW, x, z, d3, d4, i2,
+										j2, k3 & '\uffff', k3 >> 16 & '\uffff', a0, a1, a2, a3);
+							}
+						}
+					}
+				}
+			}
+			InstancedRainRenderer.upload();
+			this.rainInstancesX = i;
+			this.rainInstancesY = j;
+			this.rainInstancesZ = k;
+			this.rainInstancesCameraY = l;
+			this.rainInstancesRadius = b0;
+			this.rainInstancesWorld = worldclient;
+			this.rainInstancesSerial = cache.getSerial();
+		}
+
+		GlStateManager.disableCull();
+		GlStateManager.enableBlend();
+		GlStateManager.tryBlendFuncSeparate(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA, 1, 0);
+		GlStateManager.alphaFunc(GL_GREATER, 0.1F);
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+		float ox = (float) ((double) i - d0);
+		float oy = (float) -d1;
+		float oz = (float) ((double) k - d2);
+		float ex = (float) (entity.posX - (double) i);
+		float ez = (float) (entity.posZ - (double) k);
+		if (InstancedRainRenderer.getColumnCount(InstancedRainRenderer.TYPE_RAIN) > 0) {
+			this.mc.getTextureManager().bindTexture(locationRainPng);
+			InstancedRainRenderer.render(InstancedRainRenderer.TYPE_RAIN, ox, oy, oz, ex, ez, (float) b0, 0.5F, f,
+					this.rendererUpdateCount, partialTicks);
+		}
+		if (InstancedRainRenderer.getColumnCount(InstancedRainRenderer.TYPE_SNOW) > 0) {
+			this.mc.getTextureManager().bindTexture(locationSnowPng);
+			InstancedRainRenderer.render(InstancedRainRenderer.TYPE_SNOW, ox, oy, oz, ex, ez, (float) b0, 0.3F, f,
+					this.rendererUpdateCount, partialTicks);
+		}
+		GlStateManager.enableCull();
+		GlStateManager.disableBlend();
+		GlStateManager.alphaFunc(GL_GREATER, 0.1F);
+		this.disableLightmap();
+	}
+
 	/**+
 	 * Setup orthogonal projection for rendering GUI screen overlays
 	 */
@@ -1804,7 +1924,12 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 	private static final Vector4f tmpVec4f_1 = new Vector4f();
 	private static final Matrix4f tmpMat4f_1 = new Matrix4f();
-	private int shadowFrameIndex = 0;
+	private final float[][] shadowCullPlanes = new float[10][4];
+	private ChunkFrustumCuller.CullResult shadowLOD0Chunks = null;
+	private ChunkFrustumCuller.CullResult shadowLOD1Chunks = null;
+	private ChunkFrustumCuller.CullResult shadowLOD2Chunks = null;
+	private ChunkFrustumCuller.CullResult shadowDirtyRegionChunks = null;
+	private final List<RenderChunk> shadowDirtyChunks = new ArrayList();
 
 	private double blockWaveOffsetX = 0.0;
 	private double blockWaveOffsetY = 0.0;
@@ -1993,7 +2118,6 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 				DeferredStateManager.forwardCallbackHandler = null;
 			}
 			EaglerDeferredPipeline.instance.beginDrawMainShadowMap();
-			++shadowFrameIndex;
 			EaglerDeferredPipeline.instance.beginDrawMainShadowMapLOD(0);
 			GlStateManager.enableCull();
 			GlStateManager.matrixMode(GL_PROJECTION);
@@ -2002,7 +2126,12 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			int shadowMapDist = 16;
 			GlStateManager.ortho(-shadowMapDist, shadowMapDist, -shadowMapDist, shadowMapDist, -64.0f, 64.0f);
 
-			setupSunCameraTransform(celestialAngle);
+			SunShadowCache.Cascade shadowCascade = EaglerDeferredPipeline.instance.sunShadowCache.getCascade(0);
+			shadowCascade.update(mc.theWorld, celestialAngle, DeferredStateManager.sunAngle, shadowMapDist,
+					EaglerDeferredPipeline.instance.sunShadowDepthBufferRes, d0, d1, d2);
+			setupSunCameraTransform(shadowCascade.getCelestialAngle());
+			GlStateManager.translate(shadowCascade.getOffsetX(), shadowCascade.getOffsetY(),
+					shadowCascade.getOffsetZ());
 
 			DeferredStateManager.loadShadowPassViewMatrix();
 			DeferredStateManager.loadSunShadowMatrixLOD0();
@@ -2019,59 +2148,39 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 			final BetterFrustum shadowLOD0Frustrum = new BetterFrustum(DeferredStateManager.getSunShadowMatrixLOD0());
 
-			ChunkCullAdapter shadowCullAdapter = (renderChunk) -> {
-				if (renderChunk.shadowLOD0FrameIndex != shadowFrameIndex) {
-					renderChunk.shadowLOD0FrameIndex = shadowFrameIndex;
-					AxisAlignedBB aabb2 = renderChunk.boundingBox;
-					if (aabb.intersectsWith(aabb2)) {
-						int shadowVisRet = shadowLOD0Frustrum.intersectAab((float) (aabb2.minX - d0),
-								(float) (aabb2.minY - d1 - eyeHeight), (float) (aabb2.minZ - d2),
-								(float) (aabb2.maxX - d0), (float) (aabb2.maxY - d1 - eyeHeight),
-								(float) (aabb2.maxZ - d2));
-						renderChunk.shadowLOD0InFrustum = shadowVisRet == BetterFrustum.INSIDE
-								? RenderChunk.ShadowFrustumState.INSIDE
-								: (shadowVisRet == BetterFrustum.INTERSECT ? RenderChunk.ShadowFrustumState.INTERSECT
-										: RenderChunk.ShadowFrustumState.OUTSIDE);
-					} else {
-						renderChunk.shadowLOD0InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE_BB;
-						return true;
-					}
-				}
-				return renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE;
-			};
+			shadowLOD0Frustrum.getPlanes(shadowCullPlanes, 0);
+			shadowLOD0Chunks = mc.renderGlobal.cullChunks(shadowCullPlanes, 6, aabb, d0, d1 + eyeHeight, d2,
+					shadowLOD0Chunks, true);
+			final ChunkFrustumCuller.CullResult shadowChunks = shadowLOD0Chunks;
 
 			mc.getTextureManager().bindTexture(TextureMap.locationBlocksTexture);
 			mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
-			mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.SOLID, aabb, shadowCullAdapter);
+			renderCachedShadowTerrain(0, shadowCascade, aabb, shadowChunks,
+					DeferredStateManager.getSunShadowMatrixLOD0(), !wavingBlocks, 0.5F, d0, d1 + eyeHeight, d2);
 			GlStateManager.enableAlpha();
-			GlStateManager.alphaFunc(GL_GREATER, 0.5F);
 			if (wavingBlocks) {
+				GlStateManager.alphaFunc(GL_GREATER, 0.5F);
 				DeferredStateManager.enableDrawWavingBlocks();
 				enableLightmap();
-			}
-			mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, aabb, shadowCullAdapter);
-			mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, aabb, shadowCullAdapter);
-			mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
-			GlStateManager.alphaFunc(GL_GREATER, 0.1F);
-			if (wavingBlocks) {
+				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, shadowChunks);
+				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, shadowChunks);
+				GlStateManager.alphaFunc(GL_GREATER, 0.1F);
 				DeferredStateManager.disableDrawWavingBlocks();
 				disableLightmap();
 			}
+			mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
 
 			mc.renderGlobal.renderShadowLODEntities(entity, partialTicks, (renderChunk) -> {
-				return renderChunk.shadowLOD0FrameIndex == shadowFrameIndex
-						&& (renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE
-								|| renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE_BB);
+				return !shadowChunks.isVisible(renderChunk.getIndex());
 			}, (renderChunk, renderManager, renderEntity) -> {
-				boolean b;
 				if (renderEntity.ignoreFrustumCheck) {
 					return false;
 				} else if (!renderEntity.isInRangeToRender3d(d0, d1, d2)) {
 					return true;
-				} else if (renderChunk.shadowLOD0FrameIndex == shadowFrameIndex
-						&& ((b = renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE)
-								|| renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.INSIDE)) {
-					return b;
+				} else if (!shadowChunks.isVisible(renderChunk.getIndex())) {
+					return true;
+				} else if (shadowChunks.isInside(renderChunk.getIndex())) {
+					return false;
 				} else {
 					AxisAlignedBB aabbEntity = renderEntity.getEntityBoundingBox();
 					if (aabbEntity.func_181656_b() || aabbEntity.getAverageEdgeLength() == 0.0) {
@@ -2098,13 +2207,12 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 				DeferredStateManager.forwardCallbackHandler.reset();
 				mc.getTextureManager().bindTexture(TextureMap.locationBlocksTexture);
 				mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
-				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.TRANSLUCENT, aabb, shadowCullAdapter);
+				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.TRANSLUCENT, shadowChunks);
 				mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
 				if (conf.is_rendering_realisticWater) {
 					GlStateManager.disableTexture2D();
 					GlStateManager.color(0.173f, 0.239f, 0.957f, 0.25f);
-					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.REALISTIC_WATER, aabb,
-							shadowCullAdapter);
+					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.REALISTIC_WATER, shadowChunks);
 					GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
 					GlStateManager.enableTexture2D();
 				}
@@ -2130,7 +2238,12 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 				shadowMapDist = 32;
 				GlStateManager.ortho(-shadowMapDist, shadowMapDist, -shadowMapDist, shadowMapDist, -64.0f, 64.0f);
 
-				setupSunCameraTransform(celestialAngle);
+				SunShadowCache.Cascade shadowCascade2 = EaglerDeferredPipeline.instance.sunShadowCache.getCascade(1);
+				shadowCascade2.update(mc.theWorld, celestialAngle, DeferredStateManager.sunAngle, shadowMapDist,
+						EaglerDeferredPipeline.instance.sunShadowDepthBufferRes, d0, d1, d2);
+				setupSunCameraTransform(shadowCascade2.getCelestialAngle());
+				GlStateManager.translate(shadowCascade2.getOffsetX(), shadowCascade2.getOffsetY(),
+						shadowCascade2.getOffsetZ());
 
 				DeferredStateManager.loadShadowPassViewMatrix();
 				DeferredStateManager.loadSunShadowMatrixLOD1();
@@ -2147,65 +2260,37 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 				BetterFrustum shadowLOD1Frustrum = new BetterFrustum(DeferredStateManager.getSunShadowMatrixLOD1());
 
-				ChunkCullAdapter shadowCullAdapter2 = (renderChunk) -> {
-					if (renderChunk.shadowLOD1FrameIndex != shadowFrameIndex) {
-						renderChunk.shadowLOD1FrameIndex = shadowFrameIndex;
-						if (renderChunk.shadowLOD0FrameIndex == shadowFrameIndex
-								&& renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.INSIDE) {
-							renderChunk.shadowLOD1InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE;
-							return true;
-						} else {
-							AxisAlignedBB aabb3 = renderChunk.boundingBox;
-							if (aabb2.intersectsWith(aabb3)) {
-								int shadowVisRet = shadowLOD1Frustrum.intersectAab((float) (aabb3.minX - d0),
-										(float) (aabb3.minY - d1 - eyeHeight), (float) (aabb3.minZ - d2),
-										(float) (aabb3.maxX - d0), (float) (aabb3.maxY - d1 - eyeHeight),
-										(float) (aabb3.maxZ - d2));
-								renderChunk.shadowLOD1InFrustum = shadowVisRet == BetterFrustum.INSIDE
-										? RenderChunk.ShadowFrustumState.INSIDE
-										: (shadowVisRet == BetterFrustum.INTERSECT
-												? RenderChunk.ShadowFrustumState.INTERSECT
-												: RenderChunk.ShadowFrustumState.OUTSIDE);
-							} else {
-								renderChunk.shadowLOD1InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE_BB;
-								return true;
-							}
-						}
-					}
-					return renderChunk.shadowLOD1InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE;
-				};
+				shadowLOD1Frustrum.getPlanes(shadowCullPlanes, 0);
+				shadowLOD1Chunks = mc.renderGlobal.cullChunks(shadowCullPlanes, 6, aabb2, d0, d1 + eyeHeight, d2,
+						shadowLOD1Chunks, false);
+				final ChunkFrustumCuller.CullResult shadowChunks2 = shadowLOD1Chunks;
 
 				mc.getTextureManager().bindTexture(TextureMap.locationBlocksTexture);
 				mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
-				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.SOLID, aabb2, shadowCullAdapter2);
+				renderCachedShadowTerrain(1, shadowCascade2, aabb2, shadowChunks2,
+						DeferredStateManager.getSunShadowMatrixLOD1(), !wavingBlocks, 0.5F, d0, d1 + eyeHeight, d2);
 				GlStateManager.enableAlpha();
-				GlStateManager.alphaFunc(GL_GREATER, 0.5F);
 				if (wavingBlocks) {
+					GlStateManager.alphaFunc(GL_GREATER, 0.5F);
 					DeferredStateManager.enableDrawWavingBlocks();
 					enableLightmap();
-				}
-				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, aabb2, shadowCullAdapter2);
-				mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, aabb2, shadowCullAdapter2);
-				mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
-				GlStateManager.alphaFunc(GL_GREATER, 0.1F);
-				if (wavingBlocks) {
+					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, shadowChunks2);
+					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, shadowChunks2);
+					GlStateManager.alphaFunc(GL_GREATER, 0.1F);
 					DeferredStateManager.disableDrawWavingBlocks();
 					disableLightmap();
 				}
+				mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
 
 				mc.renderGlobal.renderShadowLODEntities(entity, partialTicks, (renderChunk) -> {
-					return renderChunk.shadowLOD1FrameIndex == shadowFrameIndex
-							&& (renderChunk.shadowLOD1InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE
-									|| renderChunk.shadowLOD1InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE_BB);
+					return !shadowChunks2.isVisible(renderChunk.getIndex());
 				}, (renderChunk, renderManager, renderEntity) -> {
-					boolean b;
 					if (renderEntity.ignoreFrustumCheck) {
 						return false;
 					} else if (!renderEntity.isInRangeToRender3d(d0, d1, d2)) {
 						return true;
-					} else if (renderChunk.shadowLOD1FrameIndex == shadowFrameIndex
-							&& (b = renderChunk.shadowLOD1InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE)) {
-						return b;
+					} else if (!shadowChunks2.isVisible(renderChunk.getIndex())) {
+						return true;
 					} else {
 						AxisAlignedBB aabbEntity = renderEntity.getEntityBoundingBox();
 						if (aabbEntity.func_181656_b() || aabbEntity.getAverageEdgeLength() == 0.0) {
@@ -2232,13 +2317,12 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 					DeferredStateManager.forwardCallbackHandler.reset();
 					mc.getTextureManager().bindTexture(TextureMap.locationBlocksTexture);
 					mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
-					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.TRANSLUCENT, aabb2, shadowCullAdapter2);
+					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.TRANSLUCENT, shadowChunks2);
 					mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
 					if (conf.is_rendering_realisticWater) {
 						GlStateManager.disableTexture2D();
 						GlStateManager.color(0.173f, 0.239f, 0.957f, 0.25f);
-						mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.REALISTIC_WATER, aabb2,
-								shadowCullAdapter2);
+						mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.REALISTIC_WATER, shadowChunks2);
 						GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
 						GlStateManager.enableTexture2D();
 					}
@@ -2261,7 +2345,13 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 					shadowMapDist = 1 << (conf.is_rendering_shadowsSun_clamped + 3);
 					GlStateManager.ortho(-shadowMapDist, shadowMapDist, -shadowMapDist, shadowMapDist, -64.0f, 64.0f);
 
-					setupSunCameraTransform(celestialAngle);
+					SunShadowCache.Cascade shadowCascade3 = EaglerDeferredPipeline.instance.sunShadowCache
+							.getCascade(2);
+					shadowCascade3.update(mc.theWorld, celestialAngle, DeferredStateManager.sunAngle, shadowMapDist,
+							EaglerDeferredPipeline.instance.sunShadowDepthBufferRes, d0, d1, d2);
+					setupSunCameraTransform(shadowCascade3.getCelestialAngle());
+					GlStateManager.translate(shadowCascade3.getOffsetX(), shadowCascade3.getOffsetY(),
+							shadowCascade3.getOffsetZ());
 
 					DeferredStateManager.loadShadowPassViewMatrix();
 					DeferredStateManager.loadSunShadowMatrixLOD2();
@@ -2281,45 +2371,16 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 
 					BetterFrustum shadowLOD2Frustum = new BetterFrustum(DeferredStateManager.getSunShadowMatrixLOD2());
 
-					ChunkCullAdapter shadowCullAdapter3 = (renderChunk) -> {
-						if (renderChunk.shadowLOD2FrameIndex != shadowFrameIndex) {
-							renderChunk.shadowLOD2FrameIndex = shadowFrameIndex;
-							if (renderChunk.shadowLOD0FrameIndex == shadowFrameIndex
-									&& renderChunk.shadowLOD0InFrustum == RenderChunk.ShadowFrustumState.INSIDE) {
-								renderChunk.shadowLOD2InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE;
-								return true;
-							} else if (renderChunk.shadowLOD1FrameIndex == shadowFrameIndex
-									&& renderChunk.shadowLOD1InFrustum == RenderChunk.ShadowFrustumState.INSIDE) {
-								renderChunk.shadowLOD2InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE;
-								return true;
-							} else {
-								AxisAlignedBB aabb4 = renderChunk.boundingBox;
-								if (aabb3.intersectsWith(aabb4)) {
-									int shadowVisRet = shadowLOD2Frustum.intersectAab((float) (aabb4.minX - d0),
-											(float) (aabb4.minY - d1 - eyeHeight), (float) (aabb4.minZ - d2),
-											(float) (aabb4.maxX - d0), (float) (aabb4.maxY - d1 - eyeHeight),
-											(float) (aabb4.maxZ - d2));
-									renderChunk.shadowLOD2InFrustum = shadowVisRet == BetterFrustum.INSIDE
-											? RenderChunk.ShadowFrustumState.INSIDE
-											: (shadowVisRet == BetterFrustum.INTERSECT
-													? RenderChunk.ShadowFrustumState.INTERSECT
-													: RenderChunk.ShadowFrustumState.OUTSIDE);
-								} else {
-									renderChunk.shadowLOD2InFrustum = RenderChunk.ShadowFrustumState.OUTSIDE_BB;
-									return true;
-								}
-							}
-						}
-						return renderChunk.shadowLOD2InFrustum == RenderChunk.ShadowFrustumState.OUTSIDE;
-					};
+					shadowLOD2Frustum.getPlanes(shadowCullPlanes, 0);
+					shadowLOD2Chunks = mc.renderGlobal.cullChunks(shadowCullPlanes, 6, aabb3, d0, d1 + eyeHeight, d2,
+							shadowLOD2Chunks, false);
+					final ChunkFrustumCuller.CullResult shadowChunks3 = shadowLOD2Chunks;
 
 					mc.getTextureManager().bindTexture(TextureMap.locationBlocksTexture);
 					mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
-					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.SOLID, aabb3, shadowCullAdapter3);
+					renderCachedShadowTerrain(2, shadowCascade3, aabb3, shadowChunks3,
+							DeferredStateManager.getSunShadowMatrixLOD2(), true, 0.1F, d0, d1 + eyeHeight, d2);
 					GlStateManager.enableAlpha();
-					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, aabb3,
-							shadowCullAdapter3);
-					mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, aabb3, shadowCullAdapter3);
 					mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).restoreLastBlurMipmap();
 					disableLightmap();
 
@@ -2372,6 +2433,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			GlStateManager.enableCull();
 
 			EaglerDeferredPipeline.instance.beginDrawEnvMapTop(entity.getEyeHeight());
+			mc.renderGlobal.cullParaboloidChunks(1, entity);
 			EaglerDeferredPipeline.instance.beginDrawEnvMapSolid();
 			mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
 			mc.renderGlobal.renderParaboloidBlockLayer(EnumWorldBlockLayer.SOLID, (double) partialTicks, 1, entity);
@@ -2403,6 +2465,7 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 			GlStateManager.disableAlpha();
 
 			EaglerDeferredPipeline.instance.beginDrawEnvMapBottom(entity.getEyeHeight());
+			mc.renderGlobal.cullParaboloidChunks(-1, entity);
 			EaglerDeferredPipeline.instance.beginDrawEnvMapSolid();
 			mc.getTextureManager().getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
 			mc.renderGlobal.renderParaboloidBlockLayer(EnumWorldBlockLayer.SOLID, (double) partialTicks, -1, entity);
@@ -2772,6 +2835,60 @@ public class EntityRenderer implements IResourceManagerReloadListener {
 		return new AxisAlignedBB(minX + x, minY + y, minZ + z, maxX + x, maxY + y, maxZ + z);
 	}
 
+	/**+
+	 * Draws the terrain of a shadow LOD into the cached static
+	 * shadow map if the cascade moved or if any of its render
+	 * chunks were recompiled, and then copies the cached depth into
+	 * the shadow map so the entities can be drawn on top of it
+	 */
+	private void renderCachedShadowTerrain(int lod, SunShadowCache.Cascade cascade, AxisAlignedBB aabb,
+			ChunkFrustumCuller.CullResult visibleChunks, Matrix4f shadowMatrix, boolean cutout, float cutoutAlphaRef,
+			double d0, double d1, double d2) {
+		EaglerDeferredPipeline pipeline = EaglerDeferredPipeline.instance;
+		int res = pipeline.sunShadowDepthBufferRes;
+		int serial = RenderChunk.getShadowCacheSerial();
+		ChunkFrustumCuller.CullResult chunks = visibleChunks;
+		if (cascade.needsFullUpdate()) {
+			pipeline.beginUpdateStaticShadowMapLOD(lod, 0, 0, res, res);
+		} else {
+			if (serial == cascade.getSerial()) {
+				pipeline.copyStaticShadowMapLOD(lod);
+				return;
+			}
+			mc.renderGlobal.findShadowDirtyChunks(visibleChunks, cascade.getSerial(), shadowDirtyChunks);
+			cascade.resetDirtyRegion();
+			for (int i = 0, l = shadowDirtyChunks.size(); i < l; ++i) {
+				cascade.expandDirtyRegion(shadowDirtyChunks.get(i).boundingBox, d0, d1, d2, shadowMatrix);
+			}
+			shadowDirtyChunks.clear();
+			if (!cascade.isDirtyRegionVisible()) {
+				cascade.markUpdated(serial);
+				pipeline.copyStaticShadowMapLOD(lod);
+				return;
+			}
+			int x = cascade.getDirtyRegionMinX(res);
+			int y = cascade.getDirtyRegionMinY(res);
+			pipeline.beginUpdateStaticShadowMapLOD(lod, x, y, cascade.getDirtyRegionMaxX(res) - x,
+					cascade.getDirtyRegionMaxY(res) - y);
+			// shadowCullPlanes still holds the 6 planes visibleChunks was culled with
+			cascade.getDirtyRegionPlanes(shadowMatrix, shadowCullPlanes, 6);
+			chunks = shadowDirtyRegionChunks = mc.renderGlobal.cullChunks(shadowCullPlanes, 10, aabb, d0, d1, d2,
+					shadowDirtyRegionChunks, false);
+		}
+		mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.SOLID, chunks);
+		if (cutout) {
+			GlStateManager.enableAlpha();
+			GlStateManager.alphaFunc(GL_GREATER, cutoutAlphaRef);
+			mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT_MIPPED, chunks);
+			mc.renderGlobal.renderBlockLayerShadow(EnumWorldBlockLayer.CUTOUT, chunks);
+			GlStateManager.alphaFunc(GL_GREATER, 0.1F);
+			GlStateManager.disableAlpha();
+		}
+		pipeline.endUpdateStaticShadowMapLOD(lod);
+		cascade.markUpdated(serial);
+		pipeline.copyStaticShadowMapLOD(lod);
+	}
+
 	public static void setupSunCameraTransform(float celestialAngle) {
 		GlStateManager.rotate(celestialAngle + 90.0f, 1.0F, 0.0F, 0.0F);
 		GlStateManager.rotate(-DeferredStateManager.sunAngle, 0.0F, 1.0F, 0.0F);
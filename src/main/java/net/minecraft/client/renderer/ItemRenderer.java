@@ -7,6 +7,7 @@ import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.OpenGlHelper;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.block.state.IBlockState;
@@ -152,14 +153,19 @@ public class ItemRenderer {
 	}
 
 	private void renderPlayerArms(AbstractClientPlayer clientPlayer) {
-		this.mc.getTextureManager().bindTexture(clientPlayer.getLocationSkin());
+		ResourceLocation skin = clientPlayer.getLocationSkin();
+		this.mc.getTextureManager().bindTexture(skin);
 		Render render = this.renderManager.getEntityRenderObject(this.mc.thePlayer);
 		RenderPlayer renderplayer = (RenderPlayer) render;
 		if (!clientPlayer.isInvisible()) {
+			boolean flag = SkinTextureAtlas.pushTextureMatrix(skin);
 			GlStateManager.disableCull();
 			this.renderRightArm(renderplayer);
 			this.renderLeftArm(renderplayer);
 			GlStateManager.enableCull();
+			if (flag) {
+				SkinTextureAtlas.popTextureMatrix();
+			}
 		}
 
 	}
@@ -217,7 +223,9 @@ public class ItemRenderer {
 		float f4 = MathHelper.sin(MathHelper.sqrt_float(parFloat2) * 3.1415927F);
 		GlStateManager.rotate(f4 * 70.0F, 0.0F, 1.0F, 0.0F);
 		GlStateManager.rotate(f3 * -20.0F, 0.0F, 0.0F, 1.0F);
-		this.mc.getTextureManager().bindTexture(clientPlayer.getLocationSkin());
+		ResourceLocation skin = clientPlayer.getLocationSkin();
+		this.mc.getTextureManager().bindTexture(skin);
+		boolean flag = SkinTextureAtlas.pushTextureMatrix(skin);
 		GlStateManager.translate(-1.0F, 3.6F, 3.5F);
 		GlStateManager.rotate(120.0F, 0.0F, 0.0F, 1.0F);
 		GlStateManager.rotate(200.0F, 1.0F, 0.0F, 0.0F);
@@ -229,6 +237,9 @@ public class ItemRenderer {
 		RenderPlayer renderplayer = (RenderPlayer) render;
 		renderplayer.renderRightArm(this.mc.thePlayer);
 		GlStateManager.enableCull();
+		if (flag) {
+			SkinTextureAtlas.popTextureMatrix();
+		}
 	}
 
 	private void func_178105_d(float parFloat1) {
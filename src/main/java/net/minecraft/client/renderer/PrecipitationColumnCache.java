@@ -0,0 +1,147 @@
+package net.minecraft.client.renderer;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.BiomeGenBase;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class PrecipitationColumnCache {
+
+	/**
+	 * The grid wraps around like a ring buffer, a column is stored in the slot at
+	 * its world coordinates mod SIZE, so when the camera moves only the columns
+	 * that came into range are looked up again
+	 */
+	public static final int SIZE = 32;
+
+	private final int[] columnX = new int[SIZE * SIZE];
+	private final int[] columnZ = new int[SIZE * SIZE];
+	private final BiomeGenBase[] biomes = new BiomeGenBase[SIZE * SIZE];
+	private final int[] precipitationHeight = new int[SIZE * SIZE];
+	private final int[] temperatureY = new int[SIZE * SIZE];
+	private final float[] temperature = new float[SIZE * SIZE];
+	private final int[] lightY = new int[SIZE * SIZE];
+	private final int[] light = new int[SIZE * SIZE];
+	private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+	private World world = null;
+	private int serial = 0;
+
+	public PrecipitationColumnCache() {
+		clear();
+	}
+
+	/**
+	 * Returns the slot of the column, the world is only queried if the column is
+	 * not already in the cache
+	 */
+	public int getSlot(World worldIn, int x, int z) {
+		if (worldIn != this.world) {
+			clear();
+			this.world = worldIn;
+		}
+		int slot = ((z & (SIZE - 1)) << 5) | (x & (SIZE - 1));
+		if (this.columnX[slot] != x || this.columnZ[slot] != z) {
+			this.columnX[slot] = x;
+			this.columnZ[slot] = z;
+			this.pos.func_181079_c(x, 0, z);
+			this.biomes[slot] = worldIn.getBiomeGenForCoords(this.pos);
+			this.precipitationHeight[slot] = worldIn.getPrecipitationHeight(this.pos).getY();
+			this.temperatureY[slot] = Integer.MIN_VALUE;
+			this.lightY[slot] = Integer.MIN_VALUE;
+		}
+		return slot;
+	}
+
+	public int getColumnX(int slot) {
+		return this.columnX[slot];
+	}
+
+	public int getColumnZ(int slot) {
+		return this.columnZ[slot];
+	}
+
+	public BiomeGenBase getBiome(int slot) {
+		return this.biomes[slot];
+	}
+
+	public int getPrecipitationHeight(int slot) {
+		return this.precipitationHeight[slot];
+	}
+
+	/**
+	 * Same as getFloatTemperature of the column's biome, the value for the last Y
+	 * that was asked for is kept
+	 */
+	public float getTemperature(int slot, int y) {
+		if (this.temperatureY[slot] != y) {
+			this.temperatureY[slot] = y;
+			this.pos.func_181079_c(this.columnX[slot], y, this.columnZ[slot]);
+			this.temperature[slot] = this.biomes[slot].getFloatTemperature(this.pos);
+		}
+		return this.temperature[slot];
+	}
+
+	/**
+	 * Same as World.getCombinedLight with a minimum block light of 0, the value
+	 * for the last Y that was asked for is kept
+	 */
+	public int getCombinedLight(int slot, int y) {
+		if (this.lightY[slot] != y) {
+			this.lightY[slot] = y;
+			this.pos.func_181079_c(this.columnX[slot], y, this.columnZ[slot]);
+			this.light[slot] = this.world.getCombinedLight(this.pos, 0);
+		}
+		return this.light[slot];
+	}
+
+	/**
+	 * Called by RenderGlobal for every block, light or chunk update so the cached
+	 * heights and light values never go stale
+	 */
+	public void markDirty(int x1, int z1, int x2, int z2) {
+		int xx = Math.min(x2, x1 + SIZE - 1);
+		int zz = Math.min(z2, z1 + SIZE - 1);
+		for (int z = z1; z <= zz; ++z) {
+			for (int x = x1; x <= xx; ++x) {
+				int slot = ((z & (SIZE - 1)) << 5) | (x & (SIZE - 1));
+				int cx = this.columnX[slot];
+				int cz = this.columnZ[slot];
+				if (cx >= x1 && cx <= x2 && cz >= z1 && cz <= z2) {
+					this.columnX[slot] = Integer.MIN_VALUE;
+					this.biomes[slot] = null;
+					++this.serial;
+				}
+			}
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < SIZE * SIZE; ++i) {
+			this.columnX[i] = Integer.MIN_VALUE;
+			this.biomes[i] = null;
+		}
+		this.world = null;
+		++this.serial;
+	}
+
+	/**
+	 * Changes every time columns are thrown out of the cache, anything built from
+	 * the cached values must be built again when it changes
+	 */
+	public int getSerial() {
+		return this.serial;
+	}
+
+}
@@ -2,14 +2,18 @@ package net.minecraft.client.renderer;
 
 import java.util.Arrays;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.Vec3i;
 import net.minecraft.world.ChunkCache;
+import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -32,16 +36,93 @@ import net.minecraft.world.chunk.Chunk;
 public class RegionRenderCache extends ChunkCache {
 	private final IBlockState DEFAULT_STATE = Blocks.air.getDefaultState();
 	private final BlockPos position;
+	private final int posX;
+	private final int posY;
+	private final int posZ;
+	private final int size;
 	private int[] combinedLights;
-	private IBlockState[] blockStates;
+
+	/**
+	 * Block state ids and light levels of the whole region are copied out of the
+	 * chunks in one pass when the cache is created, so looking up a block or its
+	 * light never goes back to the world. Light is stored as (sky << 4) | block
+	 */
+	private final char[] blockIds;
+	private final byte[] lightLevels;
 
 	public RegionRenderCache(World worldIn, BlockPos posFromIn, BlockPos posToIn, int subIn) {
 		super(worldIn, posFromIn, posToIn, subIn);
 		this.position = posFromIn.subtract(new Vec3i(subIn, subIn, subIn));
-		boolean flag = true;
+		this.posX = this.position.x;
+		this.posY = this.position.y;
+		this.posZ = this.position.z;
+		this.size = 20;
 		this.combinedLights = new int[8000];
 		Arrays.fill(this.combinedLights, -1);
-		this.blockStates = new IBlockState[8000];
+		this.blockIds = new char[8000];
+		this.lightLevels = new byte[8000];
+		this.copyChunks();
+	}
+
+	private void copyChunks() {
+		boolean noSky = this.worldObj.provider.getHasNoSky();
+		int noSkyLight = Chunk.getNoSkyLightValue();
+		int minX = posX, maxX = posX + size - 1;
+		int minY = posY, maxY = posY + size - 1;
+		int minZ = posZ, maxZ = posZ + size - 1;
+
+		if (minY < 0 || maxY > 255) {
+			byte outsideLight = (byte) ((noSky ? noSkyLight : EnumSkyBlock.SKY.defaultLightValue) << 4
+					| EnumSkyBlock.BLOCK.defaultLightValue);
+			Arrays.fill(this.lightLevels, outsideLight);
+		}
+
+		for (int cx = minX >> 4; cx <= maxX >> 4; ++cx) {
+			for (int cz = minZ >> 4; cz <= maxZ >> 4; ++cz) {
+				Chunk chunk = this.chunkArray[cx - this.chunkX][cz - this.chunkZ];
+				ExtendedBlockStorage[] storageArrays = chunk != null ? chunk.getBlockStorageArray() : null;
+				int x0 = Math.max(minX, cx << 4), x1 = Math.min(maxX, (cx << 4) + 15);
+				int z0 = Math.max(minZ, cz << 4), z1 = Math.min(maxZ, (cz << 4) + 15);
+				int y0 = Math.max(minY, 0), y1 = Math.min(maxY, 255);
+				for (int sy = y0 >> 4; sy <= y1 >> 4; ++sy) {
+					ExtendedBlockStorage storage = storageArrays != null ? storageArrays[sy] : null;
+					int sy0 = Math.max(y0, sy << 4), sy1 = Math.min(y1, (sy << 4) + 15);
+					if (storage == null) {
+						for (int x = x0; x <= x1; ++x) {
+							for (int z = z0; z <= z1; ++z) {
+								int height = chunk != null ? chunk.getHeightValue(x & 15, z & 15) : 0;
+								int idx = (x - posX) * 400 + (z - posZ) * 20;
+								for (int y = sy0; y <= sy1; ++y) {
+									// same as Chunk.getLightFor for an empty section
+									boolean canSeeSky = y >= height;
+									int sky = noSky ? noSkyLight
+											: (canSeeSky ? EnumSkyBlock.SKY.defaultLightValue : noSkyLight);
+									int blk = canSeeSky ? EnumSkyBlock.BLOCK.defaultLightValue : noSkyLight;
+									this.lightLevels[idx + y - posY] = (byte) (sky << 4 | blk);
+								}
+							}
+						}
+					} else {
+						char[] data = storage.getData();
+						NibbleArray blockLight = storage.getBlocklightArray();
+						NibbleArray skyLight = noSky ? null : storage.getSkylightArray();
+						for (int x = x0; x <= x1; ++x) {
+							for (int z = z0; z <= z1; ++z) {
+								int idx = (x - posX) * 400 + (z - posZ) * 20;
+								int sidx = (z & 15) << 4 | (x & 15);
+								for (int y = sy0; y <= sy1; ++y) {
+									int j = (y & 15) << 8 | sidx;
+									int sky = skyLight != null ? skyLight.getFromIndex(j) : noSkyLight;
+									int i = idx + y - posY;
+									this.blockIds[i] = data[j];
+									this.lightLevels[i] = (byte) (sky << 4 | blockLight.getFromIndex(j));
+								}
+							}
+						}
+					}
+				}
+			}
+		}
 	}
 
 	public TileEntity getTileEntity(BlockPos blockpos) {
@@ -54,59 +135,85 @@ public class RegionRenderCache extends ChunkCache {
 		int j = this.getPositionIndex(blockpos);
 		int k = this.combinedLights[j];
 		if (k == -1) {
-			k = super.getCombinedLight(blockpos, i);
+			k = this.computeCombinedLight(blockpos, blockpos.getX() - posX, blockpos.getY() - posY,
+					blockpos.getZ() - posZ, i);
 			this.combinedLights[j] = k;
 		}
 
 		return k;
 	}
 
-	public IBlockState getBlockState(BlockPos blockpos) {
-		int i = this.getPositionIndex(blockpos);
-		IBlockState iblockstate = this.blockStates[i];
-		if (iblockstate == null) {
-			iblockstate = this.getBlockStateRaw(blockpos);
-			this.blockStates[i] = iblockstate;
+	private int computeCombinedLight(BlockPos blockpos, int x, int y, int z, int minBlockLight) {
+		int l = this.lightLevels[x * 400 + z * 20 + y];
+		int y2 = y + posY;
+		if (y2 >= 0 && y2 < 256 && this.getBlockStateAt(x, y, z).getBlock().getUseNeighborBrightness()) {
+			if (x <= 0 || y <= 0 || z <= 0 || x >= size - 1 || y >= size - 1 || z >= size - 1) {
+				return super.getCombinedLight(blockpos, minBlockLight);
+			}
+			int sky = 0, blk = 0;
+			for (int m = 0; m < 6; ++m) {
+				int n = this.lightLevels[(x + NEIGHBOR_X[m]) * 400 + (z + NEIGHBOR_Z[m]) * 20 + y + NEIGHBOR_Y[m]];
+				sky = Math.max(sky, (n >> 4) & 15);
+				blk = Math.max(blk, n & 15);
+			}
+			l = sky << 4 | blk;
+		}
+		int blk = l & 15;
+		if (blk < minBlockLight) {
+			blk = minBlockLight;
 		}
+		return ((l >> 4) & 15) << 20 | blk << 4;
+	}
 
-		return iblockstate;
+	private static final int[] NEIGHBOR_X = new int[] { 0, 0, 0, 0, -1, 1 };
+	private static final int[] NEIGHBOR_Y = new int[] { -1, 1, 0, 0, 0, 0 };
+	private static final int[] NEIGHBOR_Z = new int[] { 0, 0, -1, 1, 0, 0 };
+
+	public IBlockState getBlockState(BlockPos blockpos) {
+		return this.getBlockStateAt(blockpos.getX() - posX, blockpos.getY() - posY, blockpos.getZ() - posZ);
 	}
 
 	/**
 	 * only use with a regular "net.minecraft.util.BlockPos"!
 	 */
 	public IBlockState getBlockStateFaster(BlockPos blockpos) {
-		int i = this.getPositionIndexFaster(blockpos);
-		IBlockState iblockstate = this.blockStates[i];
-		if (iblockstate == null) {
-			iblockstate = this.getBlockStateRawFaster(blockpos);
-			this.blockStates[i] = iblockstate;
-		}
+		return this.getBlockStateAt(blockpos.x - posX, blockpos.y - posY, blockpos.z - posZ);
+	}
 
-		return iblockstate;
+	/**
+	 * coordinates are relative to getOriginX/Y/Z and range from 0 to 19
+	 */
+	public IBlockState getBlockStateAt(int x, int y, int z) {
+		IBlockState iblockstate = (IBlockState) Block.BLOCK_STATE_IDS.getByValue(this.blockIds[x * 400 + z * 20 + y]);
+		return iblockstate != null ? iblockstate : DEFAULT_STATE;
 	}
 
-	private IBlockState getBlockStateRaw(BlockPos pos) {
-		if (pos.getY() >= 0 && pos.getY() < 256) {
-			int i = (pos.getX() >> 4) - this.chunkX;
-			int j = (pos.getZ() >> 4) - this.chunkZ;
-			return this.chunkArray[i][j].getBlockState(pos);
-		} else {
-			return DEFAULT_STATE;
-		}
+	/**
+	 * coordinates are relative to getOriginX/Y/Z and range from 0 to 19, returns
+	 * the id from Block.BLOCK_STATE_IDS
+	 */
+	public int getBlockIdAt(int x, int y, int z) {
+		return this.blockIds[x * 400 + z * 20 + y];
 	}
 
 	/**
-	 * only use with a regular "net.minecraft.util.BlockPos"!
+	 * coordinates are relative to getOriginX/Y/Z and range from 0 to 19, returns
+	 * (sky << 4) | block without the neighbor brightness of slabs and stairs
 	 */
-	private IBlockState getBlockStateRawFaster(BlockPos pos) {
-		if (pos.y >= 0 && pos.y < 256) {
-			int i = (pos.x >> 4) - this.chunkX;
-			int j = (pos.z >> 4) - this.chunkZ;
-			return this.chunkArray[i][j].getBlockState(pos);
-		} else {
-			return DEFAULT_STATE;
-		}
+	public int getLightLevelsAt(int x, int y, int z) {
+		return this.lightLevels[x * 400 + z * 20 + y];
+	}
+
+	public int getOriginX() {
+		return posX;
+	}
+
+	public int getOriginY() {
+		return posY;
+	}
+
+	public int getOriginZ() {
+		return posZ;
 	}
 
 	private int getPositionIndex(BlockPos parBlockPos) {
@@ -115,14 +222,4 @@ public class RegionRenderCache extends ChunkCache {
 		int k = parBlockPos.getZ() - this.position.getZ();
 		return i * 400 + k * 20 + j;
 	}
-
-	/**
-	 * only use with a regular "net.minecraft.util.BlockPos"!
-	 */
-	private int getPositionIndexFaster(BlockPos parBlockPos) {
-		int i = parBlockPos.x - this.position.x;
-		int j = parBlockPos.y - this.position.y;
-		int k = parBlockPos.z - this.position.z;
-		return i * 400 + k * 20 + j;
-	}
-}
\ No newline at end of file
+}
@@ -51,11 +51,13 @@ import net.minecraft.client.renderer.chunk.IRenderChunkFactory;
 import net.minecraft.client.renderer.chunk.ListChunkFactory;
 import net.minecraft.client.renderer.chunk.RenderChunk;
 import net.minecraft.client.renderer.chunk.VisGraph;
+import net.minecraft.client.renderer.culling.ChunkFrustumCuller;
 import net.minecraft.client.renderer.culling.ClippingHelper;
 import net.minecraft.client.renderer.culling.ClippingHelperImpl;
 import net.minecraft.client.renderer.culling.Frustum;
 import net.minecraft.client.renderer.culling.ICamera;
 import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.entity.RendererLivingEntity;
 import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
@@ -143,7 +145,14 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 	 * OpenGL sky list 2
 	 */
 	private int glSkyList2 = -1;
+	private int glSunsetList = -1;
+	private int glSunList = -1;
+	private final int[] glMoonLists = new int[] { -1, -1, -1, -1, -1, -1, -1, -1 };
+	private int glHorizonList = -1;
+	private int glEndSkyList = -1;
 	private int cloudTickCounter;
+	private final CloudsFancyMesh[] cloudsFancyMeshes = new CloudsFancyMesh[] { new CloudsFancyMesh(),
+			new CloudsFancyMesh(), new CloudsFancyMesh() };
 	private final Map<Integer, DestroyBlockProgress> damagedBlocks = Maps.newHashMap();
 	private final Map<BlockPos, ISound> mapSoundPositions = Maps.newHashMap();
 	private final EaglerTextureAtlasSprite[] destroyBlockIcons = new EaglerTextureAtlasSprite[10];
@@ -168,6 +177,11 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 	private int countEntitiesTotal;
 	private int countEntitiesRendered;
 	private int countEntitiesHidden;
+	private int countEntitiesFrustumCulled;
+	private int countEntitiesChunkFrustumCulled;
+	private int countEntitiesOccluded;
+	private int countEntitiesOutOfRange;
+	private int countEntitiesLOD;
 	private boolean debugFixTerrainFrustum = false;
 	private ClippingHelper debugFixedClippingHelper;
 	private final Vector4f[] debugTerrainMatrix = new Vector4f[8];
@@ -178,6 +192,7 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 	private double prevRenderSortY;
 	private double prevRenderSortZ;
 	private boolean displayListEntitiesDirty = true;
+	private final ChunkFrustumCuller.CullResult[] paraboloidChunks = new ChunkFrustumCuller.CullResult[2];
 
 	public RenderGlobal(Minecraft mcIn) {
 		this.mc = mcIn;
@@ -194,6 +209,7 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		this.generateStars();
 		this.generateSky();
 		this.generateSky2();
+		this.generateCelestials();
 	}
 
 	public void onResourceManagerReload(IResourceManager var1) {
@@ -259,6 +275,137 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 
 	}
 
+	/**
+	 * The sunrise fan, the sun, the moon phases, the box below the horizon and
+	 * the box around the camera in the End are compiled once, everything that
+	 * changes every frame is applied with the current color and the modelview
+	 * matrix when they are drawn
+	 */
+	private void generateCelestials() {
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+
+		if (this.glSunsetList == -1) {
+			this.glSunsetList = GLAllocation.generateDisplayLists();
+		}
+		EaglercraftGPU.glNewList(this.glSunsetList, GL_COMPILE);
+		worldrenderer.begin(6, DefaultVertexFormats.POSITION_COLOR);
+		worldrenderer.pos(0.0D, 100.0D, 0.0D).color(1.0F, 1.0F, 1.0F, 1.0F).endVertex();
+		for (int k = 0; k <= 16; ++k) {
+			float f21 = (float) k * 3.1415927F * 2.0F / 16.0F;
+			float f12 = MathHelper.sin(f21);
+			float f13 = MathHelper.cos(f21);
+			worldrenderer.pos((double) (f12 * 120.0F), (double) (f13 * 120.0F), (double) (f13 * 40.0F))
+					.color(1.0F, 1.0F, 1.0F, 0.0F).endVertex();
+		}
+		tessellator.draw();
+		EaglercraftGPU.glEndList();
+
+		if (this.glSunList == -1) {
+			this.glSunList = GLAllocation.generateDisplayLists();
+		}
+		EaglercraftGPU.glNewList(this.glSunList, GL_COMPILE);
+		float f17 = 30.0F;
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
+		worldrenderer.pos((double) (-f17), 100.0D, (double) (-f17)).tex(0.0D, 0.0D).endVertex();
+		worldrenderer.pos((double) f17, 100.0D, (double) (-f17)).tex(1.0D, 0.0D).endVertex();
+		worldrenderer.pos((double) f17, 100.0D, (double) f17).tex(1.0D, 1.0D).endVertex();
+		worldrenderer.pos((double) (-f17), 100.0D, (double) f17).tex(0.0D, 1.0D).endVertex();
+		tessellator.draw();
+		EaglercraftGPU.glEndList();
+
+		f17 = 20.0F;
+		for (int i = 0; i < 8; ++i) {
+			if (this.glMoonLists[i] == -1) {
+				this.glMoonLists[i] = GLAllocation.generateDisplayLists();
+			}
+			int j = i % 4;
+			int l = i / 4 % 2;
+			float f22 = (float) (j + 0) / 4.0F;
+			float f23 = (float) (l + 0) / 2.0F;
+			float f24 = (float) (j + 1) / 4.0F;
+			float f14 = (float) (l + 1) / 2.0F;
+			EaglercraftGPU.glNewList(this.glMoonLists[i], GL_COMPILE);
+			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
+			worldrenderer.pos((double) (-f17), -100.0D, (double) f17).tex((double) f24, (double) f14).endVertex();
+			worldrenderer.pos((double) f17, -100.0D, (double) f17).tex((double) f22, (double) f14).endVertex();
+			worldrenderer.pos((double) f17, -100.0D, (double) (-f17)).tex((double) f22, (double) f23).endVertex();
+			worldrenderer.pos((double) (-f17), -100.0D, (double) (-f17)).tex((double) f24, (double) f23).endVertex();
+			tessellator.draw();
+			EaglercraftGPU.glEndList();
+		}
+
+		// the top of the box is at y = 1 so it can be scaled to the horizon
+		if (this.glHorizonList == -1) {
+			this.glHorizonList = GLAllocation.generateDisplayLists();
+		}
+		EaglercraftGPU.glNewList(this.glHorizonList, GL_COMPILE);
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION);
+		worldrenderer.pos(-1.0D, 1.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 1.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, -1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, -1.0D).endVertex();
+		worldrenderer.pos(1.0D, 1.0D, -1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 1.0D, -1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, -1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 1.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 1.0D, -1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 1.0D, -1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 1.0D, 1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, -1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, -1.0D).endVertex();
+		worldrenderer.pos(-1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, 1.0D).endVertex();
+		worldrenderer.pos(1.0D, 0.0D, -1.0D).endVertex();
+		tessellator.draw();
+		EaglercraftGPU.glEndList();
+
+		// each face is the bottom face rotated the same way renderSkyEnd used to
+		if (this.glEndSkyList == -1) {
+			this.glEndSkyList = GLAllocation.generateDisplayLists();
+		}
+		EaglercraftGPU.glNewList(this.glEndSkyList, GL_COMPILE);
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX_COLOR);
+		for (int i = 0; i < 6; ++i) {
+			for (int j = 0; j < 4; ++j) {
+				double d0 = j >= 2 ? 100.0D : -100.0D;
+				double d1 = -100.0D;
+				double d2 = j == 1 || j == 2 ? 100.0D : -100.0D;
+				double d3 = d1;
+				switch (i) {
+				case 1:
+					d1 = -d2;
+					d2 = d3;
+					break;
+				case 2:
+					d1 = d2;
+					d2 = -d3;
+					break;
+				case 3:
+					d1 = -d1;
+					d2 = -d2;
+					break;
+				case 4:
+					d1 = d0;
+					d0 = -d3;
+					break;
+				case 5:
+					d1 = -d0;
+					d0 = d3;
+					break;
+				}
+				worldrenderer.pos(d0, d1, d2).tex(j >= 2 ? 16.0D : 0.0D, j == 1 || j == 2 ? 16.0D : 0.0D)
+						.color(40, 40, 40, 255).endVertex();
+			}
+		}
+		tessellator.draw();
+		EaglercraftGPU.glEndList();
+	}
+
 	private void renderSky(WorldRenderer worldRendererIn, float parFloat1, boolean parFlag) {
 		boolean flag = true;
 		boolean flag1 = true;
@@ -363,6 +510,7 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		this.frustumUpdatePosChunkZ = Integer.MIN_VALUE;
 		this.renderManager.set(worldClientIn);
 		this.theWorld = worldClientIn;
+		this.deleteCloudsFancyMeshes();
 		if (worldClientIn != null) {
 			worldClientIn.addWorldAccess(this);
 			this.loadRenderers();
@@ -391,6 +539,8 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 				this.viewFrustum.deleteGlResources();
 			}
 
+			this.deleteCloudsFancyMeshes();
+
 			this.stopChunkUpdates();
 			synchronized (this.field_181024_n) {
 				this.field_181024_n.clear();
@@ -494,6 +644,9 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			this.countEntitiesTotal = 0;
 			this.countEntitiesRendered = 0;
 			this.countEntitiesHidden = 0;
+			this.countEntitiesFrustumCulled = 0;
+			this.countEntitiesLOD = 0;
+			int entitiesInVisibleChunks = 0;
 			Entity entity = this.mc.getRenderViewEntity();
 			double d3 = entity.lastTickPosX + (entity.posX - entity.lastTickPosX) * (double) partialTicks;
 			double d4 = entity.lastTickPosY + (entity.posY - entity.lastTickPosY) * (double) partialTicks;
@@ -540,12 +693,14 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 							}
 
 							entity2 = (Entity) iterator.next();
+							++entitiesInVisibleChunks;
 							flag2 = this.renderManager.shouldRender(entity2, camera, d0, d1, d2)
 									|| entity2.riddenByEntity == this.mc.thePlayer;
 							if (light) {
 								entity2.renderDynamicLightsEagler(partialTicks, flag2);
 							}
 							if (!flag2) {
+								++this.countEntitiesFrustumCulled;
 								break;
 							}
 
@@ -557,6 +712,10 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 									&& (entity2.posY < 0.0D || entity2.posY >= 256.0D
 											|| this.theWorld.isBlockLoaded(new BlockPos(entity2)))) {
 								++this.countEntitiesRendered;
+								if (entity2 instanceof EntityLivingBase && RendererLivingEntity
+										.isDistanceLOD(entity2.posX - d0, entity2.posY - d1, entity2.posZ - d2)) {
+									++this.countEntitiesLOD;
+								}
 								this.renderManager.renderEntitySimple(entity2, partialTicks);
 								break;
 							}
@@ -569,25 +728,33 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 				}
 			}
 
+			// entities in render chunks that did not survive the occlusion traversal
+			// in setupTerrain are never looked at, they are only sorted by why their
+			// render chunk was skipped while the debug screen is open
+			this.countEntitiesChunkFrustumCulled = 0;
+			this.countEntitiesOutOfRange = 0;
+			if (this.mc.gameSettings.showDebugInfo) {
+				this.countChunkCulledEntities(list);
+			}
+			this.countEntitiesOccluded = this.countEntitiesTotal - entitiesInVisibleChunks
+					- this.countEntitiesChunkFrustumCulled - this.countEntitiesOutOfRange;
+
 			this.theWorld.theProfiler.endStartSection("blockentities");
 			RenderHelper.enableStandardItemLighting();
 
 			for (RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation1 : this.renderInfos) {
-				List list1 = renderglobal$containerlocalrenderinformation1.renderChunk.getCompiledChunk()
-						.getTileEntities();
-				if (!list1.isEmpty()) {
-					for (TileEntity tileentity2 : (List<TileEntity>) list1) {
-						TileEntityRendererDispatcher.instance.renderTileEntity(tileentity2, partialTicks, -1);
-					}
-				}
+				TileEntityRendererDispatcher.instance
+						.addChunkToBatch(renderglobal$containerlocalrenderinformation1.renderChunk);
 			}
 
 			synchronized (this.field_181024_n) {
 				for (TileEntity tileentity : this.field_181024_n) {
-					TileEntityRendererDispatcher.instance.renderTileEntity(tileentity, partialTicks, -1);
+					TileEntityRendererDispatcher.instance.addToBatch(tileentity);
 				}
 			}
 
+			TileEntityRendererDispatcher.instance.renderBatch(partialTicks);
+
 			this.preRenderDamagedBlocks();
 
 			for (DestroyBlockProgress destroyblockprogress : this.damagedBlocks.values()) {
@@ -681,9 +848,8 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 						// }
 					}
 
-					List<TileEntity> tileEntities = currentRenderChunk.compiledChunk.getTileEntities();
-					for (int i = 0, l = tileEntities.size(); i < l; ++i) {
-						TileEntityRendererDispatcher.instance.renderTileEntity(tileEntities.get(i), partialTicks, -1);
+					if (!currentRenderChunk.compiledChunk.getTileEntities().isEmpty()) {
+						TileEntityRendererDispatcher.instance.renderChunkTileEntities(currentRenderChunk, partialTicks);
 						mc.entityRenderer.disableLightmap();
 						GlStateManager.disableShaderBlendAdd();
 						GlStateManager.disableBlend();
@@ -725,51 +891,17 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			TileEntityRendererDispatcher.staticPlayerZ = d5;
 			renderManager.setRenderPosition(d3, d4, d5);
 
-			double rad = 8.0;
-
-			int minX = (int) (d3 - rad);
-			int minY = (int) d4;
-			if (up == -1) {
-				minY -= rad;
-			}
-			int minZ = (int) (d5 - rad);
-
-			int maxX = (int) (d3 + rad);
-			int maxY = (int) d4;
-			if (up == 1) {
-				maxY += rad;
-			}
-			int maxZ = (int) (d5 + rad);
-
-			BlockPos tmp = new BlockPos(0, 0, 0);
-			minX = MathHelper.floor_double(minX / 16.0) * 16;
-			minY = MathHelper.floor_double(minY / 16.0) * 16;
-			minZ = MathHelper.floor_double(minZ / 16.0) * 16;
-			maxX = MathHelper.floor_double(maxX / 16.0) * 16;
-			maxY = MathHelper.floor_double(maxY / 16.0) * 16;
-			maxZ = MathHelper.floor_double(maxZ / 16.0) * 16;
-
 			this.theWorld.theProfiler.endStartSection("paraboloid_entities");
-			for (int cx = minX; cx <= maxX; cx += 16) {
-				for (int cz = minZ; cz <= maxZ; cz += 16) {
-					for (int cy = minY; cy <= maxY; cy += 16) {
-						tmp.x = cx;
-						tmp.y = cy;
-						tmp.z = cz;
-						RenderChunk ch = viewFrustum.getRenderChunk(tmp);
-						CompiledChunk cch;
-						if (ch != null && (cch = ch.compiledChunk) != null) {
-							List<TileEntity> tileEntities = cch.getTileEntities();
-							for (int i = 0, l = tileEntities.size(); i < l; ++i) {
-								mc.entityRenderer.enableLightmap();
-								TileEntityRendererDispatcher.instance.renderTileEntity(tileEntities.get(i),
-										partialTicks, -1);
-								GlStateManager.disableShaderBlendAdd();
-								GlStateManager.disableBlend();
-								GlStateManager.depthMask(true);
-							}
-						}
-					}
+			ChunkFrustumCuller.CullResult visibleChunks = this.paraboloidChunks[up == 1 ? 0 : 1];
+			RenderChunk[] chunks = this.viewFrustum.renderChunks;
+			for (int j = visibleChunks.nextVisible(0); j != -1; j = visibleChunks.nextVisible(j + 1)) {
+				CompiledChunk cch = chunks[j].compiledChunk;
+				if (cch != null && !cch.getTileEntities().isEmpty()) {
+					mc.entityRenderer.enableLightmap();
+					TileEntityRendererDispatcher.instance.renderChunkTileEntities(chunks[j], partialTicks);
+					GlStateManager.disableShaderBlendAdd();
+					GlStateManager.disableBlend();
+					GlStateManager.depthMask(true);
 				}
 			}
 			theWorld.theProfiler.endSection();
@@ -796,12 +928,37 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 						Integer.valueOf(this.renderDistanceChunks), this.renderDispatcher.getDebugInfo() });
 	}
 
+	/**
+	 * Counts the entities whose render chunk is outside of the render distance or
+	 * was rejected by the camera's ChunkFrustumCuller in setupTerrain, neither
+	 * kind of render chunk is ever added to renderInfos
+	 */
+	private void countChunkCulledEntities(List<Entity> list) {
+		ChunkFrustumCuller culler = this.viewFrustum.getFrustumCuller();
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			Entity entity = list.get(i);
+			int x = entity.chunkCoordX << 4;
+			int y = entity.chunkCoordY << 4;
+			int z = entity.chunkCoordZ << 4;
+			RenderChunk renderchunk = this.viewFrustum.getRenderChunk(new BlockPos(x, y, z));
+			BlockPos blockpos = renderchunk != null ? renderchunk.getPosition() : null;
+			if (blockpos == null || blockpos.getX() != x || blockpos.getY() != y || blockpos.getZ() != z) {
+				++this.countEntitiesOutOfRange;
+			} else if (!culler.isVisible(renderchunk.getIndex())) {
+				++this.countEntitiesChunkFrustumCulled;
+			}
+		}
+	}
+
 	/**+
 	 * Gets the entities info for use on the Debug screen
 	 */
 	public String getDebugInfoEntities() {
 		return "E: " + this.countEntitiesRendered + "/" + this.countEntitiesTotal + ", B: " + this.countEntitiesHidden
-				+ ", I: " + (this.countEntitiesTotal - this.countEntitiesHidden - this.countEntitiesRendered);
+				+ ", I: " + (this.countEntitiesTotal - this.countEntitiesHidden - this.countEntitiesRendered) + ", F: "
+				+ this.countEntitiesFrustumCulled + ", C: " + this.countEntitiesChunkFrustumCulled + ", O: "
+				+ this.countEntitiesOccluded + ", R: " + this.countEntitiesOutOfRange + ", L: "
+				+ this.countEntitiesLOD;
 	}
 
 	public void setupTerrain(Entity viewEntity, double partialTicks, ICamera camera, int frameCount,
@@ -860,6 +1017,11 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			this.renderInfos = Lists.newArrayList();
 			LinkedList linkedlist = Lists.newLinkedList();
 			boolean flag1 = this.mc.renderChunksMany;
+			ChunkFrustumCuller culler = null;
+			if (camera instanceof Frustum) {
+				culler = this.viewFrustum.getFrustumCuller();
+				culler.cull((Frustum) camera);
+			}
 			if (renderchunk != null) {
 				boolean flag2 = false;
 				RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation3 = new RenderGlobal.ContainerLocalRenderInformation(
@@ -893,8 +1055,8 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 					for (int k = -this.renderDistanceChunks; k <= this.renderDistanceChunks; ++k) {
 						RenderChunk renderchunk1 = this.viewFrustum
 								.getRenderChunk(new BlockPos((j << 4) + 8, i, (k << 4) + 8));
-						if (renderchunk1 != null
-								&& ((ICamera) camera).isBoundingBoxInFrustum(renderchunk1.boundingBox)) {
+						if (renderchunk1 != null && (culler != null ? culler.isVisible(renderchunk1.getIndex())
+								: ((ICamera) camera).isBoundingBoxInFrustum(renderchunk1.boundingBox))) {
 							renderchunk1.setFrameIndex(frameCount);
 							linkedlist.add(new RenderGlobal.ContainerLocalRenderInformation(renderchunk1,
 									(EnumFacing) null, 0));
@@ -918,7 +1080,8 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 									|| renderchunk3.getCompiledChunk().isVisible(enumfacing2.getOpposite(),
 											enumfacing1))
 							&& renderchunk2 != null && renderchunk2.setFrameIndex(frameCount)
-							&& ((ICamera) camera).isBoundingBoxInFrustum(renderchunk2.boundingBox)) {
+							&& (culler != null ? culler.isVisible(renderchunk2.getIndex())
+									: ((ICamera) camera).isBoundingBoxInFrustum(renderchunk2.boundingBox))) {
 						RenderGlobal.ContainerLocalRenderInformation renderglobal$containerlocalrenderinformation = new RenderGlobal.ContainerLocalRenderInformation(
 								renderchunk2, enumfacing1, renderglobal$containerlocalrenderinformation1.counter + 1);
 						renderglobal$containerlocalrenderinformation.setFacing
@@ -1097,34 +1260,30 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		return l;
 	}
 
-	public static interface ChunkCullAdapter {
-		boolean shouldCull(RenderChunk chunk);
+	/**
+	 * Culls every render chunk against the planes of a shadow map or environment
+	 * map pass, the result is reused unless the render distance has changed since
+	 * it was created
+	 */
+	public ChunkFrustumCuller.CullResult cullChunks(float[][] planes, int planeCount, AxisAlignedBB bounds,
+			double camX, double camY, double camZ, ChunkFrustumCuller.CullResult result, boolean trackInside) {
+		ChunkFrustumCuller culler = this.viewFrustum.getFrustumCuller();
+		if (result == null || result.getCount() != culler.getCount()) {
+			result = culler.createResult(trackInside);
+		}
+		culler.cull(planes, planeCount, bounds, camX, camY, camZ, result);
+		return result;
 	}
 
-	public int renderBlockLayerShadow(EnumWorldBlockLayer blockLayerIn, AxisAlignedBB boundingBox,
-			ChunkCullAdapter cullAdapter) {
+	public int renderBlockLayerShadow(EnumWorldBlockLayer blockLayerIn, ChunkFrustumCuller.CullResult visibleChunks) {
 		int i = 0;
-		BlockPos tmp = new BlockPos(0, 0, 0);
-		int minXChunk = MathHelper.floor_double(boundingBox.minX / 16.0) * 16;
-		int minYChunk = MathHelper.floor_double(boundingBox.minY / 16.0) * 16;
-		int minZChunk = MathHelper.floor_double(boundingBox.minZ / 16.0) * 16;
-		int maxXChunk = MathHelper.floor_double(boundingBox.maxX / 16.0) * 16;
-		int maxYChunk = MathHelper.floor_double(boundingBox.maxY / 16.0) * 16;
-		int maxZChunk = MathHelper.floor_double(boundingBox.maxZ / 16.0) * 16;
-		for (int cx = minXChunk; cx <= maxXChunk; cx += 16) {
-			for (int cz = minZChunk; cz <= maxZChunk; cz += 16) {
-				for (int cy = minYChunk; cy <= maxYChunk; cy += 16) {
-					tmp.x = cx;
-					tmp.y = cy;
-					tmp.z = cz;
-					RenderChunk ch = viewFrustum.getRenderChunk(tmp);
-					CompiledChunk cch;
-					if (ch != null && (cch = ch.getCompiledChunk()) != null && !cch.isLayerEmpty(blockLayerIn)
-							&& !cullAdapter.shouldCull(ch)) {
-						this.renderContainer.addRenderChunk(ch, blockLayerIn);
-						++i;
-					}
-				}
+		RenderChunk[] chunks = this.viewFrustum.renderChunks;
+		for (int j = visibleChunks.nextVisible(0); j != -1; j = visibleChunks.nextVisible(j + 1)) {
+			RenderChunk ch = chunks[j];
+			CompiledChunk cch = ch.getCompiledChunk();
+			if (cch != null && !cch.isLayerEmpty(blockLayerIn)) {
+				this.renderContainer.addRenderChunk(ch, blockLayerIn);
+				++i;
 			}
 		}
 		if (i > 0) {
@@ -1134,56 +1293,53 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		return i;
 	}
 
+	public int findShadowDirtyChunks(ChunkFrustumCuller.CullResult visibleChunks, int serial,
+			List<RenderChunk> dirtyChunksOut) {
+		int i = 0;
+		RenderChunk[] chunks = this.viewFrustum.renderChunks;
+		for (int j = visibleChunks.nextVisible(0); j != -1; j = visibleChunks.nextVisible(j + 1)) {
+			RenderChunk ch = chunks[j];
+			if (ch.shadowCacheSerial - serial > 0) {
+				dirtyChunksOut.add(ch);
+				++i;
+			}
+		}
+		return i;
+	}
+
 	private void renderBlockLayer(EnumWorldBlockLayer blockLayerIn) {
 		this.mc.entityRenderer.enableLightmap();
 		this.renderContainer.renderChunkLayer(blockLayerIn);
 		this.mc.entityRenderer.disableLightmap();
 	}
 
+	/**
+	 * Culls the render chunks for one side of the environment map, the chunks
+	 * within 8 blocks of the entity above its eyes for the top side or below them
+	 * for the bottom side, and keeps the result for renderParaboloidBlockLayer and
+	 * renderParaboloidTileEntities
+	 */
+	public void cullParaboloidChunks(int up, Entity entityIn) {
+		int x = MathHelper.floor_double(entityIn.posX);
+		int y = MathHelper.floor_double(entityIn.posY);
+		int z = MathHelper.floor_double(entityIn.posZ);
+		AxisAlignedBB bounds = new AxisAlignedBB(x - 8, up == 1 ? y : y - 8, z - 8, x + 9, up == 1 ? y + 9 : y + 3,
+				z + 9);
+		int side = up == 1 ? 0 : 1;
+		this.paraboloidChunks[side] = cullChunks(null, 0, bounds, x, y, z, this.paraboloidChunks[side], false);
+	}
+
 	public int renderParaboloidBlockLayer(EnumWorldBlockLayer blockLayerIn, double partialTicks, int up,
 			Entity entityIn) {
-		double rad = 8.0;
-
-		int minX = (int) (entityIn.posX - rad);
-		int minY = (int) entityIn.posY;
-		if (up == -1) {
-			minY -= rad * 0.75;
-		} else {
-			minY += 1.0;
-		}
-		int minZ = (int) (entityIn.posZ - rad);
-
-		int maxX = (int) (entityIn.posX + rad);
-		int maxY = (int) entityIn.posY;
-		if (up == 1) {
-			maxY += rad;
-		} else {
-			maxY += 2.0;
-		}
-		int maxZ = (int) (entityIn.posZ + rad);
-
-		BlockPos tmp = new BlockPos(0, 0, 0);
-		minX = MathHelper.floor_double(minX / 16.0) * 16;
-		minY = MathHelper.floor_double(minY / 16.0) * 16;
-		minZ = MathHelper.floor_double(minZ / 16.0) * 16;
-		maxX = MathHelper.floor_double(maxX / 16.0) * 16;
-		maxY = MathHelper.floor_double(maxY / 16.0) * 16;
-		maxZ = MathHelper.floor_double(maxZ / 16.0) * 16;
-
+		ChunkFrustumCuller.CullResult visibleChunks = this.paraboloidChunks[up == 1 ? 0 : 1];
+		RenderChunk[] chunks = this.viewFrustum.renderChunks;
 		int i = 0;
-		for (int cx = minX; cx <= maxX; cx += 16) {
-			for (int cz = minZ; cz <= maxZ; cz += 16) {
-				for (int cy = minY; cy <= maxY; cy += 16) {
-					tmp.x = cx;
-					tmp.y = cy;
-					tmp.z = cz;
-					RenderChunk ch = viewFrustum.getRenderChunk(tmp);
-					CompiledChunk cch;
-					if (ch != null && (cch = ch.getCompiledChunk()) != null && !cch.isLayerEmpty(blockLayerIn)) {
-						this.renderContainer.addRenderChunk(ch, blockLayerIn);
-						++i;
-					}
-				}
+		for (int j = visibleChunks.nextVisible(0); j != -1; j = visibleChunks.nextVisible(j + 1)) {
+			RenderChunk ch = chunks[j];
+			CompiledChunk cch = ch.getCompiledChunk();
+			if (cch != null && !cch.isLayerEmpty(blockLayerIn)) {
+				this.renderContainer.addRenderChunk(ch, blockLayerIn);
+				++i;
 			}
 		}
 		if (i > 0) {
@@ -1222,39 +1378,7 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		RenderHelper.disableStandardItemLighting();
 		GlStateManager.depthMask(false);
 		this.renderEngine.bindTexture(locationEndSkyPng);
-		Tessellator tessellator = Tessellator.getInstance();
-		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
-
-		for (int i = 0; i < 6; ++i) {
-			GlStateManager.pushMatrix();
-			if (i == 1) {
-				GlStateManager.rotate(90.0F, 1.0F, 0.0F, 0.0F);
-			}
-
-			if (i == 2) {
-				GlStateManager.rotate(-90.0F, 1.0F, 0.0F, 0.0F);
-			}
-
-			if (i == 3) {
-				GlStateManager.rotate(180.0F, 1.0F, 0.0F, 0.0F);
-			}
-
-			if (i == 4) {
-				GlStateManager.rotate(90.0F, 0.0F, 0.0F, 1.0F);
-			}
-
-			if (i == 5) {
-				GlStateManager.rotate(-90.0F, 0.0F, 0.0F, 1.0F);
-			}
-
-			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX_COLOR);
-			worldrenderer.pos(-100.0D, -100.0D, -100.0D).tex(0.0D, 0.0D).color(40, 40, 40, 255).endVertex();
-			worldrenderer.pos(-100.0D, -100.0D, 100.0D).tex(0.0D, 16.0D).color(40, 40, 40, 255).endVertex();
-			worldrenderer.pos(100.0D, -100.0D, 100.0D).tex(16.0D, 16.0D).color(40, 40, 40, 255).endVertex();
-			worldrenderer.pos(100.0D, -100.0D, -100.0D).tex(16.0D, 0.0D).color(40, 40, 40, 255).endVertex();
-			tessellator.draw();
-			GlStateManager.popMatrix();
-		}
+		GlStateManager.callList(this.glEndSkyList);
 
 		GlStateManager.depthMask(true);
 		GlStateManager.enableTexture2D();
@@ -1280,8 +1404,6 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			}
 
 			GlStateManager.color(f, f1, f2);
-			Tessellator tessellator = Tessellator.getInstance();
-			WorldRenderer worldrenderer = tessellator.getWorldRenderer();
 			GlStateManager.depthMask(false);
 			GlStateManager.enableFog();
 			GlStateManager.color(f, f1, f2);
@@ -1315,20 +1437,9 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 					f8 = f11;
 				}
 
-				worldrenderer.begin(6, DefaultVertexFormats.POSITION_COLOR);
-				worldrenderer.pos(0.0D, 100.0D, 0.0D).color(f6, f7, f8, afloat[3]).endVertex();
-				boolean flag = true;
-
-				for (int k = 0; k <= 16; ++k) {
-					float f21 = (float) k * 3.1415927F * 2.0F / 16.0F;
-					float f12 = MathHelper.sin(f21);
-					float f13 = MathHelper.cos(f21);
-					worldrenderer
-							.pos((double) (f12 * 120.0F), (double) (f13 * 120.0F), (double) (f13 * 40.0F * afloat[3]))
-							.color(afloat[0], afloat[1], afloat[2], 0.0F).endVertex();
-				}
-
-				tessellator.draw();
+				GlStateManager.scale(1.0F, 1.0F, afloat[3]);
+				GlStateManager.color(f * f6, f1 * f7, f2 * f8, afloat[3]); // tinted by the sky color like before
+				GlStateManager.callList(this.glSunsetList);
 				GlStateManager.popMatrix();
 				GlStateManager.shadeModel(GL_FLAT);
 			}
@@ -1340,29 +1451,10 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			GlStateManager.color(1.0F, 1.0F, 1.0F, f16);
 			GlStateManager.rotate(-90.0F, 0.0F, 1.0F, 0.0F);
 			GlStateManager.rotate(this.theWorld.getCelestialAngle(partialTicks) * 360.0F, 1.0F, 0.0F, 0.0F);
-			float f17 = 30.0F;
 			this.renderEngine.bindTexture(locationSunPng);
-			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
-			worldrenderer.pos((double) (-f17), 100.0D, (double) (-f17)).tex(0.0D, 0.0D).endVertex();
-			worldrenderer.pos((double) f17, 100.0D, (double) (-f17)).tex(1.0D, 0.0D).endVertex();
-			worldrenderer.pos((double) f17, 100.0D, (double) f17).tex(1.0D, 1.0D).endVertex();
-			worldrenderer.pos((double) (-f17), 100.0D, (double) f17).tex(0.0D, 1.0D).endVertex();
-			tessellator.draw();
-			f17 = 20.0F;
+			GlStateManager.callList(this.glSunList);
 			this.renderEngine.bindTexture(locationMoonPhasesPng);
-			int i = this.theWorld.getMoonPhase();
-			int j = i % 4;
-			int l = i / 4 % 2;
-			float f22 = (float) (j + 0) / 4.0F;
-			float f23 = (float) (l + 0) / 2.0F;
-			float f24 = (float) (j + 1) / 4.0F;
-			float f14 = (float) (l + 1) / 2.0F;
-			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
-			worldrenderer.pos((double) (-f17), -100.0D, (double) f17).tex((double) f24, (double) f14).endVertex();
-			worldrenderer.pos((double) f17, -100.0D, (double) f17).tex((double) f22, (double) f14).endVertex();
-			worldrenderer.pos((double) f17, -100.0D, (double) (-f17)).tex((double) f22, (double) f23).endVertex();
-			worldrenderer.pos((double) (-f17), -100.0D, (double) (-f17)).tex((double) f24, (double) f23).endVertex();
-			tessellator.draw();
+			GlStateManager.callList(this.glMoonLists[this.theWorld.getMoonPhase() & 7]);
 			GlStateManager.disableTexture2D();
 			float f15 = this.theWorld.getStarBrightness(partialTicks) * f16;
 			if (f15 > 0.0F) {
@@ -1384,31 +1476,12 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 				GlStateManager.callList(this.glSkyList2);
 
 				GlStateManager.popMatrix();
-				float f18 = 1.0F;
 				float f19 = -((float) (d0 + 65.0D));
-				float f20 = -1.0F;
-				worldrenderer.begin(7, DefaultVertexFormats.POSITION_COLOR);
-				worldrenderer.pos(-1.0D, (double) f19, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, (double) f19, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, (double) f19, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, (double) f19, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, (double) f19, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, (double) f19, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, (double) f19, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, (double) f19, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(-1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, 1.0D).color(0, 0, 0, 255).endVertex();
-				worldrenderer.pos(1.0D, -1.0D, -1.0D).color(0, 0, 0, 255).endVertex();
-				tessellator.draw();
+				GlStateManager.pushMatrix();
+				GlStateManager.translate(0.0F, -1.0F, 0.0F);
+				GlStateManager.scale(1.0F, f19 + 1.0F, 1.0F);
+				GlStateManager.callList(this.glHorizonList);
+				GlStateManager.popMatrix();
 			}
 
 			if (this.theWorld.provider.isSkyColored()) {
@@ -1514,10 +1587,6 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 		float f = (float) (this.mc.getRenderViewEntity().lastTickPosY
 				+ (this.mc.getRenderViewEntity().posY - this.mc.getRenderViewEntity().lastTickPosY)
 						* (double) partialTicks);
-		Tessellator tessellator = Tessellator.getInstance();
-		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
-		float f1 = 12.0F;
-		float f2 = 4.0F;
 		double d0 = (double) ((float) this.cloudTickCounter + partialTicks);
 		double d1 = (this.mc.getRenderViewEntity().prevPosX
 				+ (this.mc.getRenderViewEntity().posX - this.mc.getRenderViewEntity().prevPosX) * (double) partialTicks
@@ -1546,24 +1615,28 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 			f6 = f9;
 		}
 
-		float f26 = f4 * 0.9F;
-		float f27 = f5 * 0.9F;
-		float f28 = f6 * 0.9F;
-		float f10 = f4 * 0.7F;
-		float f11 = f5 * 0.7F;
-		float f12 = f6 * 0.7F;
-		float f13 = f4 * 0.8F;
-		float f14 = f5 * 0.8F;
-		float f15 = f6 * 0.8F;
-		float f16 = 0.00390625F;
-		float f17 = (float) MathHelper.floor_double(d1) * 0.00390625F;
-		float f18 = (float) MathHelper.floor_double(d2) * 0.00390625F;
-		float f19 = (float) (d1 - (double) MathHelper.floor_double(d1));
-		float f20 = (float) (d2 - (double) MathHelper.floor_double(d2));
-		boolean flag = true;
-		boolean flag1 = true;
-		float f21 = 9.765625E-4F;
+		int cellX = MathHelper.floor_double(d1);
+		int cellZ = MathHelper.floor_double(d2);
+		float f19 = (float) (d1 - (double) cellX);
+		float f20 = (float) (d2 - (double) cellZ);
+		int faces = (f3 > -5.0F ? 1 : 0) | (f3 <= 5.0F ? 2 : 0);
+
+		CloudsFancyMesh mesh = this.cloudsFancyMeshes[pass];
+		if (mesh.glList == -1 || mesh.cellX != cellX || mesh.cellZ != cellZ || mesh.faces != faces
+				|| Math.abs(mesh.red - f4) > 0.01F || Math.abs(mesh.green - f5) > 0.01F
+				|| Math.abs(mesh.blue - f6) > 0.01F) {
+			mesh.cellX = cellX;
+			mesh.cellZ = cellZ;
+			mesh.faces = faces;
+			mesh.red = f4;
+			mesh.green = f5;
+			mesh.blue = f6;
+			this.generateCloudsFancy(mesh);
+		}
+
 		GlStateManager.scale(12.0F, 1.0F, 12.0F);
+		GlStateManager.pushMatrix();
+		GlStateManager.translate(-f19, f3, -f20);
 
 		for (int k = 0; k < 2; ++k) {
 			if (k == 0) {
@@ -1581,179 +1654,236 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 				}
 			}
 
-			for (int l = -3; l <= 4; ++l) {
-				for (int i1 = -3; i1 <= 4; ++i1) {
-					worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX_COLOR_NORMAL);
-					float f22 = (float) (l * 8);
-					float f23 = (float) (i1 * 8);
-					float f24 = f22 - f19;
-					float f25 = f23 - f20;
-					if (f3 > -5.0F) {
-						worldrenderer.pos((double) (f24 + 0.0F), (double) (f3 + 0.0F), (double) (f25 + 8.0F))
-								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+			GlStateManager.callList(mesh.glList);
+		}
+
+		GlStateManager.popMatrix();
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+		GlStateManager.disableBlend();
+		GlStateManager.enableCull();
+	}
+
+	/**
+	 * The fancy clouds only scroll, so the mesh is compiled once relative to the
+	 * cloud cell the camera is in and moved into place with a translation, it is
+	 * only compiled again when the camera moves to another cell, when the camera
+	 * moves above or below the clouds, or when the cloud colour changes
+	 */
+	private static class CloudsFancyMesh {
+
+		private int glList = -1;
+		private int cellX;
+		private int cellZ;
+		private int faces;
+		private float red;
+		private float green;
+		private float blue;
+
+	}
+
+	private void deleteCloudsFancyMeshes() {
+		for (int i = 0; i < this.cloudsFancyMeshes.length; ++i) {
+			CloudsFancyMesh mesh = this.cloudsFancyMeshes[i];
+			if (mesh.glList >= 0) {
+				GLAllocation.deleteDisplayLists(mesh.glList);
+				mesh.glList = -1;
+			}
+		}
+	}
+
+	private void generateCloudsFancy(CloudsFancyMesh mesh) {
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+
+		if (mesh.glList == -1) {
+			mesh.glList = GLAllocation.generateDisplayLists();
+		}
+
+		int faces = mesh.faces;
+		float f4 = mesh.red;
+		float f5 = mesh.green;
+		float f6 = mesh.blue;
+		float f26 = f4 * 0.9F;
+		float f27 = f5 * 0.9F;
+		float f28 = f6 * 0.9F;
+		float f10 = f4 * 0.7F;
+		float f11 = f5 * 0.7F;
+		float f12 = f6 * 0.7F;
+		float f13 = f4 * 0.8F;
+		float f14 = f5 * 0.8F;
+		float f15 = f6 * 0.8F;
+		float f17 = (float) mesh.cellX * 0.00390625F;
+		float f18 = (float) mesh.cellZ * 0.00390625F;
+
+		EaglercraftGPU.glNewList(mesh.glList, GL_COMPILE);
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX_COLOR_NORMAL);
+
+		for (int l = -3; l <= 4; ++l) {
+			for (int i1 = -3; i1 <= 4; ++i1) {
+				float f22 = (float) (l * 8);
+				float f23 = (float) (i1 * 8);
+				if ((faces & 1) != 0) {
+					worldrenderer.pos((double) (f22 + 0.0F), 0.0D, (double) (f23 + 8.0F))
+							.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+									(double) ((f23 + 8.0F) * 0.00390625F + f18))
+							.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
+					worldrenderer.pos((double) (f22 + 8.0F), 0.0D, (double) (f23 + 8.0F))
+							.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+									(double) ((f23 + 8.0F) * 0.00390625F + f18))
+							.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
+					worldrenderer.pos((double) (f22 + 8.0F), 0.0D, (double) (f23 + 0.0F))
+							.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+									(double) ((f23 + 0.0F) * 0.00390625F + f18))
+							.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
+					worldrenderer.pos((double) (f22 + 0.0F), 0.0D, (double) (f23 + 0.0F))
+							.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+									(double) ((f23 + 0.0F) * 0.00390625F + f18))
+							.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
+				}
+
+				if ((faces & 2) != 0) {
+					worldrenderer
+							.pos((double) (f22 + 0.0F), (double) (4.0F - 9.765625E-4F), (double) (f23 + 8.0F))
+							.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+									(double) ((f23 + 8.0F) * 0.00390625F + f18))
+							.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+					worldrenderer
+							.pos((double) (f22 + 8.0F), (double) (4.0F - 9.765625E-4F), (double) (f23 + 8.0F))
+							.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+									(double) ((f23 + 8.0F) * 0.00390625F + f18))
+							.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+					worldrenderer
+							.pos((double) (f22 + 8.0F), (double) (4.0F - 9.765625E-4F), (double) (f23 + 0.0F))
+							.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+									(double) ((f23 + 0.0F) * 0.00390625F + f18))
+							.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+					worldrenderer
+							.pos((double) (f22 + 0.0F), (double) (4.0F - 9.765625E-4F), (double) (f23 + 0.0F))
+							.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+									(double) ((f23 + 0.0F) * 0.00390625F + f18))
+							.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+				}
+
+				if (l > -1) {
+					for (int j1 = 0; j1 < 8; ++j1) {
+						worldrenderer
+								.pos((double) (f22 + (float) j1 + 0.0F), 0.0D,
+										(double) (f23 + 8.0F))
+								.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 8.0F) * 0.00390625F + f18))
-								.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
-						worldrenderer.pos((double) (f24 + 8.0F), (double) (f3 + 0.0F), (double) (f25 + 8.0F))
-								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+								.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + (float) j1 + 0.0F), 4.0D,
+										(double) (f23 + 8.0F))
+								.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 8.0F) * 0.00390625F + f18))
-								.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
-						worldrenderer.pos((double) (f24 + 8.0F), (double) (f3 + 0.0F), (double) (f25 + 0.0F))
-								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+								.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + (float) j1 + 0.0F), 4.0D,
+										(double) (f23 + 0.0F))
+								.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 0.0F) * 0.00390625F + f18))
-								.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
-						worldrenderer.pos((double) (f24 + 0.0F), (double) (f3 + 0.0F), (double) (f25 + 0.0F))
-								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+								.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + (float) j1 + 0.0F), 0.0D,
+										(double) (f23 + 0.0F))
+								.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 0.0F) * 0.00390625F + f18))
-								.color(f10, f11, f12, 0.8F).normal(0.0F, -1.0F, 0.0F).endVertex();
+								.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
 					}
+				}
 
-					if (f3 <= 5.0F) {
+				if (l <= 1) {
+					for (int k1 = 0; k1 < 8; ++k1) {
 						worldrenderer
-								.pos((double) (f24 + 0.0F), (double) (f3 + 4.0F - 9.765625E-4F), (double) (f25 + 8.0F))
-								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+								.pos((double) (f22 + (float) k1 + 1.0F - 9.765625E-4F), 0.0D,
+										(double) (f23 + 8.0F))
+								.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 8.0F) * 0.00390625F + f18))
-								.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+								.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
 						worldrenderer
-								.pos((double) (f24 + 8.0F), (double) (f3 + 4.0F - 9.765625E-4F), (double) (f25 + 8.0F))
-								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+								.pos((double) (f22 + (float) k1 + 1.0F - 9.765625E-4F), 4.0D,
+										(double) (f23 + 8.0F))
+								.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 8.0F) * 0.00390625F + f18))
-								.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+								.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
 						worldrenderer
-								.pos((double) (f24 + 8.0F), (double) (f3 + 4.0F - 9.765625E-4F), (double) (f25 + 0.0F))
-								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+								.pos((double) (f22 + (float) k1 + 1.0F - 9.765625E-4F), 4.0D,
+										(double) (f23 + 0.0F))
+								.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 0.0F) * 0.00390625F + f18))
-								.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
+								.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
 						worldrenderer
-								.pos((double) (f24 + 0.0F), (double) (f3 + 4.0F - 9.765625E-4F), (double) (f25 + 0.0F))
-								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+								.pos((double) (f22 + (float) k1 + 1.0F - 9.765625E-4F), 0.0D,
+										(double) (f23 + 0.0F))
+								.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
 										(double) ((f23 + 0.0F) * 0.00390625F + f18))
-								.color(f4, f5, f6, 0.8F).normal(0.0F, 1.0F, 0.0F).endVertex();
-					}
-
-					if (l > -1) {
-						for (int j1 = 0; j1 < 8; ++j1) {
-							worldrenderer
-									.pos((double) (f24 + (float) j1 + 0.0F), (double) (f3 + 0.0F),
-											(double) (f25 + 8.0F))
-									.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 8.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) j1 + 0.0F), (double) (f3 + 4.0F),
-											(double) (f25 + 8.0F))
-									.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 8.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) j1 + 0.0F), (double) (f3 + 4.0F),
-											(double) (f25 + 0.0F))
-									.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 0.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) j1 + 0.0F), (double) (f3 + 0.0F),
-											(double) (f25 + 0.0F))
-									.tex((double) ((f22 + (float) j1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 0.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(-1.0F, 0.0F, 0.0F).endVertex();
-						}
-					}
-
-					if (l <= 1) {
-						for (int k1 = 0; k1 < 8; ++k1) {
-							worldrenderer
-									.pos((double) (f24 + (float) k1 + 1.0F - 9.765625E-4F), (double) (f3 + 0.0F),
-											(double) (f25 + 8.0F))
-									.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 8.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) k1 + 1.0F - 9.765625E-4F), (double) (f3 + 4.0F),
-											(double) (f25 + 8.0F))
-									.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 8.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) k1 + 1.0F - 9.765625E-4F), (double) (f3 + 4.0F),
-											(double) (f25 + 0.0F))
-									.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 0.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + (float) k1 + 1.0F - 9.765625E-4F), (double) (f3 + 0.0F),
-											(double) (f25 + 0.0F))
-									.tex((double) ((f22 + (float) k1 + 0.5F) * 0.00390625F + f17),
-											(double) ((f23 + 0.0F) * 0.00390625F + f18))
-									.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
-						}
+								.color(f26, f27, f28, 0.8F).normal(1.0F, 0.0F, 0.0F).endVertex();
 					}
+				}
 
-					if (i1 > -1) {
-						for (int l1 = 0; l1 < 8; ++l1) {
-							worldrenderer
-									.pos((double) (f24 + 0.0F), (double) (f3 + 4.0F),
-											(double) (f25 + (float) l1 + 0.0F))
-									.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 8.0F), (double) (f3 + 4.0F),
-											(double) (f25 + (float) l1 + 0.0F))
-									.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 8.0F), (double) (f3 + 0.0F),
-											(double) (f25 + (float) l1 + 0.0F))
-									.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 0.0F), (double) (f3 + 0.0F),
-											(double) (f25 + (float) l1 + 0.0F))
-									.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
-						}
+				if (i1 > -1) {
+					for (int l1 = 0; l1 < 8; ++l1) {
+						worldrenderer
+								.pos((double) (f22 + 0.0F), 4.0D,
+										(double) (f23 + (float) l1 + 0.0F))
+								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 8.0F), 4.0D,
+										(double) (f23 + (float) l1 + 0.0F))
+								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 8.0F), 0.0D,
+										(double) (f23 + (float) l1 + 0.0F))
+								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 0.0F), 0.0D,
+										(double) (f23 + (float) l1 + 0.0F))
+								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) l1 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, -1.0F).endVertex();
 					}
+				}
 
-					if (i1 <= 1) {
-						for (int i2 = 0; i2 < 8; ++i2) {
-							worldrenderer
-									.pos((double) (f24 + 0.0F), (double) (f3 + 4.0F),
-											(double) (f25 + (float) i2 + 1.0F - 9.765625E-4F))
-									.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 8.0F), (double) (f3 + 4.0F),
-											(double) (f25 + (float) i2 + 1.0F - 9.765625E-4F))
-									.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 8.0F), (double) (f3 + 0.0F),
-											(double) (f25 + (float) i2 + 1.0F - 9.765625E-4F))
-									.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
-							worldrenderer
-									.pos((double) (f24 + 0.0F), (double) (f3 + 0.0F),
-											(double) (f25 + (float) i2 + 1.0F - 9.765625E-4F))
-									.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
-											(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
-									.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
-						}
+				if (i1 <= 1) {
+					for (int i2 = 0; i2 < 8; ++i2) {
+						worldrenderer
+								.pos((double) (f22 + 0.0F), 4.0D,
+										(double) (f23 + (float) i2 + 1.0F - 9.765625E-4F))
+								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 8.0F), 4.0D,
+										(double) (f23 + (float) i2 + 1.0F - 9.765625E-4F))
+								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 8.0F), 0.0D,
+										(double) (f23 + (float) i2 + 1.0F - 9.765625E-4F))
+								.tex((double) ((f22 + 8.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
+						worldrenderer
+								.pos((double) (f22 + 0.0F), 0.0D,
+										(double) (f23 + (float) i2 + 1.0F - 9.765625E-4F))
+								.tex((double) ((f22 + 0.0F) * 0.00390625F + f17),
+										(double) ((f23 + (float) i2 + 0.5F) * 0.00390625F + f18))
+								.color(f13, f14, f15, 0.8F).normal(0.0F, 0.0F, 1.0F).endVertex();
 					}
-
-					tessellator.draw();
 				}
 			}
 		}
 
-		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-		GlStateManager.disableBlend();
-		GlStateManager.enableCull();
+		tessellator.draw();
+		EaglercraftGPU.glEndList();
 	}
 
 	public void updateChunks(long finishTimeNano) {
@@ -2083,6 +2213,7 @@ public class RenderGlobal implements IWorldAccess, IResourceManagerReloadListene
 	 */
 	private void markBlocksForUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
 		this.viewFrustum.markBlocksForUpdate(x1, y1, z1, x2, y2, z2);
+		this.mc.entityRenderer.getPrecipitationCache().markDirty(x1, z1, x2, z2);
 	}
 
 	public void markBlockForUpdate(BlockPos blockpos) {
@@ -2,6 +2,7 @@ package net.minecraft.client.renderer;
 
 import net.minecraft.client.renderer.chunk.IRenderChunkFactory;
 import net.minecraft.client.renderer.chunk.RenderChunk;
+import net.minecraft.client.renderer.culling.ChunkFrustumCuller;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
@@ -31,6 +32,7 @@ public class ViewFrustum {
 	protected int countChunksX;
 	protected int countChunksZ;
 	public RenderChunk[] renderChunks;
+	protected ChunkFrustumCuller frustumCuller;
 
 	public ViewFrustum(World worldIn, int renderDistanceChunks, RenderGlobal parRenderGlobal,
 			IRenderChunkFactory renderChunkFactory) {
@@ -43,7 +45,7 @@ public class ViewFrustum {
 	protected void createRenderChunks(IRenderChunkFactory renderChunkFactory) {
 		int i = this.countChunksX * this.countChunksY * this.countChunksZ;
 		this.renderChunks = new RenderChunk[i];
-		int j = 0;
+		this.frustumCuller = new ChunkFrustumCuller(i);
 
 		for (int k = 0; k < this.countChunksX; ++k) {
 			for (int l = 0; l < this.countChunksY; ++l) {
@@ -51,7 +53,8 @@ public class ViewFrustum {
 					int j1 = (i1 * this.countChunksY + l) * this.countChunksX + k;
 					BlockPos blockpos = new BlockPos(k * 16, l * 16, i1 * 16);
 					this.renderChunks[j1] = renderChunkFactory.makeRenderChunk(this.world, this.renderGlobal, blockpos,
-							j++);
+							j1);
+					this.frustumCuller.setChunkPosition(j1, blockpos.getX(), blockpos.getY(), blockpos.getZ());
 				}
 			}
 		}
@@ -76,6 +79,7 @@ public class ViewFrustum {
 		int i = MathHelper.floor_double(viewEntityX) - 8;
 		int j = MathHelper.floor_double(viewEntityZ) - 8;
 		int k = this.countChunksX * 16;
+		this.frustumCuller.setOrigin(i & -16, 0, j & -16);
 
 		for (int l = 0; l < this.countChunksX; ++l) {
 			int i1 = this.func_178157_a(i, k, l);
@@ -85,11 +89,13 @@ public class ViewFrustum {
 
 				for (int l1 = 0; l1 < this.countChunksY; ++l1) {
 					int i2 = l1 * 16;
-					RenderChunk renderchunk = this.renderChunks[(j1 * this.countChunksY + l1) * this.countChunksX + l];
+					int j2 = (j1 * this.countChunksY + l1) * this.countChunksX + l;
+					RenderChunk renderchunk = this.renderChunks[j2];
 					BlockPos blockpos = new BlockPos(i1, i2, k1);
 					if (!blockpos.equals(renderchunk.getPosition())) {
 						renderchunk.setPosition(blockpos);
 					}
+					this.frustumCuller.setChunkPosition(j2, i1, i2, k1);
 				}
 			}
 		}
@@ -106,6 +112,10 @@ public class ViewFrustum {
 		return i - j / parInt2 * parInt2;
 	}
 
+	public ChunkFrustumCuller getFrustumCuller() {
+		return this.frustumCuller;
+	}
+
 	public void markBlocksForUpdate(int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
 		int i = MathHelper.bucketInt(fromX, 16);
 		int j = MathHelper.bucketInt(fromY, 16);
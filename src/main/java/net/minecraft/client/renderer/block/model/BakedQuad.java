@@ -21,8 +21,19 @@ import net.minecraft.util.EnumFacing;
  * 
  */
 public class BakedQuad {
-	protected final int[] vertexData;
-	protected final int[] vertexDataWithNormals;
+
+	public static final int VERTEX_DATA_LENGTH = 28;
+	public static final int VERTEX_DATA_WITH_NORMALS_LENGTH = 32;
+
+	/**
+	 * Once the models are baked the vertex data of every quad is moved into a
+	 * single array shared by all of the quads, see BakedQuadPool, so the arrays
+	 * must always be accessed with the offsets
+	 */
+	protected int[] vertexData;
+	protected int vertexDataOffset;
+	protected int[] vertexDataWithNormals;
+	protected int vertexDataWithNormalsOffset;
 	protected final int tintIndex;
 	protected final EnumFacing face;
 
@@ -40,14 +51,40 @@ public class BakedQuad {
 		this.face = faceIn;
 	}
 
+	/**
+	 * May be shared with other quads, this quad's data starts at
+	 * getVertexDataOffset and is VERTEX_DATA_LENGTH ints long
+	 */
 	public int[] getVertexData() {
 		return this.vertexData;
 	}
 
+	public int getVertexDataOffset() {
+		return this.vertexDataOffset;
+	}
+
+	/**
+	 * May be shared with other quads, this quad's data starts at
+	 * getVertexDataWithNormalsOffset and is VERTEX_DATA_WITH_NORMALS_LENGTH ints
+	 * long
+	 */
 	public int[] getVertexDataWithNormals() {
 		return this.vertexDataWithNormals;
 	}
 
+	public int getVertexDataWithNormalsOffset() {
+		return this.vertexDataWithNormalsOffset;
+	}
+
+	void setVertexDataPool(int[] pool, int offset, int offsetWithNormals) {
+		this.vertexData = pool;
+		this.vertexDataOffset = offset;
+		if (this.vertexDataWithNormals != null) {
+			this.vertexDataWithNormals = pool;
+			this.vertexDataWithNormalsOffset = offsetWithNormals;
+		}
+	}
+
 	public boolean hasTintIndex() {
 		return this.tintIndex != -1;
 	}
@@ -59,4 +96,4 @@ public class BakedQuad {
 	public EnumFacing getFace() {
 		return this.face;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,199 @@
+package net.minecraft.client.renderer.block.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.client.resources.model.WeightedBakedModel;
+import net.minecraft.util.EnumFacing;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class BakedQuadPool {
+
+	private static final EnumFacing[] facings = EnumFacing.values();
+
+	private final int[] pool;
+	private final int quadCount;
+	private final int uniqueQuadCount;
+
+	private BakedQuadPool(int[] pool, int quadCount, int uniqueQuadCount) {
+		this.pool = pool;
+		this.quadCount = quadCount;
+		this.uniqueQuadCount = uniqueQuadCount;
+	}
+
+	/**
+	 * Moves the vertex data of every quad of the models into one array, quads with
+	 * identical vertex data share the same range of the array. The quads are
+	 * repointed in place so nothing that holds a reference to them has to change.
+	 */
+	public static BakedQuadPool compact(Iterable<IBakedModel> models) {
+		Map<BakedQuad, Boolean> visitedQuads = new IdentityHashMap();
+		Map<IBakedModel, Boolean> visitedModels = new IdentityHashMap();
+		List<BakedQuad> quads = new ArrayList();
+		for (IBakedModel model : models) {
+			collectQuads(model, visitedModels, visitedQuads, quads);
+		}
+
+		Map<QuadKey, QuadKey> unique = new HashMap();
+		List<QuadKey> uniqueList = new ArrayList();
+		QuadKey[] quadKeys = new QuadKey[quads.size()];
+		int poolSize = 0;
+		for (int i = 0, l = quads.size(); i < l; ++i) {
+			QuadKey k = new QuadKey(quads.get(i));
+			QuadKey k2 = unique.get(k);
+			if (k2 == null) {
+				unique.put(k, k);
+				uniqueList.add(k);
+				k.poolOffset = poolSize;
+				poolSize += BakedQuad.VERTEX_DATA_LENGTH;
+				if (k.quad.vertexDataWithNormals != null) {
+					poolSize += BakedQuad.VERTEX_DATA_WITH_NORMALS_LENGTH;
+				}
+				k2 = k;
+			}
+			quadKeys[i] = k2;
+		}
+
+		int[] pool = new int[poolSize];
+		for (int i = 0, l = uniqueList.size(); i < l; ++i) {
+			QuadKey k = uniqueList.get(i);
+			BakedQuad q = k.quad;
+			System.arraycopy(q.vertexData, q.vertexDataOffset, pool, k.poolOffset, BakedQuad.VERTEX_DATA_LENGTH);
+			if (q.vertexDataWithNormals != null) {
+				System.arraycopy(q.vertexDataWithNormals, q.vertexDataWithNormalsOffset, pool,
+						k.poolOffset + BakedQuad.VERTEX_DATA_LENGTH, BakedQuad.VERTEX_DATA_WITH_NORMALS_LENGTH);
+			}
+		}
+
+		for (int i = 0; i < quadKeys.length; ++i) {
+			int off = quadKeys[i].poolOffset;
+			quads.get(i).setVertexDataPool(pool, off, off + BakedQuad.VERTEX_DATA_LENGTH);
+		}
+
+		return new BakedQuadPool(pool, quadKeys.length, uniqueList.size());
+	}
+
+	private static void collectQuads(IBakedModel model, Map<IBakedModel, Boolean> visitedModels,
+			Map<BakedQuad, Boolean> visitedQuads, List<BakedQuad> quads) {
+		if (model == null || visitedModels.put(model, Boolean.TRUE) != null) {
+			return;
+		}
+		if (model instanceof WeightedBakedModel) {
+			WeightedBakedModel weighted = (WeightedBakedModel) model;
+			for (int i = 0, l = weighted.getModelCount(); i < l; ++i) {
+				collectQuads(weighted.getModel(i), visitedModels, visitedQuads, quads);
+			}
+			return;
+		}
+		collectQuads(model.getGeneralQuads(), visitedQuads, quads);
+		for (int i = 0; i < facings.length; ++i) {
+			collectQuads(model.getFaceQuads(facings[i]), visitedQuads, quads);
+		}
+	}
+
+	private static void collectQuads(List<BakedQuad> list, Map<BakedQuad, Boolean> visitedQuads,
+			List<BakedQuad> quads) {
+		if (list == null) {
+			return;
+		}
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			BakedQuad q = list.get(i);
+			if (q != null && q.vertexData != null && visitedQuads.put(q, Boolean.TRUE) == null) {
+				quads.add(q);
+			}
+		}
+	}
+
+	public int getQuadCount() {
+		return quadCount;
+	}
+
+	public int getUniqueQuadCount() {
+		return uniqueQuadCount;
+	}
+
+	public int getPoolSizeBytes() {
+		return pool.length << 2;
+	}
+
+	private static class QuadKey {
+
+		private final BakedQuad quad;
+		private final int hash;
+		private int poolOffset;
+
+		private QuadKey(BakedQuad quad) {
+			this.quad = quad;
+			int h = hashRange(quad.vertexData, quad.vertexDataOffset, BakedQuad.VERTEX_DATA_LENGTH);
+			if (quad.vertexDataWithNormals != null) {
+				h = h * 31 + hashRange(quad.vertexDataWithNormals, quad.vertexDataWithNormalsOffset,
+						BakedQuad.VERTEX_DATA_WITH_NORMALS_LENGTH);
+			}
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (o == this) {
+				return true;
+			}
+			if (!(o instanceof QuadKey)) {
+				return false;
+			}
+			QuadKey k = (QuadKey) o;
+			if (k.hash != hash) {
+				return false;
+			}
+			BakedQuad q1 = quad, q2 = k.quad;
+			if (!equalsRange(q1.vertexData, q1.vertexDataOffset, q2.vertexData, q2.vertexDataOffset,
+					BakedQuad.VERTEX_DATA_LENGTH)) {
+				return false;
+			}
+			if (q1.vertexDataWithNormals == null || q2.vertexDataWithNormals == null) {
+				return q1.vertexDataWithNormals == q2.vertexDataWithNormals;
+			}
+			return equalsRange(q1.vertexDataWithNormals, q1.vertexDataWithNormalsOffset, q2.vertexDataWithNormals,
+					q2.vertexDataWithNormalsOffset, BakedQuad.VERTEX_DATA_WITH_NORMALS_LENGTH);
+		}
+
+		private static int hashRange(int[] arr, int off, int len) {
+			int h = 1;
+			for (int i = 0; i < len; ++i) {
+				h = h * 31 + arr[off + i];
+			}
+			return h;
+		}
+
+		private static boolean equalsRange(int[] a, int aOff, int[] b, int bOff, int len) {
+			for (int i = 0; i < len; ++i) {
+				if (a[aOff + i] != b[bOff + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -27,8 +27,12 @@ public class BreakingFour extends BakedQuad {
 	private final EaglerTextureAtlasSprite texture;
 
 	public BreakingFour(BakedQuad parBakedQuad, EaglerTextureAtlasSprite textureIn) {
-		super(Arrays.copyOf(parBakedQuad.getVertexData(), parBakedQuad.getVertexData().length),
-				Arrays.copyOf(parBakedQuad.getVertexDataWithNormals(), parBakedQuad.getVertexDataWithNormals().length),
+		super(Arrays.copyOfRange(parBakedQuad.getVertexData(), parBakedQuad.getVertexDataOffset(),
+				parBakedQuad.getVertexDataOffset() + VERTEX_DATA_LENGTH),
+				parBakedQuad.getVertexDataWithNormals() == null ? null
+						: Arrays.copyOfRange(parBakedQuad.getVertexDataWithNormals(),
+								parBakedQuad.getVertexDataWithNormalsOffset(),
+								parBakedQuad.getVertexDataWithNormalsOffset() + VERTEX_DATA_WITH_NORMALS_LENGTH),
 				parBakedQuad.tintIndex, parBakedQuad.face);
 		this.texture = textureIn;
 		this.func_178217_e();
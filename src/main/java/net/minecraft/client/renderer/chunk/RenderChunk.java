@@ -14,12 +14,13 @@ import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.VertexFormat;
 import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
-import net.minecraft.block.Block;
+import net.minecraft.block.BlockPropertyTables;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BlockRendererDispatcher;
 import net.minecraft.client.renderer.RegionRenderCache;
 import net.minecraft.client.renderer.RenderGlobal;
+import net.minecraft.client.renderer.tileentity.BakedTileEntities;
 import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
 import net.minecraft.client.renderer.tileentity.TileEntitySpecialRenderer;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
@@ -49,10 +50,6 @@ import net.minecraft.world.World;
  * 
  */
 public class RenderChunk {
-	public static enum ShadowFrustumState {
-		OUTSIDE, OUTSIDE_BB, INTERSECT, INSIDE
-	}
-
 	private World world;
 	private final RenderGlobal renderGlobal;
 	public static int renderChunksUpdated;
@@ -65,12 +62,9 @@ public class RenderChunk {
 	public AxisAlignedBB boundingBox;
 	private int frameIndex = -1;
 	private boolean needsUpdate = true;
-	public int shadowLOD0FrameIndex = -1;
-	public int shadowLOD1FrameIndex = -1;
-	public int shadowLOD2FrameIndex = -1;
-	public ShadowFrustumState shadowLOD0InFrustum = ShadowFrustumState.OUTSIDE;
-	public ShadowFrustumState shadowLOD1InFrustum = ShadowFrustumState.OUTSIDE;
-	public ShadowFrustumState shadowLOD2InFrustum = ShadowFrustumState.OUTSIDE;
+	private static int shadowCacheSerialCounter = 0;
+	public int shadowCacheSerial = 0;
+	private BakedTileEntities bakedTileEntities = null;
 	private EnumMap<EnumFacing, BlockPos> field_181702_p = Maps.newEnumMap(EnumFacing.class);
 
 	public RenderChunk(World worldIn, RenderGlobal renderGlobalIn, BlockPos blockPosIn, int indexIn) {
@@ -83,6 +77,13 @@ public class RenderChunk {
 
 	}
 
+	/**
+	 * The slot of this chunk in ViewFrustum.renderChunks
+	 */
+	public int getIndex() {
+		return this.index;
+	}
+
 	public boolean setFrameIndex(int frameIndexIn) {
 		if (this.frameIndex == frameIndexIn) {
 			return false;
@@ -148,48 +149,69 @@ public class RenderChunk {
 			boolean[] aboolean = new boolean[EnumWorldBlockLayer.values().length];
 			BlockRendererDispatcher blockrendererdispatcher = Minecraft.getMinecraft().getBlockRendererDispatcher();
 
-			for (BlockPos blockpos$mutableblockpos : BlockPos.getAllInBox(blockpos, blockpos1)) {
-				IBlockState iblockstate = regionrendercache.getBlockStateFaster(blockpos$mutableblockpos);
-				Block block = iblockstate.getBlock();
-				if (block.isOpaqueCube()) {
-					visgraph.func_178606_a(blockpos$mutableblockpos);
-				}
-
-				if (block.hasTileEntity()) {
-					TileEntity tileentity = regionrendercache.getTileEntity(blockpos$mutableblockpos);
-					TileEntitySpecialRenderer tileentityspecialrenderer = TileEntityRendererDispatcher.instance
-							.getSpecialRenderer(tileentity);
-					if (tileentity != null && tileentityspecialrenderer != null) {
-						compiledchunk.addTileEntity(tileentity);
-						if (tileentityspecialrenderer.func_181055_a()) {
-							hashset.add(tileentity);
+			BlockPropertyTables.validate();
+			byte[] flags = BlockPropertyTables.flags;
+			BlockPos blockpos$mutableblockpos = new BlockPos(0, 0, 0);
+			int ox = blockpos.x - regionrendercache.getOriginX();
+			int oy = blockpos.y - regionrendercache.getOriginY();
+			int oz = blockpos.z - regionrendercache.getOriginZ();
+
+			for (int zz = 0; zz < 16; ++zz) {
+				for (int yy = 0; yy < 16; ++yy) {
+					for (int xx = 0; xx < 16; ++xx) {
+						int stateId = regionrendercache.getBlockIdAt(ox + xx, oy + yy, oz + zz);
+						int blockFlags = flags[stateId];
+						if (blockFlags == BlockPropertyTables.FLAG_AIR) {
+							continue;
 						}
-					}
-				}
-
-				EnumWorldBlockLayer enumworldblocklayer1 = block.getBlockLayer();
-				int i = enumworldblocklayer1.ordinal();
-				if (block.getRenderType() != -1) {
-					WorldRenderer worldrenderer = generator.getRegionRenderCacheBuilder().getWorldRendererByLayerId(i);
-					if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
-						compiledchunk.setLayerStarted(enumworldblocklayer1);
-						this.preRenderBlocks(worldrenderer, blockpos);
-					}
 
-					aboolean[i] |= blockrendererdispatcher.renderBlock(iblockstate, blockpos$mutableblockpos,
-							regionrendercache, worldrenderer);
+						blockpos$mutableblockpos.x = blockpos.x + xx;
+						blockpos$mutableblockpos.y = blockpos.y + yy;
+						blockpos$mutableblockpos.z = blockpos.z + zz;
+						if ((blockFlags & BlockPropertyTables.FLAG_OPAQUE_CUBE) != 0) {
+							visgraph.func_178606_a(blockpos$mutableblockpos);
+						}
 
-					if (block.eaglerShadersShouldRenderGlassHighlights()) {
-						enumworldblocklayer1 = EnumWorldBlockLayer.GLASS_HIGHLIGHTS;
-						worldrenderer = generator.getRegionRenderCacheBuilder()
-								.getWorldRendererByLayerId(enumworldblocklayer1.ordinal());
-						if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
-							compiledchunk.setLayerStarted(enumworldblocklayer1);
-							this.preRenderBlocks(worldrenderer, blockpos);
+						if ((blockFlags & BlockPropertyTables.FLAG_HAS_TILE_ENTITY) != 0) {
+							// the tile entity may be created here and keep the position
+							TileEntity tileentity = regionrendercache.getTileEntity(new BlockPos(blockpos$mutableblockpos));
+							TileEntitySpecialRenderer tileentityspecialrenderer = TileEntityRendererDispatcher.instance
+									.getSpecialRenderer(tileentity);
+							if (tileentity != null && tileentityspecialrenderer != null) {
+								compiledchunk.addTileEntity(tileentity);
+								if (tileentityspecialrenderer.func_181055_a()) {
+									hashset.add(tileentity);
+								}
+							}
 						}
 
-						aboolean[enumworldblocklayer1.ordinal()] |= blockrendererdispatcher.renderBlock(iblockstate,
-								blockpos$mutableblockpos, regionrendercache, worldrenderer);
+						if ((blockFlags & BlockPropertyTables.FLAG_RENDERED) != 0) {
+							IBlockState iblockstate = regionrendercache.getBlockStateAt(ox + xx, oy + yy, oz + zz);
+							EnumWorldBlockLayer enumworldblocklayer1 = BlockPropertyTables.getBlockLayer(stateId);
+							int i = enumworldblocklayer1.ordinal();
+							WorldRenderer worldrenderer = generator.getRegionRenderCacheBuilder()
+									.getWorldRendererByLayerId(i);
+							if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
+								compiledchunk.setLayerStarted(enumworldblocklayer1);
+								this.preRenderBlocks(worldrenderer, blockpos);
+							}
+
+							aboolean[i] |= blockrendererdispatcher.renderBlock(iblockstate, blockpos$mutableblockpos,
+									regionrendercache, worldrenderer);
+
+							if ((blockFlags & BlockPropertyTables.FLAG_GLASS_HIGHLIGHTS) != 0) {
+								enumworldblocklayer1 = EnumWorldBlockLayer.GLASS_HIGHLIGHTS;
+								worldrenderer = generator.getRegionRenderCacheBuilder()
+										.getWorldRendererByLayerId(enumworldblocklayer1.ordinal());
+								if (!compiledchunk.isLayerStarted(enumworldblocklayer1)) {
+									compiledchunk.setLayerStarted(enumworldblocklayer1);
+									this.preRenderBlocks(worldrenderer, blockpos);
+								}
+
+								aboolean[enumworldblocklayer1.ordinal()] |= blockrendererdispatcher.renderBlock(
+										iblockstate, blockpos$mutableblockpos, regionrendercache, worldrenderer);
+							}
+						}
 					}
 				}
 			}
@@ -281,16 +303,46 @@ public class RenderChunk {
 	}
 
 	public void setCompiledChunk(CompiledChunk compiledChunkIn) {
+		if (this.compiledChunk != compiledChunkIn) {
+			this.shadowCacheSerial = ++shadowCacheSerialCounter;
+		}
 		this.compiledChunk = compiledChunkIn;
 	}
 
 	public void stopCompileTask() {
 		this.finishCompileTask();
+		if (this.compiledChunk != CompiledChunk.DUMMY) {
+			this.shadowCacheSerial = ++shadowCacheSerialCounter;
+		}
 		this.compiledChunk = CompiledChunk.DUMMY;
 	}
 
+	/**+
+	 * Returns the serial of the last change to the geometry of any
+	 * render chunk, used by the sun shadow map cache to find the
+	 * chunks that were recompiled since a cascade was rendered
+	 */
+	public static int getShadowCacheSerial() {
+		return shadowCacheSerialCounter;
+	}
+
+	/**
+	 * The static parts of the tile entities of this render chunk, baked by
+	 * TileEntityRendererDispatcher the first time they are drawn
+	 */
+	public BakedTileEntities getBakedTileEntities() {
+		if (this.bakedTileEntities == null) {
+			this.bakedTileEntities = new BakedTileEntities();
+		}
+		return this.bakedTileEntities;
+	}
+
 	public void deleteGlResources() {
 		this.stopCompileTask();
+		if (this.bakedTileEntities != null) {
+			this.bakedTileEntities.deleteGlResources();
+			this.bakedTileEntities = null;
+		}
 		this.world = null;
 	}
 
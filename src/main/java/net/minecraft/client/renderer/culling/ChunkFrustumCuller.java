@@ -0,0 +1,240 @@
+package net.minecraft.client.renderer.culling;
+
+import net.minecraft.util.AxisAlignedBB;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class ChunkFrustumCuller {
+
+	/**
+	 * The bits of one call to cull, the camera and each shadow map and
+	 * environment map pass keep their own so they can all be tested against the
+	 * same chunk positions in the same frame
+	 */
+	public static class CullResult {
+
+		protected final int count;
+		protected final long[] visible;
+		protected final long[] inside;
+
+		protected CullResult(int count, boolean trackInside) {
+			this.count = count;
+			this.visible = new long[(count + 63) >> 6];
+			this.inside = trackInside ? new long[(count + 63) >> 6] : null;
+		}
+
+		public int getCount() {
+			return count;
+		}
+
+		public boolean isVisible(int slot) {
+			return (visible[slot >> 6] & (1l << slot)) != 0l;
+		}
+
+		/**
+		 * A chunk is inside if it is completely in front of every plane, it is
+		 * always false if the result was not created with trackInside
+		 */
+		public boolean isInside(int slot) {
+			return inside != null && (inside[slot >> 6] & (1l << slot)) != 0l;
+		}
+
+		/**
+		 * Returns the first visible slot at or after slot, or -1 if there are
+		 * none left
+		 */
+		public int nextVisible(int slot) {
+			if (slot >= count) {
+				return -1;
+			}
+			long[] vis = this.visible;
+			int w = slot >> 6;
+			long bits = vis[w] & (-1l << slot);
+			while (bits == 0l) {
+				if (++w == vis.length) {
+					return -1;
+				}
+				bits = vis[w];
+			}
+			return (w << 6) + Long.numberOfTrailingZeros(bits);
+		}
+
+	}
+
+	/**
+	 * The positions are stored relative to an origin near the camera so they fit
+	 * in a float without losing precision far away from 0,0
+	 */
+	private final float[] minX;
+	private final float[] minY;
+	private final float[] minZ;
+	private final CullResult cameraResult;
+	private float[] planeNX = new float[6];
+	private float[] planeNY = new float[6];
+	private float[] planeNZ = new float[6];
+	private float[] planeD = new float[6];
+	private float[] planeDIn = new float[6];
+	private final int count;
+	private int originX = 0;
+	private int originY = 0;
+	private int originZ = 0;
+
+	public ChunkFrustumCuller(int count) {
+		this.count = count;
+		this.minX = new float[count];
+		this.minY = new float[count];
+		this.minZ = new float[count];
+		this.cameraResult = new CullResult(count, false);
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public CullResult createResult(boolean trackInside) {
+		return new CullResult(count, trackInside);
+	}
+
+	/**
+	 * Changing the origin invalidates every position, all of them must be set
+	 * again before the next call to cull
+	 */
+	public void setOrigin(int x, int y, int z) {
+		this.originX = x;
+		this.originY = y;
+		this.originZ = z;
+	}
+
+	public void setChunkPosition(int slot, int x, int y, int z) {
+		this.minX[slot] = (float) (x - originX);
+		this.minY[slot] = (float) (y - originY);
+		this.minZ[slot] = (float) (z - originZ);
+	}
+
+	/**
+	 * Tests every 16x16x16 chunk against the frustum planes of the camera, with
+	 * the same result as Frustum.isBoundingBoxInFrustum for each chunk's bounding
+	 * box
+	 */
+	public void cull(Frustum frustum) {
+		cull(frustum.getClippingHelper().frustum, frustum.getPositionX(), frustum.getPositionY(),
+				frustum.getPositionZ());
+	}
+
+	public void cull(float[][] planes, double camX, double camY, double camZ) {
+		cull(planes, planes.length, null, camX, camY, camZ, cameraResult);
+	}
+
+	/**
+	 * The planes are in the same format as ClippingHelper.frustum, a box is
+	 * visible unless all 8 of its corners are behind one of the planes, which is
+	 * the same as the corner furthest along the plane's normal being behind it.
+	 * If bounds is not null only the chunks that intersect it can be visible,
+	 * they are tested against it first because it is cheaper than a plane and
+	 * usually culls most of the chunks of a shadow map. The inside bits only
+	 * depend on the planes
+	 */
+	public void cull(float[][] planes, int planeCount, AxisAlignedBB bounds, double camX, double camY, double camZ,
+			CullResult result) {
+		if (planeNX.length < planeCount) {
+			planeNX = new float[planeCount];
+			planeNY = new float[planeCount];
+			planeNZ = new float[planeCount];
+			planeD = new float[planeCount];
+			planeDIn = new float[planeCount];
+		}
+		float[] pnx = this.planeNX;
+		float[] pny = this.planeNY;
+		float[] pnz = this.planeNZ;
+		float[] pd = this.planeD;
+		float[] pdIn = this.planeDIn;
+		double ox = originX - camX;
+		double oy = originY - camY;
+		double oz = originZ - camZ;
+		for (int p = 0; p < planeCount; ++p) {
+			float[] plane = planes[p];
+			float nx = plane[0];
+			float ny = plane[1];
+			float nz = plane[2];
+			float d = (float) (plane[3] + nx * ox + ny * oy + nz * oz);
+			float dIn = d;
+			if (nx > 0.0f) d += nx * 16.0f; else dIn += nx * 16.0f;
+			if (ny > 0.0f) d += ny * 16.0f; else dIn += ny * 16.0f;
+			if (nz > 0.0f) d += nz * 16.0f; else dIn += nz * 16.0f;
+			pnx[p] = nx;
+			pny[p] = ny;
+			pnz[p] = nz;
+			pd[p] = d;
+			pdIn[p] = dIn;
+		}
+		float bMinX, bMinY, bMinZ, bMaxX, bMaxY, bMaxZ;
+		if (bounds != null) {
+			bMinX = (float) (bounds.minX - originX - 16.0);
+			bMinY = (float) (bounds.minY - originY - 16.0);
+			bMinZ = (float) (bounds.minZ - originZ - 16.0);
+			bMaxX = (float) (bounds.maxX - originX);
+			bMaxY = (float) (bounds.maxY - originY);
+			bMaxZ = (float) (bounds.maxZ - originZ);
+		} else {
+			bMinX = bMinY = bMinZ = Float.NEGATIVE_INFINITY;
+			bMaxX = bMaxY = bMaxZ = Float.POSITIVE_INFINITY;
+		}
+		long[] vis = result.visible;
+		long[] ins = result.inside;
+		float[] mx = this.minX;
+		float[] my = this.minY;
+		float[] mz = this.minZ;
+		for (int w = 0, words = vis.length; w < words; ++w) {
+			int base = w << 6;
+			int end = Math.min(64, count - base);
+			long keep = 0l;
+			long keepIn = 0l;
+			for (int b = 0; b < end; ++b) {
+				int i = base + b;
+				float x = mx[i];
+				float y = my[i];
+				float z = mz[i];
+				if (x <= bMinX || x >= bMaxX || y <= bMinY || y >= bMaxY || z <= bMinZ || z >= bMaxZ) {
+					continue;
+				}
+				boolean inside = true;
+				int p = 0;
+				for (; p < planeCount; ++p) {
+					float f = pnx[p] * x + pny[p] * y + pnz[p] * z;
+					if (f + pd[p] <= 0.0f) {
+						break;
+					}
+					if (f + pdIn[p] <= 0.0f) {
+						inside = false;
+					}
+				}
+				if (p == planeCount) {
+					keep |= 1l << b;
+					if (inside) {
+						keepIn |= 1l << b;
+					}
+				}
+			}
+			vis[w] = keep;
+			if (ins != null) {
+				ins[w] = keepIn;
+			}
+		}
+	}
+
+	public boolean isVisible(int slot) {
+		return cameraResult.isVisible(slot);
+	}
+
+}
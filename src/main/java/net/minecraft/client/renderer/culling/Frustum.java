@@ -40,6 +40,22 @@ public class Frustum implements ICamera {
 		this.zPosition = d2;
 	}
 
+	public ClippingHelper getClippingHelper() {
+		return this.clippingHelper;
+	}
+
+	public double getPositionX() {
+		return this.xPosition;
+	}
+
+	public double getPositionY() {
+		return this.yPosition;
+	}
+
+	public double getPositionZ() {
+		return this.zPosition;
+	}
+
 	/**+
 	 * Calls the clipping helper. Returns true if the box is inside
 	 * all 6 clipping planes, otherwise returns false.
@@ -0,0 +1,380 @@
+package net.minecraft.client.renderer.entity;
+
+import static net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL.*;
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.lax1dude.eaglercraft.v1_8.internal.IFramebufferGL;
+import net.lax1dude.eaglercraft.v1_8.internal.IRenderbufferGL;
+import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
+import net.lax1dude.eaglercraft.v1_8.minecraft.EaglerTextureAtlasSprite;
+import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
+import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.EntityRenderer;
+import net.minecraft.client.renderer.RenderHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.texture.TextureClock;
+import net.minecraft.client.renderer.texture.TextureCompass;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.client.renderer.texture.TextureMap;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.resources.model.IBakedModel;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class GuiItemIconAtlas {
+
+	private static final int _GL_FRAMEBUFFER = 0x8D40;
+	private static final int _GL_RENDERBUFFER = 0x8D41;
+	private static final int _GL_COLOR_ATTACHMENT0 = 0x8CE0;
+	private static final int _GL_DEPTH_ATTACHMENT = 0x8D00;
+	private static final int _GL_DEPTH_COMPONENT16 = 0x81A5;
+
+	private static final ResourceLocation RES_ITEM_GLINT = new ResourceLocation(
+			"textures/misc/enchanted_item_glint.png");
+
+	public static final int ATLAS_SIZE = 1024;
+
+	/**
+	 * Icons that are missing are drawn the normal way and baked at the start of
+	 * the next frame, at most this many per frame so opening a creative tab does
+	 * not stall
+	 */
+	public static final int MAX_BAKES_PER_FRAME = 24;
+
+	/**
+	 * The size of the glint texture on an icon, the same as the size it has on an
+	 * item sprite in a 1024x1024 block atlas when drawn the normal way
+	 */
+	private static final float GLINT_UV_SCALE = 1.0f / 64.0f;
+
+	/**
+	 * Icons are keyed by the baked model and the tint colors of the stack, which
+	 * covers everything that metadata and NBT can change about an icon except for
+	 * the glint, that is drawn over the icon every frame instead
+	 */
+	protected static class IconKey {
+
+		protected IBakedModel model;
+		protected int color0;
+		protected int color1;
+
+		protected IconKey() {
+		}
+
+		protected IconKey(IconKey key) {
+			this.model = key.model;
+			this.color0 = key.color0;
+			this.color1 = key.color1;
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(model) * 31 + color0) * 31 + color1;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof IconKey)) {
+				return false;
+			}
+			IconKey key = (IconKey) obj;
+			return model == key.model && color0 == key.color0 && color1 == key.color1;
+		}
+
+	}
+
+	protected static class Icon {
+
+		protected final IconKey key;
+		protected ItemStack stack;
+		protected int slot = -1;
+		protected int lastUsedFrame = 0;
+		protected float minU;
+		protected float minV;
+		protected float maxU;
+		protected float maxV;
+
+		protected Icon(IconKey key, ItemStack stack) {
+			this.key = key;
+			this.stack = stack;
+		}
+
+	}
+
+	private final RenderItem renderItem;
+	private final TextureManager textureManager;
+
+	private final Map<IconKey, Icon> icons = new LinkedHashMap(64, 0.75f, true);
+	private final List<Icon> pending = new ArrayList();
+	private final IconKey probe = new IconKey();
+
+	private IFramebufferGL framebuffer = null;
+	private IRenderbufferGL depthBuffer = null;
+	private int glTexture = -1;
+
+	private int scaleFactor = -1;
+	private int slotSize = 16;
+	private int slotsPerRow = 0;
+	private boolean[] slotsUsed = new boolean[0];
+	private int frameCounter = 0;
+
+	public GuiItemIconAtlas(RenderItem renderItem, TextureManager textureManager) {
+		this.renderItem = renderItem;
+		this.textureManager = textureManager;
+	}
+
+	/**
+	 * Icons with animated textures or a tile entity renderer, and anything drawn
+	 * while anaglyph or the shaders are on, are always drawn the normal way
+	 */
+	private static boolean isCacheable(IBakedModel model) {
+		if (model.isBuiltInRenderer() || EntityRenderer.anaglyphEnable || DeferredStateManager.isInDeferredPass()) {
+			return false;
+		}
+		EaglerTextureAtlasSprite sprite = model.getParticleTexture();
+		return sprite == null || (sprite.getFrameCount() <= 1 && !(sprite instanceof TextureCompass)
+				&& !(sprite instanceof TextureClock));
+	}
+
+	/**
+	 * Draws the cached icon of the stack with its top left corner at x, y and
+	 * returns true, or returns false and queues the icon to be baked if the stack
+	 * must be drawn the normal way this frame
+	 */
+	public boolean drawIcon(ItemStack stack, IBakedModel model, int x, int y, float z) {
+		if (scaleFactor == -1 || !isCacheable(model)) {
+			return false;
+		}
+		probe.model = model;
+		probe.color0 = stack.getItem().getColorFromItemStack(stack, 0);
+		probe.color1 = stack.getItem().getColorFromItemStack(stack, 1);
+		Icon icon = icons.get(probe);
+		if (icon == null) {
+			icon = new Icon(new IconKey(probe), stack.copy());
+			icons.put(icon.key, icon);
+			pending.add(icon);
+			return false;
+		}
+		icon.lastUsedFrame = frameCounter;
+		if (icon.slot == -1) {
+			return false;
+		}
+
+		GlStateManager.bindTexture(glTexture);
+		GlStateManager.disableLighting();
+		GlStateManager.enableAlpha();
+		GlStateManager.alphaFunc(GL_GREATER, 0.1F);
+		GlStateManager.enableBlend();
+		GlStateManager.blendFunc(GL_ONE, GL_ONE_MINUS_SRC_ALPHA);
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
+		worldrenderer.pos((double) x, (double) (y + 16), (double) z).tex((double) icon.minU, (double) icon.minV)
+				.endVertex();
+		worldrenderer.pos((double) (x + 16), (double) (y + 16), (double) z).tex((double) icon.maxU, (double) icon.minV)
+				.endVertex();
+		worldrenderer.pos((double) (x + 16), (double) y, (double) z).tex((double) icon.maxU, (double) icon.maxV)
+				.endVertex();
+		worldrenderer.pos((double) x, (double) y, (double) z).tex((double) icon.minU, (double) icon.maxV).endVertex();
+		tessellator.draw();
+
+		if (stack.hasEffect()) {
+			drawGlint(x, y, z);
+		}
+
+		GlStateManager.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+		GlStateManager.disableAlpha();
+		textureManager.bindTexture(TextureMap.locationBlocksTexture);
+		return true;
+	}
+
+	/**
+	 * Same two scrolling layers as RenderItem.renderEffect, the depth test limits
+	 * them to the pixels of the icon
+	 */
+	private void drawGlint(int x, int y, float z) {
+		GlStateManager.depthMask(false);
+		GlStateManager.depthFunc(GL_EQUAL);
+		GlStateManager.blendFunc(GL_SRC_COLOR, GL_ONE);
+		textureManager.bindTexture(RES_ITEM_GLINT);
+		GlStateManager.matrixMode(GL_TEXTURE);
+		for (int i = 0; i < 2; ++i) {
+			GlStateManager.pushMatrix();
+			GlStateManager.scale(8.0F, 8.0F, 8.0F);
+			if (i == 0) {
+				float f = (float) (Minecraft.getSystemTime() % 3000L) / 3000.0F / 8.0F;
+				GlStateManager.translate(f, 0.0F, 0.0F);
+				GlStateManager.rotate(-50.0F, 0.0F, 0.0F, 1.0F);
+			} else {
+				float f1 = (float) (Minecraft.getSystemTime() % 4873L) / 4873.0F / 8.0F;
+				GlStateManager.translate(-f1, 0.0F, 0.0F);
+				GlStateManager.rotate(10.0F, 0.0F, 0.0F, 1.0F);
+			}
+			Tessellator tessellator = Tessellator.getInstance();
+			WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+			worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX_COLOR);
+			worldrenderer.pos((double) x, (double) (y + 16), (double) z).tex(0.0D, (double) GLINT_UV_SCALE)
+					.color(128, 64, 204, 255).endVertex();
+			worldrenderer.pos((double) (x + 16), (double) (y + 16), (double) z)
+					.tex((double) GLINT_UV_SCALE, (double) GLINT_UV_SCALE).color(128, 64, 204, 255).endVertex();
+			worldrenderer.pos((double) (x + 16), (double) y, (double) z).tex((double) GLINT_UV_SCALE, 0.0D)
+					.color(128, 64, 204, 255).endVertex();
+			worldrenderer.pos((double) x, (double) y, (double) z).tex(0.0D, 0.0D).color(128, 64, 204, 255).endVertex();
+			tessellator.draw();
+			GlStateManager.popMatrix();
+		}
+		GlStateManager.matrixMode(GL_MODELVIEW);
+		GlStateManager.depthFunc(GL_LEQUAL);
+		GlStateManager.depthMask(true);
+	}
+
+	/**
+	 * Must be called while the default framebuffer is bound, the icons are baked
+	 * at the size a 16x16 slot has on the screen with the current GUI scale
+	 */
+	public void bakePending(int scaleFactor) {
+		++frameCounter;
+		if (this.scaleFactor != scaleFactor) {
+			this.scaleFactor = scaleFactor;
+			slotSize = 16 * scaleFactor;
+			slotsPerRow = ATLAS_SIZE / slotSize;
+			slotsUsed = new boolean[slotsPerRow * slotsPerRow];
+			icons.clear();
+			pending.clear();
+		}
+		if (pending.isEmpty() || slotsUsed.length == 0) {
+			return;
+		}
+
+		if (framebuffer == null) {
+			framebuffer = _wglCreateFramebuffer();
+			depthBuffer = _wglCreateRenderbuffer();
+			glTexture = GlStateManager.generateTexture();
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, framebuffer);
+			GlStateManager.bindTexture(glTexture);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+			_wglTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, ATLAS_SIZE, ATLAS_SIZE, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+					(ByteBuffer) null);
+			_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D,
+					EaglercraftGPU.getNativeTexture(glTexture), 0);
+			_wglBindRenderbuffer(_GL_RENDERBUFFER, depthBuffer);
+			_wglRenderbufferStorage(_GL_RENDERBUFFER, _GL_DEPTH_COMPONENT16, ATLAS_SIZE, ATLAS_SIZE);
+			_wglFramebufferRenderbuffer(_GL_FRAMEBUFFER, _GL_DEPTH_ATTACHMENT, _GL_RENDERBUFFER, depthBuffer);
+		} else {
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, framebuffer);
+		}
+
+		GlStateManager.matrixMode(GL_PROJECTION);
+		GlStateManager.pushMatrix();
+		GlStateManager.loadIdentity();
+		GlStateManager.ortho(0.0D, 16.0D, 16.0D, 0.0D, 1000.0D, 3000.0D);
+		GlStateManager.matrixMode(GL_MODELVIEW);
+		GlStateManager.pushMatrix();
+		GlStateManager.loadIdentity();
+		GlStateManager.translate(0.0F, 0.0F, -2000.0F);
+		RenderHelper.enableGUIStandardItemLighting();
+		GlStateManager.enableDepth();
+		GlStateManager.depthMask(true);
+		GlStateManager.colorMask(true, true, true, true);
+		GlStateManager.clearColor(0.0f, 0.0f, 0.0f, 0.0f);
+		GlStateManager.enableOverlayFramebufferBlending();
+		_wglEnable(GL_SCISSOR_TEST);
+
+		int baked = 0;
+		Iterator<Icon> itr = pending.iterator();
+		while (baked < MAX_BAKES_PER_FRAME && itr.hasNext()) {
+			Icon icon = itr.next();
+			itr.remove();
+			if (icons.get(icon.key) != icon) {
+				continue;
+			}
+			int slot = allocateSlot();
+			if (slot == -1) {
+				// every slot holds an icon that was on the screen last frame
+				icons.remove(icon.key);
+				continue;
+			}
+			int sx = (slot % slotsPerRow) * slotSize;
+			int sy = (slot / slotsPerRow) * slotSize;
+			GlStateManager.viewport(sx, sy, slotSize, slotSize);
+			_wglScissor(sx, sy, slotSize, slotSize);
+			GlStateManager.clear(GL_COLOR_BUFFER_BIT | GL_DEPTH_BUFFER_BIT);
+			renderItem.bakeGuiIcon(icon.stack, icon.key.model);
+			icon.stack = null;
+			icon.slot = slot;
+			icon.minU = (float) sx / (float) ATLAS_SIZE;
+			icon.minV = (float) sy / (float) ATLAS_SIZE;
+			icon.maxU = (float) (sx + slotSize) / (float) ATLAS_SIZE;
+			icon.maxV = (float) (sy + slotSize) / (float) ATLAS_SIZE;
+			++baked;
+		}
+
+		_wglDisable(GL_SCISSOR_TEST);
+		GlStateManager.disableOverlayFramebufferBlending();
+		RenderHelper.disableStandardItemLighting();
+		GlStateManager.matrixMode(GL_PROJECTION);
+		GlStateManager.popMatrix();
+		GlStateManager.matrixMode(GL_MODELVIEW);
+		GlStateManager.popMatrix();
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+		Minecraft mc = Minecraft.getMinecraft();
+		GlStateManager.viewport(0, 0, mc.displayWidth, mc.displayHeight);
+	}
+
+	/**
+	 * Returns a free slot, or the slot of the least recently used icon that was
+	 * not drawn last frame, or -1 if there is none
+	 */
+	private int allocateSlot() {
+		for (int i = 0; i < slotsUsed.length; ++i) {
+			if (!slotsUsed[i]) {
+				slotsUsed[i] = true;
+				return i;
+			}
+		}
+		Iterator<Icon> itr = icons.values().iterator();
+		while (itr.hasNext()) {
+			Icon icon = itr.next();
+			if (icon.slot != -1 && icon.lastUsedFrame < frameCounter - 1) {
+				itr.remove();
+				return icon.slot;
+			}
+		}
+		return -1;
+	}
+
+	public void invalidate() {
+		icons.clear();
+		pending.clear();
+		for (int i = 0; i < slotsUsed.length; ++i) {
+			slotsUsed[i] = false;
+		}
+	}
+
+}
@@ -93,17 +93,24 @@ public class RenderItem implements IResourceManagerReloadListener {
 	public float zLevel;
 	private final ItemModelMesher itemModelMesher;
 	private final TextureManager textureManager;
+	private final GuiItemIconAtlas guiIconAtlas;
+	private boolean bakingGuiIcon = false;
 
 	public RenderItem(TextureManager textureManager, ModelManager modelManager) {
 		this.textureManager = textureManager;
 		this.itemModelMesher = new ItemModelMesher(modelManager);
 		this.registerItems();
+		this.guiIconAtlas = new GuiItemIconAtlas(this, textureManager);
 	}
 
 	public void func_175039_a(boolean parFlag) {
 		this.field_175058_l = parFlag;
 	}
 
+	public GuiItemIconAtlas getGuiIconAtlas() {
+		return this.guiIconAtlas;
+	}
+
 	public ItemModelMesher getItemModelMesher() {
 		return this.itemModelMesher;
 	}
@@ -196,7 +203,7 @@ public class RenderItem implements IResourceManagerReloadListener {
 					}
 				} else {
 					this.renderModel(model, stack);
-					if (stack.hasEffect()) {
+					if (stack.hasEffect() && !this.bakingGuiIcon) {
 						if (DeferredStateManager.isInDeferredPass()) {
 							if (DeferredStateManager.forwardCallbackHandler != null
 									&& !DeferredStateManager.isEnableShadowRender()) {
@@ -278,7 +285,7 @@ public class RenderItem implements IResourceManagerReloadListener {
 	}
 
 	private void renderQuad(WorldRenderer renderer, BakedQuad quad, int color) {
-		renderer.addVertexData(quad.getVertexData());
+		renderer.addVertexData(quad.getVertexData(), quad.getVertexDataOffset(), BakedQuad.VERTEX_DATA_LENGTH);
 		renderer.putColor4(color);
 		this.putQuadNormal(renderer, quad);
 	}
@@ -392,6 +399,28 @@ public class RenderItem implements IResourceManagerReloadListener {
 
 	public void renderItemIntoGUI(ItemStack stack, int x, int y) {
 		IBakedModel ibakedmodel = this.itemModelMesher.getItemModel(stack);
+		if (!this.guiIconAtlas.drawIcon(stack, ibakedmodel, x, y, 100.0F + this.zLevel)) {
+			this.renderModelIntoGUI(stack, ibakedmodel, x, y);
+		}
+	}
+
+	/**
+	 * Draws the icon without the glint into the slot of the GuiItemIconAtlas that
+	 * is currently bound
+	 */
+	void bakeGuiIcon(ItemStack stack, IBakedModel model) {
+		float f = this.zLevel;
+		this.zLevel = 0.0F;
+		this.bakingGuiIcon = true;
+		try {
+			this.renderModelIntoGUI(stack, model, 0, 0);
+		} finally {
+			this.bakingGuiIcon = false;
+			this.zLevel = f;
+		}
+	}
+
+	private void renderModelIntoGUI(ItemStack stack, IBakedModel ibakedmodel, int x, int y) {
 		GlStateManager.pushMatrix();
 		this.textureManager.bindTexture(TextureMap.locationBlocksTexture);
 		this.textureManager.getTexture(TextureMap.locationBlocksTexture).setBlurMipmap(false, false);
@@ -1092,5 +1121,6 @@ public class RenderItem implements IResourceManagerReloadListener {
 
 	public void onResourceManagerReload(IResourceManager var1) {
 		this.itemModelMesher.rebuildCache();
+		this.guiIconAtlas.invalidate();
 	}
 }
\ No newline at end of file
@@ -17,6 +17,7 @@ import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.DeferredStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.EaglerDeferredPipeline;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.NameTagRenderer;
 import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.ShadersRenderPassFuture;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.lax1dude.eaglercraft.v1_8.vector.Matrix4f;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.entity.EntityPlayerSP;
@@ -26,6 +27,9 @@ import net.minecraft.client.model.ModelBiped;
 import net.minecraft.client.renderer.EntityRenderer;
 import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.entity.layers.LayerArmorBase;
+import net.minecraft.client.renderer.entity.layers.LayerHeldItem;
+import net.minecraft.client.renderer.entity.layers.LayerHeldItemWitch;
 import net.minecraft.client.renderer.entity.layers.LayerRenderer;
 import net.minecraft.client.renderer.texture.DynamicTexture;
 import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
@@ -86,6 +90,23 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 	public void transformHeldFull3DItemLayer() {
 	}
 
+	/**
+	 * Past this distance from the camera the armor and held item layers are
+	 * skipped and the limbs are only animated at the tick rate
+	 */
+	public static final double LOD_DISTANCE = 32.0D;
+
+	/**
+	 * Name tags are not drawn past this distance
+	 */
+	public static final float NAME_TAG_LOD_DISTANCE = 48.0F;
+
+	private boolean renderingLOD = false;
+
+	public static boolean isDistanceLOD(double x, double y, double z) {
+		return x * x + y * y + z * z > LOD_DISTANCE * LOD_DISTANCE;
+	}
+
 	/**+
 	 * Actually renders the given argument. This is a synthetic
 	 * bridge method, always casting down its argument and then
@@ -138,9 +159,11 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 			this.preRenderCallback(entitylivingbase, f1);
 			float f6 = 0.0625F;
 			GlStateManager.translate(0.0F, -1.5078125F, 0.0F);
+			this.renderingLOD = isDistanceLOD(d0, d1, d2);
+			float f11 = this.renderingLOD ? 1.0F : f1;
 			float f7 = entitylivingbase.prevLimbSwingAmount
-					+ (entitylivingbase.limbSwingAmount - entitylivingbase.prevLimbSwingAmount) * f1;
-			float f8 = entitylivingbase.limbSwing - entitylivingbase.limbSwingAmount * (1.0F - f1);
+					+ (entitylivingbase.limbSwingAmount - entitylivingbase.prevLimbSwingAmount) * f11;
+			float f8 = entitylivingbase.limbSwing - entitylivingbase.limbSwingAmount * (1.0F - f11);
 			if (entitylivingbase.isChild()) {
 				f8 *= 3.0F;
 			}
@@ -278,7 +301,12 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 							RendererLivingEntity.this.mainModel.setLivingAnimations(entitylivingbase, f, f1, f1);
 							RendererLivingEntity.this.mainModel.setRotationAngles(f, f1, f2, f3, f4, f5,
 									entitylivingbase);
+							boolean flag2 = SkinTextureAtlas.pushTextureMatrix(
+									RendererLivingEntity.this.getEntityTexture(entitylivingbase));
 							RendererLivingEntity.this.mainModel.render(entitylivingbase, f, f1, f2, f3, f4, f5);
+							if (flag2) {
+								SkinTextureAtlas.popTextureMatrix();
+							}
 							if (RendererLivingEntity.this.mainModel instanceof ModelBiped) {
 								if ((entitylivingbase instanceof EntityPlayer)
 										&& ((EntityPlayer) entitylivingbase).isSpectator()) {
@@ -304,7 +332,11 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 				GlStateManager.alphaFunc(GL_GREATER, 0.003921569F);
 			}
 
+			boolean flag2 = SkinTextureAtlas.pushTextureMatrix(this.getEntityTexture(entitylivingbase));
 			this.mainModel.render(entitylivingbase, f, f1, f2, f3, f4, f5);
+			if (flag2) {
+				SkinTextureAtlas.popTextureMatrix();
+			}
 			if (flag1) {
 				GlStateManager.disableBlend();
 				GlStateManager.alphaFunc(GL_GREATER, 0.1F);
@@ -392,6 +424,10 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 	protected void renderLayers(T entitylivingbaseIn, float partialTicks, float parFloat2, float parFloat3,
 			float parFloat4, float parFloat5, float parFloat6, float parFloat7) {
 		for (LayerRenderer layerrenderer : this.layerRenderers) {
+			if (this.renderingLOD && (layerrenderer instanceof LayerArmorBase || layerrenderer instanceof LayerHeldItem
+					|| layerrenderer instanceof LayerHeldItemWitch)) {
+				continue;
+			}
 			boolean flag = this.setBrightness(entitylivingbaseIn, parFloat3, layerrenderer.shouldCombineTextures());
 			layerrenderer.doRenderLayer(entitylivingbaseIn, partialTicks, parFloat2, parFloat3, parFloat4, parFloat5,
 					parFloat6, parFloat7);
@@ -425,7 +461,7 @@ public abstract class RendererLivingEntity<T extends EntityLivingBase> extends R
 	public void renderName(T entitylivingbase, double d0, double d1, double d2) {
 		if (this.canRenderName(entitylivingbase)) {
 			double d3 = entitylivingbase.getDistanceSqToEntity(this.renderManager.livingPlayer);
-			float f = entitylivingbase.isSneaking() ? 32.0F : 64.0F;
+			float f = entitylivingbase.isSneaking() ? 32.0F : NAME_TAG_LOD_DISTANCE;
 			if (d3 < (double) (f * f)) {
 				String s = entitylivingbase.getDisplayName().getFormattedText();
 				float f1 = 0.02666667F;
@@ -1,6 +1,7 @@
 package net.minecraft.client.renderer.entity.layers;
 
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.minecraft.client.entity.AbstractClientPlayer;
 import net.minecraft.client.model.ModelPlayer;
 import net.minecraft.client.renderer.entity.RenderPlayer;
@@ -35,6 +36,7 @@ public class LayerDeadmau5Head implements LayerRenderer<AbstractClientPlayer> {
 		if (abstractclientplayer.getName().equals("deadmau5") && abstractclientplayer.hasSkin()
 				&& !abstractclientplayer.isInvisible() && this.playerRenderer.getMainModel() instanceof ModelPlayer) {
 			this.playerRenderer.bindTexture(abstractclientplayer.getLocationSkin());
+			boolean flag = SkinTextureAtlas.pushTextureMatrix(abstractclientplayer.getLocationSkin());
 
 			for (int i = 0; i < 2; ++i) {
 				float f1 = abstractclientplayer.prevRotationYaw
@@ -57,6 +59,9 @@ public class LayerDeadmau5Head implements LayerRenderer<AbstractClientPlayer> {
 				GlStateManager.popMatrix();
 			}
 
+			if (flag) {
+				SkinTextureAtlas.popTextureMatrix();
+			}
 		}
 	}
 
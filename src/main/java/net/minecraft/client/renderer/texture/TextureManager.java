@@ -154,6 +154,15 @@ public class TextureManager implements ITickable, IResourceManagerReloadListener
 		}
 	}
 
+	/**
+	 * Removes the texture without deleting its GL texture, for texture objects
+	 * that share a GL texture with other resource locations
+	 */
+	public void unregisterTexture(ResourceLocation textureLocation) {
+		this.mapTextureObjects.remove(textureLocation);
+		textureLocation.cachedPointer = null;
+	}
+
 	public void onResourceManagerReload(IResourceManager var1) {
 		for (Entry entry : this.mapTextureObjects.entrySet()) {
 			this.loadTexture((ResourceLocation) entry.getKey(), (ITextureObject) entry.getValue());
@@ -253,6 +253,29 @@ public class TextureUtil {
 
 	}
 
+	/**
+	 * Uploads the w by h rectangle at x, y of an image that is dataWidth pixels
+	 * wide to the same position in the texture, the texture must already be
+	 * allocated and have its filtering set up
+	 */
+	public static void uploadTextureSubRegion(int textureId, int[] data, int dataWidth, int x, int y, int w, int h) {
+		bindTexture(textureId);
+		boolean anaglyph = Minecraft.getMinecraft().gameSettings.anaglyph;
+		dataBuffer.clear();
+		for (int i = 0; i < h; ++i) {
+			int j = x + (y + i) * dataWidth;
+			if (anaglyph) {
+				for (int k = 0; k < w; ++k) {
+					dataBuffer.put(anaglyphColor(data[j + k]));
+				}
+			} else {
+				dataBuffer.put(data, j, w);
+			}
+		}
+		dataBuffer.position(0).limit(w * h);
+		EaglercraftGPU.glTexSubImage2D(GL_TEXTURE_2D, 0, x, y, w, h, GL_RGBA, GL_UNSIGNED_BYTE, dataBuffer);
+	}
+
 	private static void copyToBuffer(int[] parArrayOfInt, int parInt1) {
 		copyToBufferPos(parArrayOfInt, 0, parInt1);
 	}
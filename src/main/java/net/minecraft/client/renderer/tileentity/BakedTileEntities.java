@@ -0,0 +1,174 @@
+package net.minecraft.client.renderer.tileentity;
+
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
+import net.lax1dude.eaglercraft.v1_8.opengl.VertexFormat;
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.chunk.CompiledChunk;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class BakedTileEntities {
+
+	private static final TileEntity[] EMPTY_TILE_ENTITIES = new TileEntity[0];
+	private static final ResourceLocation[] EMPTY_TEXTURES = new ResourceLocation[0];
+	private static final int[] EMPTY_LISTS = new int[0];
+
+	private static final TileEntityBaker baker = new TileEntityBaker();
+
+	private CompiledChunk compiledChunk = null;
+	private TileEntity[] tileEntities = EMPTY_TILE_ENTITIES;
+	private ResourceLocation[] staticTextures = EMPTY_TEXTURES;
+
+	/**
+	 * One display list for each texture, holding the static parts of every tile
+	 * entity in the render chunk that uses it
+	 */
+	private ResourceLocation[] listTextures = EMPTY_TEXTURES;
+	private int[] displayLists = EMPTY_LISTS;
+
+	/**
+	 * Bakes the static parts of the tile entities again if the render chunk was
+	 * recompiled or any of its tile entities started or stopped having a static
+	 * texture, returns false if the render chunk has nothing baked
+	 */
+	public boolean update(World world, BlockPos origin, CompiledChunk compiledChunkIn,
+			TileEntityRendererDispatcher dispatcher) {
+		List<TileEntity> list = compiledChunkIn.getTileEntities();
+		int l = list.size();
+		boolean changed = this.compiledChunk != compiledChunkIn || this.tileEntities.length != l;
+		if (!changed) {
+			for (int i = 0; i < l; ++i) {
+				TileEntity tileentity = list.get(i);
+				if (this.tileEntities[i] != tileentity
+						|| this.staticTextures[i] != getStaticTexture(dispatcher, tileentity)) {
+					changed = true;
+					break;
+				}
+			}
+		}
+		if (changed) {
+			this.compiledChunk = compiledChunkIn;
+			this.bake(world, origin, list, dispatcher);
+		}
+		return this.displayLists.length > 0;
+	}
+
+	private static ResourceLocation getStaticTexture(TileEntityRendererDispatcher dispatcher, TileEntity tileentity) {
+		if (tileentity.isInvalid()) {
+			return null;
+		}
+		TileEntitySpecialRenderer tileentityspecialrenderer = dispatcher.getSpecialRenderer(tileentity);
+		return tileentityspecialrenderer != null ? tileentityspecialrenderer.getStaticTexture(tileentity) : null;
+	}
+
+	private void bake(World world, BlockPos origin, List<TileEntity> list, TileEntityRendererDispatcher dispatcher) {
+		this.deleteDisplayLists();
+		int l = list.size();
+		if (l == 0) {
+			this.tileEntities = EMPTY_TILE_ENTITIES;
+			this.staticTextures = EMPTY_TEXTURES;
+			return;
+		}
+
+		this.tileEntities = list.toArray(new TileEntity[l]);
+		this.staticTextures = new ResourceLocation[l];
+		List<ResourceLocation> textures = new ArrayList();
+		for (int i = 0; i < l; ++i) {
+			ResourceLocation resourcelocation = getStaticTexture(dispatcher, this.tileEntities[i]);
+			this.staticTextures[i] = resourcelocation;
+			if (resourcelocation != null && !textures.contains(resourcelocation)) {
+				textures.add(resourcelocation);
+			}
+		}
+
+		int k = textures.size();
+		if (k == 0) {
+			return;
+		}
+
+		this.listTextures = textures.toArray(new ResourceLocation[k]);
+		this.displayLists = new int[k];
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+		for (int j = 0; j < k; ++j) {
+			ResourceLocation resourcelocation = this.listTextures[j];
+			int displayList = GLAllocation.generateDisplayLists();
+			this.displayLists[j] = displayList;
+			EaglercraftGPU.glNewList(displayList, GL_COMPILE);
+			worldrenderer.begin(7, VertexFormat.BLOCK_SHADERS);
+			baker.begin(worldrenderer);
+			for (int i = 0; i < l; ++i) {
+				if (resourcelocation.equals(this.staticTextures[i])) {
+					TileEntity tileentity = this.tileEntities[i];
+					BlockPos blockpos = tileentity.getPos();
+					baker.loadIdentity();
+					baker.translate((float) (blockpos.getX() - origin.getX()),
+							(float) (blockpos.getY() - origin.getY()), (float) (blockpos.getZ() - origin.getZ()));
+					baker.setLightmap(world.getCombinedLight(blockpos, 0));
+					dispatcher.getSpecialRenderer(tileentity).bakeStaticParts(tileentity, baker);
+				}
+			}
+			baker.end();
+			tessellator.draw();
+			EaglercraftGPU.glEndList();
+		}
+	}
+
+	/**
+	 * Returns true if the static parts of the i-th tile entity of the compiled
+	 * chunk passed to the last update are in one of the display lists
+	 */
+	public boolean isBaked(int i) {
+		return this.staticTextures[i] != null;
+	}
+
+	public int getListCount() {
+		return this.displayLists.length;
+	}
+
+	public ResourceLocation getListTexture(int i) {
+		return this.listTextures[i];
+	}
+
+	public int getDisplayList(int i) {
+		return this.displayLists[i];
+	}
+
+	private void deleteDisplayLists() {
+		for (int i = 0; i < this.displayLists.length; ++i) {
+			GLAllocation.deleteDisplayLists(this.displayLists[i]);
+		}
+		this.listTextures = EMPTY_TEXTURES;
+		this.displayLists = EMPTY_LISTS;
+	}
+
+	public void deleteGlResources() {
+		this.deleteDisplayLists();
+		this.compiledChunk = null;
+		this.tileEntities = EMPTY_TILE_ENTITIES;
+		this.staticTextures = EMPTY_TEXTURES;
+	}
+
+}
@@ -0,0 +1,245 @@
+package net.minecraft.client.renderer.tileentity;
+
+import static net.lax1dude.eaglercraft.v1_8.internal.PlatformOpenGL.*;
+import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.lax1dude.eaglercraft.v1_8.internal.IFramebufferGL;
+import net.lax1dude.eaglercraft.v1_8.internal.buffer.ByteBuffer;
+import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
+import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.tileentity.TileEntitySign;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class SignTextAtlas {
+
+	private static final int _GL_FRAMEBUFFER = 0x8D40;
+	private static final int _GL_COLOR_ATTACHMENT0 = 0x8CE0;
+
+	public static final int ATLAS_SIZE = 2048;
+
+	/**
+	 * The text of a sign is at most 90 pixels of the font wide and 4 lines high,
+	 * centered on 0, 0. It is drawn into the atlas at twice the size of the font
+	 * so the unicode font keeps its detail
+	 */
+	public static final int SLOT_WIDTH = 96;
+	public static final int SLOT_HEIGHT = 42;
+	public static final int TEXT_SCALE = 2;
+
+	/**
+	 * Signs that are missing their text are drawn with the font and baked at the
+	 * start of the next frame, at most this many per frame so loading a town full
+	 * of signs does not stall
+	 */
+	public static final int MAX_BAKES_PER_FRAME = 16;
+
+	private static final int SLOT_PIXELS_X = SLOT_WIDTH * TEXT_SCALE;
+	private static final int SLOT_PIXELS_Y = SLOT_HEIGHT * TEXT_SCALE;
+	private static final int SLOTS_PER_ROW = ATLAS_SIZE / SLOT_PIXELS_X;
+	private static final int SLOT_ROWS = ATLAS_SIZE / SLOT_PIXELS_Y;
+
+	private final TileEntitySign[] slots = new TileEntitySign[SLOTS_PER_ROW * SLOT_ROWS];
+	private final List<TileEntitySign> pending = new ArrayList();
+
+	private IFramebufferGL framebuffer = null;
+	private int glTexture = -1;
+	private int frameCounter = 0;
+
+	/**
+	 * Draws the baked text of the sign centered on 0, 0 in the coordinates the
+	 * font would use and returns true, or returns false and queues the text to be
+	 * baked if the sign must be drawn with the font this frame
+	 */
+	public boolean drawText(TileEntitySign sign) {
+		sign.textLastUsedFrame = frameCounter;
+		int slot = sign.textSlot;
+		if (slot == -1 || slots[slot] != sign || sign.textTextureDirty) {
+			if (!sign.textTextureQueued) {
+				sign.textTextureQueued = true;
+				pending.add(sign);
+			}
+			return false;
+		}
+
+		float minU = (float) ((slot % SLOTS_PER_ROW) * SLOT_PIXELS_X) / (float) ATLAS_SIZE;
+		float minV = (float) ((slot / SLOTS_PER_ROW) * SLOT_PIXELS_Y) / (float) ATLAS_SIZE;
+		float maxU = minU + (float) SLOT_PIXELS_X / (float) ATLAS_SIZE;
+		float maxV = minV + (float) SLOT_PIXELS_Y / (float) ATLAS_SIZE;
+		double x = (double) (SLOT_WIDTH / 2);
+		double y = (double) SLOT_HEIGHT * 0.5D;
+
+		boolean alpha = GlStateManager.isAlphaEnabled();
+		GlStateManager.bindTexture(glTexture);
+		GlStateManager.enableAlpha();
+		Tessellator tessellator = Tessellator.getInstance();
+		WorldRenderer worldrenderer = tessellator.getWorldRenderer();
+		worldrenderer.begin(7, DefaultVertexFormats.POSITION_TEX);
+		worldrenderer.pos(-x, y, 0.0D).tex((double) minU, (double) minV).endVertex();
+		worldrenderer.pos(x, y, 0.0D).tex((double) maxU, (double) minV).endVertex();
+		worldrenderer.pos(x, -y, 0.0D).tex((double) maxU, (double) maxV).endVertex();
+		worldrenderer.pos(-x, -y, 0.0D).tex((double) minU, (double) maxV).endVertex();
+		tessellator.draw();
+		if (!alpha) {
+			GlStateManager.disableAlpha();
+		}
+		return true;
+	}
+
+	/**
+	 * Must be called while the default framebuffer is bound, before the world is
+	 * rendered
+	 */
+	public void bakePending(FontRenderer fontRenderer) {
+		++frameCounter;
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		if (framebuffer == null) {
+			framebuffer = _wglCreateFramebuffer();
+			glTexture = GlStateManager.generateTexture();
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, framebuffer);
+			GlStateManager.bindTexture(glTexture);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+			_wglTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+			_wglTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA8, ATLAS_SIZE, ATLAS_SIZE, 0, GL_RGBA, GL_UNSIGNED_BYTE,
+					(ByteBuffer) null);
+			_wglFramebufferTexture2D(_GL_FRAMEBUFFER, _GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D,
+					EaglercraftGPU.getNativeTexture(glTexture), 0);
+		} else {
+			_wglBindFramebuffer(_GL_FRAMEBUFFER, framebuffer);
+		}
+
+		GlStateManager.matrixMode(GL_PROJECTION);
+		GlStateManager.pushMatrix();
+		GlStateManager.loadIdentity();
+		GlStateManager.ortho((double) (-SLOT_WIDTH / 2), (double) (SLOT_WIDTH / 2), (double) SLOT_HEIGHT * 0.5D,
+				(double) SLOT_HEIGHT * -0.5D, 1000.0D, 3000.0D);
+		GlStateManager.matrixMode(GL_MODELVIEW);
+		GlStateManager.pushMatrix();
+		GlStateManager.loadIdentity();
+		GlStateManager.translate(0.0F, 0.0F, -2000.0F);
+		GlStateManager.disableLighting();
+		GlStateManager.disableFog();
+		GlStateManager.disableDepth();
+		GlStateManager.enableTexture2D();
+		GlStateManager.colorMask(true, true, true, true);
+		GlStateManager.clearColor(0.0f, 0.0f, 0.0f, 0.0f);
+		GlStateManager.enableOverlayFramebufferBlending();
+		GlStateManager.enableBlend();
+		GlStateManager.blendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+		_wglEnable(GL_SCISSOR_TEST);
+
+		for (int baked = 0; baked < MAX_BAKES_PER_FRAME && !pending.isEmpty();) {
+			TileEntitySign sign = pending.remove(pending.size() - 1);
+			sign.textTextureQueued = false;
+			if (sign.isInvalid()) {
+				continue;
+			}
+			int slot = sign.textSlot;
+			if (slot == -1 || slots[slot] != sign) {
+				slot = allocateSlot();
+				if (slot == -1) {
+					// every slot holds the text of a sign that was on the screen last frame
+					continue;
+				}
+				slots[slot] = sign;
+				sign.textSlot = slot;
+			}
+			int sx = (slot % SLOTS_PER_ROW) * SLOT_PIXELS_X;
+			int sy = (slot / SLOTS_PER_ROW) * SLOT_PIXELS_Y;
+			GlStateManager.viewport(sx, sy, SLOT_PIXELS_X, SLOT_PIXELS_Y);
+			_wglScissor(sx, sy, SLOT_PIXELS_X, SLOT_PIXELS_Y);
+			GlStateManager.clear(GL_COLOR_BUFFER_BIT);
+			for (int j = 0; j < sign.renderedLines.length; ++j) {
+				String s = sign.renderedLines[j];
+				if (s != null) {
+					fontRenderer.drawString(s, sign.renderedLinesX[j], j * 10 - sign.renderedLines.length * 5, 0);
+				}
+			}
+			sign.textTextureDirty = false;
+			++baked;
+		}
+
+		_wglDisable(GL_SCISSOR_TEST);
+		GlStateManager.disableBlend();
+		GlStateManager.disableOverlayFramebufferBlending();
+		GlStateManager.enableDepth();
+		GlStateManager.matrixMode(GL_PROJECTION);
+		GlStateManager.popMatrix();
+		GlStateManager.matrixMode(GL_MODELVIEW);
+		GlStateManager.popMatrix();
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+		_wglBindFramebuffer(_GL_FRAMEBUFFER, null);
+		Minecraft mc = Minecraft.getMinecraft();
+		GlStateManager.viewport(0, 0, mc.displayWidth, mc.displayHeight);
+	}
+
+	/**
+	 * Returns a free slot, or the slot of the sign that has gone the longest
+	 * without being drawn if it was not drawn last frame, or -1 if there is none
+	 */
+	private int allocateSlot() {
+		int oldest = -1;
+		int oldestFrame = frameCounter - 1;
+		for (int i = 0; i < slots.length; ++i) {
+			TileEntitySign sign = slots[i];
+			if (sign == null) {
+				return i;
+			}
+			if (sign.textLastUsedFrame < oldestFrame) {
+				oldest = i;
+				oldestFrame = sign.textLastUsedFrame;
+			}
+		}
+		return oldest;
+	}
+
+	/**
+	 * Called when a sign is invalidated, its slot is freed for the next sign
+	 * instead of waiting to become the oldest one
+	 */
+	public void releaseSlot(TileEntitySign sign) {
+		int slot = sign.textSlot;
+		if (slot != -1 && slots[slot] == sign) {
+			slots[slot] = null;
+		}
+		sign.textSlot = -1;
+	}
+
+	/**
+	 * Called when the world changes, the signs of the old world are let go
+	 */
+	public void invalidate() {
+		for (int i = 0; i < slots.length; ++i) {
+			slots[i] = null;
+		}
+		for (int i = 0, l = pending.size(); i < l; ++i) {
+			pending.get(i).textTextureQueued = false;
+		}
+		pending.clear();
+	}
+
+}
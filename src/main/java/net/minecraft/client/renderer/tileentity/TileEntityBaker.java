@@ -0,0 +1,130 @@
+package net.minecraft.client.renderer.tileentity;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.WorldRenderer;
+import net.lax1dude.eaglercraft.v1_8.vector.Matrix4f;
+import net.lax1dude.eaglercraft.v1_8.vector.Vector3f;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class TileEntityBaker {
+
+	private static final float toRad = 0.0174532925f;
+
+	private final Matrix4f[] matrixStack = new Matrix4f[8];
+	private int matrixStackPointer = 0;
+	private final Vector3f paramVector = new Vector3f();
+
+	private WorldRenderer worldRenderer = null;
+	private int lightmapSky = 0;
+	private int lightmapBlock = 0;
+
+	public TileEntityBaker() {
+		for (int i = 0; i < matrixStack.length; ++i) {
+			matrixStack[i] = new Matrix4f();
+		}
+	}
+
+	/**
+	 * Starts baking into the world renderer, which must already be building
+	 * quads in VertexFormat.BLOCK_SHADERS
+	 */
+	public void begin(WorldRenderer worldRenderer) {
+		this.worldRenderer = worldRenderer;
+		this.matrixStackPointer = 0;
+		this.matrixStack[0].setIdentity();
+	}
+
+	public void end() {
+		this.worldRenderer = null;
+	}
+
+	/**
+	 * The same packed sky and block light that TileEntityRendererDispatcher
+	 * passes to setLightmapTextureCoords, it is stored in each vertex instead
+	 */
+	public void setLightmap(int combinedLight) {
+		this.lightmapBlock = combinedLight & 0xFFFF;
+		this.lightmapSky = combinedLight >>> 16;
+	}
+
+	public void loadIdentity() {
+		matrixStack[matrixStackPointer].setIdentity();
+	}
+
+	public void pushMatrix() {
+		if (matrixStackPointer == matrixStack.length - 1) {
+			throw new IndexOutOfBoundsException("TileEntityBaker matrix stack overflow");
+		}
+		matrixStack[matrixStackPointer + 1].load(matrixStack[matrixStackPointer]);
+		++matrixStackPointer;
+	}
+
+	public void popMatrix() {
+		if (matrixStackPointer == 0) {
+			throw new IndexOutOfBoundsException("TileEntityBaker matrix stack underflow");
+		}
+		--matrixStackPointer;
+	}
+
+	public void translate(float x, float y, float z) {
+		paramVector.set(x, y, z);
+		matrixStack[matrixStackPointer].translate(paramVector);
+	}
+
+	/**
+	 * Angle is in degrees like GlStateManager.rotate
+	 */
+	public void rotate(float angle, float x, float y, float z) {
+		paramVector.set(x, y, z);
+		matrixStack[matrixStackPointer].rotate(angle * toRad, paramVector);
+	}
+
+	public void scale(float x, float y, float z) {
+		paramVector.set(x, y, z);
+		matrixStack[matrixStackPointer].scale(paramVector);
+	}
+
+	/**
+	 * Adds one vertex of a quad transformed by the current matrix, the normal of
+	 * the quad is added with endQuad after its fourth vertex
+	 */
+	public void addVertex(float x, float y, float z, float u, float v) {
+		Matrix4f m = matrixStack[matrixStackPointer];
+		WorldRenderer w = worldRenderer;
+		w.pos(m.m00 * x + m.m10 * y + m.m20 * z + m.m30, m.m01 * x + m.m11 * y + m.m21 * z + m.m31,
+				m.m02 * x + m.m12 * y + m.m22 * z + m.m32).color(255, 255, 255, 255).tex(u, v)
+				.lightmap(lightmapSky, lightmapBlock).endVertex();
+	}
+
+	/**
+	 * The scales used by the tile entity renderers have the same size on every
+	 * axis, so transforming the normal and normalizing it again is the same as
+	 * GL_RESCALE_NORMAL
+	 */
+	public void endQuad(float nx, float ny, float nz) {
+		Matrix4f m = matrixStack[matrixStackPointer];
+		float x = m.m00 * nx + m.m10 * ny + m.m20 * nz;
+		float y = m.m01 * nx + m.m11 * ny + m.m21 * nz;
+		float z = m.m02 * nx + m.m12 * ny + m.m22 * nz;
+		float f = x * x + y * y + z * z;
+		if (f > 0.0f) {
+			f = 1.0f / (float) Math.sqrt(f);
+			x *= f;
+			y *= f;
+			z *= f;
+		}
+		worldRenderer.putNormal(x, y, z);
+	}
+
+}
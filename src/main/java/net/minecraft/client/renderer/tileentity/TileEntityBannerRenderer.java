@@ -43,6 +43,42 @@ public class TileEntityBannerRenderer extends TileEntitySpecialRenderer<TileEnti
 
 	public void renderTileEntityAt(TileEntityBanner te, double x, double y, double z, float partialTicks,
 			int destroyStage) {
+		this.renderBanner(te, x, y, z, partialTicks, false);
+	}
+
+	/**
+	 * The stand and the top bar never move and look the same on every banner, so
+	 * they are baked with the base texture and only the cloth is drawn every
+	 * frame with the texture of the banner's patterns
+	 */
+	public ResourceLocation getStaticTexture(TileEntityBanner te) {
+		return te.getWorld() != null ? BANNERTEXTURES : null;
+	}
+
+	public void bakeStaticParts(TileEntityBanner te, TileEntityBaker baker) {
+		int i = te.getBlockMetadata();
+		float f = 0.6666667F;
+		if (te.getBlockType() == Blocks.standing_banner) {
+			baker.translate(0.5F, 0.75F * f, 0.5F);
+			baker.rotate(-(float) (i * 360) / 16.0F, 0.0F, 1.0F, 0.0F);
+			this.bannerModel.bannerStand.showModel = true;
+		} else {
+			baker.translate(0.5F, -0.25F * f, 0.5F);
+			baker.rotate(i == 2 ? -180.0F : (i == 4 ? -90.0F : (i == 5 ? 90.0F : 0.0F)), 0.0F, 1.0F, 0.0F);
+			baker.translate(0.0F, -0.3125F, -0.4375F);
+			this.bannerModel.bannerStand.showModel = false;
+		}
+
+		baker.scale(f, -f, -f);
+		this.bannerModel.bakeStand(baker);
+	}
+
+	public void renderDynamicParts(TileEntityBanner te, double x, double y, double z, float partialTicks) {
+		this.renderBanner(te, x, y, z, partialTicks, true);
+	}
+
+	private void renderBanner(TileEntityBanner te, double x, double y, double z, float partialTicks,
+			boolean slateOnly) {
 		boolean flag = te.getWorld() != null;
 		boolean flag1 = !flag || te.getBlockType() == Blocks.standing_banner;
 		int i = flag ? te.getBlockMetadata() : 0;
@@ -85,7 +121,11 @@ public class TileEntityBannerRenderer extends TileEntitySpecialRenderer<TileEnti
 			this.bindTexture(resourcelocation);
 			GlStateManager.pushMatrix();
 			GlStateManager.scale(f, -f, -f);
-			this.bannerModel.renderBanner();
+			if (slateOnly) {
+				this.bannerModel.renderSlate();
+			} else {
+				this.bannerModel.renderBanner();
+			}
 			GlStateManager.popMatrix();
 		}
 
@@ -53,10 +53,12 @@ public class TileEntityChestRenderer extends TileEntitySpecialRenderer<TileEntit
 
 	}
 
-	public void renderTileEntityAt(TileEntityChest tileentitychest, double d0, double d1, double d2, float f, int i) {
-		GlStateManager.enableDepth();
-		GlStateManager.depthFunc(GL_LEQUAL);
-		GlStateManager.depthMask(true);
+	public int getBatchKey(TileEntityChest tileentitychest) {
+		return (tileentitychest.getChestType() << 1)
+				| (tileentitychest.adjacentChestXPos != null || tileentitychest.adjacentChestZPos != null ? 1 : 0);
+	}
+
+	private static int updateChest(TileEntityChest tileentitychest) {
 		int j;
 		if (!tileentitychest.hasWorldObj()) {
 			j = 0;
@@ -71,6 +73,71 @@ public class TileEntityChestRenderer extends TileEntitySpecialRenderer<TileEntit
 
 			tileentitychest.checkForAdjacentChests();
 		}
+		return j;
+	}
+
+	/**
+	 * A chest is baked while its lid is closed, the second half of a double chest
+	 * is drawn by the first half and has nothing to bake
+	 */
+	public ResourceLocation getStaticTexture(TileEntityChest tileentitychest) {
+		if (!tileentitychest.hasWorldObj()) {
+			return null;
+		}
+		updateChest(tileentitychest);
+		if (tileentitychest.adjacentChestZNeg != null || tileentitychest.adjacentChestXNeg != null
+				|| tileentitychest.lidAngle != 0.0F || tileentitychest.prevLidAngle != 0.0F) {
+			return null;
+		}
+		boolean single = tileentitychest.adjacentChestXPos == null && tileentitychest.adjacentChestZPos == null;
+		if (this.isChristams) {
+			return single ? textureChristmas : textureChristmasDouble;
+		} else if (tileentitychest.getChestType() == 1) {
+			return single ? textureTrapped : textureTrappedDouble;
+		} else {
+			return single ? textureNormal : textureNormalDouble;
+		}
+	}
+
+	public void bakeStaticParts(TileEntityChest tileentitychest, TileEntityBaker baker) {
+		int j = tileentitychest.getBlockMetadata();
+		ModelChest modelchest = tileentitychest.adjacentChestXPos == null && tileentitychest.adjacentChestZPos == null
+				? this.simpleChest
+				: this.largeChest;
+		baker.translate(0.0F, 1.0F, 1.0F);
+		baker.scale(1.0F, -1.0F, -1.0F);
+		baker.translate(0.5F, 0.5F, 0.5F);
+		if (j == 2 && tileentitychest.adjacentChestXPos != null) {
+			baker.translate(1.0F, 0.0F, 0.0F);
+		}
+
+		if (j == 5 && tileentitychest.adjacentChestZPos != null) {
+			baker.translate(0.0F, 0.0F, -1.0F);
+		}
+
+		baker.rotate((float) getRotation(j), 0.0F, 1.0F, 0.0F);
+		baker.translate(-0.5F, -0.5F, -0.5F);
+		modelchest.bakeClosed(baker);
+	}
+
+	private static int getRotation(int meta) {
+		switch (meta) {
+		case 2:
+			return 180;
+		case 4:
+			return 90;
+		case 5:
+			return -90;
+		default:
+			return 0;
+		}
+	}
+
+	public void renderTileEntityAt(TileEntityChest tileentitychest, double d0, double d1, double d2, float f, int i) {
+		GlStateManager.enableDepth();
+		GlStateManager.depthFunc(GL_LEQUAL);
+		GlStateManager.depthMask(true);
+		int j = updateChest(tileentitychest);
 
 		if (tileentitychest.adjacentChestZNeg == null && tileentitychest.adjacentChestXNeg == null) {
 			ModelChest modelchest;
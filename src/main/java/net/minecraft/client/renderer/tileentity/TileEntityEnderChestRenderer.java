@@ -29,6 +29,21 @@ public class TileEntityEnderChestRenderer extends TileEntitySpecialRenderer<Tile
 	private static final ResourceLocation ENDER_CHEST_TEXTURE = new ResourceLocation("textures/entity/chest/ender.png");
 	private ModelChest field_147521_c = new ModelChest();
 
+	public ResourceLocation getStaticTexture(TileEntityEnderChest tileentityenderchest) {
+		return tileentityenderchest.hasWorldObj() && tileentityenderchest.lidAngle == 0.0F
+				&& tileentityenderchest.prevLidAngle == 0.0F ? ENDER_CHEST_TEXTURE : null;
+	}
+
+	public void bakeStaticParts(TileEntityEnderChest tileentityenderchest, TileEntityBaker baker) {
+		int j = tileentityenderchest.getBlockMetadata();
+		baker.translate(0.0F, 1.0F, 1.0F);
+		baker.scale(1.0F, -1.0F, -1.0F);
+		baker.translate(0.5F, 0.5F, 0.5F);
+		baker.rotate(j == 2 ? 180.0F : (j == 4 ? 90.0F : (j == 5 ? -90.0F : 0.0F)), 0.0F, 1.0F, 0.0F);
+		baker.translate(-0.5F, -0.5F, -0.5F);
+		this.field_147521_c.bakeClosed(baker);
+	}
+
 	public void renderTileEntityAt(TileEntityEnderChest tileentityenderchest, double d0, double d1, double d2, float f,
 			int i) {
 		int j = 0;
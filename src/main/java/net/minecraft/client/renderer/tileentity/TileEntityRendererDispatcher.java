@@ -1,12 +1,18 @@
 package net.minecraft.client.renderer.tileentity;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
+import net.lax1dude.eaglercraft.v1_8.opengl.EaglercraftGPU;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
 import net.lax1dude.eaglercraft.v1_8.opengl.OpenGlHelper;
 import net.minecraft.client.gui.FontRenderer;
+import net.minecraft.client.renderer.chunk.RenderChunk;
 import net.minecraft.client.renderer.texture.TextureManager;
 import net.minecraft.crash.CrashReport;
 import net.minecraft.crash.CrashReportCategory;
@@ -24,6 +30,7 @@ import net.minecraft.tileentity.TileEntitySign;
 import net.minecraft.tileentity.TileEntitySkull;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.ReportedException;
+import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 
 /**+
@@ -52,6 +59,12 @@ public class TileEntityRendererDispatcher {
 	public static double staticPlayerX;
 	public static double staticPlayerY;
 	public static double staticPlayerZ;
+
+	/**
+	 * The same distance as TileEntity.getMaxRenderDistanceSquared, measured to
+	 * the nearest point of the render chunk
+	 */
+	private static final double BAKED_RENDER_DISTANCE_SQUARED = 4096.0D;
 	public TextureManager renderEngine;
 	public World worldObj;
 	public Entity entity;
@@ -60,6 +73,22 @@ public class TileEntityRendererDispatcher {
 	public double entityX;
 	public double entityY;
 	public double entityZ;
+	private final Map<TileEntitySpecialRenderer<? extends TileEntity>, List<TileEntity>> batches = Maps
+			.newIdentityHashMap();
+	private final Map<TileEntitySpecialRenderer<? extends TileEntity>, List<TileEntity>> dynamicBatches = Maps
+			.newIdentityHashMap();
+	private final List<TileEntitySpecialRenderer<? extends TileEntity>> batchRenderers = Lists.newArrayList();
+	private final List<RenderChunk> bakedChunks = Lists.newArrayList();
+	private final List<ResourceLocation> bakedTextures = Lists.newArrayList();
+	public final SignTextAtlas signTextAtlas = new SignTextAtlas();
+	private TileEntitySpecialRenderer batchKeyRenderer;
+	private final Comparator<TileEntity> batchKeyComparator = new Comparator<TileEntity>() {
+		public int compare(TileEntity o1, TileEntity o2) {
+			int k1 = batchKeyRenderer.getBatchKey(o1);
+			int k2 = batchKeyRenderer.getBatchKey(o2);
+			return k1 < k2 ? -1 : (k1 == k2 ? 0 : 1);
+		}
+	};
 
 	private TileEntityRendererDispatcher() {
 		this.mapSpecialRenderers.put(TileEntitySign.class, new TileEntitySignRenderer());
@@ -114,6 +143,15 @@ public class TileEntityRendererDispatcher {
 	}
 
 	public void renderTileEntity(TileEntity tileentityIn, float partialTicks, int destroyStage) {
+		this.renderTileEntity(tileentityIn, partialTicks, destroyStage, false);
+	}
+
+	/**
+	 * If staticPartsBaked is true only the parts of the tile entity that are not
+	 * in the display lists of its render chunk are drawn
+	 */
+	public void renderTileEntity(TileEntity tileentityIn, float partialTicks, int destroyStage,
+			boolean staticPartsBaked) {
 		if (tileentityIn.getDistanceSq(this.entityX, this.entityY, this.entityZ) < tileentityIn
 				.getMaxRenderDistanceSquared()) {
 			int i = this.worldObj.getCombinedLight(tileentityIn.getPos(), 0);
@@ -122,11 +160,171 @@ public class TileEntityRendererDispatcher {
 			OpenGlHelper.setLightmapTextureCoords(OpenGlHelper.lightmapTexUnit, (float) j / 1.0F, (float) k / 1.0F);
 			GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
 			BlockPos blockpos = tileentityIn.getPos();
-			this.renderTileEntityAt(tileentityIn, (double) blockpos.getX() - staticPlayerX,
-					(double) blockpos.getY() - staticPlayerY, (double) blockpos.getZ() - staticPlayerZ, partialTicks,
-					destroyStage);
+			double d0 = (double) blockpos.getX() - staticPlayerX;
+			double d1 = (double) blockpos.getY() - staticPlayerY;
+			double d2 = (double) blockpos.getZ() - staticPlayerZ;
+			if (staticPartsBaked && destroyStage < 0) {
+				this.renderDynamicParts(tileentityIn, d0, d1, d2, partialTicks);
+			} else {
+				this.renderTileEntityAt(tileentityIn, d0, d1, d2, partialTicks, destroyStage);
+			}
+		}
+
+	}
+
+	/**
+	 * Updates the baked static parts of the tile entities of the render chunk and
+	 * returns them, or returns null if the render chunk has nothing baked or is
+	 * too far away for its tile entities to be drawn
+	 */
+	private BakedTileEntities updateBakedTileEntities(RenderChunk renderChunk) {
+		BakedTileEntities baked = renderChunk.getBakedTileEntities();
+		BlockPos blockpos = renderChunk.getPosition();
+		if (!baked.update(this.worldObj, blockpos, renderChunk.getCompiledChunk(), this)) {
+			return null;
+		}
+		double d0 = Math.max(Math.max(blockpos.getX() - this.entityX, this.entityX - (blockpos.getX() + 16)), 0.0D);
+		double d1 = Math.max(Math.max(blockpos.getY() - this.entityY, this.entityY - (blockpos.getY() + 16)), 0.0D);
+		double d2 = Math.max(Math.max(blockpos.getZ() - this.entityZ, this.entityZ - (blockpos.getZ() + 16)), 0.0D);
+		return d0 * d0 + d1 * d1 + d2 * d2 < BAKED_RENDER_DISTANCE_SQUARED ? baked : null;
+	}
+
+	private void callBakedList(RenderChunk renderChunk, int displayList) {
+		BlockPos blockpos = renderChunk.getPosition();
+		GlStateManager.pushMatrix();
+		GlStateManager.translate((float) ((double) blockpos.getX() - staticPlayerX),
+				(float) ((double) blockpos.getY() - staticPlayerY), (float) ((double) blockpos.getZ() - staticPlayerZ));
+		EaglercraftGPU.glCallList(displayList);
+		GlStateManager.popMatrix();
+	}
+
+	/**
+	 * Draws the baked static parts and then the rest of every tile entity of the
+	 * render chunk right away, used by the passes that do not batch
+	 */
+	public void renderChunkTileEntities(RenderChunk renderChunk, float partialTicks) {
+		List<TileEntity> list = renderChunk.getCompiledChunk().getTileEntities();
+		if (list.isEmpty()) {
+			return;
+		}
+		BakedTileEntities baked = this.updateBakedTileEntities(renderChunk);
+		if (baked != null) {
+			GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+			for (int i = 0, l = baked.getListCount(); i < l; ++i) {
+				this.renderEngine.bindTexture(baked.getListTexture(i));
+				this.callBakedList(renderChunk, baked.getDisplayList(i));
+			}
 		}
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			this.renderTileEntity(list.get(i), partialTicks, -1, baked != null && baked.isBaked(i));
+		}
+	}
 
+	/**
+	 * Queues the tile entity to be drawn by renderBatch, the queued tile entities
+	 * are drawn grouped by renderer and sorted by the renderer's batch key so the
+	 * textures and GL state of each renderer are only set up once per group
+	 * instead of switching back and forth for every tile entity
+	 */
+	public void addToBatch(TileEntity tileentityIn) {
+		this.addToBatch(tileentityIn, false);
+	}
+
+	private void addToBatch(TileEntity tileentityIn, boolean staticPartsBaked) {
+		TileEntitySpecialRenderer tileentityspecialrenderer = this.getSpecialRenderer(tileentityIn);
+		if (tileentityspecialrenderer != null) {
+			if (!this.batches.containsKey(tileentityspecialrenderer)) {
+				this.batches.put(tileentityspecialrenderer, Lists.<TileEntity>newArrayList());
+				this.dynamicBatches.put(tileentityspecialrenderer, Lists.<TileEntity>newArrayList());
+				this.batchRenderers.add(tileentityspecialrenderer);
+			}
+			(staticPartsBaked ? this.dynamicBatches : this.batches).get(tileentityspecialrenderer).add(tileentityIn);
+		}
+	}
+
+	/**
+	 * Queues the baked static parts of the render chunk's tile entities and the
+	 * tile entities themselves, renderBatch draws the baked parts of all of the
+	 * queued render chunks grouped by texture before the tile entities
+	 */
+	public void addChunkToBatch(RenderChunk renderChunk) {
+		List<TileEntity> list = renderChunk.getCompiledChunk().getTileEntities();
+		if (list.isEmpty()) {
+			return;
+		}
+		BakedTileEntities baked = this.updateBakedTileEntities(renderChunk);
+		if (baked != null) {
+			this.bakedChunks.add(renderChunk);
+			for (int i = 0, l = baked.getListCount(); i < l; ++i) {
+				ResourceLocation resourcelocation = baked.getListTexture(i);
+				if (!this.bakedTextures.contains(resourcelocation)) {
+					this.bakedTextures.add(resourcelocation);
+				}
+			}
+		}
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			this.addToBatch(list.get(i), baked != null && baked.isBaked(i));
+		}
+	}
+
+	public void renderBatch(float partialTicks) {
+		if (!this.bakedChunks.isEmpty()) {
+			GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+			for (int i = 0, l = this.bakedTextures.size(); i < l; ++i) {
+				ResourceLocation resourcelocation = this.bakedTextures.get(i);
+				this.renderEngine.bindTexture(resourcelocation);
+				for (int j = 0, m = this.bakedChunks.size(); j < m; ++j) {
+					RenderChunk renderChunk = this.bakedChunks.get(j);
+					BakedTileEntities baked = renderChunk.getBakedTileEntities();
+					for (int k = 0, n = baked.getListCount(); k < n; ++k) {
+						if (resourcelocation.equals(baked.getListTexture(k))) {
+							this.callBakedList(renderChunk, baked.getDisplayList(k));
+							break;
+						}
+					}
+				}
+			}
+			this.bakedChunks.clear();
+			this.bakedTextures.clear();
+		}
+		for (int i = 0, l = this.batchRenderers.size(); i < l; ++i) {
+			TileEntitySpecialRenderer tileentityspecialrenderer = this.batchRenderers.get(i);
+			this.renderBatchList(tileentityspecialrenderer, this.batches.get(tileentityspecialrenderer), partialTicks,
+					false);
+			this.renderBatchList(tileentityspecialrenderer, this.dynamicBatches.get(tileentityspecialrenderer),
+					partialTicks, true);
+		}
+	}
+
+	private void renderBatchList(TileEntitySpecialRenderer tileentityspecialrenderer, List<TileEntity> list,
+			float partialTicks, boolean staticPartsBaked) {
+		int j = list.size();
+		if (j == 0) {
+			return;
+		}
+		if (j > 1) {
+			this.batchKeyRenderer = tileentityspecialrenderer;
+			Collections.sort(list, this.batchKeyComparator);
+			this.batchKeyRenderer = null;
+		}
+		for (int k = 0; k < j; ++k) {
+			this.renderTileEntity(list.get(k), partialTicks, -1, staticPartsBaked);
+		}
+		list.clear();
+	}
+
+	private void renderDynamicParts(TileEntity tileEntityIn, double x, double y, double z, float partialTicks) {
+		TileEntitySpecialRenderer tileentityspecialrenderer = this.getSpecialRenderer(tileEntityIn);
+		if (tileentityspecialrenderer != null) {
+			try {
+				tileentityspecialrenderer.renderDynamicParts(tileEntityIn, x, y, z, partialTicks);
+			} catch (Throwable throwable) {
+				CrashReport crashreport = CrashReport.makeCrashReport(throwable, "Rendering Block Entity");
+				CrashReportCategory crashreportcategory = crashreport.makeCategory("Block Entity Details");
+				tileEntityIn.addInfoToCrashReport(crashreportcategory);
+				throw new ReportedException(crashreport);
+			}
+		}
 	}
 
 	/**+
@@ -157,6 +355,7 @@ public class TileEntityRendererDispatcher {
 
 	public void setWorld(World worldIn) {
 		this.worldObj = worldIn;
+		this.signTextAtlas.invalidate();
 	}
 
 	public FontRenderer getFontRenderer() {
@@ -45,9 +45,72 @@ public class TileEntitySignRenderer extends TileEntitySpecialRenderer<TileEntity
 	 */
 	private final ModelSign model = new ModelSign();
 
-	public void renderTileEntityAt(TileEntitySign tileentitysign, double d0, double d1, double d2, float var8, int i) {
-		Block block = tileentitysign.getBlockType();
+	/**
+	 * Splitting, formatting and measuring the text of a sign is much slower than
+	 * drawing it, so it is only done again when the text has changed
+	 */
+	private static void updateTextLayout(TileEntitySign tileentitysign, FontRenderer fontrenderer) {
+		int serial = fontrenderer.getLayoutSerial();
+		boolean fontChanged = tileentitysign.renderedFontSerial != serial;
+		int edited = tileentitysign.lineBeingEdited;
+		int lastEdited = tileentitysign.renderedLineBeingEdited;
+		for (int j = 0; j < tileentitysign.signText.length; ++j) {
+			IChatComponent ichatcomponent = tileentitysign.signText[j];
+			if (!fontChanged && tileentitysign.renderedText[j] == ichatcomponent && (j == edited) == (j == lastEdited)) {
+				continue;
+			}
+			tileentitysign.renderedText[j] = ichatcomponent;
+			if (ichatcomponent != null) {
+				List list = GuiUtilRenderComponents.func_178908_a(ichatcomponent, 90, fontrenderer, false, true);
+				String s = list != null && list.size() > 0 ? ((IChatComponent) list.get(0)).getFormattedText() : "";
+				if (j == edited) {
+					s = "> " + s + " <";
+				}
+				tileentitysign.renderedLines[j] = s;
+				tileentitysign.renderedLinesX[j] = -fontrenderer.getStringWidth(s) / 2;
+			} else {
+				tileentitysign.renderedLines[j] = null;
+			}
+			tileentitysign.textTextureDirty = true;
+		}
+		tileentitysign.renderedFontSerial = serial;
+		tileentitysign.renderedLineBeingEdited = edited;
+	}
+
+	/**
+	 * The board and the stick are baked into the render chunk, only the text is
+	 * drawn every frame from the sign's slot in the SignTextAtlas
+	 */
+	public ResourceLocation getStaticTexture(TileEntitySign tileentitysign) {
+		return tileentitysign.hasWorldObj() ? SIGN_TEXTURE : null;
+	}
+
+	public void bakeStaticParts(TileEntitySign tileentitysign, TileEntityBaker baker) {
+		float f = 0.6666667F;
+		int k = tileentitysign.getBlockMetadata();
+		baker.translate(0.5F, 0.75F * f, 0.5F);
+		if (tileentitysign.getBlockType() == Blocks.standing_sign) {
+			baker.rotate(-(float) (k * 360) / 16.0F, 0.0F, 1.0F, 0.0F);
+			this.model.signStick.showModel = true;
+		} else {
+			baker.rotate(k == 2 ? -180.0F : (k == 4 ? -90.0F : (k == 5 ? 90.0F : 0.0F)), 0.0F, 1.0F, 0.0F);
+			baker.translate(0.0F, -0.3125F, -0.4375F);
+			this.model.signStick.showModel = false;
+		}
+
+		baker.scale(f, -f, -f);
+		this.model.bakeSign(baker);
+	}
+
+	public void renderDynamicParts(TileEntitySign tileentitysign, double d0, double d1, double d2, float var8) {
 		GlStateManager.pushMatrix();
+		this.setupTransform(tileentitysign, d0, d1, d2);
+		this.renderText(tileentitysign, true);
+		GlStateManager.popMatrix();
+	}
+
+	private void setupTransform(TileEntitySign tileentitysign, double d0, double d1, double d2) {
+		Block block = tileentitysign.getBlockType();
 		float f = 0.6666667F;
 		if (block == Blocks.standing_sign) {
 			GlStateManager.translate((float) d0 + 0.5F, (float) d1 + 0.75F * f, (float) d2 + 0.5F);
@@ -74,6 +137,12 @@ public class TileEntitySignRenderer extends TileEntitySpecialRenderer<TileEntity
 			GlStateManager.translate(0.0F, -0.3125F, -0.4375F);
 			this.model.signStick.showModel = false;
 		}
+	}
+
+	public void renderTileEntityAt(TileEntitySign tileentitysign, double d0, double d1, double d2, float var8, int i) {
+		GlStateManager.pushMatrix();
+		float f = 0.6666667F;
+		this.setupTransform(tileentitysign, d0, d1, d2);
 
 		if (i >= 0) {
 			this.bindTexture(DESTROY_STAGES[i]);
@@ -91,6 +160,18 @@ public class TileEntitySignRenderer extends TileEntitySpecialRenderer<TileEntity
 		GlStateManager.scale(f, -f, -f);
 		this.model.renderSign();
 		GlStateManager.popMatrix();
+		this.renderText(tileentitysign, i < 0);
+		GlStateManager.popMatrix();
+		if (i >= 0) {
+			GlStateManager.matrixMode(GL_TEXTURE);
+			GlStateManager.popMatrix();
+			GlStateManager.matrixMode(GL_MODELVIEW);
+		}
+
+	}
+
+	private void renderText(TileEntitySign tileentitysign, boolean drawText) {
+		float f = 0.6666667F;
 		FontRenderer fontrenderer = this.getFontRenderer();
 		float f3 = 0.015625F * f;
 		GlStateManager.translate(0.0F, 0.5F * f, 0.07F * f);
@@ -98,23 +179,19 @@ public class TileEntitySignRenderer extends TileEntitySpecialRenderer<TileEntity
 		EaglercraftGPU.glNormal3f(0.0F, 0.0F, -1.0F * f3);
 		GlStateManager.depthMask(false);
 		byte b0 = 0;
-		if (i < 0) {
+		if (drawText) {
 			if (DeferredStateManager.isInDeferredPass()) {
 				_wglDrawBuffers(_GL_COLOR_ATTACHMENT0);
 				GlStateManager.colorMask(true, true, true, false);
 				GlStateManager.color(1.0f, 1.0f, 1.0f, 1.0f);
 			}
-			for (int j = 0; j < tileentitysign.signText.length; ++j) {
-				if (tileentitysign.signText[j] != null) {
-					IChatComponent ichatcomponent = tileentitysign.signText[j];
-					List list = GuiUtilRenderComponents.func_178908_a(ichatcomponent, 90, fontrenderer, false, true);
-					String s = list != null && list.size() > 0 ? ((IChatComponent) list.get(0)).getFormattedText() : "";
-					if (j == tileentitysign.lineBeingEdited) {
-						s = "> " + s + " <";
-						fontrenderer.drawString(s, -fontrenderer.getStringWidth(s) / 2,
-								j * 10 - tileentitysign.signText.length * 5, b0);
-					} else {
-						fontrenderer.drawString(s, -fontrenderer.getStringWidth(s) / 2,
+			updateTextLayout(tileentitysign, fontrenderer);
+			if (tileentitysign.lineBeingEdited != -1
+					|| !this.rendererDispatcher.signTextAtlas.drawText(tileentitysign)) {
+				for (int j = 0; j < tileentitysign.signText.length; ++j) {
+					String s = tileentitysign.renderedLines[j];
+					if (s != null) {
+						fontrenderer.drawString(s, tileentitysign.renderedLinesX[j],
 								j * 10 - tileentitysign.signText.length * 5, b0);
 					}
 				}
@@ -127,12 +204,5 @@ public class TileEntitySignRenderer extends TileEntitySpecialRenderer<TileEntity
 
 		GlStateManager.depthMask(true);
 		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-		GlStateManager.popMatrix();
-		if (i >= 0) {
-			GlStateManager.matrixMode(GL_TEXTURE);
-			GlStateManager.popMatrix();
-			GlStateManager.matrixMode(GL_MODELVIEW);
-		}
-
 	}
 }
\ No newline at end of file
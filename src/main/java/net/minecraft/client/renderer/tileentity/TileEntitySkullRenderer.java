@@ -4,6 +4,7 @@ import static net.lax1dude.eaglercraft.v1_8.opengl.RealOpenGLEnums.*;
 
 import net.lax1dude.eaglercraft.v1_8.mojang.authlib.GameProfile;
 import net.lax1dude.eaglercraft.v1_8.opengl.GlStateManager;
+import net.lax1dude.eaglercraft.v1_8.profile.SkinTextureAtlas;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.ModelHumanoidHead;
 import net.minecraft.client.model.ModelSkeletonHead;
@@ -44,6 +45,10 @@ public class TileEntitySkullRenderer extends TileEntitySpecialRenderer<TileEntit
 	private final ModelSkeletonHead skeletonHead = new ModelSkeletonHead(0, 0, 64, 32);
 	private final ModelSkeletonHead humanoidHead = new ModelHumanoidHead();
 
+	public int getBatchKey(TileEntitySkull tileentityskull) {
+		return tileentityskull.getSkullType();
+	}
+
 	public void renderTileEntityAt(TileEntitySkull tileentityskull, double d0, double d1, double d2, float var8,
 			int i) {
 		EnumFacing enumfacing = EnumFacing.getFront(tileentityskull.getBlockMetadata() & 7);
@@ -60,6 +65,7 @@ public class TileEntitySkullRenderer extends TileEntitySpecialRenderer<TileEntit
 	public void renderSkull(float parFloat1, float parFloat2, float parFloat3, EnumFacing parEnumFacing,
 			float parFloat4, int parInt1, GameProfile parGameProfile, int parInt2) {
 		ModelSkeletonHead modelskeletonhead = this.skeletonHead;
+		boolean flag = false;
 		if (parInt2 >= 0) {
 			this.bindTexture(DESTROY_STAGES[parInt2]);
 			GlStateManager.matrixMode(GL_TEXTURE);
@@ -90,6 +96,7 @@ public class TileEntitySkullRenderer extends TileEntitySpecialRenderer<TileEntit
 					}
 				}
 				this.bindTexture(resourcelocation);
+				flag = SkinTextureAtlas.pushTextureMatrix(resourcelocation);
 				break;
 			case 4:
 				this.bindTexture(CREEPER_TEXTURES);
@@ -126,6 +133,9 @@ public class TileEntitySkullRenderer extends TileEntitySpecialRenderer<TileEntit
 		GlStateManager.enableAlpha();
 		modelskeletonhead.render((Entity) null, 0.0F, 0.0F, 0.0F, parFloat4, 0.0F, f);
 		GlStateManager.popMatrix();
+		if (flag) {
+			SkinTextureAtlas.popTextureMatrix();
+		}
 		if (parInt2 >= 0) {
 			GlStateManager.matrixMode(GL_TEXTURE);
 			GlStateManager.popMatrix();
@@ -45,4 +45,35 @@ public abstract class TileEntitySpecialRenderer<T extends TileEntity> {
 	public boolean func_181055_a() {
 		return false;
 	}
+
+	/**
+	 * Tile entities queued with TileEntityRendererDispatcher.addToBatch are drawn
+	 * sorted by this key within each renderer's group, renderers that bind a
+	 * different texture depending on the tile entity should return a different
+	 * key for each texture
+	 */
+	public int getBatchKey(T tileEntity) {
+		return 0;
+	}
+
+	/**
+	 * Returns the texture of the parts of the tile entity that do not move, or
+	 * null if the whole tile entity has to be drawn by renderTileEntityAt every
+	 * frame. The parts that do not move are baked into the render chunk of the
+	 * tile entity by bakeStaticParts, and only renderDynamicParts is called for
+	 * it while the texture stays the same
+	 */
+	public ResourceLocation getStaticTexture(T tileEntity) {
+		return null;
+	}
+
+	/**
+	 * The baker is already translated to the position of the tile entity in its
+	 * render chunk
+	 */
+	public void bakeStaticParts(T tileEntity, TileEntityBaker baker) {
+	}
+
+	public void renderDynamicParts(T tileEntity, double x, double y, double z, float partialTicks) {
+	}
 }
\ No newline at end of file
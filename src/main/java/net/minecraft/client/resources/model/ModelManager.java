@@ -1,6 +1,9 @@
 package net.minecraft.client.resources.model;
 
+import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
+import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 import net.minecraft.client.renderer.BlockModelShapes;
+import net.minecraft.client.renderer.block.model.BakedQuadPool;
 import net.minecraft.client.renderer.texture.TextureMap;
 import net.minecraft.client.resources.IResourceManager;
 import net.minecraft.client.resources.IResourceManagerReloadListener;
@@ -25,10 +28,12 @@ import net.minecraft.util.IRegistry;
  * 
  */
 public class ModelManager implements IResourceManagerReloadListener {
+	private static final Logger logger = LogManager.getLogger();
 	private IRegistry<ModelResourceLocation, IBakedModel> modelRegistry;
 	private final TextureMap texMap;
 	private final BlockModelShapes modelProvider;
 	private IBakedModel defaultModel;
+	private BakedQuadPool quadPool;
 
 	public ModelManager(TextureMap textures) {
 		this.texMap = textures;
@@ -39,6 +44,9 @@ public class ModelManager implements IResourceManagerReloadListener {
 		ModelBakery modelbakery = new ModelBakery(iresourcemanager, this.texMap, this.modelProvider);
 		this.modelRegistry = modelbakery.setupModelRegistry();
 		this.defaultModel = (IBakedModel) this.modelRegistry.getObject(ModelBakery.MODEL_MISSING);
+		this.quadPool = BakedQuadPool.compact(this.modelRegistry);
+		logger.info("Packed {} baked quads ({} unique) into {} KB", this.quadPool.getQuadCount(),
+				this.quadPool.getUniqueQuadCount(), this.quadPool.getPoolSizeBytes() / 1024);
 		this.modelProvider.reloadModels();
 	}
 
@@ -59,6 +67,10 @@ public class ModelManager implements IResourceManagerReloadListener {
 		return this.texMap;
 	}
 
+	public BakedQuadPool getQuadPool() {
+		return this.quadPool;
+	}
+
 	public BlockModelShapes getBlockModelShapes() {
 		return this.modelProvider;
 	}
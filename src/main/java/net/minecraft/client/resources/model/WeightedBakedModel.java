@@ -49,6 +49,14 @@ public class WeightedBakedModel implements IBakedModel {
 		return this.baseModel.getGeneralQuads();
 	}
 
+	public int getModelCount() {
+		return this.models.size();
+	}
+
+	public IBakedModel getModel(int index) {
+		return this.models.get(index).model;
+	}
+
 	public boolean isAmbientOcclusion() {
 		return this.baseModel.isAmbientOcclusion();
 	}
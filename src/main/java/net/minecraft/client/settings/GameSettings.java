@@ -192,6 +192,7 @@ public class GameSettings {
 	public boolean shadersAODisable = false;
 	public EaglerDeferredConfig deferredShaderConf = new EaglerDeferredConfig();
 	public int fastMath = 1;
+	public boolean dynamicResolution = false;
 
 	public GameSettings(Minecraft mcIn) {
 		this.keyBindings = (KeyBinding[]) ArrayUtils.addAll(new KeyBinding[] { this.keyBindAttack, this.keyBindUseItem,
@@ -443,6 +444,11 @@ public class GameSettings {
 			this.fastMath = (this.fastMath + parInt1) % 3;
 		}
 
+		if (parOptions == GameSettings.Options.DYNAMIC_RESOLUTION) {
+			this.dynamicResolution = !this.dynamicResolution;
+			this.mc.entityRenderer.getDynamicResolution().reset();
+		}
+
 		this.saveOptions();
 	}
 
@@ -513,6 +519,8 @@ public class GameSettings {
 			return this.chunkFix;
 		case FOG:
 			return this.fog;
+		case DYNAMIC_RESOLUTION:
+			return this.dynamicResolution;
 		case FULLSCREEN:
 			return this.mc.isFullScreen();
 		default:
@@ -901,6 +909,10 @@ public class GameSettings {
 						this.fastMath = Integer.parseInt(astring[1]);
 					}
 
+					if (astring[0].equals("dynamicResolution")) {
+						this.dynamicResolution = astring[1].equals("true");
+					}
+
 					for (KeyBinding keybinding : this.keyBindings) {
 						if (astring[0].equals("key_" + keybinding.getKeyDescription())) {
 							keybinding.setKeyCode(Integer.parseInt(astring[1]));
@@ -1017,6 +1029,7 @@ public class GameSettings {
 			printwriter.println("fog:" + this.fog);
 			printwriter.println("fxaa:" + this.fxaa);
 			printwriter.println("fastMath:" + this.fastMath);
+			printwriter.println("dynamicResolution:" + this.dynamicResolution);
 			printwriter.println("shaders:" + this.shaders);
 
 			for (KeyBinding keybinding : this.keyBindings) {
@@ -1150,7 +1163,8 @@ public class GameSettings {
 		HUD_WORLD("options.hud.world", false, true), HUD_PLAYER("options.hud.player", false, true),
 		HUD_24H("options.hud.24h", false, true), CHUNK_FIX("options.chunkFix", false, true),
 		FOG("options.fog", false, true), FXAA("options.fxaa", false, false),
-		FULLSCREEN("options.fullscreen", false, true), FAST_MATH("options.fastMath", false, false);
+		FULLSCREEN("options.fullscreen", false, true), FAST_MATH("options.fastMath", false, false),
+		DYNAMIC_RESOLUTION("options.dynamicResolution", false, true);
 
 		private final boolean enumFloat;
 		private final boolean enumBoolean;
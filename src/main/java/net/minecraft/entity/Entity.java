@@ -34,6 +34,7 @@ import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.ChatComponentText;
+import net.minecraft.util.CollisionBoxBuffer;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
@@ -388,12 +389,16 @@ public abstract class Entity {
 			double d3 = x;
 			double d4 = y;
 			double d5 = z;
+			CollisionBoxBuffer buf = this.worldObj.getCollisionBoxBuffer();
+			double[] start = buf.boxA;
+			double[] cur = buf.boxB;
+			double[] query = buf.boxC;
+			CollisionBoxBuffer.set(start, this.getEntityBoundingBox());
+			CollisionBoxBuffer.set(cur, start);
 			boolean flag = this.onGround && this.isSneaking() && this instanceof EntityPlayer;
 			if (flag) {
 				double d6;
-				for (d6 = 0.05D; x != 0.0D && this.worldObj
-						.getCollidingBoundingBoxes(this, this.getEntityBoundingBox().offset(x, -1.0D, 0.0D))
-						.isEmpty(); d3 = x) {
+				for (d6 = 0.05D; x != 0.0D && isCollisionFreeAt(buf, start, query, x, -1.0D, 0.0D); d3 = x) {
 					if (x < d6 && x >= -d6) {
 						x = 0.0D;
 					} else if (x > 0.0D) {
@@ -403,9 +408,7 @@ public abstract class Entity {
 					}
 				}
 
-				for (; z != 0.0D && this.worldObj
-						.getCollidingBoundingBoxes(this, this.getEntityBoundingBox().offset(0.0D, -1.0D, z))
-						.isEmpty(); d5 = z) {
+				for (; z != 0.0D && isCollisionFreeAt(buf, start, query, 0.0D, -1.0D, z); d5 = z) {
 					if (z < d6 && z >= -d6) {
 						z = 0.0D;
 					} else if (z > 0.0D) {
@@ -415,10 +418,7 @@ public abstract class Entity {
 					}
 				}
 
-				for (; x != 0.0D && z != 0.0D
-						&& this.worldObj
-								.getCollidingBoundingBoxes(this, this.getEntityBoundingBox().offset(x, -1.0D, z))
-								.isEmpty(); d5 = z) {
+				for (; x != 0.0D && z != 0.0D && isCollisionFreeAt(buf, start, query, x, -1.0D, z); d5 = z) {
 					if (x < d6 && x >= -d6) {
 						x = 0.0D;
 					} else if (x > 0.0D) {
@@ -438,108 +438,73 @@ public abstract class Entity {
 				}
 			}
 
-			List list1 = this.worldObj.getCollidingBoundingBoxes(this, this.getEntityBoundingBox().addCoord(x, y, z));
-			AxisAlignedBB axisalignedbb = this.getEntityBoundingBox();
+			// the boxes are swept with the arrays from the world's CollisionBoxBuffer and
+			// the bounding box is only set once at the end, the calculations are the
+			// same as the ones done with AxisAlignedBB before
 
-			for (AxisAlignedBB axisalignedbb1 : (List<AxisAlignedBB>) list1) {
-				y = axisalignedbb1.calculateYOffset(this.getEntityBoundingBox(), y);
-			}
-
-			this.setEntityBoundingBox(this.getEntityBoundingBox().offset(0.0D, y, 0.0D));
+			CollisionBoxBuffer.set(query, cur);
+			CollisionBoxBuffer.addCoord(query, x, y, z);
+			this.worldObj.getCollidingBoundingBoxes(this, query);
+			y = buf.calculateYOffset(cur, y);
+			CollisionBoxBuffer.offset(cur, 0.0D, y, 0.0D);
 			boolean flag1 = this.onGround || d4 != y && d4 < 0.0D;
-
-			for (AxisAlignedBB axisalignedbb2 : (List<AxisAlignedBB>) list1) {
-				x = axisalignedbb2.calculateXOffset(this.getEntityBoundingBox(), x);
-			}
-
-			this.setEntityBoundingBox(this.getEntityBoundingBox().offset(x, 0.0D, 0.0D));
-
-			for (AxisAlignedBB axisalignedbb13 : (List<AxisAlignedBB>) list1) {
-				z = axisalignedbb13.calculateZOffset(this.getEntityBoundingBox(), z);
-			}
-
-			this.setEntityBoundingBox(this.getEntityBoundingBox().offset(0.0D, 0.0D, z));
+			x = buf.calculateXOffset(cur, x);
+			CollisionBoxBuffer.offset(cur, x, 0.0D, 0.0D);
+			z = buf.calculateZOffset(cur, z);
+			CollisionBoxBuffer.offset(cur, 0.0D, 0.0D, z);
 			if (this.stepHeight > 0.0F && flag1 && (d3 != x || d5 != z)) {
 				double d11 = x;
 				double d7 = y;
 				double d8 = z;
-				AxisAlignedBB axisalignedbb3 = this.getEntityBoundingBox();
-				this.setEntityBoundingBox(axisalignedbb);
+				double[] axisalignedbb3 = buf.boxD;
+				CollisionBoxBuffer.set(axisalignedbb3, cur);
+				CollisionBoxBuffer.set(cur, start);
 				y = (double) this.stepHeight;
-				List list = this.worldObj.getCollidingBoundingBoxes(this,
-						this.getEntityBoundingBox().addCoord(d3, y, d5));
-				AxisAlignedBB axisalignedbb4 = this.getEntityBoundingBox();
-				AxisAlignedBB axisalignedbb5 = axisalignedbb4.addCoord(d3, 0.0D, d5);
-				double d9 = y;
-
-				for (AxisAlignedBB axisalignedbb6 : (List<AxisAlignedBB>) list) {
-					d9 = axisalignedbb6.calculateYOffset(axisalignedbb5, d9);
-				}
-
-				axisalignedbb4 = axisalignedbb4.offset(0.0D, d9, 0.0D);
-				double d15 = d3;
-
-				for (AxisAlignedBB axisalignedbb7 : (List<AxisAlignedBB>) list) {
-					d15 = axisalignedbb7.calculateXOffset(axisalignedbb4, d15);
-				}
-
-				axisalignedbb4 = axisalignedbb4.offset(d15, 0.0D, 0.0D);
-				double d16 = d5;
-
-				for (AxisAlignedBB axisalignedbb8 : (List<AxisAlignedBB>) list) {
-					d16 = axisalignedbb8.calculateZOffset(axisalignedbb4, d16);
-				}
-
-				axisalignedbb4 = axisalignedbb4.offset(0.0D, 0.0D, d16);
-				AxisAlignedBB axisalignedbb14 = this.getEntityBoundingBox();
-				double d17 = y;
-
-				for (AxisAlignedBB axisalignedbb9 : (List<AxisAlignedBB>) list) {
-					d17 = axisalignedbb9.calculateYOffset(axisalignedbb14, d17);
-				}
-
-				axisalignedbb14 = axisalignedbb14.offset(0.0D, d17, 0.0D);
-				double d18 = d3;
-
-				for (AxisAlignedBB axisalignedbb10 : (List<AxisAlignedBB>) list) {
-					d18 = axisalignedbb10.calculateXOffset(axisalignedbb14, d18);
-				}
-
-				axisalignedbb14 = axisalignedbb14.offset(d18, 0.0D, 0.0D);
-				double d19 = d5;
-
-				for (AxisAlignedBB axisalignedbb11 : (List<AxisAlignedBB>) list) {
-					d19 = axisalignedbb11.calculateZOffset(axisalignedbb14, d19);
-				}
-
-				axisalignedbb14 = axisalignedbb14.offset(0.0D, 0.0D, d19);
+				CollisionBoxBuffer.set(query, start);
+				CollisionBoxBuffer.addCoord(query, d3, y, d5);
+				this.worldObj.getCollidingBoundingBoxes(this, query);
+				double[] axisalignedbb4 = buf.boxE;
+				CollisionBoxBuffer.set(axisalignedbb4, start);
+				double[] axisalignedbb5 = query;
+				CollisionBoxBuffer.set(axisalignedbb5, start);
+				CollisionBoxBuffer.addCoord(axisalignedbb5, d3, 0.0D, d5);
+				double d9 = buf.calculateYOffset(axisalignedbb5, y);
+				CollisionBoxBuffer.offset(axisalignedbb4, 0.0D, d9, 0.0D);
+				double d15 = buf.calculateXOffset(axisalignedbb4, d3);
+				CollisionBoxBuffer.offset(axisalignedbb4, d15, 0.0D, 0.0D);
+				double d16 = buf.calculateZOffset(axisalignedbb4, d5);
+				CollisionBoxBuffer.offset(axisalignedbb4, 0.0D, 0.0D, d16);
+				double[] axisalignedbb14 = cur;
+				double d17 = buf.calculateYOffset(axisalignedbb14, y);
+				CollisionBoxBuffer.offset(axisalignedbb14, 0.0D, d17, 0.0D);
+				double d18 = buf.calculateXOffset(axisalignedbb14, d3);
+				CollisionBoxBuffer.offset(axisalignedbb14, d18, 0.0D, 0.0D);
+				double d19 = buf.calculateZOffset(axisalignedbb14, d5);
+				CollisionBoxBuffer.offset(axisalignedbb14, 0.0D, 0.0D, d19);
 				double d20 = d15 * d15 + d16 * d16;
 				double d10 = d18 * d18 + d19 * d19;
 				if (d20 > d10) {
 					x = d15;
 					z = d16;
 					y = -d9;
-					this.setEntityBoundingBox(axisalignedbb4);
+					CollisionBoxBuffer.set(cur, axisalignedbb4);
 				} else {
 					x = d18;
 					z = d19;
 					y = -d17;
-					this.setEntityBoundingBox(axisalignedbb14);
-				}
-
-				for (AxisAlignedBB axisalignedbb12 : (List<AxisAlignedBB>) list) {
-					y = axisalignedbb12.calculateYOffset(this.getEntityBoundingBox(), y);
 				}
 
-				this.setEntityBoundingBox(this.getEntityBoundingBox().offset(0.0D, y, 0.0D));
+				y = buf.calculateYOffset(cur, y);
+				CollisionBoxBuffer.offset(cur, 0.0D, y, 0.0D);
 				if (d11 * d11 + d8 * d8 >= x * x + z * z) {
 					x = d11;
 					y = d7;
 					z = d8;
-					this.setEntityBoundingBox(axisalignedbb3);
+					CollisionBoxBuffer.set(cur, axisalignedbb3);
 				}
 			}
 
+			this.setEntityBoundingBox(CollisionBoxBuffer.toAABB(cur));
 			this.worldObj.theProfiler.endSection();
 			this.worldObj.theProfiler.startSection("rest");
 			this.resetPositionToBB();
@@ -640,6 +605,17 @@ public abstract class Entity {
 		}
 	}
 
+	/**
+	 * Returns true if the box bb moved by x, y, z does not collide with
+	 * anything, query is overwritten with the moved box
+	 */
+	private boolean isCollisionFreeAt(CollisionBoxBuffer buf, double[] bb, double[] query, double x, double y,
+			double z) {
+		CollisionBoxBuffer.set(query, bb);
+		CollisionBoxBuffer.offset(query, x, y, z);
+		return this.worldObj.getCollidingBoundingBoxes(this, query).isEmpty();
+	}
+
 	/**+
 	 * Resets the entity's position to the center (planar) and
 	 * bottom (vertical) points of its bounding box.
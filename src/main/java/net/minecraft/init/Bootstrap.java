@@ -9,6 +9,7 @@ import net.minecraft.block.Block;
 import net.minecraft.block.BlockDispenser;
 import net.minecraft.block.BlockFire;
 import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.BlockPropertyTables;
 import net.minecraft.block.BlockPumpkin;
 import net.minecraft.block.BlockSkull;
 import net.minecraft.block.BlockTNT;
@@ -414,6 +415,7 @@ public class Bootstrap {
 
 			Block.registerBlocks();
 			Blocks.doBootstrap();
+			BlockPropertyTables.refresh();
 			BiomeGenBase.bootstrap();
 			BlockFire.init();
 			EntityEnderman.bootstrap();
@@ -0,0 +1,158 @@
+package net.minecraft.nbt;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+class NBTLazyData {
+
+	private static final int INTERN_TABLE_SIZE = 256;
+	private static final NBTLazyData[] internTable = new NBTLazyData[INTERN_TABLE_SIZE];
+
+	/**
+	 * The encoded body of the compound, the tags followed by the end tag
+	 */
+	final byte[] data;
+	final int hash;
+	private NBTTagCompound template = null;
+
+	private NBTLazyData(byte[] data, int hash) {
+		this.data = data;
+		this.hash = hash;
+	}
+
+	/**
+	 * Returns the same instance for the same bytes as long as it is still in the
+	 * table, so identical compounds in different slots of a window are only
+	 * decoded once and compare equal without being decoded at all
+	 */
+	static synchronized NBTLazyData intern(byte[] data) {
+		int hash = Arrays.hashCode(data);
+		int i = hash & (INTERN_TABLE_SIZE - 1);
+		NBTLazyData etr = internTable[i];
+		if (etr != null && etr.hash == hash && Arrays.equals(etr.data, data)) {
+			return etr;
+		}
+		etr = new NBTLazyData(data, hash);
+		internTable[i] = etr;
+		return etr;
+	}
+
+	/**
+	 * Nested compounds are not interned, they would push the compounds of other
+	 * item stacks out of the table
+	 */
+	static NBTLazyData createSubtree(byte[] data) {
+		return new NBTLazyData(data, Arrays.hashCode(data));
+	}
+
+	/**
+	 * The decoded compound shared by every compound with this data, it must not be
+	 * modified, the tags must be copied out of it. Only the tags of this level are
+	 * decoded, nested compounds and the compounds in lists are lazy again and are
+	 * only decoded when they are accessed themselves, so looking at the display
+	 * name of an item does not decode its enchantments or block entity tag
+	 */
+	synchronized NBTTagCompound getTemplate() {
+		if (template == null) {
+			NBTTagCompound tag = new NBTTagCompound();
+			try {
+				EaglerInputStream is = new EaglerInputStream(data);
+				DataInputStream dis = new DataInputStream(is);
+				byte type;
+				while ((type = dis.readByte()) != 0) {
+					String key = dis.readUTF();
+					int start = is.getPosition();
+					if (type == 10) {
+						int end = skipPayload(data, start, 10);
+						tag.setTag(key, NBTTagCompound.createLazy(createSubtree(Arrays.copyOfRange(data, start, end))));
+						is.skip(end - start);
+					} else if (type == 9 && data[start] == 10) {
+						NBTTagList list = new NBTTagList();
+						int count = readInt(data, start + 1);
+						int i = start + 5;
+						for (int j = 0; j < count; ++j) {
+							int end = skipPayload(data, i, 10);
+							list.appendTag(NBTTagCompound.createLazy(createSubtree(Arrays.copyOfRange(data, i, end))));
+							i = end;
+						}
+						tag.setTag(key, list);
+						is.skip(i - start);
+					} else {
+						tag.setTag(key, NBTTagCompound.readNBT(type, key, dis, 1, NBTSizeTracker.INFINITE));
+					}
+				}
+			} catch (IOException ex) {
+				throw new RuntimeException("Failed to decode NBT data that was already validated", ex);
+			}
+			template = tag;
+		}
+		return template;
+	}
+
+	private static int readInt(byte[] data, int i) {
+		return ((data[i] & 0xFF) << 24) | ((data[i + 1] & 0xFF) << 16) | ((data[i + 2] & 0xFF) << 8)
+				| (data[i + 3] & 0xFF);
+	}
+
+	/**
+	 * Returns the index after the payload of a tag of the type at index, the data
+	 * was validated by PacketBuffer when the packet was read so nothing is checked
+	 * here
+	 */
+	private static int skipPayload(byte[] data, int index, int type) {
+		switch (type) {
+		case 1:
+			return index + 1;
+		case 2:
+			return index + 2;
+		case 3:
+		case 5:
+			return index + 4;
+		case 4:
+		case 6:
+			return index + 8;
+		case 7:
+			return index + 4 + readInt(data, index);
+		case 8:
+			return index + 2 + (((data[index] & 0xFF) << 8) | (data[index + 1] & 0xFF));
+		case 9: {
+			byte elementType = data[index];
+			int count = readInt(data, index + 1);
+			int i = index + 5;
+			for (int j = 0; j < count; ++j) {
+				i = skipPayload(data, i, elementType);
+			}
+			return i;
+		}
+		case 10: {
+			int i = index;
+			byte tagType;
+			while ((tagType = data[i++]) != 0) {
+				i = skipPayload(data, skipPayload(data, i, 8), tagType);
+			}
+			return i;
+		}
+		case 11:
+			return index + 4 + (readInt(data, index) << 2);
+		default:
+			throw new IllegalStateException("Invalid NBT tag type: " + type);
+		}
+	}
+
+}
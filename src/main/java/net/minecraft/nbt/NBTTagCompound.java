@@ -3,6 +3,7 @@ package net.minecraft.nbt;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -35,13 +36,54 @@ import net.minecraft.util.ReportedException;
 public class NBTTagCompound extends NBTBase {
 	private Map<String, NBTBase> tagMap = Maps.newHashMap();
 
+	/**
+	 * Compounds read from item stacks in packets keep their encoded bytes and are
+	 * only decoded the first time something accesses their tags
+	 */
+	private NBTLazyData lazyData = null;
+
+	/**
+	 * Creates a compound that decodes body, the encoded tags of a compound that
+	 * must have been validated already, the first time it is accessed
+	 */
+	public static NBTTagCompound createLazy(byte[] body) {
+		return createLazy(NBTLazyData.intern(body));
+	}
+
+	static NBTTagCompound createLazy(NBTLazyData data) {
+		NBTTagCompound ret = new NBTTagCompound();
+		ret.lazyData = data;
+		return ret;
+	}
+
+	/**
+	 * Only the tags of this compound are decoded, copying them out of the template
+	 * is cheap because the nested compounds in it are still lazy and are copied by
+	 * sharing their encoded bytes
+	 */
+	private Map<String, NBTBase> map() {
+		if (this.lazyData != null) {
+			NBTTagCompound template = this.lazyData.getTemplate();
+			this.lazyData = null;
+			for (Entry<String, NBTBase> etr : template.tagMap.entrySet()) {
+				this.tagMap.put(etr.getKey(), etr.getValue().copy());
+			}
+		}
+		return this.tagMap;
+	}
+
 	/**+
 	 * Write the actual data contents of the tag, implemented in NBT
 	 * extension classes
 	 */
 	void write(DataOutput parDataOutput) throws IOException {
-		for (String s : this.tagMap.keySet()) {
-			NBTBase nbtbase = (NBTBase) this.tagMap.get(s);
+		if (this.lazyData != null) {
+			parDataOutput.write(this.lazyData.data);
+			return;
+		}
+
+		for (String s : this.map().keySet()) {
+			NBTBase nbtbase = (NBTBase) this.map().get(s);
 			writeEntry(s, nbtbase, parDataOutput);
 		}
 
@@ -53,6 +95,7 @@ public class NBTTagCompound extends NBTBase {
 		if (parInt1 > 512) {
 			throw new RuntimeException("Tried to read NBT tag with too high complexity, depth > 512");
 		} else {
+			this.lazyData = null;
 			this.tagMap.clear();
 
 			byte b0;
@@ -72,7 +115,7 @@ public class NBTTagCompound extends NBTBase {
 	 * Gets a set with the names of the keys in the tag compound.
 	 */
 	public Set<String> getKeySet() {
-		return this.tagMap.keySet();
+		return this.map().keySet();
 	}
 
 	/**+
@@ -87,7 +130,7 @@ public class NBTTagCompound extends NBTBase {
 	 * This is mostly used to store tag lists.
 	 */
 	public void setTag(String key, NBTBase value) {
-		this.tagMap.put(key, value);
+		this.map().put(key, value);
 	}
 
 	/**+
@@ -95,7 +138,7 @@ public class NBTTagCompound extends NBTBase {
 	 * map with the given string key.
 	 */
 	public void setByte(String key, byte value) {
-		this.tagMap.put(key, new NBTTagByte(value));
+		this.map().put(key, new NBTTagByte(value));
 	}
 
 	/**+
@@ -103,7 +146,7 @@ public class NBTTagCompound extends NBTBase {
 	 * map with the given string key.
 	 */
 	public void setShort(String key, short value) {
-		this.tagMap.put(key, new NBTTagShort(value));
+		this.map().put(key, new NBTTagShort(value));
 	}
 
 	/**+
@@ -111,7 +154,7 @@ public class NBTTagCompound extends NBTBase {
 	 * map with the given string key.
 	 */
 	public void setInteger(String key, int value) {
-		this.tagMap.put(key, new NBTTagInt(value));
+		this.map().put(key, new NBTTagInt(value));
 	}
 
 	/**+
@@ -119,7 +162,7 @@ public class NBTTagCompound extends NBTBase {
 	 * map with the given string key.
 	 */
 	public void setLong(String key, long value) {
-		this.tagMap.put(key, new NBTTagLong(value));
+		this.map().put(key, new NBTTagLong(value));
 	}
 
 	/**+
@@ -127,7 +170,7 @@ public class NBTTagCompound extends NBTBase {
 	 * map with the given string key.
 	 */
 	public void setFloat(String key, float value) {
-		this.tagMap.put(key, new NBTTagFloat(value));
+		this.map().put(key, new NBTTagFloat(value));
 	}
 
 	/**+
@@ -135,7 +178,7 @@ public class NBTTagCompound extends NBTBase {
 	 * the map with the given string key.
 	 */
 	public void setDouble(String key, double value) {
-		this.tagMap.put(key, new NBTTagDouble(value));
+		this.map().put(key, new NBTTagDouble(value));
 	}
 
 	/**+
@@ -143,7 +186,7 @@ public class NBTTagCompound extends NBTBase {
 	 * the map with the given string key.
 	 */
 	public void setString(String key, String value) {
-		this.tagMap.put(key, new NBTTagString(value));
+		this.map().put(key, new NBTTagString(value));
 	}
 
 	/**+
@@ -151,7 +194,7 @@ public class NBTTagCompound extends NBTBase {
 	 * into the map with the given string key.
 	 */
 	public void setByteArray(String key, byte[] value) {
-		this.tagMap.put(key, new NBTTagByteArray(value));
+		this.map().put(key, new NBTTagByteArray(value));
 	}
 
 	/**+
@@ -159,7 +202,7 @@ public class NBTTagCompound extends NBTBase {
 	 * the map with the given string key.
 	 */
 	public void setIntArray(String key, int[] value) {
-		this.tagMap.put(key, new NBTTagIntArray(value));
+		this.map().put(key, new NBTTagIntArray(value));
 	}
 
 	/**+
@@ -174,14 +217,14 @@ public class NBTTagCompound extends NBTBase {
 	 * gets a generic tag with the specified name
 	 */
 	public NBTBase getTag(String key) {
-		return (NBTBase) this.tagMap.get(key);
+		return (NBTBase) this.map().get(key);
 	}
 
 	/**+
 	 * Gets the ID byte for the given tag key
 	 */
 	public byte getTagId(String key) {
-		NBTBase nbtbase = (NBTBase) this.tagMap.get(key);
+		NBTBase nbtbase = (NBTBase) this.map().get(key);
 		return nbtbase != null ? nbtbase.getId() : 0;
 	}
 
@@ -190,7 +233,7 @@ public class NBTTagCompound extends NBTBase {
 	 * as a key in the map.
 	 */
 	public boolean hasKey(String key) {
-		return this.tagMap.containsKey(key);
+		return this.map().containsKey(key);
 	}
 
 	/**+
@@ -218,7 +261,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public byte getByte(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getByte();
+			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.map().get(key)).getByte();
 		} catch (ClassCastException var3) {
 			return (byte) 0;
 		}
@@ -230,7 +273,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public short getShort(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getShort();
+			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.map().get(key)).getShort();
 		} catch (ClassCastException var3) {
 			return (short) 0;
 		}
@@ -242,7 +285,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public int getInteger(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getInt();
+			return !this.hasKey(key, 99) ? 0 : ((NBTBase.NBTPrimitive) this.map().get(key)).getInt();
 		} catch (ClassCastException var3) {
 			return 0;
 		}
@@ -254,7 +297,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public long getLong(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0L : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getLong();
+			return !this.hasKey(key, 99) ? 0L : ((NBTBase.NBTPrimitive) this.map().get(key)).getLong();
 		} catch (ClassCastException var3) {
 			return 0L;
 		}
@@ -266,7 +309,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public float getFloat(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0.0F : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getFloat();
+			return !this.hasKey(key, 99) ? 0.0F : ((NBTBase.NBTPrimitive) this.map().get(key)).getFloat();
 		} catch (ClassCastException var3) {
 			return 0.0F;
 		}
@@ -278,7 +321,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public double getDouble(String key) {
 		try {
-			return !this.hasKey(key, 99) ? 0.0D : ((NBTBase.NBTPrimitive) this.tagMap.get(key)).getDouble();
+			return !this.hasKey(key, 99) ? 0.0D : ((NBTBase.NBTPrimitive) this.map().get(key)).getDouble();
 		} catch (ClassCastException var3) {
 			return 0.0D;
 		}
@@ -290,7 +333,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public String getString(String key) {
 		try {
-			return !this.hasKey(key, 8) ? "" : ((NBTBase) this.tagMap.get(key)).getString();
+			return !this.hasKey(key, 8) ? "" : ((NBTBase) this.map().get(key)).getString();
 		} catch (ClassCastException var3) {
 			return "";
 		}
@@ -302,7 +345,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public byte[] getByteArray(String key) {
 		try {
-			return !this.hasKey(key, 7) ? new byte[0] : ((NBTTagByteArray) this.tagMap.get(key)).getByteArray();
+			return !this.hasKey(key, 7) ? new byte[0] : ((NBTTagByteArray) this.map().get(key)).getByteArray();
 		} catch (ClassCastException classcastexception) {
 			throw new ReportedException(this.createCrashReport(key, 7, classcastexception));
 		}
@@ -314,7 +357,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public int[] getIntArray(String key) {
 		try {
-			return !this.hasKey(key, 11) ? new int[0] : ((NBTTagIntArray) this.tagMap.get(key)).getIntArray();
+			return !this.hasKey(key, 11) ? new int[0] : ((NBTTagIntArray) this.map().get(key)).getIntArray();
 		} catch (ClassCastException classcastexception) {
 			throw new ReportedException(this.createCrashReport(key, 11, classcastexception));
 		}
@@ -326,7 +369,7 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public NBTTagCompound getCompoundTag(String key) {
 		try {
-			return !this.hasKey(key, 10) ? new NBTTagCompound() : (NBTTagCompound) this.tagMap.get(key);
+			return !this.hasKey(key, 10) ? new NBTTagCompound() : (NBTTagCompound) this.map().get(key);
 		} catch (ClassCastException classcastexception) {
 			throw new ReportedException(this.createCrashReport(key, 10, classcastexception));
 		}
@@ -341,7 +384,7 @@ public class NBTTagCompound extends NBTBase {
 			if (this.getTagId(key) != 9) {
 				return new NBTTagList();
 			} else {
-				NBTTagList nbttaglist = (NBTTagList) this.tagMap.get(key);
+				NBTTagList nbttaglist = (NBTTagList) this.map().get(key);
 				return nbttaglist.tagCount() > 0 && nbttaglist.getTagType() != type ? new NBTTagList() : nbttaglist;
 			}
 		} catch (ClassCastException classcastexception) {
@@ -361,13 +404,13 @@ public class NBTTagCompound extends NBTBase {
 	 * Remove the specified tag.
 	 */
 	public void removeTag(String key) {
-		this.tagMap.remove(key);
+		this.map().remove(key);
 	}
 
 	public String toString() {
 		StringBuilder stringbuilder = new StringBuilder("{");
 
-		for (Entry entry : this.tagMap.entrySet()) {
+		for (Entry entry : this.map().entrySet()) {
 			if (stringbuilder.length() != 1) {
 				stringbuilder.append(',');
 			}
@@ -382,7 +425,7 @@ public class NBTTagCompound extends NBTBase {
 	 * Return whether this compound has no tags.
 	 */
 	public boolean hasNoTags() {
-		return this.tagMap.isEmpty();
+		return this.map().isEmpty();
 	}
 
 	/**+
@@ -393,7 +436,7 @@ public class NBTTagCompound extends NBTBase {
 		CrashReportCategory crashreportcategory = crashreport.makeCategoryDepth("Corrupt NBT tag", 1);
 		crashreportcategory.addCrashSectionCallable("Tag type found", new Callable<String>() {
 			public String call() throws Exception {
-				return NBTBase.NBT_TYPES[((NBTBase) NBTTagCompound.this.tagMap.get(key)).getId()];
+				return NBTBase.NBT_TYPES[((NBTBase) NBTTagCompound.this.map().get(key)).getId()];
 			}
 		});
 		crashreportcategory.addCrashSectionCallable("Tag type expected", new Callable<String>() {
@@ -410,9 +453,14 @@ public class NBTTagCompound extends NBTBase {
 	 */
 	public NBTBase copy() {
 		NBTTagCompound nbttagcompound = new NBTTagCompound();
+		if (this.lazyData != null) {
+			nbttagcompound.lazyData = this.lazyData;
+			return nbttagcompound;
+		}
 
-		for (String s : this.tagMap.keySet()) {
-			nbttagcompound.setTag(s, ((NBTBase) this.tagMap.get(s)).copy());
+
+		for (String s : this.map().keySet()) {
+			nbttagcompound.setTag(s, ((NBTBase) this.map().get(s)).copy());
 		}
 
 		return nbttagcompound;
@@ -421,14 +469,18 @@ public class NBTTagCompound extends NBTBase {
 	public boolean equals(Object object) {
 		if (super.equals(object)) {
 			NBTTagCompound nbttagcompound = (NBTTagCompound) object;
-			return this.tagMap.entrySet().equals(nbttagcompound.tagMap.entrySet());
+			NBTLazyData a = this.lazyData, b = nbttagcompound.lazyData;
+			if (a != null && b != null && (a == b || (a.hash == b.hash && Arrays.equals(a.data, b.data)))) {
+				return true;
+			}
+			return this.map().entrySet().equals(nbttagcompound.map().entrySet());
 		} else {
 			return false;
 		}
 	}
 
 	public int hashCode() {
-		return super.hashCode() ^ this.tagMap.hashCode();
+		return super.hashCode() ^ this.map().hashCode();
 	}
 
 	private static void writeEntry(String name, NBTBase data, DataOutput output) throws IOException {
@@ -469,8 +521,8 @@ public class NBTTagCompound extends NBTBase {
 	 * of tags are overwritten from the given compound.
 	 */
 	public void merge(NBTTagCompound other) {
-		for (String s : other.tagMap.keySet()) {
-			NBTBase nbtbase = (NBTBase) other.tagMap.get(s);
+		for (String s : other.map().keySet()) {
+			NBTBase nbtbase = (NBTBase) other.map().get(s);
 			if (nbtbase.getId() == 10) {
 				if (this.hasKey(s, 10)) {
 					NBTTagCompound nbttagcompound = this.getCompoundTag(s);
@@ -105,6 +105,43 @@ public class PacketBuffer extends ByteBuf {
 	 * whether another byte should be read.
 	 */
 	public int readVarIntFromBuffer() {
+		if (this.hasArray() && this.readableBytes() >= 5) {
+			int idx = this.readerIndex();
+			byte[] arr = this.array();
+			int off = this.arrayOffset() + idx;
+			int b0 = arr[off];
+			if (b0 >= 0) {
+				this.readerIndex(idx + 1);
+				return b0;
+			}
+			int i = b0 & 127;
+			b0 = arr[off + 1];
+			i |= (b0 & 127) << 7;
+			if (b0 >= 0) {
+				this.readerIndex(idx + 2);
+				return i;
+			}
+			b0 = arr[off + 2];
+			i |= (b0 & 127) << 14;
+			if (b0 >= 0) {
+				this.readerIndex(idx + 3);
+				return i;
+			}
+			b0 = arr[off + 3];
+			i |= (b0 & 127) << 21;
+			if (b0 >= 0) {
+				this.readerIndex(idx + 4);
+				return i;
+			}
+			b0 = arr[off + 4];
+			i |= (b0 & 127) << 28;
+			if (b0 >= 0) {
+				this.readerIndex(idx + 5);
+				return i;
+			}
+			throw new RuntimeException("VarInt too big");
+		}
+
 		int i = 0;
 		int j = 0;
 
@@ -207,6 +244,134 @@ public class PacketBuffer extends ByteBuf {
 		}
 	}
 
+	/**
+	 * Same as readNBTTagCompoundFromBuffer but the compound is only checked for
+	 * errors and keeps its encoded bytes, it is decoded the first time something
+	 * accesses its tags
+	 */
+	public NBTTagCompound readNBTTagCompoundFromBufferLazy() throws IOException {
+		int i = this.readerIndex();
+		byte b0 = this.readByte();
+		if (b0 == 0) {
+			return null;
+		} else if (b0 != 10) {
+			throw new IOException("Root tag must be a named compound tag");
+		} else {
+			int j = this.skipNBTString(i + 1);
+			int k = this.skipNBTPayload(10, j, 0);
+			if (k - i > 2097152) {
+				throw new IOException("Tried to read NBT tag that was too big");
+			}
+			byte[] body = new byte[k - j];
+			this.getBytes(j, body);
+			this.readerIndex(k);
+			return NBTTagCompound.createLazy(body);
+		}
+	}
+
+	private int checkNBTBounds(int index, int len) throws IOException {
+		if (len < 0 || len > this.writerIndex() - index) {
+			throw new IOException("NBT data is truncated or has an invalid length");
+		}
+		return index + len;
+	}
+
+	/**
+	 * Returns the index after the string at index, the string must be valid
+	 * modified UTF-8 the same way DataInput.readUTF requires it to be
+	 */
+	private int skipNBTString(int index) throws IOException {
+		int end = this.checkNBTBounds(this.checkNBTBounds(index, 2), this.getUnsignedShort(index));
+		for (int i = index + 2; i < end; ++i) {
+			int c = this.getByte(i) & 0xFF;
+			int cont;
+			switch (c >> 4) {
+			case 0: case 1: case 2: case 3: case 4: case 5: case 6: case 7:
+				cont = 0;
+				break;
+			case 12: case 13:
+				cont = 1;
+				break;
+			case 14:
+				cont = 2;
+				break;
+			default:
+				throw new IOException("Malformed UTF-8 string in NBT data");
+			}
+			if (i + cont >= end) {
+				throw new IOException("Malformed UTF-8 string in NBT data");
+			}
+			for (; cont > 0; --cont) {
+				if ((this.getByte(++i) & 0xC0) != 0x80) {
+					throw new IOException("Malformed UTF-8 string in NBT data");
+				}
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Returns the index after the payload of a tag of the type at index, without
+	 * creating any objects
+	 */
+	private int skipNBTPayload(int type, int index, int depth) throws IOException {
+		switch (type) {
+		case 1:
+			return this.checkNBTBounds(index, 1);
+		case 2:
+			return this.checkNBTBounds(index, 2);
+		case 3:
+		case 5:
+			return this.checkNBTBounds(index, 4);
+		case 4:
+		case 6:
+			return this.checkNBTBounds(index, 8);
+		case 7:
+			return this.checkNBTBounds(this.checkNBTBounds(index, 4), this.getInt(index));
+		case 8:
+			return this.skipNBTString(index);
+		case 9: {
+			if (depth > 512) {
+				throw new IOException("Tried to read NBT tag with too high complexity, depth > 512");
+			}
+			int i = this.checkNBTBounds(index, 5);
+			byte elementType = this.getByte(index);
+			int count = this.getInt(index + 1);
+			if (count < 0 || (elementType == 0 && count > 0)) {
+				throw new IOException("Invalid NBT list");
+			}
+			for (int j = 0; j < count; ++j) {
+				i = this.skipNBTPayload(elementType, i, depth + 1);
+			}
+			return i;
+		}
+		case 10: {
+			if (depth > 512) {
+				throw new IOException("Tried to read NBT tag with too high complexity, depth > 512");
+			}
+			int i = index;
+			while (true) {
+				byte tagType = this.getByte(i);
+				i = this.checkNBTBounds(i, 1);
+				if (tagType == 0) {
+					return i;
+				}
+				i = this.skipNBTPayload(tagType, this.skipNBTString(i), depth + 1);
+			}
+		}
+		case 11: {
+			int i = this.checkNBTBounds(index, 4);
+			int len = this.getInt(index);
+			if (len < 0 || len > 0x1FFFFFFF) {
+				throw new IOException("NBT data is truncated or has an invalid length");
+			}
+			return this.checkNBTBounds(i, len << 2);
+		}
+		default:
+			throw new IOException("Invalid NBT tag type: " + type);
+		}
+	}
+
 	/**+
 	 * Writes the ItemStack's ID (short), then size (byte), then
 	 * damage. (short)
@@ -244,6 +409,23 @@ public class PacketBuffer extends ByteBuf {
 		return itemstack;
 	}
 
+	/**
+	 * Same as readItemStackFromBuffer but the NBT is decoded the first time it is
+	 * accessed, only for packets that are read by the client
+	 */
+	public ItemStack readItemStackFromBufferLazy() throws IOException {
+		ItemStack itemstack = null;
+		short short1 = this.readShort();
+		if (short1 >= 0) {
+			byte b0 = this.readByte();
+			short short2 = this.readShort();
+			itemstack = new ItemStack(Item.getItemById(short1), b0, short2);
+			itemstack.setTagCompound(this.readNBTTagCompoundFromBufferLazy());
+		}
+
+		return itemstack;
+	}
+
 	/**+
 	 * Reads a string from this buffer. Expected parameter is
 	 * maximum allowed string length. Will throw IOException if
@@ -257,7 +439,18 @@ public class PacketBuffer extends ByteBuf {
 		} else if (i < 0) {
 			throw new DecoderException("The received encoded string buffer length is less than zero! Weird string!");
 		} else {
-			String s = new String(this.readBytes(i).array(), StandardCharsets.UTF_8);
+			String s;
+			if (this.hasArray()) {
+				if (i > this.readableBytes()) {
+					throw new IndexOutOfBoundsException("String length " + i + " exceeds the readable bytes ("
+							+ this.readableBytes() + ")");
+				}
+				int idx = this.readerIndex();
+				s = decodeUTF8(this.array(), this.arrayOffset() + idx, i);
+				this.readerIndex(idx + i);
+			} else {
+				s = new String(this.readBytes(i).array(), StandardCharsets.UTF_8);
+			}
 			if (s.length() > maxLength) {
 				throw new DecoderException(
 						"The received string length is longer than maximum allowed (" + i + " > " + maxLength + ")");
@@ -267,17 +460,168 @@ public class PacketBuffer extends ByteBuf {
 		}
 	}
 
+	/**
+	 * Short ASCII strings like team, objective and player names are sent over and
+	 * over again, they are looked up here by the hash of their bytes so reading
+	 * them again does not create a new string
+	 */
+	private static final int STRING_INTERN_MAX_LENGTH = 32;
+	private static final String[] stringInternTable = new String[1024];
+
+	/**
+	 * Same result as new String(arr, off, len, StandardCharsets.UTF_8) without
+	 * copying the bytes first, falls back to it if the bytes are not well formed
+	 */
+	private static String decodeUTF8(byte[] arr, int off, int len) {
+		int end = off + len;
+		int hash = 0;
+		int i = off;
+		while (i < end) {
+			int b = arr[i];
+			if (b < 0) {
+				break;
+			}
+			hash = 31 * hash + b;
+			++i;
+		}
+
+		if (i == end) {
+			if (len <= STRING_INTERN_MAX_LENGTH) {
+				int j = hash & (stringInternTable.length - 1);
+				String s = stringInternTable[j];
+				if (s != null && s.length() == len) {
+					int k = 0;
+					while (k < len && s.charAt(k) == arr[off + k]) {
+						++k;
+					}
+					if (k == len) {
+						return s;
+					}
+				}
+				s = decodeASCII(arr, off, len);
+				stringInternTable[j] = s;
+				return s;
+			}
+			return decodeASCII(arr, off, len);
+		}
+
+		char[] chars = new char[len];
+		int n = 0;
+		for (int j = off; j < i; ++j) {
+			chars[n++] = (char) arr[j];
+		}
+		while (i < end) {
+			int b = arr[i] & 0xFF;
+			if (b < 0x80) {
+				chars[n++] = (char) b;
+				++i;
+			} else if (b >= 0xC2 && b <= 0xDF) {
+				if (i + 1 >= end || (arr[i + 1] & 0xC0) != 0x80) {
+					return new String(arr, off, len, StandardCharsets.UTF_8);
+				}
+				chars[n++] = (char) (((b & 0x1F) << 6) | (arr[i + 1] & 0x3F));
+				i += 2;
+			} else if (b >= 0xE0 && b <= 0xEF) {
+				if (i + 2 >= end) {
+					return new String(arr, off, len, StandardCharsets.UTF_8);
+				}
+				int b1 = arr[i + 1] & 0xFF;
+				int b2 = arr[i + 2] & 0xFF;
+				if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80 || (b == 0xE0 && b1 < 0xA0) || (b == 0xED && b1 > 0x9F)) {
+					return new String(arr, off, len, StandardCharsets.UTF_8);
+				}
+				chars[n++] = (char) (((b & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F));
+				i += 3;
+			} else if (b >= 0xF0 && b <= 0xF4) {
+				if (i + 3 >= end) {
+					return new String(arr, off, len, StandardCharsets.UTF_8);
+				}
+				int b1 = arr[i + 1] & 0xFF;
+				int b2 = arr[i + 2] & 0xFF;
+				int b3 = arr[i + 3] & 0xFF;
+				if ((b1 & 0xC0) != 0x80 || (b2 & 0xC0) != 0x80 || (b3 & 0xC0) != 0x80 || (b == 0xF0 && b1 < 0x90)
+						|| (b == 0xF4 && b1 > 0x8F)) {
+					return new String(arr, off, len, StandardCharsets.UTF_8);
+				}
+				int cp = ((b & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+				chars[n++] = Character.highSurrogate(cp);
+				chars[n++] = Character.lowSurrogate(cp);
+				i += 4;
+			} else {
+				return new String(arr, off, len, StandardCharsets.UTF_8);
+			}
+		}
+		return new String(chars, 0, n);
+	}
+
+	private static String decodeASCII(byte[] arr, int off, int len) {
+		char[] chars = new char[len];
+		for (int i = 0; i < len; ++i) {
+			chars[i] = (char) arr[off + i];
+		}
+		return new String(chars);
+	}
+
 	public PacketBuffer writeString(String string) {
-		byte[] abyte = string.getBytes(StandardCharsets.UTF_8);
-		if (abyte.length > 32767) {
+		int len = string.length();
+		int utflen = 0;
+		for (int i = 0; i < len; ++i) {
+			char c = string.charAt(i);
+			if (c < 0x80) {
+				++utflen;
+			} else if (c < 0x800) {
+				utflen += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(string.charAt(i + 1))) {
+				utflen += 4;
+				++i;
+			} else if (Character.isSurrogate(c)) {
+				++utflen; // unpaired surrogates are replaced with '?' like String.getBytes does
+			} else {
+				utflen += 3;
+			}
+		}
+		if (utflen > 32767) {
 			throw new EncoderException("String too big (was " + string.length() + " bytes encoded, max " + 32767 + ")");
 		} else {
-			this.writeVarIntToBuffer(abyte.length);
-			this.writeBytes(abyte);
+			this.writeVarIntToBuffer(utflen);
+			this.ensureWritable(utflen);
+			int idx = this.writerIndex();
+			if (this.hasArray()) {
+				encodeUTF8(string, this.array(), this.arrayOffset() + idx);
+			} else {
+				byte[] abyte = new byte[utflen];
+				encodeUTF8(string, abyte, 0);
+				this.setBytes(idx, abyte);
+			}
+			this.writerIndex(idx + utflen);
 			return this;
 		}
 	}
 
+	private static void encodeUTF8(String string, byte[] arr, int off) {
+		for (int i = 0, len = string.length(); i < len; ++i) {
+			char c = string.charAt(i);
+			if (c < 0x80) {
+				arr[off++] = (byte) c;
+			} else if (c < 0x800) {
+				arr[off++] = (byte) (0xC0 | (c >> 6));
+				arr[off++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(string.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, string.charAt(++i));
+				arr[off++] = (byte) (0xF0 | (cp >> 18));
+				arr[off++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				arr[off++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				arr[off++] = (byte) (0x80 | (cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				arr[off++] = (byte) '?';
+			} else {
+				arr[off++] = (byte) (0xE0 | (c >> 12));
+				arr[off++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				arr[off++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+	}
+
 	public int capacity() {
 		return this.buf.capacity();
 	}
@@ -45,7 +45,7 @@ public class S04PacketEntityEquipment implements Packet<INetHandlerPlayClient> {
 	public void readPacketData(PacketBuffer parPacketBuffer) throws IOException {
 		this.entityID = parPacketBuffer.readVarIntFromBuffer();
 		this.equipmentSlot = parPacketBuffer.readShort();
-		this.itemStack = parPacketBuffer.readItemStackFromBuffer();
+		this.itemStack = parPacketBuffer.readItemStackFromBufferLazy();
 	}
 
 	/**+
@@ -52,7 +52,7 @@ public class S2FPacketSetSlot implements Packet<INetHandlerPlayClient> {
 	public void readPacketData(PacketBuffer parPacketBuffer) throws IOException {
 		this.windowId = parPacketBuffer.readByte();
 		this.slot = parPacketBuffer.readShort();
-		this.item = parPacketBuffer.readItemStackFromBuffer();
+		this.item = parPacketBuffer.readItemStackFromBufferLazy();
 	}
 
 	/**+
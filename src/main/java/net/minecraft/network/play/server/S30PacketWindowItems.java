@@ -53,7 +53,7 @@ public class S30PacketWindowItems implements Packet<INetHandlerPlayClient> {
 		this.itemStacks = new ItemStack[short1];
 
 		for (int i = 0; i < short1; ++i) {
-			this.itemStacks[i] = parPacketBuffer.readItemStackFromBuffer();
+			this.itemStacks[i] = parPacketBuffer.readItemStackFromBufferLazy();
 		}
 
 	}
@@ -136,5 +136,10 @@ public class S34PacketMaps implements Packet<INetHandlerPlayClient> {
 			}
 		}
 
+		if (this.mapMaxX > 0 && this.mapMaxY > 0) {
+			mapdataIn.markColorsDirty(this.mapMinX, this.mapMinY, this.mapMinX + this.mapMaxX - 1,
+					this.mapMinY + this.mapMaxY - 1);
+		}
+
 	}
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package net.minecraft.profiler;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +11,7 @@ import com.google.common.collect.Maps;
 
 import net.lax1dude.eaglercraft.v1_8.log4j.LogManager;
 import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
+import net.lax1dude.eaglercraft.v1_8.telemetry.EaglerTelemetry;
 
 /**+
  * This portion of EaglercraftX contains deobfuscated Minecraft 1.8 source code.
@@ -32,41 +34,73 @@ import net.lax1dude.eaglercraft.v1_8.log4j.Logger;
 public class Profiler {
 	private static final Logger logger = LogManager.getLogger();
 	/**+
-	 * List of parent sections
+	 * Root of the interned section tree
 	 */
-	private final List<String> sectionList = Lists.newArrayList();
+	private final Profiler.Section rootSection = new Profiler.Section("", "");
 	/**+
-	 * List of timestamps (System.nanoTime)
+	 * All interned sections by full path
 	 */
-	private final List<Long> timestampList = Lists.newArrayList();
+	private final Map<String, Profiler.Section> sectionsByPath = Maps.newHashMap();
+	/**+
+	 * All interned sections in the order they were created
+	 */
+	private final List<Profiler.Section> sectionList = Lists.newArrayList();
+	/**+
+	 * Stack of parent sections and their timestamps (System.nanoTime)
+	 */
+	private Profiler.Section[] sectionStack = new Profiler.Section[64];
+	private long[] timestampStack = new long[64];
+	private int stackDepth = 0;
 	public boolean profilingEnabled;
 	/**+
 	 * Current profiling section
 	 */
-	private String profilingSection = "";
-	private final Map<String, Long> profilingMap = Maps.newHashMap();
+	private Profiler.Section profilingSection = rootSection;
+
+	public Profiler() {
+		this.sectionsByPath.put("", rootSection);
+	}
 
 	/**+
 	 * Clear profiling.
 	 */
 	public void clearProfiling() {
-		this.profilingMap.clear();
-		this.profilingSection = "";
-		this.sectionList.clear();
+		for (int i = 0, l = this.sectionList.size(); i < l; ++i) {
+			Profiler.Section section = this.sectionList.get(i);
+			section.totalTime = 0L;
+			section.recorded = false;
+		}
+		this.profilingSection = rootSection;
+		this.stackDepth = 0;
 	}
 
 	/**+
 	 * Start section
 	 */
 	public void startSection(String name) {
-		if (this.profilingEnabled) {
-			if (this.profilingSection.length() > 0) {
-				this.profilingSection = this.profilingSection + ".";
+		if (this.profilingEnabled || EaglerTelemetry.isRecording()) {
+			Profiler.Section parent = this.profilingSection;
+			Profiler.Section section = parent.children.get(name);
+			if (section == null) {
+				String path = parent.path.length() > 0 ? parent.path + "." + name : name;
+				section = this.sectionsByPath.get(path);
+				if (section == null) {
+					section = new Profiler.Section(name, path);
+					this.sectionsByPath.put(path, section);
+					this.sectionList.add(section);
+				}
+				parent.children.put(name, section);
+			}
+
+			if (this.stackDepth == this.sectionStack.length) {
+				this.sectionStack = Arrays.copyOf(this.sectionStack, this.stackDepth << 1);
+				this.timestampStack = Arrays.copyOf(this.timestampStack, this.stackDepth << 1);
 			}
 
-			this.profilingSection = this.profilingSection + name;
-			this.sectionList.add(this.profilingSection);
-			this.timestampList.add(Long.valueOf(System.nanoTime()));
+			this.sectionStack[this.stackDepth] = section;
+			this.timestampStack[this.stackDepth] = System.nanoTime();
+			++this.stackDepth;
+			this.profilingSection = section;
 		}
 	}
 
@@ -74,26 +108,25 @@ public class Profiler {
 	 * End section
 	 */
 	public void endSection() {
-		if (this.profilingEnabled) {
+		if ((this.profilingEnabled || EaglerTelemetry.isRecording()) && this.stackDepth > 0) {
 			long i = System.nanoTime();
-			long j = ((Long) this.timestampList.remove(this.timestampList.size() - 1)).longValue();
-			this.sectionList.remove(this.sectionList.size() - 1);
-			long k = i - j;
-			if (this.profilingMap.containsKey(this.profilingSection)) {
-				this.profilingMap.put(this.profilingSection,
-						Long.valueOf(((Long) this.profilingMap.get(this.profilingSection)).longValue() + k));
-			} else {
-				this.profilingMap.put(this.profilingSection, Long.valueOf(k));
-			}
-
-			if (k > 100000000L) {
-				logger.warn("Something\'s taking too long! \'" + this.profilingSection + "\' took aprox "
-						+ (double) k / 1000000.0D + " ms");
+			--this.stackDepth;
+			Profiler.Section section = this.sectionStack[this.stackDepth];
+			long j = this.timestampStack[this.stackDepth];
+			this.sectionStack[this.stackDepth] = null;
+			EaglerTelemetry.recordSection(section.traceId, j, i);
+			if (this.profilingEnabled) {
+				long k = i - j;
+				section.totalTime += k;
+				section.recorded = true;
+
+				if (k > 100000000L) {
+					logger.warn("Something\'s taking too long! \'" + section.path + "\' took aprox "
+							+ (double) k / 1000000.0D + " ms");
+				}
 			}
 
-			this.profilingSection = !this.sectionList.isEmpty()
-					? (String) this.sectionList.get(this.sectionList.size() - 1)
-					: "";
+			this.profilingSection = this.stackDepth > 0 ? this.sectionStack[this.stackDepth - 1] : rootSection;
 		}
 	}
 
@@ -104,9 +137,10 @@ public class Profiler {
 		if (!this.profilingEnabled) {
 			return null;
 		} else {
-			long i = this.profilingMap.containsKey("root") ? ((Long) this.profilingMap.get("root")).longValue() : 0L;
-			long j = this.profilingMap.containsKey(parString1) ? ((Long) this.profilingMap.get(parString1)).longValue()
-					: -1L;
+			Profiler.Section root = this.sectionsByPath.get("root");
+			Profiler.Section parent = this.sectionsByPath.get(parString1);
+			long i = root != null && root.recorded ? root.totalTime : 0L;
+			long j = parent != null && parent.recorded ? parent.totalTime : -1L;
 			ArrayList arraylist = Lists.newArrayList();
 			if (parString1.length() > 0) {
 				parString1 = parString1 + ".";
@@ -114,10 +148,11 @@ public class Profiler {
 
 			long k = 0L;
 
-			for (String s : this.profilingMap.keySet()) {
-				if (s.length() > parString1.length() && s.startsWith(parString1)
-						&& s.indexOf(".", parString1.length() + 1) < 0) {
-					k += ((Long) this.profilingMap.get(s)).longValue();
+			if (parent != null) {
+				for (Profiler.Section s : parent.children.values()) {
+					if (s.recorded) {
+						k += s.totalTime;
+					}
 				}
 			}
 
@@ -130,19 +165,20 @@ public class Profiler {
 				i = k;
 			}
 
-			for (String s1 : this.profilingMap.keySet()) {
-				if (s1.length() > parString1.length() && s1.startsWith(parString1)
-						&& s1.indexOf(".", parString1.length() + 1) < 0) {
-					long l = ((Long) this.profilingMap.get(s1)).longValue();
-					double d0 = (double) l * 100.0D / (double) k;
-					double d1 = (double) l * 100.0D / (double) i;
-					String s2 = s1.substring(parString1.length());
-					arraylist.add(new Profiler.Result(s2, d0, d1));
+			if (parent != null) {
+				for (Profiler.Section s1 : parent.children.values()) {
+					if (s1.recorded) {
+						long l = s1.totalTime;
+						double d0 = (double) l * 100.0D / (double) k;
+						double d1 = (double) l * 100.0D / (double) i;
+						arraylist.add(new Profiler.Result(s1.name, d0, d1));
+					}
 				}
 			}
 
-			for (String s3 : this.profilingMap.keySet()) {
-				this.profilingMap.put(s3, Long.valueOf(((Long) this.profilingMap.get(s3)).longValue() * 999L / 1000L));
+			for (int m = 0, n = this.sectionList.size(); m < n; ++m) {
+				Profiler.Section s3 = this.sectionList.get(m);
+				s3.totalTime = s3.totalTime * 999L / 1000L;
 			}
 
 			if ((float) k > f) {
@@ -165,7 +201,26 @@ public class Profiler {
 	}
 
 	public String getNameOfLastSection() {
-		return this.sectionList.size() == 0 ? "[UNKNOWN]" : (String) this.sectionList.get(this.sectionList.size() - 1);
+		return this.stackDepth == 0 ? "[UNKNOWN]" : this.sectionStack[this.stackDepth - 1].path;
+	}
+
+	/**+
+	 * A node in the section tree, the full path and the telemetry id
+	 * are only computed once when the section is first entered
+	 */
+	private static final class Section {
+		private final String name;
+		private final String path;
+		private final int traceId;
+		private final Map<String, Profiler.Section> children = Maps.newHashMap();
+		private long totalTime = 0L;
+		private boolean recorded = false;
+
+		private Section(String name, String path) {
+			this.name = name;
+			this.path = path;
+			this.traceId = EaglerTelemetry.internSection(path);
+		}
 	}
 
 	public static final class Result implements Comparable<Profiler.Result> {
@@ -2,6 +2,7 @@ package net.minecraft.tileentity;
 
 import org.json.JSONException;
 
+import net.minecraft.client.renderer.tileentity.TileEntityRendererDispatcher;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.entity.Entity;
@@ -43,6 +44,25 @@ public class TileEntitySign extends TileEntity {
 	 * used when the > < are going to be visible.
 	 */
 	public int lineBeingEdited = -1;
+	/**
+	 * The text as it was last laid out by TileEntitySignRenderer, a line is laid
+	 * out again when it is replaced, when the line being edited changes or when
+	 * the font changes
+	 */
+	public final IChatComponent[] renderedText = new IChatComponent[4];
+	public final String[] renderedLines = new String[4];
+	public final int[] renderedLinesX = new int[4];
+	public int renderedLineBeingEdited = -1;
+	public int renderedFontSerial = -1;
+	/**
+	 * The slot in TileEntityRendererDispatcher's SignTextAtlas that the text was
+	 * last drawn into, the text is drawn into it again once a line has been laid
+	 * out again
+	 */
+	public int textSlot = -1;
+	public boolean textTextureDirty = true;
+	public boolean textTextureQueued = false;
+	public int textLastUsedFrame = 0;
 	private boolean isEditable = true;
 	private EntityPlayer player;
 
@@ -133,6 +153,20 @@ public class TileEntitySign extends TileEntity {
 		return true;
 	}
 
+	public void markTextChanged() {
+		this.renderedFontSerial = -1;
+	}
+
+	/**+
+	 * invalidates a tile entity
+	 */
+	public void invalidate() {
+		super.invalidate();
+		if (this.textSlot != -1) {
+			TileEntityRendererDispatcher.instance.signTextAtlas.releaseSlot(this);
+		}
+	}
+
 	public boolean getIsEditable() {
 		return this.isEditable;
 	}
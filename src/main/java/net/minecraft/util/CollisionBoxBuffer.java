@@ -0,0 +1,243 @@
+package net.minecraft.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class CollisionBoxBuffer {
+
+	public static final int MIN_X = 0;
+	public static final int MIN_Y = 1;
+	public static final int MIN_Z = 2;
+	public static final int MAX_X = 3;
+	public static final int MAX_Y = 4;
+	public static final int MAX_Z = 5;
+
+	private double[] minX = new double[64];
+	private double[] minY = new double[64];
+	private double[] minZ = new double[64];
+	private double[] maxX = new double[64];
+	private double[] maxY = new double[64];
+	private double[] maxZ = new double[64];
+	private int count = 0;
+
+	/**
+	 * Passed to blocks that add their own collision boxes, its contents are moved
+	 * into the buffer with addAll
+	 */
+	public final List<AxisAlignedBB> tmpList = new ArrayList();
+
+	/**
+	 * Scratch boxes for the sweep in Entity.moveEntity, in the order MIN_X, MIN_Y,
+	 * MIN_Z, MAX_X, MAX_Y, MAX_Z
+	 */
+	public final double[] boxA = new double[6];
+	public final double[] boxB = new double[6];
+	public final double[] boxC = new double[6];
+	public final double[] boxD = new double[6];
+	public final double[] boxE = new double[6];
+
+	public void clear() {
+		count = 0;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	public void add(double x1, double y1, double z1, double x2, double y2, double z2) {
+		if (count == minX.length) {
+			int l = count << 1;
+			minX = copyOf(minX, l);
+			minY = copyOf(minY, l);
+			minZ = copyOf(minZ, l);
+			maxX = copyOf(maxX, l);
+			maxY = copyOf(maxY, l);
+			maxZ = copyOf(maxZ, l);
+		}
+		minX[count] = x1;
+		minY[count] = y1;
+		minZ[count] = z1;
+		maxX[count] = x2;
+		maxY[count] = y2;
+		maxZ[count] = z2;
+		++count;
+	}
+
+	public void add(AxisAlignedBB bb) {
+		add(bb.minX, bb.minY, bb.minZ, bb.maxX, bb.maxY, bb.maxZ);
+	}
+
+	/**
+	 * Adds every box in the list and clears the list
+	 */
+	public void addAll(List<AxisAlignedBB> list) {
+		for (int i = 0, l = list.size(); i < l; ++i) {
+			add(list.get(i));
+		}
+		list.clear();
+	}
+
+	/**
+	 * Copies the box at index into bb in the order MIN_X, MIN_Y, MIN_Z, MAX_X,
+	 * MAX_Y, MAX_Z
+	 */
+	public void get(int index, double[] bb) {
+		bb[MIN_X] = minX[index];
+		bb[MIN_Y] = minY[index];
+		bb[MIN_Z] = minZ[index];
+		bb[MAX_X] = maxX[index];
+		bb[MAX_Y] = maxY[index];
+		bb[MAX_Z] = maxZ[index];
+	}
+
+	private static double[] copyOf(double[] arr, int len) {
+		double[] ret = new double[len];
+		System.arraycopy(arr, 0, ret, 0, arr.length);
+		return ret;
+	}
+
+	/**
+	 * Same result as calling AxisAlignedBB.calculateXOffset of every box in the
+	 * buffer in order with bb as the argument
+	 */
+	public double calculateXOffset(double[] bb, double offsetX) {
+		double bbMinX = bb[MIN_X], bbMinY = bb[MIN_Y], bbMinZ = bb[MIN_Z];
+		double bbMaxX = bb[MAX_X], bbMaxY = bb[MAX_Y], bbMaxZ = bb[MAX_Z];
+		for (int i = 0; i < count; ++i) {
+			if (bbMaxY > minY[i] && bbMinY < maxY[i] && bbMaxZ > minZ[i] && bbMinZ < maxZ[i]) {
+				if (offsetX > 0.0D && bbMaxX <= minX[i]) {
+					double d1 = minX[i] - bbMaxX;
+					if (d1 < offsetX) {
+						offsetX = d1;
+					}
+				} else if (offsetX < 0.0D && bbMinX >= maxX[i]) {
+					double d0 = maxX[i] - bbMinX;
+					if (d0 > offsetX) {
+						offsetX = d0;
+					}
+				}
+			}
+		}
+		return offsetX;
+	}
+
+	/**
+	 * Same result as calling AxisAlignedBB.calculateYOffset of every box in the
+	 * buffer in order with bb as the argument
+	 */
+	public double calculateYOffset(double[] bb, double offsetY) {
+		double bbMinX = bb[MIN_X], bbMinY = bb[MIN_Y], bbMinZ = bb[MIN_Z];
+		double bbMaxX = bb[MAX_X], bbMaxY = bb[MAX_Y], bbMaxZ = bb[MAX_Z];
+		for (int i = 0; i < count; ++i) {
+			if (bbMaxX > minX[i] && bbMinX < maxX[i] && bbMaxZ > minZ[i] && bbMinZ < maxZ[i]) {
+				if (offsetY > 0.0D && bbMaxY <= minY[i]) {
+					double d1 = minY[i] - bbMaxY;
+					if (d1 < offsetY) {
+						offsetY = d1;
+					}
+				} else if (offsetY < 0.0D && bbMinY >= maxY[i]) {
+					double d0 = maxY[i] - bbMinY;
+					if (d0 > offsetY) {
+						offsetY = d0;
+					}
+				}
+			}
+		}
+		return offsetY;
+	}
+
+	/**
+	 * Same result as calling AxisAlignedBB.calculateZOffset of every box in the
+	 * buffer in order with bb as the argument
+	 */
+	public double calculateZOffset(double[] bb, double offsetZ) {
+		double bbMinX = bb[MIN_X], bbMinY = bb[MIN_Y], bbMinZ = bb[MIN_Z];
+		double bbMaxX = bb[MAX_X], bbMaxY = bb[MAX_Y], bbMaxZ = bb[MAX_Z];
+		for (int i = 0; i < count; ++i) {
+			if (bbMaxX > minX[i] && bbMinX < maxX[i] && bbMaxY > minY[i] && bbMinY < maxY[i]) {
+				if (offsetZ > 0.0D && bbMaxZ <= minZ[i]) {
+					double d1 = minZ[i] - bbMaxZ;
+					if (d1 < offsetZ) {
+						offsetZ = d1;
+					}
+				} else if (offsetZ < 0.0D && bbMinZ >= maxZ[i]) {
+					double d0 = maxZ[i] - bbMinZ;
+					if (d0 > offsetZ) {
+						offsetZ = d0;
+					}
+				}
+			}
+		}
+		return offsetZ;
+	}
+
+	public static void set(double[] bb, AxisAlignedBB src) {
+		bb[MIN_X] = src.minX;
+		bb[MIN_Y] = src.minY;
+		bb[MIN_Z] = src.minZ;
+		bb[MAX_X] = src.maxX;
+		bb[MAX_Y] = src.maxY;
+		bb[MAX_Z] = src.maxZ;
+	}
+
+	public static void set(double[] bb, double[] src) {
+		System.arraycopy(src, 0, bb, 0, 6);
+	}
+
+	/**
+	 * Same as AxisAlignedBB.offset
+	 */
+	public static void offset(double[] bb, double x, double y, double z) {
+		bb[MIN_X] += x;
+		bb[MIN_Y] += y;
+		bb[MIN_Z] += z;
+		bb[MAX_X] += x;
+		bb[MAX_Y] += y;
+		bb[MAX_Z] += z;
+	}
+
+	/**
+	 * Same as AxisAlignedBB.addCoord
+	 */
+	public static void addCoord(double[] bb, double x, double y, double z) {
+		if (x < 0.0D) {
+			bb[MIN_X] += x;
+		} else if (x > 0.0D) {
+			bb[MAX_X] += x;
+		}
+
+		if (y < 0.0D) {
+			bb[MIN_Y] += y;
+		} else if (y > 0.0D) {
+			bb[MAX_Y] += y;
+		}
+
+		if (z < 0.0D) {
+			bb[MIN_Z] += z;
+		} else if (z > 0.0D) {
+			bb[MAX_Z] += z;
+		}
+	}
+
+	public static AxisAlignedBB toAABB(double[] bb) {
+		return new AxisAlignedBB(bb[MIN_X], bb[MIN_Y], bb[MIN_Z], bb[MAX_X], bb[MAX_Y], bb[MAX_Z]);
+	}
+
+}
@@ -17,6 +17,7 @@ import com.google.common.collect.Sets;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockHopper;
 import net.minecraft.block.BlockLiquid;
+import net.minecraft.block.BlockPropertyTables;
 import net.minecraft.block.BlockSlab;
 import net.minecraft.block.BlockSnow;
 import net.minecraft.block.BlockStairs;
@@ -37,6 +38,7 @@ import net.minecraft.scoreboard.Scoreboard;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
+import net.minecraft.util.CollisionBoxBuffer;
 import net.minecraft.util.EntitySelectors;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumParticleTypes;
@@ -121,6 +123,8 @@ public abstract class World implements IBlockAccess {
 	private boolean processingLoadedTiles;
 	private final WorldBorder worldBorder;
 	int[] lightUpdateBlockList;
+	private final CollisionBoxBuffer collisionBoxBuffer = new CollisionBoxBuffer();
+	private int stoneStateId = -1;
 
 	protected World(ISaveHandler saveHandlerIn, WorldInfo info, WorldProvider providerIn, Profiler profilerIn,
 			boolean client) {
@@ -628,6 +632,19 @@ public abstract class World implements IBlockAccess {
 		}
 	}
 
+	/**
+	 * only use with a regular "net.minecraft.util.BlockPos"! returns the id from
+	 * Block.BLOCK_STATE_IDS, use BlockPropertyTables to get the properties of the
+	 * block without looking up the IBlockState
+	 */
+	public int getBlockStateIdFaster(BlockPos pos) {
+		if (!this.isValid(pos)) {
+			return 0;
+		} else {
+			return this.getChunkFromChunkCoords(pos.x >> 4, pos.z >> 4).getBlockStateIdFaster(pos);
+		}
+	}
+
 	/**+
 	 * Checks whether its daytime by seeing if the light subtracted
 	 * from the skylight is less than 4
@@ -1004,7 +1021,14 @@ public abstract class World implements IBlockAccess {
 
 						IBlockState iblockstate1 = iblockstate;
 						if (worldborder.contains((BlockPos) blockpos$mutableblockpos) || !flag1) {
-							iblockstate1 = this.getBlockState(blockpos$mutableblockpos);
+							int stateId = this.getBlockStateIdFaster(blockpos$mutableblockpos);
+							if (BlockPropertyTables.isAir(stateId)) {
+								continue;
+							}
+							iblockstate1 = (IBlockState) Block.BLOCK_STATE_IDS.getByValue(stateId);
+							if (iblockstate1 == null) {
+								continue;
+							}
 						}
 
 						iblockstate1.getBlock().addCollisionBoxesToList(this, blockpos$mutableblockpos, iblockstate1,
@@ -1034,6 +1058,102 @@ public abstract class World implements IBlockAccess {
 		return arraylist;
 	}
 
+	public CollisionBoxBuffer getCollisionBoxBuffer() {
+		return this.collisionBoxBuffer;
+	}
+
+	/**
+	 * Same as getCollidingBoundingBoxes but the boxes are returned in the buffer
+	 * from getCollisionBoxBuffer, which is cleared first, and solid cubes are
+	 * added without creating an AxisAlignedBB for every block
+	 */
+	public CollisionBoxBuffer getCollidingBoundingBoxes(Entity entityIn, double[] bb) {
+		CollisionBoxBuffer ret = this.collisionBoxBuffer;
+		ret.clear();
+		double minX = bb[CollisionBoxBuffer.MIN_X];
+		double minY = bb[CollisionBoxBuffer.MIN_Y];
+		double minZ = bb[CollisionBoxBuffer.MIN_Z];
+		double maxX = bb[CollisionBoxBuffer.MAX_X];
+		double maxY = bb[CollisionBoxBuffer.MAX_Y];
+		double maxZ = bb[CollisionBoxBuffer.MAX_Z];
+		AxisAlignedBB mask = CollisionBoxBuffer.toAABB(bb);
+		int i = MathHelper.floor_double(minX);
+		int j = MathHelper.floor_double(maxX + 1.0D);
+		int k = MathHelper.floor_double(minY);
+		int l = MathHelper.floor_double(maxY + 1.0D);
+		int i1 = MathHelper.floor_double(minZ);
+		int j1 = MathHelper.floor_double(maxZ + 1.0D);
+		WorldBorder worldborder = this.getWorldBorder();
+		boolean flag = entityIn.isOutsideBorder();
+		boolean flag1 = this.isInsideBorder(worldborder, entityIn);
+		if (this.stoneStateId == -1) {
+			this.stoneStateId = Block.BLOCK_STATE_IDS.get(Blocks.stone.getDefaultState());
+		}
+		BlockPos.MutableBlockPos blockpos$mutableblockpos = new BlockPos.MutableBlockPos();
+		List<AxisAlignedBB> tmpList = ret.tmpList;
+
+		for (int k1 = i; k1 < j; ++k1) {
+			for (int l1 = i1; l1 < j1; ++l1) {
+				if (this.isBlockLoaded(blockpos$mutableblockpos.func_181079_c(k1, 64, l1))) {
+					for (int i2 = k - 1; i2 < l; ++i2) {
+						blockpos$mutableblockpos.func_181079_c(k1, i2, l1);
+						if (flag && flag1) {
+							entityIn.setOutsideBorder(false);
+						} else if (!flag && !flag1) {
+							entityIn.setOutsideBorder(true);
+						}
+
+						int stateId = this.stoneStateId;
+						if (worldborder.contains((BlockPos) blockpos$mutableblockpos) || !flag1) {
+							stateId = this.getBlockStateIdFaster(blockpos$mutableblockpos);
+						}
+
+						int blockFlags = BlockPropertyTables.flags[stateId];
+						if ((blockFlags & BlockPropertyTables.FLAG_AIR) != 0) {
+							continue;
+						}
+
+						if ((blockFlags & BlockPropertyTables.FLAG_SOLID_CUBE) != 0) {
+							double d0 = (double) k1;
+							double d1 = (double) i2;
+							double d2 = (double) l1;
+							if (d0 + 1.0D > minX && d0 < maxX && d1 + 1.0D > minY && d1 < maxY && d2 + 1.0D > minZ
+									&& d2 < maxZ) {
+								ret.add(d0, d1, d2, d0 + 1.0D, d1 + 1.0D, d2 + 1.0D);
+							}
+						} else {
+							IBlockState iblockstate1 = (IBlockState) Block.BLOCK_STATE_IDS.getByValue(stateId);
+							if (iblockstate1 != null) {
+								iblockstate1.getBlock().addCollisionBoxesToList(this, blockpos$mutableblockpos,
+										iblockstate1, mask, tmpList, entityIn);
+								ret.addAll(tmpList);
+							}
+						}
+					}
+				}
+			}
+		}
+
+		double d0 = 0.25D;
+		List list = this.getEntitiesWithinAABBExcludingEntity(entityIn, mask.expand(d0, d0, d0));
+
+		for (int j2 = 0; j2 < list.size(); ++j2) {
+			if (entityIn.riddenByEntity != list && entityIn.ridingEntity != list) {
+				AxisAlignedBB axisalignedbb = ((Entity) list.get(j2)).getCollisionBoundingBox();
+				if (axisalignedbb != null && axisalignedbb.intersectsWith(mask)) {
+					ret.add(axisalignedbb);
+				}
+
+				axisalignedbb = entityIn.getCollisionBox((Entity) list.get(j2));
+				if (axisalignedbb != null && axisalignedbb.intersectsWith(mask)) {
+					ret.add(axisalignedbb);
+				}
+			}
+		}
+
+		return ret;
+	}
+
 	public boolean isInsideBorder(WorldBorder worldBorderIn, Entity entityIn) {
 		double d0 = worldBorderIn.minX();
 		double d1 = worldBorderIn.minZ();
@@ -2165,10 +2285,11 @@ public abstract class World implements IBlockAccess {
 		if (lightType == EnumSkyBlock.SKY && this.canSeeSky(pos)) {
 			return 15;
 		} else {
-			Block block = this.getBlockState(pos).getBlock();
-			int i = lightType == EnumSkyBlock.SKY ? 0 : block.getLightValue();
-			int j = block.getLightOpacity();
-			if (j >= 15 && block.getLightValue() > 0) {
+			int stateId = this.getBlockStateIdFaster(pos);
+			int lightValue = BlockPropertyTables.getLightValue(stateId);
+			int i = lightType == EnumSkyBlock.SKY ? 0 : lightValue;
+			int j = BlockPropertyTables.getLightOpacity(stateId);
+			if (j >= 15 && lightValue > 0) {
 				j = 1;
 			}
 
@@ -2237,8 +2358,8 @@ public abstract class World implements IBlockAccess {
 									int j4 = j2 + enumfacing.getFrontOffsetY();
 									int k4 = k2 + enumfacing.getFrontOffsetZ();
 									blockpos$mutableblockpos.func_181079_c(i4, j4, k4);
-									int l4 = Math.max(1,
-											this.getBlockState(blockpos$mutableblockpos).getBlock().getLightOpacity());
+									int l4 = Math.max(1, BlockPropertyTables
+											.getLightOpacity(this.getBlockStateIdFaster(blockpos$mutableblockpos)));
 									i3 = this.getLightFor(lightType, blockpos$mutableblockpos);
 									if (i3 == l2 - l4 && j < this.lightUpdateBlockList.length) {
 										this.lightUpdateBlockList[j++] = i4 - i1 + 32 | j4 - j1 + 32 << 6
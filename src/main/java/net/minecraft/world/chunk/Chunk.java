@@ -488,6 +488,21 @@ public class Chunk {
 		}
 	}
 
+	/**
+	 * only use with a regular "net.minecraft.util.BlockPos"! returns the id from
+	 * Block.BLOCK_STATE_IDS without looking up the IBlockState, 0 (air) if there
+	 * is no block
+	 */
+	public int getBlockStateIdFaster(BlockPos pos) {
+		if (pos.y >= 0 && pos.y >> 4 < this.storageArrays.length) {
+			ExtendedBlockStorage extendedblockstorage = this.storageArrays[pos.y >> 4];
+			if (extendedblockstorage != null) {
+				return extendedblockstorage.getData()[(pos.y & 15) << 8 | (pos.z & 15) << 4 | (pos.x & 15)];
+			}
+		}
+		return 0;
+	}
+
 	/**
 	 * only use with a regular "net.minecraft.util.BlockPos"!
 	 */
@@ -1059,55 +1074,88 @@ public class Chunk {
 	 * Initialize this chunk with new binary data.
 	 */
 	public void fillChunk(byte[] parArrayOfByte, int parInt1, boolean parFlag) {
+		ExtendedBlockStorage[] sections = new ExtendedBlockStorage[this.storageArrays.length];
+		byte[] biomes = decodeChunkSections(parArrayOfByte, parInt1, parFlag, !this.worldObj.provider.getHasNoSky(),
+				sections);
+		this.fillChunk(sections, biomes, parInt1, parFlag);
+	}
+
+	/**+
+	 * Decodes the sections of a chunk data packet into new
+	 * ExtendedBlockStorage objects without touching any chunk, so
+	 * the work can be done ahead of fillChunk. Returns the biome
+	 * array if the packet contains one
+	 */
+	public static byte[] decodeChunkSections(byte[] parArrayOfByte, int parInt1, boolean parFlag, boolean hasSky,
+			ExtendedBlockStorage[] sectionsOut) {
 		int i = 0;
-		boolean flag = !this.worldObj.provider.getHasNoSky();
 
-		for (int j = 0; j < this.storageArrays.length; ++j) {
+		for (int j = 0; j < sectionsOut.length; ++j) {
 			if ((parInt1 & 1 << j) != 0) {
-				if (this.storageArrays[j] == null) {
-					this.storageArrays[j] = new ExtendedBlockStorage(j << 4, flag);
-				}
-
-				char[] achar = this.storageArrays[j].getData();
+				ExtendedBlockStorage extendedblockstorage = new ExtendedBlockStorage(j << 4, hasSky);
+				char[] achar = extendedblockstorage.getData();
 
 				for (int k = 0; k < achar.length; ++k) {
 					achar[k] = (char) ((parArrayOfByte[i + 1] & 255) << 8 | parArrayOfByte[i] & 255);
 					i += 2;
 				}
-			} else if (parFlag && this.storageArrays[j] != null) {
-				this.storageArrays[j] = null;
+
+				sectionsOut[j] = extendedblockstorage;
+			} else {
+				sectionsOut[j] = null;
 			}
 		}
 
-		for (int l = 0; l < this.storageArrays.length; ++l) {
-			if ((parInt1 & 1 << l) != 0 && this.storageArrays[l] != null) {
-				NibbleArray nibblearray = this.storageArrays[l].getBlocklightArray();
-				System.arraycopy(parArrayOfByte, i, nibblearray.getData(), 0, nibblearray.getData().length);
-				i += nibblearray.getData().length;
+		for (int l = 0; l < sectionsOut.length; ++l) {
+			if (sectionsOut[l] != null) {
+				byte[] nibbles = sectionsOut[l].getBlocklightArray().getData();
+				System.arraycopy(parArrayOfByte, i, nibbles, 0, nibbles.length);
+				i += nibbles.length;
 			}
 		}
 
-		if (flag) {
-			for (int i1 = 0; i1 < this.storageArrays.length; ++i1) {
-				if ((parInt1 & 1 << i1) != 0 && this.storageArrays[i1] != null) {
-					NibbleArray nibblearray1 = this.storageArrays[i1].getSkylightArray();
-					System.arraycopy(parArrayOfByte, i, nibblearray1.getData(), 0, nibblearray1.getData().length);
-					i += nibblearray1.getData().length;
+		if (hasSky) {
+			for (int i1 = 0; i1 < sectionsOut.length; ++i1) {
+				if (sectionsOut[i1] != null) {
+					byte[] nibbles = sectionsOut[i1].getSkylightArray().getData();
+					System.arraycopy(parArrayOfByte, i, nibbles, 0, nibbles.length);
+					i += nibbles.length;
 				}
 			}
 		}
 
+		byte[] biomes = null;
 		if (parFlag) {
-			System.arraycopy(parArrayOfByte, i, this.blockBiomeArray, 0, this.blockBiomeArray.length);
-			int k1 = i + this.blockBiomeArray.length;
+			biomes = new byte[256];
+			System.arraycopy(parArrayOfByte, i, biomes, 0, biomes.length);
+		}
+
+		for (int j1 = 0; j1 < sectionsOut.length; ++j1) {
+			if (sectionsOut[j1] != null) {
+				sectionsOut[j1].removeInvalidBlocks();
+			}
 		}
 
-		for (int j1 = 0; j1 < this.storageArrays.length; ++j1) {
-			if (this.storageArrays[j1] != null && (parInt1 & 1 << j1) != 0) {
-				this.storageArrays[j1].removeInvalidBlocks();
+		return biomes;
+	}
+
+	/**+
+	 * Installs sections that were decoded by decodeChunkSections,
+	 * the result is the same as fillChunk with the original packet
+	 */
+	public void fillChunk(ExtendedBlockStorage[] sections, byte[] biomes, int parInt1, boolean parFlag) {
+		for (int j = 0; j < this.storageArrays.length; ++j) {
+			if ((parInt1 & 1 << j) != 0) {
+				this.storageArrays[j] = sections[j];
+			} else if (parFlag && this.storageArrays[j] != null) {
+				this.storageArrays[j] = null;
 			}
 		}
 
+		if (biomes != null) {
+			System.arraycopy(biomes, 0, this.blockBiomeArray, 0, this.blockBiomeArray.length);
+		}
+
 		this.isLightPopulated = true;
 		this.isTerrainPopulated = true;
 		this.generateHeightMap();
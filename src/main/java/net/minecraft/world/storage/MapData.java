@@ -53,6 +53,11 @@ public class MapData extends WorldSavedData {
 	public List<MapData.MapInfo> playersArrayList = Lists.newArrayList();
 	private Map<EntityPlayer, MapData.MapInfo> playersHashMap = Maps.newHashMap();
 	public Map<String, Vec4b> mapDecorations = Maps.newLinkedHashMap();
+	private boolean colorsDirty = true;
+	private int colorsDirtyMinX = 0;
+	private int colorsDirtyMinY = 0;
+	private int colorsDirtyMaxX = 127;
+	private int colorsDirtyMaxY = 127;
 
 	public MapData(String mapname) {
 		super(mapname);
@@ -98,6 +103,7 @@ public class MapData extends WorldSavedData {
 			}
 		}
 
+		this.markColorsDirty(0, 0, 127, 127);
 	}
 
 	/**+
@@ -220,6 +226,7 @@ public class MapData extends WorldSavedData {
 
 	public void updateMapData(int x, int y) {
 		super.markDirty();
+		this.markColorsDirty(x, y, x, y);
 
 		for (MapData.MapInfo mapdata$mapinfo : this.playersArrayList) {
 			mapdata$mapinfo.update(x, y);
@@ -227,6 +234,49 @@ public class MapData extends WorldSavedData {
 
 	}
 
+	/**
+	 * Adds the rectangle from x1, y1 to x2, y2 inclusive to the region of colors
+	 * that changed since the map texture was last updated
+	 */
+	public void markColorsDirty(int x1, int y1, int x2, int y2) {
+		if (this.colorsDirty) {
+			this.colorsDirtyMinX = Math.min(this.colorsDirtyMinX, x1);
+			this.colorsDirtyMinY = Math.min(this.colorsDirtyMinY, y1);
+			this.colorsDirtyMaxX = Math.max(this.colorsDirtyMaxX, x2);
+			this.colorsDirtyMaxY = Math.max(this.colorsDirtyMaxY, y2);
+		} else {
+			this.colorsDirty = true;
+			this.colorsDirtyMinX = x1;
+			this.colorsDirtyMinY = y1;
+			this.colorsDirtyMaxX = x2;
+			this.colorsDirtyMaxY = y2;
+		}
+	}
+
+	public boolean hasDirtyColors() {
+		return this.colorsDirty;
+	}
+
+	public int getColorsDirtyMinX() {
+		return this.colorsDirtyMinX;
+	}
+
+	public int getColorsDirtyMinY() {
+		return this.colorsDirtyMinY;
+	}
+
+	public int getColorsDirtyMaxX() {
+		return this.colorsDirtyMaxX;
+	}
+
+	public int getColorsDirtyMaxY() {
+		return this.colorsDirtyMaxY;
+	}
+
+	public void clearDirtyColors() {
+		this.colorsDirty = false;
+	}
+
 	public MapData.MapInfo getMapInfo(EntityPlayer player) {
 		MapData.MapInfo mapdata$mapinfo = (MapData.MapInfo) this.playersHashMap.get(player);
 		if (mapdata$mapinfo == null) {
@@ -7,6 +7,7 @@ import java.util.Date;
 import org.teavm.interop.Async;
 import org.teavm.interop.AsyncCallback;
 import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
 import org.teavm.jso.JSFunctor;
 import org.teavm.jso.JSObject;
 import org.teavm.jso.browser.Storage;
@@ -132,6 +133,13 @@ public class PlatformApplication {
 	@JSBody(params = { "name", "cvs" }, script = "var a=document.createElement(\"a\");a.href=cvs.toDataURL(\"image/png\");a.download=name;a.click();")
 	private static native void saveScreenshot(String name, HTMLCanvasElement cvs);
 	
+	public static void downloadFileWithName(String str, byte[] dat) {
+		downloadBytes(str, dat);
+	}
+
+	@JSBody(params = { "name", "buf" }, script = "var a=document.createElement(\"a\");a.href=URL.createObjectURL(new Blob([buf],{type:\"application/octet-stream\"}));a.download=name;a.click();setTimeout(function(){URL.revokeObjectURL(a.href);},30000);")
+	private static native void downloadBytes(String name, @JSByRef byte[] buf);
+
 	public static void showPopup(final String msg) {
 		Window.setTimeout(new TimerHandler() {
 			@Override
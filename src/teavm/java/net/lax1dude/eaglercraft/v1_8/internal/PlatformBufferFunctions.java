@@ -31,5 +31,12 @@ public class PlatformBufferFunctions {
 		intBuffer.put(data);
 		intBuffer.position(p);
 	}
+
+	public static void put(IntBuffer intBuffer, int index, int[] data, int offset, int length) {
+		int p = intBuffer.position();
+		intBuffer.position(index);
+		intBuffer.put(data, offset, length);
+		intBuffer.position(p);
+	}
 	
 }
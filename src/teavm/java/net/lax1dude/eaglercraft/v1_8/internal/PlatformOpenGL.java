@@ -79,6 +79,10 @@ public class PlatformOpenGL {
 		ctx.viewport(x, y, w, h);
 	}
 	
+	public static final void _wglScissor(int x, int y, int w, int h) {
+		ctx.scissor(x, y, w, h);
+	}
+	
 	public static final void _wglBlendFunc(int src, int dst) {
 		ctx.blendFunc(src, dst);
 	}
@@ -374,22 +378,32 @@ public class PlatformOpenGL {
 		return ctx.getAttribLocation(obj == null ? null : ((OpenGLObjects.ProgramGL)obj).ptr, name);
 	}
 	
+	private static int drawCallCounter = 0;
+
+	public static final int _wglGetDrawCallCounter() {
+		return drawCallCounter;
+	}
+
 	public static final void _wglDrawArrays(int mode, int first, int count) {
+		++drawCallCounter;
 		ctx.drawArrays(mode, first, count);
 		//checkErr("_wglDrawArrays(" + mode + ", " + first + ", " + count + ");");
 	}
 
 	public static final void _wglDrawArraysInstanced(int mode, int first, int count, int instanced) {
+		++drawCallCounter;
 		ctx.drawArraysInstanced(mode, first, count, instanced);
 		//checkErr("_wglDrawArraysInstanced(" + mode + ", " + first + ", " + count + ", " + instanced + ");");
 	}
 	
 	public static final void _wglDrawElements(int mode, int count, int type, int offset) {
+		++drawCallCounter;
 		ctx.drawElements(mode, count, type, offset);
 		//checkErr("_wglDrawElements(" + mode + ", " + count + ", " + type + ", " + offset + ");");
 	}
 	
 	public static final void _wglDrawElementsInstanced(int mode, int count, int type, int offset, int instanced) {
+		++drawCallCounter;
 		ctx.drawElementsInstanced(mode, count, type, offset, instanced);
 		//checkErr("_wglDrawElementsInstanced(" + mode + ", " + count + ", " + type + ", " + offset + ", " + instanced + ");");
 	}
@@ -386,6 +386,23 @@ public class PlatformRuntime {
 	public static long freeMemory() {
 		return 1073741824l;
 	}
+
+	@JSBody(params = { }, script = "return (window.performance && window.performance.memory) ? window.performance.memory.usedJSHeapSize : -1;")
+	private static native double getUsedJSHeapSize();
+
+	@JSBody(params = { }, script = "return (window.performance && window.performance.memory) ? window.performance.memory.totalJSHeapSize : -1;")
+	private static native double getTotalJSHeapSize();
+
+	/**
+	 * performance.memory is only available in chromium browsers
+	 */
+	public static long heapUsed() {
+		return (long)getUsedJSHeapSize();
+	}
+
+	public static long heapTotal() {
+		return (long)getTotalJSHeapSize();
+	}
 	
 	public static String getCallingClass(int backTrace) {
 		return null;
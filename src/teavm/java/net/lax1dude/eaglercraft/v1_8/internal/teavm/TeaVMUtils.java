@@ -1,9 +1,9 @@
 package net.lax1dude.eaglercraft.v1_8.internal.teavm;
 
 import org.teavm.jso.JSBody;
+import org.teavm.jso.JSByRef;
 import org.teavm.jso.JSObject;
 import org.teavm.jso.typedarrays.ArrayBuffer;
-import org.teavm.jso.typedarrays.Int8Array;
 
 /**
  * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
@@ -34,13 +34,23 @@ public class TeaVMUtils {
 			return null;
 		}
 		
-		Int8Array arr = Int8Array.create(buf);
-		byte[] ret = new byte[arr.getByteLength()];
-		for(int i = 0; i < ret.length; ++i) {
-			ret[i] = arr.get(i);
-		}
-		
+		byte[] ret = new byte[buf.getByteLength()];
+		copyFromArrayBuffer(ret, 0, buf, 0, ret.length);
 		return ret;
 	}
+	
+	/**
+	 * Copies len bytes from src into dst with a single TypedArray.set call instead
+	 * of copying one element at a time
+	 */
+	@JSBody(params = { "dst", "dstOff", "src", "srcOff", "len" }, script = "dst.set(new Int8Array(src, srcOff, len), dstOff);")
+	public static native void copyFromArrayBuffer(@JSByRef byte[] dst, int dstOff, ArrayBuffer src, int srcOff, int len);
+	
+	@JSBody(params = { "buf", "off", "len" }, script = "return buf.buffer.slice(buf.byteOffset + off, buf.byteOffset + off + len);")
+	public static native ArrayBuffer bytesToArrayBuffer(@JSByRef byte[] buf, int off, int len);
+	
+	public static final ArrayBuffer bytesToArrayBuffer(byte[] buf) {
+		return bytesToArrayBuffer(buf, 0, buf.length);
+	}
 
 }
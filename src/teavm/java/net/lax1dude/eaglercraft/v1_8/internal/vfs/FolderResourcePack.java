@@ -1,10 +1,12 @@
 package net.lax1dude.eaglercraft.v1_8.internal.vfs;
 
 import com.google.common.collect.Sets;
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
 import net.minecraft.client.resources.AbstractResourcePack;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -23,26 +25,57 @@ import java.util.Set;
 
 public class FolderResourcePack extends AbstractResourcePack {
 	private final String prefix;
+	private ResourcePackArchive archive = null;
+	private boolean archiveLoaded = false;
 
 	public FolderResourcePack(String resourcePackFileIn, String prefix) {
 		super(resourcePackFileIn);
 		this.prefix = prefix;
 	}
 
-	protected InputStream getInputStreamByName(String name) {
+	/**
+	 * Returns null if the pack was extracted into separate files
+	 */
+	private ResourcePackArchive getArchive() {
+		if (!archiveLoaded) {
+			archiveLoaded = true;
+			archive = ResourcePackArchive.open(prefix + this.resourcePackFile + "/");
+		}
+		return archive;
+	}
+
+	protected InputStream getInputStreamByName(String name) throws IOException {
+		ResourcePackArchive a = getArchive();
+		if (a != null) {
+			byte[] b = a.getEntry(name);
+			return b != null ? new EaglerInputStream(b) : null;
+		}
 		return SYS.VFS.getFile(prefix + this.resourcePackFile + "/" + name).getInputStream();
 	}
 
 	protected boolean hasResourceName(String name) {
+		ResourcePackArchive a = getArchive();
+		if (a != null) {
+			return a.hasEntry(name);
+		}
 		return SYS.VFS.fileExists(prefix + this.resourcePackFile + "/" + name);
 	}
 
 	public Set<String> getResourceDomains() {
 		Set<String> set = Sets.<String>newHashSet();
-		String pfx = prefix + this.resourcePackFile + "/assets/";
-		List<String> files = SYS.VFS.listFiles(pfx);
+		ResourcePackArchive a = getArchive();
+		Collection<String> files;
+		String pfx;
+		if (a != null) {
+			files = a.getEntryNames();
+			pfx = "assets/";
+		} else {
+			pfx = prefix + this.resourcePackFile + "/assets/";
+			files = SYS.VFS.listFiles(pfx);
+		}
 
 		for (String file : files) {
+			if (!file.startsWith(pfx)) continue;
 			String s = file.substring(pfx.length());
 			int ind = s.indexOf('/');
 			if (ind != -1) s = s.substring(0, ind);
@@ -0,0 +1,195 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.teavm.interop.Async;
+import org.teavm.interop.AsyncCallback;
+import org.teavm.jso.typedarrays.ArrayBuffer;
+
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.EventHandler;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBCountRequest;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBCursor;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBCursorRequest;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBDatabase;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBKeyRange;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBObjectStore;
+import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBTransaction;
+import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMUtils;
+import net.lax1dude.eaglercraft.v1_8.internal.vfs.VirtualFilesystem.AsyncHandlers;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class IndexedDBStorageBackend implements IVFSStorageBackend {
+
+	private final IDBDatabase indexeddb;
+
+	public IndexedDBStorageBackend(IDBDatabase indexeddb) {
+		this.indexeddb = indexeddb;
+	}
+
+	@Override
+	public int readRow(String key, int rowOffset, byte[] dst, int dstOffset, int len) {
+		ArrayBuffer buf = AsyncHandlers.readWholeFile(indexeddb, key);
+		if(buf == null) {
+			return -1;
+		}
+		int rowLength = buf.getByteLength();
+		if(rowOffset < rowLength) {
+			TeaVMUtils.copyFromArrayBuffer(dst, dstOffset, buf, rowOffset, Math.min(len, rowLength - rowOffset));
+		}
+		return rowLength;
+	}
+
+	@Override
+	public byte[] readRow(String key) {
+		return TeaVMUtils.arrayBufferToBytes(AsyncHandlers.readWholeFile(indexeddb, key));
+	}
+
+	@Override
+	public boolean rowExists(String key) {
+		return AsyncHandlers.fileExists(indexeddb, key).bool;
+	}
+
+	@Override
+	public boolean commit(List<String> writeKeys, List<byte[]> writeData, List<String> deleteKeys,
+			List<String> deletePrefixes) {
+		if(writeKeys.isEmpty() && deleteKeys.isEmpty() && deletePrefixes.isEmpty()) {
+			return true;
+		}
+		return commit(indexeddb, writeKeys, writeData, deleteKeys, deletePrefixes).bool;
+	}
+
+	@Override
+	public List<String> listRows(String prefix) {
+		List<String> ret = new ArrayList();
+		listRows(indexeddb, prefix, ret);
+		return ret;
+	}
+
+	@Override
+	public int deleteRows(String prefix) {
+		return deleteRows(indexeddb, prefix);
+	}
+
+	private static IDBKeyRange prefixRange(String prefix) {
+		return IDBKeyRange.bound(AsyncHandlers.makeTheFuckingKeyWork(prefix),
+				AsyncHandlers.makeTheFuckingKeyWork(prefix + '\uffff'));
+	}
+
+	@Async
+	private static native BooleanResult commit(IDBDatabase db, List<String> writeKeys, List<byte[]> writeData,
+			List<String> deleteKeys, List<String> deletePrefixes);
+
+	private static void commit(IDBDatabase db, List<String> writeKeys, List<byte[]> writeData, List<String> deleteKeys,
+			List<String> deletePrefixes, final AsyncCallback<BooleanResult> cb) {
+		IDBTransaction tx = db.transaction("filesystem", "readwrite");
+		IDBObjectStore store = tx.objectStore("filesystem");
+		
+		// requests in a transaction are executed in the order they were made, so
+		// all of the deletes are done before any of the new rows are written
+		
+		for(int i = 0, l = deletePrefixes.size(); i < l; ++i) {
+			store.delete(prefixRange(deletePrefixes.get(i)));
+		}
+		for(int i = 0, l = deleteKeys.size(); i < l; ++i) {
+			store.delete(AsyncHandlers.makeTheFuckingKeyWork(deleteKeys.get(i)));
+		}
+		for(int i = 0, l = writeKeys.size(); i < l; ++i) {
+			store.put(AsyncHandlers.writeRow(writeKeys.get(i), TeaVMUtils.bytesToArrayBuffer(writeData.get(i))));
+		}
+		
+		final boolean[] done = new boolean[1];
+		tx.setOnComplete(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				if(!done[0]) {
+					done[0] = true;
+					cb.complete(BooleanResult._new(true));
+				}
+			}
+		});
+		EventHandler fail = new EventHandler() {
+			@Override
+			public void handleEvent() {
+				if(!done[0]) {
+					done[0] = true;
+					cb.complete(BooleanResult._new(false));
+				}
+			}
+		};
+		tx.setOnError(fail);
+		tx.setOnAbort(fail);
+	}
+
+	@Async
+	private static native Integer listRows(IDBDatabase db, String prefix, List<String> ret);
+
+	private static void listRows(IDBDatabase db, String prefix, final List<String> ret, final AsyncCallback<Integer> cb) {
+		IDBTransaction tx = db.transaction("filesystem", "readonly");
+		final IDBCursorRequest r = tx.objectStore("filesystem").openCursor(prefixRange(prefix));
+		r.setOnSuccess(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				IDBCursor c = r.getResult();
+				if(c == null || c.getKey() == null) {
+					cb.complete(ret.size());
+					return;
+				}
+				String k = AsyncHandlers.readKey(c.getKey());
+				if(k != null) {
+					ret.add(k);
+				}
+				c.doContinue();
+			}
+		});
+		r.setOnError(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				cb.complete(ret.size() > 0 ? ret.size() : -1);
+			}
+		});
+	}
+
+	@Async
+	private static native Integer deleteRows(IDBDatabase db, String prefix);
+
+	private static void deleteRows(IDBDatabase db, String prefix, final AsyncCallback<Integer> cb) {
+		IDBTransaction tx = db.transaction("filesystem", "readwrite");
+		IDBObjectStore store = tx.objectStore("filesystem");
+		IDBKeyRange range = prefixRange(prefix);
+		final IDBCountRequest r = store.count(range);
+		store.delete(range);
+		final int[] res = new int[] { -1 };
+		r.setOnSuccess(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				res[0] = r.getResult();
+			}
+		});
+		tx.setOnComplete(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				cb.complete(res[0]);
+			}
+		});
+		tx.setOnAbort(new EventHandler() {
+			@Override
+			public void handleEvent() {
+				cb.complete(-1);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,290 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class ResourcePackArchive {
+
+	/**
+	 * The pack zip is stored unmodified in this file, entries are located using
+	 * the index file and are only decompressed when they are requested
+	 */
+	public static final String ARCHIVE_FILE = "pack.eagarchive";
+	public static final String INDEX_FILE = "pack.eagindex";
+
+	/**
+	 * Decompressed entries are cached until they take up more than this many bytes
+	 */
+	public static final int MAX_CACHE_BYTES = 4194304;
+
+	private static final int INDEX_MAGIC = 0x45414758;
+
+	public static final int METHOD_STORED = 0;
+	public static final int METHOD_DEFLATED = 8;
+
+	public static class Entry {
+
+		public final int method;
+		public final int dataOffset;
+		public final int compressedSize;
+		public final int size;
+
+		protected Entry(int method, int dataOffset, int compressedSize, int size) {
+			this.method = method;
+			this.dataOffset = dataOffset;
+			this.compressedSize = compressedSize;
+			this.size = size;
+		}
+
+	}
+
+	private final String archivePath;
+	private final Map<String, Entry> index;
+	private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap(16, 0.75f, true);
+	private int cacheBytes = 0;
+
+	protected ResourcePackArchive(String archivePath, Map<String, Entry> index) {
+		this.archivePath = archivePath;
+		this.index = index;
+	}
+
+	/**
+	 * Returns null if the pack at this path was extracted into separate files
+	 */
+	public static ResourcePackArchive open(String packPath) {
+		byte[] indexBytes = SYS.VFS.getFile(packPath + INDEX_FILE).getAllBytes();
+		if(indexBytes == null) {
+			return null;
+		}
+		try {
+			return new ResourcePackArchive(packPath + ARCHIVE_FILE, readIndex(indexBytes));
+		}catch(IOException ex) {
+			System.err.println("Could not read resource pack index for \"" + packPath + "\"");
+			ex.printStackTrace();
+			return null;
+		}
+	}
+
+	public boolean hasEntry(String name) {
+		return index.containsKey(name);
+	}
+
+	public Set<String> getEntryNames() {
+		return index.keySet();
+	}
+
+	/**
+	 * Returns null if the entry does not exist, the array that is returned is
+	 * shared with the cache and must not be modified
+	 */
+	public byte[] getEntry(String name) throws IOException {
+		byte[] ret = cache.get(name);
+		if(ret != null) {
+			return ret;
+		}
+		Entry etr = index.get(name);
+		if(etr == null) {
+			return null;
+		}
+		byte[] compressed = new byte[etr.compressedSize];
+		try {
+			SYS.VFS.getFile(archivePath).getBytes(etr.dataOffset, compressed, 0, etr.compressedSize);
+		}catch(ArrayIndexOutOfBoundsException ex) {
+			throw new IOException("Resource pack archive \"" + archivePath + "\" is missing or truncated", ex);
+		}
+		if(etr.method == METHOD_STORED) {
+			ret = compressed;
+		}else {
+			ret = inflate(compressed, etr.size);
+		}
+		if(ret.length <= (MAX_CACHE_BYTES >> 2)) {
+			cache.put(name, ret);
+			cacheBytes += ret.length;
+			Iterator<byte[]> itr = cache.values().iterator();
+			while(cacheBytes > MAX_CACHE_BYTES && itr.hasNext()) {
+				cacheBytes -= itr.next().length;
+				itr.remove();
+			}
+		}
+		return ret;
+	}
+
+	public void clearCache() {
+		cache.clear();
+		cacheBytes = 0;
+	}
+
+	private static byte[] inflate(byte[] compressed, int size) throws IOException {
+		byte[] ret = new byte[size];
+		Inflater inf = new Inflater(true);
+		try {
+			inf.setInput(compressed);
+			int i = 0;
+			while(i < size) {
+				int j = inf.inflate(ret, i, size - i);
+				if(j == 0 && (inf.finished() || inf.needsInput() || inf.needsDictionary())) {
+					break;
+				}
+				i += j;
+			}
+			if(i != size) {
+				throw new IOException("Resource pack entry was " + i + " bytes but the index says " + size);
+			}
+		}catch(DataFormatException ex) {
+			throw new IOException("Resource pack entry is corrupt", ex);
+		}finally {
+			inf.end();
+		}
+		return ret;
+	}
+
+	/**
+	 * Builds the index from the central directory of the zip without decompressing
+	 * anything, paths are relative to the folder containing pack.mcmeta. Returns
+	 * null if the zip uses zip64, encryption, or an unsupported compression method
+	 */
+	public static Map<String, Entry> buildIndex(byte[] zip) throws IOException {
+		int eocd = -1;
+		for(int i = zip.length - 22, j = Math.max(0, zip.length - 22 - 65535); i >= j; --i) {
+			if(readInt(zip, i) == 0x06054B50) {
+				eocd = i;
+				break;
+			}
+		}
+		if(eocd == -1) {
+			throw new IOException("Zip end of central directory record not found");
+		}
+		int count = readShort(zip, eocd + 10);
+		int cdOffset = readInt(zip, eocd + 16);
+		if(count == 0xFFFF || cdOffset == -1) {
+			return null;
+		}
+		if(cdOffset < 0 || cdOffset >= zip.length) {
+			throw new IOException("Zip central directory offset is invalid");
+		}
+		String[] names = new String[count];
+		Entry[] entries = new Entry[count];
+		int prefixLen = Integer.MAX_VALUE;
+		int p = cdOffset;
+		for(int i = 0; i < count; ++i) {
+			if(p + 46 > zip.length || readInt(zip, p) != 0x02014B50) {
+				throw new IOException("Zip central directory is corrupt");
+			}
+			int flags = readShort(zip, p + 8);
+			int method = readShort(zip, p + 10);
+			int compressedSize = readInt(zip, p + 20);
+			int size = readInt(zip, p + 24);
+			int nameLen = readShort(zip, p + 28);
+			int extraLen = readShort(zip, p + 30);
+			int commentLen = readShort(zip, p + 32);
+			int localOffset = readInt(zip, p + 42);
+			if(p + 46 + nameLen > zip.length) {
+				throw new IOException("Zip central directory is corrupt");
+			}
+			String name = new String(zip, p + 46, nameLen, StandardCharsets.UTF_8);
+			p += 46 + nameLen + extraLen + commentLen;
+			if(name.endsWith("/")) {
+				continue;
+			}
+			if((flags & 1) != 0 || (method != METHOD_STORED && method != METHOD_DEFLATED)
+					|| compressedSize == -1 || size == -1 || localOffset == -1) {
+				return null;
+			}
+			if(localOffset < 0 || localOffset + 30 > zip.length || readInt(zip, localOffset) != 0x04034B50) {
+				throw new IOException("Zip local header for \"" + name + "\" is corrupt");
+			}
+			int dataOffset = localOffset + 30 + readShort(zip, localOffset + 26) + readShort(zip, localOffset + 28);
+			if(compressedSize < 0 || size < 0 || dataOffset + compressedSize > zip.length
+					|| (method == METHOD_STORED && compressedSize != size)) {
+				throw new IOException("Zip entry \"" + name + "\" is corrupt");
+			}
+			names[i] = name;
+			entries[i] = new Entry(method, dataOffset, compressedSize, size);
+			if(name.equals("pack.mcmeta") || name.endsWith("/pack.mcmeta")) {
+				int currPrefixLen = name.length() - 11;
+				if(prefixLen > currPrefixLen) {
+					prefixLen = currPrefixLen;
+				}
+			}
+		}
+		if(prefixLen == Integer.MAX_VALUE) {
+			prefixLen = 0;
+		}
+		Map<String, Entry> ret = new HashMap();
+		for(int i = 0; i < count; ++i) {
+			String name = names[i];
+			if(name != null && name.length() > prefixLen) {
+				ret.put(name.substring(prefixLen), entries[i]);
+			}
+		}
+		return ret;
+	}
+
+	public static byte[] writeIndex(Map<String, Entry> index) {
+		ByteArrayOutputStream bao = new ByteArrayOutputStream();
+		DataOutputStream os = new DataOutputStream(bao);
+		try {
+			os.writeInt(INDEX_MAGIC);
+			os.writeInt(index.size());
+			for(Map.Entry<String, Entry> etr : index.entrySet()) {
+				Entry e = etr.getValue();
+				os.writeUTF(etr.getKey());
+				os.writeByte(e.method);
+				os.writeInt(e.dataOffset);
+				os.writeInt(e.compressedSize);
+				os.writeInt(e.size);
+			}
+		}catch(IOException ex) {
+			throw new RuntimeException("Unexpected IOException writing to ByteArrayOutputStream", ex);
+		}
+		return bao.toByteArray();
+	}
+
+	public static Map<String, Entry> readIndex(byte[] data) throws IOException {
+		DataInputStream is = new DataInputStream(new EaglerInputStream(data));
+		if(is.readInt() != INDEX_MAGIC) {
+			throw new IOException("Resource pack index has the wrong magic number");
+		}
+		int count = is.readInt();
+		Map<String, Entry> ret = new HashMap();
+		for(int i = 0; i < count; ++i) {
+			String name = is.readUTF();
+			ret.put(name, new Entry(is.readUnsignedByte(), is.readInt(), is.readInt(), is.readInt()));
+		}
+		return ret;
+	}
+
+	private static int readShort(byte[] arr, int off) {
+		return (arr[off] & 0xFF) | ((arr[off + 1] & 0xFF) << 8);
+	}
+
+	private static int readInt(byte[] arr, int off) {
+		return (arr[off] & 0xFF) | ((arr[off + 1] & 0xFF) << 8) | ((arr[off + 2] & 0xFF) << 16) | ((arr[off + 3] & 0xFF) << 24);
+	}
+
+}
@@ -1,11 +1,11 @@
 package net.lax1dude.eaglercraft.v1_8.internal.vfs;
 
+import net.lax1dude.eaglercraft.v1_8.EaglerInputStream;
 import net.lax1dude.eaglercraft.v1_8.crypto.SHA1Digest;
 import net.lax1dude.eaglercraft.v1_8.internal.PlatformRuntime;
-import net.lax1dude.eaglercraft.v1_8.internal.teavm.ArrayBufferInputStream;
+import net.lax1dude.eaglercraft.v1_8.internal.teavm.TeaVMUtils;
 import net.lax1dude.eaglercraft.v1_8.internal.vfs.VirtualFilesystem.VFSHandle;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -13,6 +13,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -79,7 +80,7 @@ public class SYS {
 				}
 				String packName = hash + "_" + System.currentTimeMillis();
 				loading.run();
-				boolean success = loadResourcePack(packName + ".zip", new ArrayBufferInputStream(ab), hash);
+				boolean success = loadResourcePack(packName + ".zip", new EaglerInputStream(TeaVMUtils.arrayBufferToBytes(ab)), hash);
 				if (success) {
 					cb.accept(packName);
 					return;
@@ -90,36 +91,53 @@ public class SYS {
 	}
 
 	public static final boolean loadResourcePack(String name, InputStream is, String hash) {
-		BufferedInputStream bis = new BufferedInputStream(is);
-
-		bis.mark(Integer.MAX_VALUE);
+		byte[] data;
+		try {
+			data = EaglerInputStream.inputStreamToBytes(is);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
 
 		if (hash != null) {
-			try {
-				SHA1Digest digest = new SHA1Digest();
-				byte[] buffer = new byte[16000];
-				int read = 0;
-
-				while ((read = bis.read(buffer)) > 0) {
-					digest.update(buffer, 0, read);
-				}
-
-				byte[] sha1sum = new byte[20];
-				digest.doFinal(sha1sum, 0);
-				bis.reset();
-				if (!hash.equals((new BigInteger(1, sha1sum)).toString(16))) {
-					return false;
-				}
-			} catch (IOException e) {
-				e.printStackTrace();
+			SHA1Digest digest = new SHA1Digest();
+			digest.update(data, 0, data.length);
+			byte[] sha1sum = new byte[20];
+			digest.doFinal(sha1sum, 0);
+			if (!hash.equals((new BigInteger(1, sha1sum)).toString(16))) {
 				return false;
 			}
 		}
 
 		String packName = name.substring(0, name.lastIndexOf('.')).replace('/', '_');
+		String packPath = (hash == null ? "resourcepacks/" : "srp/") + packName + "/";
+
+		Map<String, ResourcePackArchive.Entry> index;
+		try {
+			index = ResourcePackArchive.buildIndex(data);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		if (index != null) {
+			// the zip is stored as-is, entries are decompressed when the pack uses them
+			byte[] indexData = ResourcePackArchive.writeIndex(index);
+			boolean success;
+			SYS.VFS.beginBatch();
+			try {
+				SYS.VFS.getFile(packPath + ResourcePackArchive.ARCHIVE_FILE).setAllBytes(data, false);
+				SYS.VFS.getFile(packPath + ResourcePackArchive.INDEX_FILE).setAllBytes(indexData, false);
+			} finally {
+				success = SYS.VFS.endBatch();
+			}
+			return success;
+		}
+
+		// zip64 or otherwise unusual archives are still extracted into separate files
 		try {
 			int prefixLen = Integer.MAX_VALUE;
-			ZipInputStream ziss = new ZipInputStream(bis);
+			ZipInputStream ziss = new ZipInputStream(new EaglerInputStream(data));
 			ZipEntry zipEntryy;
 			while ((zipEntryy = ziss.getNextEntry()) != null) {
 				String zn;
@@ -134,21 +152,24 @@ public class SYS {
 				prefixLen = 0;
 			}
 
-			bis.reset();
-
-			ZipInputStream zis = new ZipInputStream(bis);
+			ZipInputStream zis = new ZipInputStream(new EaglerInputStream(data));
 			byte[] bb = new byte[16000];
 			ZipEntry zipEntry;
-			while ((zipEntry = zis.getNextEntry()) != null) {
-				if (zipEntry.isDirectory()) continue;
-				if (zipEntry.getName().length() <= prefixLen) continue;
-				ByteArrayOutputStream baos = new ByteArrayOutputStream();
-				int len;
-				while ((len = zis.read(bb)) != -1) {
-					baos.write(bb, 0, len);
+			SYS.VFS.beginBatch();
+			try {
+				while ((zipEntry = zis.getNextEntry()) != null) {
+					if (zipEntry.isDirectory()) continue;
+					if (zipEntry.getName().length() <= prefixLen) continue;
+					ByteArrayOutputStream baos = new ByteArrayOutputStream();
+					int len;
+					while ((len = zis.read(bb)) != -1) {
+						baos.write(bb, 0, len);
+					}
+					baos.close();
+					SYS.VFS.getFile(packPath + zipEntry.getName().substring(prefixLen)).setAllBytes(baos.toByteArray(), false);
 				}
-				baos.close();
-				SYS.VFS.getFile((hash == null ? "resourcepacks/" : "srp/") + packName + "/" + zipEntry.getName().substring(prefixLen)).setAllBytes(baos.toByteArray());
+			} finally {
+				SYS.VFS.endBatch();
 			}
 			zis.closeEntry();
 			zis.close();
@@ -186,6 +207,38 @@ public class SYS {
 		deleteResourcePack(packName, false);
 	}
 
+	/**
+	 * Returns null if the file does not exist or the filesystem could not be opened
+	 */
+	public static final byte[] readFile(String path) {
+		return VFS != null ? VFS.getFile(path).getAllBytes() : null;
+	}
+
+	/**
+	 * The array is not copied and must not be modified afterwards
+	 */
+	public static final boolean writeFile(String path, byte[] data) {
+		return VFS != null && VFS.getFile(path).setAllBytes(data, false);
+	}
+
+	public static final boolean deleteFile(String path) {
+		return VFS != null && VFS.deleteFile(path);
+	}
+
+	/**
+	 * Files written and deleted until the matching call to endBatch are
+	 * committed together in one transaction
+	 */
+	public static final void beginBatch() {
+		if(VFS != null) {
+			VFS.beginBatch();
+		}
+	}
+
+	public static final boolean endBatch() {
+		return VFS == null || VFS.endBatch();
+	}
+
 	private static final void deleteResourcePack(String packName, boolean srp) {
 		SYS.VFS.deleteFiles((srp ? "srp/" : "resourcepacks/") + packName);
 	}
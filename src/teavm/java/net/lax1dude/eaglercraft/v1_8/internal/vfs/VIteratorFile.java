@@ -7,17 +7,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 
-import org.teavm.interop.Async;
-import org.teavm.interop.AsyncCallback;
-import org.teavm.jso.JSBody;
-import org.teavm.jso.JSObject;
-import org.teavm.jso.dom.events.Event;
-import org.teavm.jso.dom.events.EventListener;
-import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBCursor;
-import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBRequest;
-import org.teavm.jso.typedarrays.ArrayBuffer;
-import org.teavm.jso.typedarrays.Uint8Array;
-
 /**
  * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
  *
@@ -42,7 +31,6 @@ public class VIteratorFile extends VFile {
 	private VIteratorFile() {
 		super("");
 		this.idx = -1;
-		this.cur = null;
 		this.vfs = null;
 	}
 	
@@ -63,19 +51,16 @@ public class VIteratorFile extends VFile {
 	}
 	
 	private int idx;
-	private IDBCursor cur;
 	private VirtualFilesystem vfs;
 	private boolean wasDeleted;
 	
-	@JSBody(params = { "k" }, script = "return ((typeof k) === \"string\") ? k : (((typeof k) === \"undefined\") ? null : (((typeof k[0]) === \"string\") ? k[0] : null));")
-	private static native String readKey(JSObject k);
-	
-	static VIteratorFile create(int idx, VirtualFilesystem vfs, IDBCursor cur) {
-		String k = readKey(cur.getKey());
-		if(k == null) {
-			return null;
-		}
-		instance.update(idx, k, vfs, cur);
+	/**
+	 * The entry only holds the path, everything is read and written through the
+	 * VFSChunkedStorage of the filesystem so files that are split into chunks
+	 * behave exactly like files that are stored in a single row
+	 */
+	static VIteratorFile create(int idx, VirtualFilesystem vfs, String path) {
+		instance.update(idx, path, vfs);
 		return instance;
 	}
 	
@@ -83,16 +68,16 @@ public class VIteratorFile extends VFile {
 		return new VFile(path);
 	}
 	
-	private void update(int idx, String path, VirtualFilesystem vfs, IDBCursor cur) {
+	private void update(int idx, String path, VirtualFilesystem vfs) {
 		this.idx = idx;
 		this.path = path;
 		this.vfs =  vfs;
-		this.cur = cur;
 		this.wasDeleted = false;
 	}
 	
 	public InputStream getInputStream() {
-		return !wasDeleted ? new ByteArrayInputStream(getAllBytes()) : null;
+		byte[] data;
+		return !wasDeleted && (data = getAllBytes()) != null ? new ByteArrayInputStream(data) : null;
 	}
 	
 	public OutputStream getOutputStream() {
@@ -148,19 +133,11 @@ public class VIteratorFile extends VFile {
 	}
 	
 	public boolean delete() {
-		return wasDeleted = AsyncHandlers.awaitRequest(cur.delete()).bool;
+		return wasDeleted = vfs.deleteFile(path);
 	}
 	
 	public boolean renameTo(String p) {
-		byte[] data = getAllBytes();
-		String op = path;
-		path = p;
-		if(!setAllBytes(data)) {
-			path = op;
-			return false;
-		}
-		path = op;
-		if(!delete()) {
+		if(wasDeleted || !vfs.renameFile(path, p, false)) {
 			return false;
 		}
 		path = p;
@@ -168,42 +145,24 @@ public class VIteratorFile extends VFile {
 	}
 	
 	public int length() {
-		JSObject obj = cur.getValue();
+		int len = vfs.storage.getFileSize(path);
 		
-		if(obj == null) {
-			throw new RuntimeException("Value of entry is missing");
+		if(len == -1) {
+			throw new RuntimeException("File \"" + path + "\" is missing");
 		}
 		
-		ArrayBuffer arr = readRow(obj);
-	
-		if(arr == null) {
-			throw new RuntimeException("Value of the fucking value of the entry is missing");
-		}
-		
-		return arr.getByteLength();
+		return len;
 	}
 	
 	public void getBytes(int fileOffset, byte[] array, int offset, int length) {
-		JSObject obj = cur.getValue();
-		
-		if(obj == null) {
-			throw new ArrayIndexOutOfBoundsException("Value of entry is missing");
-		}
-		
-		ArrayBuffer arr = readRow(obj);
-
-		if(arr == null) {
-			throw new ArrayIndexOutOfBoundsException("Value of the fucking value of the entry is missing");
-		}
+		int size = vfs.storage.readFile(path, fileOffset, array, offset, length);
 		
-		Uint8Array a = Uint8Array.create(arr);
-		
-		if(a.getLength() < fileOffset + length) {
-			throw new ArrayIndexOutOfBoundsException("file '" + path + "' size was "+a.getLength()+" but user tried to read index "+(fileOffset + length - 1));
+		if(size == -1) {
+			throw new ArrayIndexOutOfBoundsException("File \"" + path + "\" is missing");
 		}
 		
-		for(int i = 0; i < length; ++i) {
-			array[i + offset] = (byte)a.get(i + fileOffset);
+		if(size < fileOffset + length) {
+			throw new ArrayIndexOutOfBoundsException("file '" + path + "' size was "+size+" but user tried to read index "+(fileOffset + length - 1));
 		}
 	}
 	
@@ -211,31 +170,11 @@ public class VIteratorFile extends VFile {
 		// no
 	}
 	
-	@JSBody(params = { "obj" }, script = "return (typeof obj === 'undefined') ? null : ((typeof obj.data === 'undefined') ? null : obj.data);")
-	private static native ArrayBuffer readRow(JSObject obj);
-	
 	public byte[] getAllBytes() {
-		JSObject obj = cur.getValue();
-		
-		if(obj == null) {
-			return null;
-		}
-		
-		ArrayBuffer arr = readRow(obj);
-
-		if(arr == null) {
+		if(wasDeleted) {
 			return null;
 		}
-		
-		Uint8Array a = Uint8Array.create(arr);
-		int ii = a.getByteLength();
-		
-		byte[] array = new byte[ii];
-		for(int i = 0; i < ii; ++i) {
-			array[i] = (byte)a.get(i);
-		}
-		
-		return array;
+		return vfs.getFile(path).getAllBytes(true);
 	}
 	
 	public String getAllChars() {
@@ -262,42 +201,12 @@ public class VIteratorFile extends VFile {
 		throw new RuntimeException("Cannot perform delete all in VFS callback");
 	}
 	
-	@JSBody(params = { "pat", "dat" }, script = "return { path: pat, data: dat };")
-	private static native JSObject writeRow(String name, ArrayBuffer data);
-	
 	public boolean setAllBytes(byte[] bytes) {
-		ArrayBuffer a = ArrayBuffer.create(bytes.length);
-		Uint8Array ar = Uint8Array.create(a);
-		ar.set(bytes);
-		JSObject obj = writeRow(path, a);
-		BooleanResult r = AsyncHandlers.awaitRequest(cur.update(obj));
-		return r.bool;
+		return setAllBytes(bytes, true);
 	}
 	
 	public boolean setAllBytes(byte[] bytes, boolean copy) {
-		return setAllBytes(bytes);
-	}
-	
-	public static class AsyncHandlers {
-		
-		@Async
-		public static native BooleanResult awaitRequest(IDBRequest r);
-		
-		private static void awaitRequest(IDBRequest r, final AsyncCallback<BooleanResult> cb) {
-			r.addEventListener("success", new EventListener<Event>() {
-				@Override
-				public void handleEvent(Event evt) {
-					cb.complete(BooleanResult._new(true));
-				}
-			});
-			r.addEventListener("error", new EventListener<Event>() {
-				@Override
-				public void handleEvent(Event evt) {
-					cb.complete(BooleanResult._new(false));
-				}
-			});
-		}
-		
+		return !wasDeleted && vfs.getFile(path).setAllBytes(bytes, copy);
 	}
 	
 }
@@ -5,7 +5,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -29,7 +28,6 @@ import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBRequest;
 import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBTransaction;
 import net.lax1dude.eaglercraft.v1_8.internal.indexeddb.IDBVersionChangeEvent;
 import org.teavm.jso.typedarrays.ArrayBuffer;
-import org.teavm.jso.typedarrays.Uint8Array;
 
 /**
  * Copyright (c) 2022-2023 LAX1DUDE. All Rights Reserved.
@@ -104,10 +102,7 @@ public class VirtualFilesystem {
 						fileSize = b.length;
 					}
 				}else {
-					ArrayBuffer dat = AsyncHandlers.readWholeFile(virtualFilesystem.indexeddb, filePath);
-					if(dat != null) {
-						fileSize = dat.getByteLength();
-					}
+					fileSize = virtualFilesystem.storage.getFileSize(filePath);
 				}
 			}
 			return fileSize;
@@ -134,28 +129,28 @@ public class VirtualFilesystem {
 			cacheHit = System.currentTimeMillis();
 			if(cacheEnabled && cache != null) {
 				System.arraycopy(cache, fileOffset, array, offset, length);
+			}else if(cacheEnabled) {
+				byte[] b = getAllBytes(false);
+				if(b == null) {
+					throw new ArrayIndexOutOfBoundsException("file '" + filePath + "' does not exist");
+				}
+				if(b.length < fileOffset + length) {
+					throw new ArrayIndexOutOfBoundsException("file '" + filePath + "' size was "+b.length+" but user tried to read index "+(fileOffset + length - 1));
+				}
+				System.arraycopy(b, fileOffset, array, offset, length);
 			}else {
-				ArrayBuffer aa = AsyncHandlers.readWholeFile(virtualFilesystem.indexeddb, filePath);
+				// only the chunks of the file that overlap the range are loaded
+				int size = virtualFilesystem.storage.readFile(filePath, fileOffset, array, offset, length);
 				hasBeenAccessed = true;
-				if(aa != null) {
+				if(size != -1) {
 					exists = true;
 				}else {
 					exists = false;
 					throw new ArrayIndexOutOfBoundsException("file '" + filePath + "' does not exist");
 				}
-				Uint8Array a = Uint8Array.create(aa);
-				this.fileSize = a.getByteLength();
-				if(cacheEnabled) {
-					cache = new byte[fileSize];
-					for(int i = 0; i < fileSize; ++i) {
-						cache[i] = (byte)a.get(i);
-					}
-				}
-				if(a.getLength() < fileOffset + length) {
-					throw new ArrayIndexOutOfBoundsException("file '" + filePath + "' size was "+a.getLength()+" but user tried to read index "+(fileOffset + length - 1));
-				}
-				for(int i = 0; i < length; ++i) {
-					array[i + offset] = (byte)a.get(i + fileOffset);
+				this.fileSize = size;
+				if(size < fileOffset + length) {
+					throw new ArrayIndexOutOfBoundsException("file '" + filePath + "' size was "+size+" but user tried to read index "+(fileOffset + length - 1));
 				}
 			}
 		}
@@ -194,23 +189,24 @@ public class VirtualFilesystem {
 				return b;
 			}else {
 				hasBeenAccessed = true;
-				ArrayBuffer b = AsyncHandlers.readWholeFile(virtualFilesystem.indexeddb, filePath);
-				if(b != null) {
+				byte[] array = virtualFilesystem.storage.readFile(filePath);
+				if(array != null) {
 					exists = true;
 				}else {
 					exists = false;
 					return null;
 				}
-				Uint8Array a = Uint8Array.create(b);
-				this.fileSize = a.getByteLength();
-				byte[] array = new byte[fileSize];
-				for(int i = 0; i < a.getByteLength(); ++i) {
-					array[i] = (byte)a.get(i);
+				this.fileSize = array.length;
+				if(virtualFilesystem.storage.isBatching()) {
+					// the array might still be waiting to be written by the batch
+					byte[] b = new byte[fileSize];
+					System.arraycopy(array, 0, b, 0, fileSize);
+					array = b;
 				}
 				if(cacheEnabled) {
 					if(copy) {
 						cache = new byte[fileSize];
-						System.arraycopy(b, 0, cache, 0, cache.length);
+						System.arraycopy(array, 0, cache, 0, cache.length);
 					}else {
 						cache = array;
 					}
@@ -242,10 +238,12 @@ public class VirtualFilesystem {
 				cache = copz;
 				return sync();
 			}else {
-				ArrayBuffer a = ArrayBuffer.create(bytes.length);
-				Uint8Array ar = Uint8Array.create(a);
-				ar.set(bytes);
-				boolean s = AsyncHandlers.writeWholeFile(virtualFilesystem.indexeddb, filePath, a).bool;
+				if(copy && virtualFilesystem.storage.isBatching()) {
+					byte[] copz = new byte[bytes.length];
+					System.arraycopy(bytes, 0, copz, 0, bytes.length);
+					bytes = copz;
+				}
+				boolean s = virtualFilesystem.storage.writeFile(filePath, bytes);
 				hasBeenAccessed = true;
 				exists = exists || s;
 				return s;
@@ -255,10 +253,12 @@ public class VirtualFilesystem {
 		public boolean sync() {
 			if(cacheEnabled && cache != null && !hasBeenDeleted) {
 				cacheHit = System.currentTimeMillis();
-				ArrayBuffer a = ArrayBuffer.create(cache.length);
-				Uint8Array ar = Uint8Array.create(a);
-				ar.set(cache);
-				boolean tryWrite = AsyncHandlers.writeWholeFile(virtualFilesystem.indexeddb, filePath, a).bool;
+				byte[] b = cache;
+				if(virtualFilesystem.storage.isBatching()) {
+					b = new byte[cache.length];
+					System.arraycopy(cache, 0, b, 0, cache.length);
+				}
+				boolean tryWrite = virtualFilesystem.storage.writeFile(filePath, b);
 				hasBeenAccessed = true;
 				exists = exists || tryWrite;
 				return tryWrite;
@@ -269,7 +269,7 @@ public class VirtualFilesystem {
 		public boolean delete() {
 			if(!hasBeenDeleted && !(hasBeenAccessed && !exists)) {
 				cacheHit = System.currentTimeMillis();
-				if(!AsyncHandlers.deleteFile(virtualFilesystem.indexeddb, filePath).bool) {
+				if(!virtualFilesystem.storage.deleteFile(filePath)) {
 					hasBeenAccessed = true;
 					return false;
 				}
@@ -285,14 +285,10 @@ public class VirtualFilesystem {
 		public boolean rename(String newName, boolean copy) {
 			if(!hasBeenDeleted && !(hasBeenAccessed && !exists)) {
 				cacheHit = System.currentTimeMillis();
-				ArrayBuffer arr = AsyncHandlers.readWholeFile(virtualFilesystem.indexeddb, filePath);
 				hasBeenAccessed = true;
-				if(arr != null) {
+				if(virtualFilesystem.storage.fileExists(filePath)) {
 					exists = true;
-					if(!AsyncHandlers.writeWholeFile(virtualFilesystem.indexeddb, newName, arr).bool) {
-						return false;
-					}
-					if(!copy && !AsyncHandlers.deleteFile(virtualFilesystem.indexeddb, filePath).bool) {
+					if(!virtualFilesystem.storage.renameFile(filePath, newName, copy)) {
 						return false;
 					}
 				}else {
@@ -316,7 +312,7 @@ public class VirtualFilesystem {
 			if(hasBeenAccessed) {
 				return exists;
 			}
-			exists = AsyncHandlers.fileExists(virtualFilesystem.indexeddb, filePath).bool;
+			exists = virtualFilesystem.storage.fileExists(filePath);
 			hasBeenAccessed = true;
 			return exists;
 		}
@@ -327,6 +323,7 @@ public class VirtualFilesystem {
 	
 	public final String database;
 	private final IDBDatabase indexeddb;
+	final VFSChunkedStorage storage;
 	
 	public static class VFSHandle {
 		
@@ -374,9 +371,11 @@ public class VirtualFilesystem {
 	private VirtualFilesystem(String db, IDBDatabase idb) {
 		database = db;
 		indexeddb = idb;
+		storage = new VFSChunkedStorage(new IndexedDBStorageBackend(idb));
 	}
 	
 	public void close() {
+		storage.flushBatch();
 		indexeddb.close();
 	}
 	
@@ -409,19 +408,42 @@ public class VirtualFilesystem {
 	}
 	
 	public List<String> listFiles(String prefix) {
-		final ArrayList<String> list = new ArrayList();
-		AsyncHandlers.iterateFiles(indexeddb, this, prefix, false, (v) -> {
-			list.add(v.getPath());
-		});
-		return list;
+		return storage.listFiles(prefix);
 	}
 	
 	public int deleteFiles(String prefix) {
-		return AsyncHandlers.deleteFiles(indexeddb, prefix);
+		return storage.deleteFiles(prefix);
 	}
 	
+	/**
+	 * The paths are listed first and then passed to the iterator one at a time,
+	 * the entries read and write through the chunked storage so files that are
+	 * split into chunks are seen as a whole
+	 */
 	public int iterateFiles(String prefix, boolean rw, VFSIterator itr) {
-		return AsyncHandlers.iterateFiles(indexeddb, this, prefix, rw, itr);
+		List<String> files = storage.listFiles(prefix);
+		int i = 0;
+		for(int l = files.size(); i < l;) {
+			String path = files.get(i);
+			try {
+				itr.next(VIteratorFile.create(i++, this, path));
+			}catch(VFSIterator.BreakLoop ex) {
+				break;
+			}
+		}
+		return i;
+	}
+	
+	/**
+	 * Writes and deletes made until the matching call to endBatch are committed
+	 * together in one IndexedDB transaction
+	 */
+	public void beginBatch() {
+		storage.beginBatch();
+	}
+	
+	public boolean endBatch() {
+		return storage.endBatch();
 	}
 	
 	public int renameFiles(String oldPrefix, String newPrefix, boolean copy) {
@@ -531,7 +553,7 @@ public class VirtualFilesystem {
 		protected static native ArrayBuffer readRow(JSObject obj);
 		
 		@JSBody(params = { "obj" }, script = "return [obj];")
-		private static native JSObject makeTheFuckingKeyWork(String k);
+		protected static native JSObject makeTheFuckingKeyWork(String k);
 		
 		@Async
 		protected static native ArrayBuffer readWholeFile(IDBDatabase db, String name);
@@ -555,49 +577,11 @@ public class VirtualFilesystem {
 		}
 		
 		@JSBody(params = { "k" }, script = "return ((typeof k) === \"string\") ? k : (((typeof k) === \"undefined\") ? null : (((typeof k[0]) === \"string\") ? k[0] : null));")
-		private static native String readKey(JSObject k);
+		protected static native String readKey(JSObject k);
 		
 		@JSBody(params = { "k" }, script = "return ((typeof k) === \"undefined\") ? null : (((typeof k.path) === \"undefined\") ? null : (((typeof k.path) === \"string\") ? k[0] : null));")
 		private static native String readRowKey(JSObject r);
 		
-		@Async
-		protected static native Integer iterateFiles(IDBDatabase db, final VirtualFilesystem vfs, final String prefix, boolean rw, final VFSIterator itr);
-		
-		private static void iterateFiles(IDBDatabase db, final VirtualFilesystem vfs, final String prefix, boolean rw, final VFSIterator itr, final AsyncCallback<Integer> cb) {
-			IDBTransaction tx = db.transaction("filesystem", rw ? "readwrite" : "readonly");
-			final IDBCursorRequest r = tx.objectStore("filesystem").openCursor();
-			final int[] res = new int[1];
-			r.setOnSuccess(new EventHandler() {
-				@Override
-				public void handleEvent() {
-					IDBCursor c = r.getResult();
-					if(c == null || c.getKey() == null || c.getValue() == null) {
-						cb.complete(res[0]);
-						return;
-					}
-					String k = readKey(c.getKey());
-					if(k != null) {
-						if(k.startsWith(prefix)) {
-							int ci = res[0]++;
-							try {
-								itr.next(VIteratorFile.create(ci, vfs, c));
-							}catch(VFSIterator.BreakLoop ex) {
-								cb.complete(res[0]);
-								return;
-							}
-						}
-					}
-					c.doContinue();
-				}
-			});
-			r.setOnError(new EventHandler() {
-				@Override
-				public void handleEvent() {
-					cb.complete(res[0] > 0 ? res[0] : -1);
-				}
-			});
-		}
-		
 		@Async
 		protected static native Integer deleteFiles(IDBDatabase db, final String prefix);
 		
@@ -0,0 +1,190 @@
+package net.lax1dude.eaglercraft.v1_8.internal.vfs;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class VFSChunkedStorageTest {
+
+	private MemoryStorageBackend backend;
+	private VFSChunkedStorage storage;
+
+	@Before
+	public void setup() {
+		backend = new MemoryStorageBackend();
+		storage = new VFSChunkedStorage(backend);
+	}
+
+	private static byte[] randomBytes(int len, long seed) {
+		byte[] ret = new byte[len];
+		new Random(seed).nextBytes(ret);
+		return ret;
+	}
+
+	@Test
+	public void testSmallFileIsOneRow() {
+		byte[] data = randomBytes(1000, 1l);
+		assertTrue(storage.writeFile("a/small", data));
+		assertEquals(1, backend.getRowCount());
+		assertArrayEquals(data, storage.readFile("a/small"));
+		assertEquals(1000, storage.getFileSize("a/small"));
+		assertTrue(storage.fileExists("a/small"));
+	}
+
+	@Test
+	public void testLargeFileIsSplitIntoChunks() {
+		int len = VFSChunkedStorage.CHUNK_SIZE * 3 + 12345;
+		byte[] data = randomBytes(len, 2l);
+		assertTrue(storage.writeFile("a/large", data));
+		assertEquals("header and 4 chunks", 5, backend.getRowCount());
+		assertArrayEquals(data, storage.readFile("a/large"));
+		assertEquals(len, storage.getFileSize("a/large"));
+		assertEquals(Arrays.asList("a/large"), storage.listFiles("a/"));
+	}
+
+	@Test
+	public void testRangedReads() {
+		int chunk = VFSChunkedStorage.CHUNK_SIZE;
+		int len = chunk * 4 + 77;
+		byte[] data = randomBytes(len, 3l);
+		storage.writeFile("ranged", data);
+		int[][] ranges = new int[][] { { 0, 10 }, { chunk - 5, 10 }, { chunk, chunk }, { chunk / 2, chunk * 2 },
+				{ len - 100, 100 }, { chunk * 4, 77 }, { 1, len - 2 } };
+		for(int i = 0; i < ranges.length; ++i) {
+			int off = ranges[i][0];
+			int cnt = ranges[i][1];
+			byte[] dst = new byte[cnt + 8];
+			int size = storage.readFile("ranged", off, dst, 4, cnt);
+			assertEquals(len, size);
+			assertArrayEquals("range " + off + "+" + cnt, Arrays.copyOfRange(data, off, off + cnt),
+					Arrays.copyOfRange(dst, 4, 4 + cnt));
+		}
+	}
+
+	@Test
+	public void testRangedReadOnlyLoadsOverlappingChunks() {
+		int chunk = VFSChunkedStorage.CHUNK_SIZE;
+		storage.writeFile("ranged", randomBytes(chunk * 8, 4l));
+		long before = backend.getBytesRead();
+		storage.readFile("ranged", chunk * 3 + 10, new byte[100], 0, 100);
+		assertTrue("read " + (backend.getBytesRead() - before) + " bytes",
+				backend.getBytesRead() - before < VFSChunkedStorage.HEADER_LENGTH * 2 + 200);
+	}
+
+	@Test
+	public void testRangedReadFromStartReadsHeaderOnce() {
+		int chunk = VFSChunkedStorage.CHUNK_SIZE;
+		byte[] data = randomBytes(chunk * 2, 7l);
+		storage.writeFile("ranged", data);
+		long before = backend.getBytesRead();
+		byte[] dst = new byte[100];
+		assertEquals(chunk * 2, storage.readFile("ranged", 0, dst, 0, 100));
+		assertArrayEquals(Arrays.copyOf(data, 100), dst);
+		assertEquals(VFSChunkedStorage.HEADER_LENGTH + 100, backend.getBytesRead() - before);
+	}
+
+	@Test
+	public void testOverwriteAndDeleteRemoveChunks() {
+		int len = VFSChunkedStorage.CHUNK_SIZE * 2 + 1;
+		storage.writeFile("f", randomBytes(len, 5l));
+		assertEquals(4, backend.getRowCount());
+		byte[] small = randomBytes(50, 6l);
+		storage.writeFile("f", small);
+		assertEquals(1, backend.getRowCount());
+		assertArrayEquals(small, storage.readFile("f"));
+		storage.writeFile("f", randomBytes(len, 7l));
+		assertTrue(storage.deleteFile("f"));
+		assertEquals(0, backend.getRowCount());
+		assertNull(storage.readFile("f"));
+		assertEquals(-1, storage.getFileSize("f"));
+	}
+
+	@Test
+	public void testRenameMovesChunks() {
+		int len = VFSChunkedStorage.CHUNK_SIZE * 2 + 100;
+		byte[] data = randomBytes(len, 8l);
+		storage.writeFile("old/f", data);
+		assertTrue(storage.renameFile("old/f", "new/f", false));
+		assertNull(storage.readFile("old/f"));
+		assertArrayEquals(data, storage.readFile("new/f"));
+		assertEquals(4, backend.getRowCount());
+		assertTrue(storage.renameFile("new/f", "copy/f", true));
+		assertArrayEquals(data, storage.readFile("copy/f"));
+		assertArrayEquals(data, storage.readFile("new/f"));
+		assertEquals(8, backend.getRowCount());
+	}
+
+	@Test
+	public void testBatchIsOneCommit() {
+		byte[] large = randomBytes(VFSChunkedStorage.CHUNK_SIZE + 10, 9l);
+		storage.writeFile("b/gone", randomBytes(10, 10l));
+		int transactions = backend.getTransactionCount();
+		storage.beginBatch();
+		storage.writeFile("b/1", randomBytes(10, 11l));
+		storage.writeFile("b/2", large);
+		storage.deleteFile("b/gone");
+		assertEquals("nothing is committed during the batch", transactions, backend.getTransactionCount());
+		assertArrayEquals("reads see the pending writes", large, storage.readFile("b/2"));
+		assertFalse(storage.fileExists("b/gone"));
+		assertTrue(storage.endBatch());
+		assertEquals(transactions + 1, backend.getTransactionCount());
+		assertArrayEquals(large, storage.readFile("b/2"));
+		assertNull(storage.readFile("b/gone"));
+		assertEquals(2, storage.listFiles("b/").size());
+	}
+
+	@Test
+	public void testNestedBatchCommitsOnOutermostEnd() {
+		int transactions = backend.getTransactionCount();
+		storage.beginBatch();
+		storage.beginBatch();
+		storage.writeFile("n/1", randomBytes(10, 12l));
+		assertTrue(storage.endBatch());
+		assertEquals(transactions, backend.getTransactionCount());
+		assertTrue(storage.endBatch());
+		assertEquals(transactions + 1, backend.getTransactionCount());
+		assertTrue(storage.fileExists("n/1"));
+	}
+
+	@Test
+	public void testBatchFlushesEarlyWhenLarge() {
+		storage.beginBatch();
+		byte[] data = randomBytes(VFSChunkedStorage.MAX_BATCH_BYTES / 4 + 1, 13l);
+		for(int i = 0; i < 4; ++i) {
+			storage.writeFile("big/" + i, data);
+		}
+		assertTrue("the batch was committed once it went over the limit", backend.getRowCount() > 0);
+		storage.endBatch();
+		assertEquals(4, storage.listFiles("big/").size());
+	}
+
+	@Test
+	public void testDeleteFilesCountsFilesNotRows() {
+		storage.writeFile("d/1", randomBytes(VFSChunkedStorage.CHUNK_SIZE * 3, 14l));
+		storage.writeFile("d/2", randomBytes(10, 15l));
+		storage.writeFile("e/1", randomBytes(10, 16l));
+		assertEquals(2, storage.deleteFiles("d/"));
+		List<String> remaining = backend.listRows("");
+		assertEquals(Arrays.asList("e/1"), remaining);
+		assertEquals(0, storage.deleteFiles("d/"));
+	}
+
+}
@@ -0,0 +1,168 @@
+package net.lax1dude.eaglercraft.v1_8.minecraft;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class DynamicResolutionControllerTest {
+
+	private static final int TARGET_FPS = 60;
+	private static final long TARGET_NANOS = 1000000000l / TARGET_FPS;
+	private static final long SLOW_NANOS = TARGET_NANOS * 13 / 10;
+	private static final long FAST_NANOS = TARGET_NANOS * 9 / 10;
+	private static final float EPSILON = 0.0001f;
+
+	private DynamicResolutionController controller;
+
+	@Before
+	public void setup() {
+		controller = new DynamicResolutionController();
+	}
+
+	private void run(long frameNanos, int frames) {
+		for(int i = 0; i < frames; ++i) {
+			controller.update(frameNanos, TARGET_FPS);
+		}
+	}
+
+	/**
+	 * Runs fast frames until the scale goes up and returns how many it took
+	 */
+	private int framesUntilUpscale(int limit) {
+		float scale = controller.getScale();
+		for(int i = 1; i <= limit; ++i) {
+			controller.update(FAST_NANOS, TARGET_FPS);
+			if(controller.getScale() > scale + EPSILON) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testDownscaleAfterDownscaleFrames() {
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES - 1);
+		assertEquals(DynamicResolutionController.MAX_SCALE, controller.getScale(), EPSILON);
+		run(SLOW_NANOS, 1);
+		assertEquals(DynamicResolutionController.MAX_SCALE - DynamicResolutionController.SCALE_STEP,
+				controller.getScale(), EPSILON);
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES);
+		assertEquals(DynamicResolutionController.MAX_SCALE - DynamicResolutionController.SCALE_STEP * 2.0f,
+				controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testVerySlowFramesDropTwoSteps() {
+		run(TARGET_NANOS * 2, DynamicResolutionController.DOWNSCALE_FRAMES);
+		assertEquals(DynamicResolutionController.MAX_SCALE - DynamicResolutionController.SCALE_STEP * 2.0f,
+				controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testScaleStopsAtMinimum() {
+		run(TARGET_NANOS * 2, DynamicResolutionController.DOWNSCALE_FRAMES * 100);
+		assertEquals(DynamicResolutionController.MIN_SCALE, controller.getScale(), EPSILON);
+		assertEquals(640, controller.getRenderWidth(1280));
+		assertEquals(360, controller.getRenderHeight(720));
+	}
+
+	@Test
+	public void testFramesBetweenThresholdsKeepScale() {
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES);
+		float scale = controller.getScale();
+		run(TARGET_NANOS * 11 / 10, DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		assertEquals(scale, controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testUpscaleWaitsLong() {
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES);
+		float scale = controller.getScale();
+		int frames = framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		assertTrue("upscaled after " + frames + " frames", frames >= DynamicResolutionController.UPSCALE_FRAMES_MIN);
+		assertTrue("upscaled after " + frames + " frames",
+				frames < DynamicResolutionController.UPSCALE_FRAMES_MIN + DynamicResolutionController.DOWNSCALE_FRAMES);
+		assertEquals(scale + DynamicResolutionController.SCALE_STEP, controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testUpscaleWaitDoublesUpToMax() {
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES);
+		int expected = DynamicResolutionController.UPSCALE_FRAMES_MIN;
+		int lastWait = -1;
+		for(int i = 0; i < 8; ++i) {
+			int frames = framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+			assertTrue("attempt " + i + " upscaled after " + frames + " frames, expected " + expected,
+					frames >= expected && frames < expected + DynamicResolutionController.DOWNSCALE_FRAMES);
+			assertTrue(frames >= lastWait);
+			lastWait = frames;
+			// the step up could not be held
+			run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES * 2);
+			expected = Math.min(expected * 2, DynamicResolutionController.UPSCALE_FRAMES_MAX);
+		}
+		assertEquals(DynamicResolutionController.UPSCALE_FRAMES_MAX, expected);
+	}
+
+	@Test
+	public void testUpscaleWaitResetsAfterHeldStep() {
+		run(TARGET_NANOS * 2, DynamicResolutionController.DOWNSCALE_FRAMES * 4);
+		framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES * 2);
+		// the failed step up doubled the wait
+		int frames = framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		assertTrue("upscaled after " + frames + " frames", frames >= DynamicResolutionController.UPSCALE_FRAMES_MIN * 2);
+		// this step up is held until the next one, so the wait after it goes back to the minimum
+		frames = framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		assertEquals(DynamicResolutionController.UPSCALE_FRAMES_MIN * 2, frames);
+		frames = framesUntilUpscale(DynamicResolutionController.UPSCALE_FRAMES_MAX * 2);
+		assertEquals(DynamicResolutionController.UPSCALE_FRAMES_MIN, frames);
+	}
+
+	@Test
+	public void testIgnoresFramesOverMaxFrameNanos() {
+		run(DynamicResolutionController.MAX_FRAME_NANOS + 1l, DynamicResolutionController.DOWNSCALE_FRAMES * 10);
+		assertEquals(DynamicResolutionController.MAX_SCALE, controller.getScale(), EPSILON);
+		assertEquals(0.0f, controller.getAverageFrameMillis(), EPSILON);
+		run(SLOW_NANOS, DynamicResolutionController.DOWNSCALE_FRAMES - 1);
+		run(DynamicResolutionController.MAX_FRAME_NANOS * 2, 1);
+		assertEquals("a skipped frame does not count towards the slow run", DynamicResolutionController.MAX_SCALE,
+				controller.getScale(), EPSILON);
+		run(SLOW_NANOS, 1);
+		assertEquals(DynamicResolutionController.MAX_SCALE - DynamicResolutionController.SCALE_STEP,
+				controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testIgnoresInvalidInput() {
+		run(0l, 100);
+		run(-1l, 100);
+		controller.update(SLOW_NANOS, 0);
+		assertEquals(0.0f, controller.getAverageFrameMillis(), EPSILON);
+		assertEquals(DynamicResolutionController.MAX_SCALE, controller.getScale(), EPSILON);
+	}
+
+	@Test
+	public void testReset() {
+		run(TARGET_NANOS * 2, DynamicResolutionController.DOWNSCALE_FRAMES * 4);
+		assertTrue(controller.getScale() < DynamicResolutionController.MAX_SCALE);
+		controller.reset();
+		assertEquals(DynamicResolutionController.MAX_SCALE, controller.getScale(), EPSILON);
+		assertEquals(0.0f, controller.getAverageFrameMillis(), EPSILON);
+		assertEquals(1280, controller.getRenderWidth(1280));
+	}
+
+}
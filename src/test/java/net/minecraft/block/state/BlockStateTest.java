@@ -0,0 +1,149 @@
+package net.minecraft.block.state;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.properties.IProperty;
+import net.minecraft.block.properties.PropertyBool;
+import net.minecraft.block.properties.PropertyHelper;
+import net.minecraft.block.properties.PropertyInteger;
+import net.minecraft.init.Bootstrap;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class BlockStateTest {
+
+	@BeforeClass
+	public static void setupBootstrap() {
+		Bootstrap.register();
+	}
+
+	@Test
+	public void testEveryStateMatchesMapPath() {
+		int states = 0;
+		int transitions = 0;
+		for(Block block : Block.blockRegistry) {
+			List<IBlockState> validStates = block.getBlockState().getValidStates();
+			Map<Map<IProperty, Comparable>, IBlockState> byMap = new HashMap();
+			for(IBlockState state : validStates) {
+				assertNull(byMap.put(state.getProperties(), state));
+			}
+			for(IBlockState state : validStates) {
+				++states;
+				assertSame(block, state.getBlock());
+				for(Map.Entry<IProperty, Comparable> etr : state.getProperties().entrySet()) {
+					IProperty property = etr.getKey();
+					assertSame(state + " " + property, etr.getValue(), state.getValue(property));
+					for(Object value : property.getAllowedValues()) {
+						IBlockState result = state.withProperty(property, (Comparable) value);
+						Map<IProperty, Comparable> expected = new HashMap(state.getProperties());
+						expected.put(property, (Comparable) value);
+						assertSame(state + " with " + property.getName() + "=" + value, byMap.get(expected), result);
+						++transitions;
+					}
+				}
+			}
+		}
+		assertTrue("only " + states + " states", states > 7000);
+		assertTrue("only " + transitions + " transitions", transitions > 150000);
+	}
+
+	@Test
+	public void testPackedValuesAreUnique() {
+		for(Block block : Block.blockRegistry) {
+			BlockState blockState = block.getBlockState();
+			if(blockState.getProperties().isEmpty()) {
+				continue;
+			}
+			Set<Integer> packed = new HashSet();
+			for(IBlockState state : blockState.getValidStates()) {
+				packed.add(((BlockState.StateImplementation) state).getPackedValue());
+			}
+			assertEquals(block.toString(), blockState.getValidStates().size(), packed.size());
+		}
+	}
+
+	@Test
+	public void testEqualPropertyInstanceUsesMapPath() {
+		int checked = 0;
+		for(Block block : Block.blockRegistry) {
+			for(IProperty property : block.getBlockState().getProperties()) {
+				IProperty copy;
+				if(property instanceof PropertyBool) {
+					copy = PropertyBool.create(property.getName());
+				}else if(property instanceof PropertyInteger) {
+					int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+					for(Object o : property.getAllowedValues()) {
+						min = Math.min(min, (Integer) o);
+						max = Math.max(max, (Integer) o);
+					}
+					copy = PropertyInteger.create(property.getName(), min, max);
+				}else {
+					continue;
+				}
+				if(!copy.equals(property)) {
+					continue;
+				}
+				assertNotEquals(((PropertyHelper) copy).getPropertyId(), ((PropertyHelper) property).getPropertyId());
+				for(IBlockState state : block.getBlockState().getValidStates()) {
+					assertEquals(state.getValue(property), state.getValue(copy));
+					for(Object value : property.getAllowedValues()) {
+						assertSame(state.withProperty(property, (Comparable) value),
+								state.withProperty(copy, (Comparable) value));
+					}
+				}
+				++checked;
+			}
+		}
+		assertTrue(checked > 0);
+	}
+
+	@Test
+	public void testInvalidValuesStillThrow() {
+		Block block = Block.getBlockFromName("wheat");
+		IBlockState state = block.getDefaultState();
+		IProperty age = null;
+		for(IProperty property : block.getBlockState().getProperties()) {
+			if(property.getName().equals("age")) {
+				age = property;
+			}
+		}
+		assertNotNull(age);
+		try {
+			state.withProperty(age, Integer.valueOf(8));
+			fail("age=8 is not an allowed value");
+		}catch(IllegalArgumentException ex) {
+		}
+		try {
+			state.withProperty(PropertyBool.create("notapropertyofwheat"), Boolean.TRUE);
+			fail("the property does not exist in wheat");
+		}catch(IllegalArgumentException ex) {
+		}
+		try {
+			state.getValue(PropertyBool.create("notapropertyofwheat"));
+			fail("the property does not exist in wheat");
+		}catch(IllegalArgumentException ex) {
+		}
+	}
+
+}
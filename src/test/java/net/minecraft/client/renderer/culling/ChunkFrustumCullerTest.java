@@ -0,0 +1,168 @@
+package net.minecraft.client.renderer.culling;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.lax1dude.eaglercraft.v1_8.opengl.ext.deferred.BetterFrustum;
+import net.lax1dude.eaglercraft.v1_8.vector.Matrix4f;
+import net.lax1dude.eaglercraft.v1_8.vector.Vector3f;
+import net.minecraft.util.AxisAlignedBB;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class ChunkFrustumCullerTest {
+
+	private static final int SIZE = 17;
+	private static final int COUNT = SIZE * SIZE * 16;
+
+	private Random random;
+	private ChunkFrustumCuller culler;
+	private AxisAlignedBB[] boundingBoxes;
+	private double camX;
+	private double camY;
+	private double camZ;
+
+	@Before
+	public void setup() {
+		random = new Random(46l);
+		culler = new ChunkFrustumCuller(COUNT);
+		boundingBoxes = new AxisAlignedBB[COUNT];
+	}
+
+	/**
+	 * Lays the chunks out around a camera far away from 0,0 the same way
+	 * ViewFrustum does, with the slots wrapped around like after the camera
+	 * has moved
+	 */
+	private void placeChunks() {
+		camX = (random.nextDouble() - 0.5) * 2000000.0;
+		camY = random.nextDouble() * 256.0;
+		camZ = (random.nextDouble() - 0.5) * 2000000.0;
+		int originX = (((int) Math.floor(camX) - 8) & -16) - (SIZE / 2) * 16;
+		int originZ = (((int) Math.floor(camZ) - 8) & -16) - (SIZE / 2) * 16;
+		culler.setOrigin(originX, 0, originZ);
+		int shiftX = random.nextInt(SIZE);
+		int shiftZ = random.nextInt(SIZE);
+		for (int x = 0; x < SIZE; ++x) {
+			for (int y = 0; y < 16; ++y) {
+				for (int z = 0; z < SIZE; ++z) {
+					int i = (((z + shiftZ) % SIZE * 16) + y) * SIZE + (x + shiftX) % SIZE;
+					int bx = originX + x * 16, by = y * 16, bz = originZ + z * 16;
+					boundingBoxes[i] = new AxisAlignedBB(bx, by, bz, bx + 16, by + 16, bz + 16);
+					culler.setChunkPosition(i, bx, by, bz);
+				}
+			}
+		}
+	}
+
+	private Matrix4f randomRotation() {
+		Matrix4f ret = new Matrix4f();
+		ret.rotate(random.nextFloat() * 3.0f - 1.5f, new Vector3f(1.0f, 0.0f, 0.0f));
+		ret.rotate(random.nextFloat() * 6.28f, new Vector3f(0.0f, 1.0f, 0.0f));
+		return ret;
+	}
+
+	@Test
+	public void testCameraMatchesFrustum() {
+		for (int n = 0; n < 50; ++n) {
+			placeChunks();
+			float f = 1.0f / (float) Math.tan(0.3 + random.nextDouble() * 0.6);
+			float near = 0.05f;
+			float far = 64.0f + random.nextFloat() * 128.0f;
+			Matrix4f proj = new Matrix4f();
+			proj.m00 = f / (1.0f + random.nextFloat());
+			proj.m11 = f;
+			proj.m22 = (far + near) / (near - far);
+			proj.m23 = -1.0f;
+			proj.m32 = 2.0f * far * near / (near - far);
+			proj.m33 = 0.0f;
+			ClippingHelper clippingHelper = new ClippingHelper();
+			new BetterFrustum(Matrix4f.mul(proj, randomRotation(), new Matrix4f())).getPlanes(clippingHelper.frustum,
+					0);
+			Frustum frustum = new Frustum(clippingHelper);
+			frustum.setPosition(camX, camY, camZ);
+			culler.cull(frustum);
+			for (int i = 0; i < COUNT; ++i) {
+				assertEquals("chunk " + boundingBoxes[i], frustum.isBoundingBoxInFrustum(boundingBoxes[i]),
+						culler.isVisible(i));
+			}
+		}
+	}
+
+	/**
+	 * Each shadow cascade used to test its chunks against the shadow map's bounds
+	 * and then BetterFrustum.intersectAab one at a time
+	 */
+	@Test
+	public void testShadowMatchesIntersectAab() {
+		ChunkFrustumCuller.CullResult result = culler.createResult(true);
+		float[][] planes = new float[6][4];
+		for (int n = 0; n < 50; ++n) {
+			placeChunks();
+			float dist = 16.0f + random.nextFloat() * 112.0f;
+			Matrix4f ortho = new Matrix4f();
+			ortho.m00 = 1.0f / dist;
+			ortho.m11 = 1.0f / dist;
+			ortho.m22 = -1.0f / 64.0f;
+			BetterFrustum frustum = new BetterFrustum(Matrix4f.mul(ortho, randomRotation(), new Matrix4f()));
+			frustum.getPlanes(planes, 0);
+			double r = dist + 64.0;
+			AxisAlignedBB bounds = new AxisAlignedBB(camX - r, camY - r, camZ - r, camX + r, camY + r, camZ + r);
+			culler.cull(planes, 6, bounds, camX, camY, camZ, result);
+			for (int i = 0; i < COUNT; ++i) {
+				AxisAlignedBB bb = boundingBoxes[i];
+				int j = bounds.intersectsWith(bb) ? frustum.intersectAab((float) (bb.minX - camX),
+						(float) (bb.minY - camY), (float) (bb.minZ - camZ), (float) (bb.maxX - camX),
+						(float) (bb.maxY - camY), (float) (bb.maxZ - camZ)) : BetterFrustum.OUTSIDE;
+				assertEquals("chunk " + bb, j == BetterFrustum.INSIDE || j == BetterFrustum.INTERSECT,
+						result.isVisible(i));
+				assertEquals("chunk " + bb, j == BetterFrustum.INSIDE, result.isInside(i));
+			}
+		}
+	}
+
+	@Test
+	public void testNextVisible() {
+		ChunkFrustumCuller.CullResult result = culler.createResult(false);
+		placeChunks();
+		AxisAlignedBB bounds = new AxisAlignedBB(camX - 40.0, 30.0, camZ - 70.0, camX + 20.0, 100.0, camZ + 5.0);
+		culler.cull(null, 0, bounds, camX, camY, camZ, result);
+		int expect = -1;
+		int found = 0;
+		for (int i = result.nextVisible(0); i != -1; i = result.nextVisible(i + 1)) {
+			while (++expect < i) {
+				assertFalse(result.isVisible(expect));
+			}
+			assertTrue(result.isVisible(i));
+			assertTrue(bounds.intersectsWith(boundingBoxes[i]));
+			++found;
+		}
+		while (++expect < COUNT) {
+			assertFalse(result.isVisible(expect));
+		}
+		int intersecting = 0;
+		for (int i = 0; i < COUNT; ++i) {
+			if (bounds.intersectsWith(boundingBoxes[i])) {
+				++intersecting;
+			}
+		}
+		assertEquals(intersecting, found);
+		assertEquals(-1, result.nextVisible(COUNT));
+	}
+
+}
@@ -0,0 +1,507 @@
+package net.minecraft.entity;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.lax1dude.eaglercraft.v1_8.EaglercraftUUID;
+import net.lax1dude.eaglercraft.v1_8.mojang.authlib.GameProfile;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockPropertyTables;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.entity.EntityOtherPlayerMP;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.CollisionBoxBuffer;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.EnumDifficulty;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.border.WorldBorder;
+
+/**
+ * Copyright (c) 2023 LAX1DUDE. All Rights Reserved.
+ * 
+ * WITH THE EXCEPTION OF PATCH FILES, MINIFIED JAVASCRIPT, AND ALL FILES
+ * NORMALLY FOUND IN AN UNMODIFIED MINECRAFT RESOURCE PACK, YOU ARE NOT ALLOWED
+ * TO SHARE, DISTRIBUTE, OR REPURPOSE ANY FILE USED BY OR PRODUCED BY THE
+ * SOFTWARE IN THIS REPOSITORY WITHOUT PRIOR PERMISSION FROM THE PROJECT AUTHOR.
+ * 
+ * NOT FOR COMMERCIAL OR MALICIOUS USE
+ * 
+ * (please read the 'LICENSE' file this repo's root directory for more info) 
+ * 
+ */
+public class EntityMoveSweepTest {
+
+	private static final int CHUNKS = 2;
+	private static final int MIN_Y = 60;
+	private static final int MAX_Y = 72;
+
+	/**
+	 * Blocks with all kinds of collision boxes, solid cubes go through the
+	 * FLAG_SOLID_CUBE path in World and everything else through
+	 * addCollisionBoxesToList
+	 */
+	private static final String[] PALETTE = new String[] { "stone", "dirt", "planks", "glass", "leaves", "ice",
+			"slime", "stone_slab", "wooden_slab", "oak_stairs", "stone_stairs", "fence", "nether_brick_fence",
+			"cobblestone_wall", "iron_bars", "glass_pane", "snow_layer", "soul_sand", "farmland", "cactus", "chest",
+			"enchanting_table", "anvil", "bed", "trapdoor", "wooden_door", "end_portal_frame", "cake", "waterlily",
+			"hopper", "cauldron", "brewing_stand", "carpet", "ladder", "vine", "torch", "web", "daylight_detector",
+			"fence_gate", "piston", "sticky_piston", "flower_pot", "skull", "rail", "water", "lava" };
+
+	private World world;
+	private Random random;
+
+	@BeforeClass
+	public static void setupBootstrap() {
+		Bootstrap.register();
+	}
+
+	@Before
+	public void setup() {
+		random = new Random(39l);
+		world = new WorldClient(null, new WorldSettings(0l, WorldSettings.GameType.SURVIVAL, false, false,
+				WorldType.FLAT), 0, EnumDifficulty.PEACEFUL, new Profiler());
+		for(int x = 0; x < CHUNKS; ++x) {
+			for(int z = 0; z < CHUNKS; ++z) {
+				((WorldClient) world).doPreChunk(x, z, true);
+			}
+		}
+		Block[] palette = new Block[PALETTE.length];
+		for(int i = 0; i < PALETTE.length; ++i) {
+			palette[i] = Block.getBlockFromName(PALETTE[i]);
+			assertNotNull(PALETTE[i], palette[i]);
+		}
+		for(int x = 0; x < CHUNKS * 16; ++x) {
+			for(int z = 0; z < CHUNKS * 16; ++z) {
+				world.setBlockState(new BlockPos(x, MIN_Y - 1, z), Blocks.stone.getDefaultState(), 2);
+				for(int y = MIN_Y; y < MAX_Y; ++y) {
+					switch(random.nextInt(6)) {
+					case 0:
+						world.setBlockState(new BlockPos(x, y, z), Blocks.stone.getDefaultState(), 2);
+						break;
+					case 1:
+						List<IBlockState> states = palette[random.nextInt(palette.length)].getBlockState()
+								.getValidStates();
+						world.setBlockState(new BlockPos(x, y, z), states.get(random.nextInt(states.size())), 2);
+						break;
+					default:
+						break;
+					}
+				}
+			}
+		}
+	}
+
+	private static class TestEntity extends Entity {
+
+		private TestEntity(World worldIn, float width, float height) {
+			super(worldIn);
+			this.setSize(width, height);
+		}
+
+		protected void entityInit() {
+		}
+
+		protected void readEntityFromNBT(NBTTagCompound var1) {
+		}
+
+		protected void writeEntityToNBT(NBTTagCompound var1) {
+		}
+
+	}
+
+	private Entity createRandomEntity(int i) {
+		Entity entity;
+		if(random.nextInt(4) == 0) {
+			entity = new EntityOtherPlayerMP(world, new GameProfile(new EaglercraftUUID(0l, i), "Player" + i));
+			entity.noClip = false;
+			entity.setSneaking(random.nextBoolean());
+		}else {
+			entity = new TestEntity(world, 0.1f + random.nextFloat() * 1.5f, 0.1f + random.nextFloat() * 2.5f);
+		}
+		double x = 1.0 + random.nextDouble() * (CHUNKS * 16 - 2);
+		double y = MIN_Y + random.nextDouble() * (MAX_Y - MIN_Y);
+		double z = 1.0 + random.nextDouble() * (CHUNKS * 16 - 2);
+		switch(random.nextInt(3)) {
+		case 0:
+			// standing on a block boundary, which is where most entities are
+			y = Math.floor(y);
+			break;
+		case 1:
+			y = Math.floor(y) + 0.5;
+			break;
+		default:
+			break;
+		}
+		entity.setPosition(x, y, z);
+		entity.onGround = random.nextBoolean();
+		entity.isInWeb = random.nextInt(8) == 0;
+		float[] stepHeights = new float[] { 0.0f, 0.5f, 0.6f, 1.0f };
+		entity.stepHeight = stepHeights[random.nextInt(stepHeights.length)];
+		return entity;
+	}
+
+	private double randomMotion() {
+		switch(random.nextInt(6)) {
+		case 0:
+			return 0.0;
+		case 1:
+			return (random.nextDouble() - 0.5) * 0.001;
+		case 2:
+			return (random.nextDouble() - 0.5) * 6.0;
+		default:
+			return (random.nextDouble() - 0.5) * 1.2;
+		}
+	}
+
+	@Test
+	public void testMoveEntityMatchesVanillaSweep() {
+		int moves = 0;
+		int collided = 0;
+		int stepped = 0;
+		for(int i = 0; i < 2000; ++i) {
+			Entity entity = createRandomEntity(i);
+			for(int j = 0; j < 10; ++j) {
+				double mx = randomMotion();
+				double my = randomMotion();
+				double mz = randomMotion();
+				AxisAlignedBB before = entity.getEntityBoundingBox();
+				VanillaResult expected = vanillaSweep(world, entity, mx, my, mz);
+				entity.moveEntity(mx, my, mz);
+				String msg = "entity " + i + " move " + j + " from " + before + " by " + mx + ", " + my + ", " + mz;
+				assertBoxEquals(msg, expected.bb, entity.getEntityBoundingBox());
+				assertEquals(msg, expected.collidedHorizontally, entity.isCollidedHorizontally);
+				assertEquals(msg, expected.collidedVertically, entity.isCollidedVertically);
+				assertEquals(msg, expected.onGround, entity.onGround);
+				++moves;
+				if(expected.collidedHorizontally || expected.collidedVertically) {
+					++collided;
+				}
+				if(expected.stepped) {
+					++stepped;
+				}
+			}
+		}
+		assertTrue("only " + collided + " of " + moves + " moves collided", collided > moves / 4);
+		assertTrue("only " + stepped + " of " + moves + " moves stepped up", stepped > 100);
+	}
+
+	@Test
+	public void testCollisionBoxBufferMatchesVanillaList() {
+		int solidCubes = 0;
+		int otherBoxes = 0;
+		Entity entity = new TestEntity(world, 0.6f, 1.8f);
+		double[] query = new double[6];
+		double[] box = new double[6];
+		for(int i = 0; i < 5000; ++i) {
+			double x = random.nextDouble() * CHUNKS * 16;
+			double y = MIN_Y - 1 + random.nextDouble() * (MAX_Y - MIN_Y + 1);
+			double z = random.nextDouble() * CHUNKS * 16;
+			AxisAlignedBB bb = new AxisAlignedBB(x, y, z, x + random.nextDouble() * 3.0, y + random.nextDouble() * 3.0,
+					z + random.nextDouble() * 3.0);
+			entity.setPosition(x, y, z);
+			List<AxisAlignedBB> expected = vanillaCollidingBoxes(world, entity, bb);
+			CollisionBoxBuffer.set(query, bb);
+			CollisionBoxBuffer buffer = world.getCollidingBoundingBoxes(entity, query);
+			assertEquals(bb.toString(), expected.size(), buffer.size());
+			for(int j = 0; j < expected.size(); ++j) {
+				buffer.get(j, box);
+				assertBoxEquals(bb + " box " + j, expected.get(j), CollisionBoxBuffer.toAABB(box));
+			}
+		}
+		for(int x = 0; x < CHUNKS * 16; ++x) {
+			for(int z = 0; z < CHUNKS * 16; ++z) {
+				for(int y = MIN_Y; y < MAX_Y; ++y) {
+					int id = Block.BLOCK_STATE_IDS.get(world.getBlockState(new BlockPos(x, y, z)));
+					if(BlockPropertyTables.isSolidCube(id)) {
+						++solidCubes;
+					}else if((BlockPropertyTables.flags[id] & BlockPropertyTables.FLAG_AIR) == 0) {
+						++otherBoxes;
+					}
+				}
+			}
+		}
+		assertTrue("the world has " + solidCubes + " solid cubes", solidCubes > 500);
+		assertTrue("the world has " + otherBoxes + " other blocks", otherBoxes > 500);
+	}
+
+	@Test
+	public void testSolidCubeFlagMatchesCollisionBox() {
+		BlockPos pos = new BlockPos(5, MAX_Y + 2, 7);
+		AxisAlignedBB mask = new AxisAlignedBB(4.5, MAX_Y + 1.5, 6.5, 6.5, MAX_Y + 3.5, 8.5);
+		AxisAlignedBB unit = new AxisAlignedBB(5.0, MAX_Y + 2.0, 7.0, 6.0, MAX_Y + 3.0, 8.0);
+		int checked = 0;
+		for(Block block : Block.blockRegistry) {
+			for(IBlockState state : block.getBlockState().getValidStates()) {
+				if(!BlockPropertyTables.isSolidCube(Block.BLOCK_STATE_IDS.get(state))) {
+					continue;
+				}
+				world.setBlockState(pos, state, 2);
+				IBlockState placed = world.getBlockState(pos);
+				List<AxisAlignedBB> list = new ArrayList();
+				placed.getBlock().addCollisionBoxesToList(world, pos, placed, mask, list, null);
+				assertEquals(state.toString(), 1, list.size());
+				assertBoxEquals(state.toString(), unit, list.get(0));
+				++checked;
+			}
+		}
+		assertTrue(checked > 100);
+		world.setBlockState(pos, Blocks.air.getDefaultState(), 2);
+	}
+
+	private static void assertBoxEquals(String msg, AxisAlignedBB expected, AxisAlignedBB actual) {
+		if(Double.compare(expected.minX, actual.minX) != 0 || Double.compare(expected.minY, actual.minY) != 0
+				|| Double.compare(expected.minZ, actual.minZ) != 0 || Double.compare(expected.maxX, actual.maxX) != 0
+				|| Double.compare(expected.maxY, actual.maxY) != 0 || Double.compare(expected.maxZ, actual.maxZ) != 0) {
+			fail(msg + ": expected " + expected + " got " + actual);
+		}
+	}
+
+	private static class VanillaResult {
+		private AxisAlignedBB bb;
+		private boolean collidedHorizontally;
+		private boolean collidedVertically;
+		private boolean onGround;
+		private boolean stepped;
+	}
+
+	/**
+	 * The sweep from Entity.moveEntity before it used CollisionBoxBuffer, it
+	 * only reads the entity
+	 */
+	private static VanillaResult vanillaSweep(World world, Entity entity, double x, double y, double z) {
+		AxisAlignedBB entityBB = entity.getEntityBoundingBox();
+		if(entity.isInWeb) {
+			x *= 0.25D;
+			y *= 0.05000000074505806D;
+			z *= 0.25D;
+		}
+
+		double d3 = x;
+		double d4 = y;
+		double d5 = z;
+		boolean flag = entity.onGround && entity.isSneaking() && entity instanceof EntityPlayer;
+		if(flag) {
+			double d6;
+			for(d6 = 0.05D; x != 0.0D
+					&& vanillaCollidingBoxes(world, entity, entityBB.offset(x, -1.0D, 0.0D)).isEmpty(); d3 = x) {
+				if(x < d6 && x >= -d6) {
+					x = 0.0D;
+				}else if(x > 0.0D) {
+					x -= d6;
+				}else {
+					x += d6;
+				}
+			}
+
+			for(; z != 0.0D
+					&& vanillaCollidingBoxes(world, entity, entityBB.offset(0.0D, -1.0D, z)).isEmpty(); d5 = z) {
+				if(z < d6 && z >= -d6) {
+					z = 0.0D;
+				}else if(z > 0.0D) {
+					z -= d6;
+				}else {
+					z += d6;
+				}
+			}
+
+			for(; x != 0.0D && z != 0.0D
+					&& vanillaCollidingBoxes(world, entity, entityBB.offset(x, -1.0D, z)).isEmpty(); d5 = z) {
+				if(x < d6 && x >= -d6) {
+					x = 0.0D;
+				}else if(x > 0.0D) {
+					x -= d6;
+				}else {
+					x += d6;
+				}
+
+				d3 = x;
+				if(z < d6 && z >= -d6) {
+					z = 0.0D;
+				}else if(z > 0.0D) {
+					z -= d6;
+				}else {
+					z += d6;
+				}
+			}
+		}
+
+		VanillaResult ret = new VanillaResult();
+		List<AxisAlignedBB> list1 = vanillaCollidingBoxes(world, entity, entityBB.addCoord(x, y, z));
+		AxisAlignedBB axisalignedbb = entityBB;
+
+		for(AxisAlignedBB axisalignedbb1 : list1) {
+			y = axisalignedbb1.calculateYOffset(entityBB, y);
+		}
+
+		entityBB = entityBB.offset(0.0D, y, 0.0D);
+		boolean flag1 = entity.onGround || d4 != y && d4 < 0.0D;
+
+		for(AxisAlignedBB axisalignedbb2 : list1) {
+			x = axisalignedbb2.calculateXOffset(entityBB, x);
+		}
+
+		entityBB = entityBB.offset(x, 0.0D, 0.0D);
+
+		for(AxisAlignedBB axisalignedbb13 : list1) {
+			z = axisalignedbb13.calculateZOffset(entityBB, z);
+		}
+
+		entityBB = entityBB.offset(0.0D, 0.0D, z);
+		if(entity.stepHeight > 0.0F && flag1 && (d3 != x || d5 != z)) {
+			double d11 = x;
+			double d7 = y;
+			double d8 = z;
+			AxisAlignedBB axisalignedbb3 = entityBB;
+			entityBB = axisalignedbb;
+			y = (double) entity.stepHeight;
+			List<AxisAlignedBB> list = vanillaCollidingBoxes(world, entity, entityBB.addCoord(d3, y, d5));
+			AxisAlignedBB axisalignedbb4 = entityBB;
+			AxisAlignedBB axisalignedbb5 = axisalignedbb4.addCoord(d3, 0.0D, d5);
+			double d9 = y;
+
+			for(AxisAlignedBB axisalignedbb6 : list) {
+				d9 = axisalignedbb6.calculateYOffset(axisalignedbb5, d9);
+			}
+
+			axisalignedbb4 = axisalignedbb4.offset(0.0D, d9, 0.0D);
+			double d15 = d3;
+
+			for(AxisAlignedBB axisalignedbb7 : list) {
+				d15 = axisalignedbb7.calculateXOffset(axisalignedbb4, d15);
+			}
+
+			axisalignedbb4 = axisalignedbb4.offset(d15, 0.0D, 0.0D);
+			double d16 = d5;
+
+			for(AxisAlignedBB axisalignedbb8 : list) {
+				d16 = axisalignedbb8.calculateZOffset(axisalignedbb4, d16);
+			}
+
+			axisalignedbb4 = axisalignedbb4.offset(0.0D, 0.0D, d16);
+			AxisAlignedBB axisalignedbb14 = entityBB;
+			double d17 = y;
+
+			for(AxisAlignedBB axisalignedbb9 : list) {
+				d17 = axisalignedbb9.calculateYOffset(axisalignedbb14, d17);
+			}
+
+			axisalignedbb14 = axisalignedbb14.offset(0.0D, d17, 0.0D);
+			double d18 = d3;
+
+			for(AxisAlignedBB axisalignedbb10 : list) {
+				d18 = axisalignedbb10.calculateXOffset(axisalignedbb14, d18);
+			}
+
+			axisalignedbb14 = axisalignedbb14.offset(d18, 0.0D, 0.0D);
+			double d19 = d5;
+
+			for(AxisAlignedBB axisalignedbb11 : list) {
+				d19 = axisalignedbb11.calculateZOffset(axisalignedbb14, d19);
+			}
+
+			axisalignedbb14 = axisalignedbb14.offset(0.0D, 0.0D, d19);
+			double d20 = d15 * d15 + d16 * d16;
+			double d10 = d18 * d18 + d19 * d19;
+			if(d20 > d10) {
+				x = d15;
+				z = d16;
+				y = -d9;
+				entityBB = axisalignedbb4;
+			}else {
+				x = d18;
+				z = d19;
+				y = -d17;
+				entityBB = axisalignedbb14;
+			}
+
+			for(AxisAlignedBB axisalignedbb12 : list) {
+				y = axisalignedbb12.calculateYOffset(entityBB, y);
+			}
+
+			entityBB = entityBB.offset(0.0D, y, 0.0D);
+			if(d11 * d11 + d8 * d8 >= x * x + z * z) {
+				x = d11;
+				y = d7;
+				z = d8;
+				entityBB = axisalignedbb3;
+			}else {
+				ret.stepped = true;
+			}
+		}
+
+		ret.bb = entityBB;
+		ret.collidedHorizontally = d3 != x || d5 != z;
+		ret.collidedVertically = d4 != y;
+		ret.onGround = ret.collidedVertically && d4 < 0.0D;
+		return ret;
+	}
+
+	/**
+	 * World.getCollidingBoundingBoxes from before the block property tables,
+	 * every block is asked for its boxes
+	 */
+	private static List<AxisAlignedBB> vanillaCollidingBoxes(World world, Entity entityIn, AxisAlignedBB bb) {
+		ArrayList<AxisAlignedBB> arraylist = new ArrayList();
+		int i = MathHelper.floor_double(bb.minX);
+		int j = MathHelper.floor_double(bb.maxX + 1.0D);
+		int k = MathHelper.floor_double(bb.minY);
+		int l = MathHelper.floor_double(bb.maxY + 1.0D);
+		int i1 = MathHelper.floor_double(bb.minZ);
+		int j1 = MathHelper.floor_double(bb.maxZ + 1.0D);
+		WorldBorder worldborder = world.getWorldBorder();
+		boolean flag1 = world.isInsideBorder(worldborder, entityIn);
+		IBlockState iblockstate = Blocks.stone.getDefaultState();
+		BlockPos.MutableBlockPos blockpos$mutableblockpos = new BlockPos.MutableBlockPos();
+
+		for(int k1 = i; k1 < j; ++k1) {
+			for(int l1 = i1; l1 < j1; ++l1) {
+				if(world.isBlockLoaded(blockpos$mutableblockpos.func_181079_c(k1, 64, l1))) {
+					for(int i2 = k - 1; i2 < l; ++i2) {
+						blockpos$mutableblockpos.func_181079_c(k1, i2, l1);
+						IBlockState iblockstate1 = iblockstate;
+						if(worldborder.contains((BlockPos) blockpos$mutableblockpos) || !flag1) {
+							iblockstate1 = world.getBlockState(blockpos$mutableblockpos);
+						}
+
+						iblockstate1.getBlock().addCollisionBoxesToList(world, blockpos$mutableblockpos, iblockstate1,
+								bb, arraylist, entityIn);
+					}
+				}
+			}
+		}
+
+		double d0 = 0.25D;
+		List<Entity> list = world.getEntitiesWithinAABBExcludingEntity(entityIn, bb.expand(d0, d0, d0));
+
+		for(int j2 = 0; j2 < list.size(); ++j2) {
+			AxisAlignedBB axisalignedbb = list.get(j2).getCollisionBoundingBox();
+			if(axisalignedbb != null && axisalignedbb.intersectsWith(bb)) {
+				arraylist.add(axisalignedbb);
+			}
+
+			axisalignedbb = entityIn.getCollisionBox(list.get(j2));
+			if(axisalignedbb != null && axisalignedbb.intersectsWith(bb)) {
+				arraylist.add(axisalignedbb);
+			}
+		}
+
+		return arraylist;
+	}
+
+}